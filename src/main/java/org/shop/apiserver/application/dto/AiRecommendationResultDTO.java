@@ -0,0 +1,34 @@
+package org.shop.apiserver.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * AI 추천 구조화 응답 (LLM 이 JSON 으로 반환)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AiRecommendationResultDTO {
+
+    // 추천 상품 (추천 순서)
+    private List<Item> recommendations;
+
+    // 전체 추천 요약
+    private String summary;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Item {
+
+        // 후보 목록의 상품번호
+        private Long pno;
+
+        // 추천 이유
+        private String reason;
+    }
+}
@@ -0,0 +1,25 @@
+package org.shop.apiserver.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 대량 쿠폰 발급 결과
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CouponBulkIssueResultDTO {
+    private String couponCode;
+    private int requestedCount;       // 요청 이메일 수
+    private int duplicatedCount;      // 요청 내 중복
+    private int alreadyIssuedCount;   // 이미 보유한 회원
+    private int rejectedCount;        // 발급 조건 불충족으로 제외 (수량 소진, 만료, 회원 없음)
+    private int issuedCount;          // 실제 발급 건수
+    private int totalChunks;
+    private int failedChunks;
+    private long elapsedMillis;
+}
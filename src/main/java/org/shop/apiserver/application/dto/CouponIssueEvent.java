@@ -0,0 +1,21 @@
+package org.shop.apiserver.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 쿠폰 발급 이벤트 (Kafka coupon-issue 토픽, key = couponCode)
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CouponIssueEvent {
+    private String email;
+    private String couponCode;
+    private LocalDateTime requestedAt;
+}
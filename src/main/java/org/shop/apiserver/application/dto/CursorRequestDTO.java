@@ -0,0 +1,25 @@
+package org.shop.apiserver.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 커서(키셋) 기반 페이징 요청
+ * - cursor: 이전 응답의 nextCursor (첫 페이지는 null)
+ * - withTotal: true 인 경우에만 전체 건수 조회 (상품은 근사값)
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorRequestDTO {
+
+  private String cursor;
+
+  @Builder.Default
+  private int size = 10;
+
+  private boolean withTotal;
+}
@@ -0,0 +1,28 @@
+package org.shop.apiserver.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 커서(키셋) 기반 페이징 응답
+ * - nextCursor: 다음 페이지 요청에 그대로 전달 (마지막 페이지면 null)
+ * - totalCount: withTotal 요청 시에만 포함
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorResponseDTO<E> {
+
+  private List<E> dtoList;
+
+  private String nextCursor;
+
+  private boolean hasNext;
+
+  private Long totalCount;
+}
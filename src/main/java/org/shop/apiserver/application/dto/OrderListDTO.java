@@ -21,4 +21,25 @@ public class OrderListDTO {
     private OrderStatus status;
     private String firstProductName;  // 대표 상품명
     private int productCount;         // 상품 개수
+
+    /**
+     * JPQL 프로젝션용 (대표 상품명/상품 개수를 서브쿼리로 한 번에 조회)
+     */
+    public OrderListDTO(Long ono, String orderNumber, int finalAmount, LocalDateTime orderDate,
+                        OrderStatus status, String firstProductName, Long productCount) {
+        this.ono = ono;
+        this.orderNumber = orderNumber;
+        this.finalAmount = finalAmount;
+        this.orderDate = orderDate;
+        this.status = status;
+        this.productCount = productCount == null ? 0 : productCount.intValue();
+
+        if (firstProductName == null) {
+            this.firstProductName = "상품 없음";
+        } else if (this.productCount > 1) {
+            this.firstProductName = firstProductName + " 외 " + (this.productCount - 1) + "개";
+        } else {
+            this.firstProductName = firstProductName;
+        }
+    }
 }
\ No newline at end of file
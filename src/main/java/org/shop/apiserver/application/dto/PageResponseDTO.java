@@ -2,12 +2,14 @@ package org.shop.apiserver.application.dto;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 @Data
+@NoArgsConstructor  // Redis 캐시 역직렬화용
 public class PageResponseDTO<E> {
 
   private List<E> dtoList;
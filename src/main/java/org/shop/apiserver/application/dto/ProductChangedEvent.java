@@ -0,0 +1,24 @@
+package org.shop.apiserver.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 상품 변경 이벤트 (등록/수정/삭제/재고 변경 커밋 후 벡터 인덱스 동기화, 재고 원장 제거용)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductChangedEvent {
+
+    public enum Type {
+        REGISTERED,
+        MODIFIED,
+        REMOVED,
+        STOCK_CHANGED
+    }
+
+    private Long pno;
+    private Type type;
+}
@@ -0,0 +1,27 @@
+package org.shop.apiserver.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 상품 대량 등록 결과
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductImportResultDTO {
+    private String format;             // csv / jsonl
+    private int totalRows;             // 읽은 행 수 (헤더 제외)
+    private int importedCount;         // 실제 등록 건수
+    private int skippedCount;          // 형식 오류로 제외된 행
+    private int totalChunks;
+    private int failedChunks;
+    private boolean indexingStarted;   // 벡터/키워드 인덱싱 즉시 시작 여부 (false 면 다음 주기 인덱싱에서 반영)
+    private List<String> errors;       // 행 오류 (최대 건수까지만)
+    private long elapsedMillis;
+}
@@ -0,0 +1,29 @@
+package org.shop.apiserver.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 스트리밍 추천 이벤트 (SSE event 이름 + data)
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecommendationStreamEventDTO {
+
+    public static final String PRODUCTS = "products";   // 벡터 검색 상품 카드 (List<ProductDTO>)
+    public static final String TOKEN = "token";         // AI 답변 조각 (String)
+    public static final String DONE = "done";           // 완료
+    public static final String ERROR = "error";         // 실패 메시지
+
+    private String event;
+
+    private Object data;
+
+    public static RecommendationStreamEventDTO of(String event, Object data) {
+        return new RecommendationStreamEventDTO(event, data);
+    }
+}
@@ -2,12 +2,17 @@ package org.shop.apiserver.application.facade;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.application.dto.CouponBulkIssueResultDTO;
 import org.shop.apiserver.application.dto.CouponDTO;
 import org.shop.apiserver.application.dto.MemberCouponDTO;
+import org.shop.apiserver.application.service.AsyncCouponServiceImpl;
+import org.shop.apiserver.application.service.CouponBulkIssueService;
+import org.shop.apiserver.application.service.CouponIssueGate;
 import org.shop.apiserver.application.service.CouponService;
-import org.shop.apiserver.domain.model.coupon.Coupon;
-import org.shop.apiserver.infrastructure.persistence.jpa.CouponRepository;
+import org.shop.apiserver.common.exception.CouponException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -32,7 +37,13 @@ import java.util.List;
 public class CouponFacade {
 
     private final CouponService couponService;
-    private final CouponRepository couponRepository;
+    private final AsyncCouponServiceImpl asyncCouponService;
+    private final CouponIssueGate couponIssueGate;
+    private final CouponBulkIssueService couponBulkIssueService;
+
+    // true: 비동기 발급 (Kafka), false: 동기 발급 (Direct)
+    @Value("${coupon.issue.async:false}")
+    private boolean asyncIssue;
 
     /**
      * 쿠폰 발급 (수량에 따라 자동으로 선착순/일반 처리)
@@ -40,49 +51,55 @@ public class CouponFacade {
      * 처리 로직:
      * - maxIssueCount > 0: 선착순 모드 (재고 관리)
      * - maxIssueCount = 0: 일반 모드 (재고 무제한)
+     * 
+     * 두 모드 모두 Redis 발급 게이트에서 먼저 판정하므로 탈락 요청은 DB 를 조회하지 않는다.
+     * (게이트 통과 전에는 DB 커넥션도 점유하지 않도록 트랜잭션 없이 실행)
+     * 
+     * @return true: 발급 요청 접수 (coupon.issue.async=true, 저장은 컨슈머가 처리), false: 발급 완료
      */
-    public void issueCouponAuto(String email, String couponCode) {
-        log.info("[CouponFacade] 쿠폰 발급 요청 - email: {}, couponCode: {}", email, couponCode);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean issueCouponAuto(String email, String couponCode) {
+        log.info("[CouponFacade] 쿠폰 발급 요청 - email: {}, couponCode: {}, async: {}", 
+                email, couponCode, asyncIssue);
 
-        try {
-            // 쿠폰 조회
-            Coupon coupon = couponRepository.findByCouponCode(couponCode)
-                    .orElseThrow(() -> new IllegalArgumentException("쿠폰을 찾을 수 없습니다"));
-
-            // 수량에 따라 자동 판단
-            if (coupon.isLimitedStock()) {
-                log.info("[CouponFacade] 선착순 쿠폰 발급 - maxIssueCount: {}", coupon.getMaxIssueCount());
-                issueLimitedCoupon(email, couponCode);
-            } else {
-                log.info("[CouponFacade] 일반 쿠폰 발급 - 수량 제한 없음");
-                couponService.issueCoupon(email, couponCode);
-            }
-
-        } catch (Exception e) {
-            log.error("[CouponFacade] 쿠폰 발급 실패 - email: {}, couponCode: {}, error: {}", 
-                    email, couponCode, e.getMessage());
-            throw e;
-        }
+        issueLimitedCoupon(email, couponCode);
+        return asyncIssue;
     }
 
     /**
      * 선착순 쿠폰 발급 (재고 감소 포함)
      * 
      * 처리 흐름:
-     * 1. 쿠폰 발급 처리
-     * 2. 로깅 및 예외 처리
+     * 1. Redis 게이트에서 중복/수량 검사 및 발급 자격 획득 (원자적)
+     * 2. 통과한 요청만 DB 에 발급 내역 저장 (issuedCount 조건부 증가 포함)
+     *    - 비동기 모드: Kafka 에 발급 이벤트만 발행
+     * 3. DB 저장(이벤트 발행) 실패 시 발급 자격 반환
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void issueLimitedCoupon(String email, String couponCode) {
         log.info("[CouponFacade] 선착순 쿠폰 발급 시작 - email: {}, couponCode: {}", 
                 email, couponCode);
 
         try {
-            // 기본 쿠폰 발급 처리
-            couponService.issueCoupon(email, couponCode);
-            log.info("[CouponFacade] 선착순 쿠폰 발급 완료 - email: {}", email);
+            couponIssueGate.tryIssue(email, couponCode);
+        } catch (CouponException e) {
+            log.info("[CouponFacade] 선착순 쿠폰 발급 거절 - email: {}, couponCode: {}, reason: {}",
+                    email, couponCode, e.getMessage());
+            throw e;
+        }
+
+        try {
+            if (asyncIssue) {
+                asyncCouponService.issueCoupon(email, couponCode);
+                log.info("[CouponFacade] 선착순 쿠폰 발급 접수 - email: {}", email);
+            } else {
+                couponService.issueCoupon(email, couponCode);
+                log.info("[CouponFacade] 선착순 쿠폰 발급 완료 - email: {}", email);
+            }
         } catch (Exception e) {
             log.error("[CouponFacade] 선착순 쿠폰 발급 실패 - email: {}, couponCode: {}, error: {}", 
                     email, couponCode, e.getMessage());
+            couponIssueGate.release(email, couponCode);
             throw e;
         }
     }
@@ -91,34 +108,25 @@ public class CouponFacade {
      * 대량 쿠폰 발급 (여러 회원에게)
      * 
      * 처리 흐름:
-     * 1. 각 회원별로 반복 처리
-     * 2. 성공/실패 개수 카운트
-     * 3. 결과 로깅
+     * 1. 중복/기보유 회원 제외 (집합 기반 조회 1회)
+     * 2. 청크 단위 JDBC 배치 저장, 청크마다 커밋 (병렬 처리)
+     * 3. 결과 리포트 반환
+     * 
+     * 하나의 긴 트랜잭션을 잡지 않도록 트랜잭션 없이 실행
      * 
-     * @return 성공한 쿠폰 발급 개수
+     * @return 발급 결과 (요청/중복/기보유/발급 건수, 실패 청크 수, 소요 시간)
      */
-    public int issueBulkCoupons(List<String> emailList, String couponCode) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CouponBulkIssueResultDTO issueBulkCoupons(List<String> emailList, String couponCode) {
         log.info("[CouponFacade] 대량 쿠폰 발급 시작 - count: {}, couponCode: {}", 
                 emailList.size(), couponCode);
 
-        int successCount = 0;
-        int failCount = 0;
-
-        for (String email : emailList) {
-            try {
-                couponService.issueCoupon(email, couponCode);
-                successCount++;
-            } catch (Exception e) {
-                log.warn("[CouponFacade] 개별 발급 실패 - email: {}, error: {}", 
-                        email, e.getMessage());
-                failCount++;
-            }
-        }
+        CouponBulkIssueResultDTO result = couponBulkIssueService.issueBulk(couponCode, emailList);
 
-        log.info("[CouponFacade] 대량 쿠폰 발급 완료 - success: {}, fail: {}, couponCode: {}", 
-                successCount, failCount, couponCode);
+        log.info("[CouponFacade] 대량 쿠폰 발급 완료 - issued: {}, failedChunks: {}, couponCode: {}", 
+                result.getIssuedCount(), result.getFailedChunks(), couponCode);
 
-        return successCount;
+        return result;
     }
 
     /**
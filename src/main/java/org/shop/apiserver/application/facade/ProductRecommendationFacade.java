@@ -0,0 +1,215 @@
+package org.shop.apiserver.application.facade;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.application.dto.ProductRecommendationDTO;
+import org.shop.apiserver.application.service.ProductRecommendationService;
+import org.shop.apiserver.infrastructure.vector.CachingEmbeddingModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Product Recommendation Facade
+ *
+ * 역할:
+ * - 같은 질문(정규화 기준)이 동시에 캐시 미스되면 RAG 파이프라인을 한 번만 실행 (single-flight)
+ *
+ * 처리 흐름:
+ * 1. 추천 캐시 히트면 바로 반환
+ * 2. 노드 내: 먼저 들어온 요청만 실행하고, 동시 요청은 같은 Future 를 기다림
+ * 3. 노드 간: Redis 임대(recommendation:lease:{hash}, SET NX PX) 를 얻은 노드만 실행
+ *    - 임대를 못 얻으면 해제(또는 만료)될 때까지 대기 후 다시 조회 -> 다른 노드가 채운 캐시 히트
+ *    - Redis 장애 시에는 노드 내 중복 제거만 적용
+ * 4. 대기(노드 내 Future + 노드 간 임대 polling)는 요청당 wait-timeout-ms 안에서만 하고,
+ *    초과하면 요청 스레드가 더 묶이지 않도록 직접 실행
+ */
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class ProductRecommendationFacade {
+
+    private static final String CACHE_NAME = "product-recommendations";
+    private static final String LEASE_KEY_PREFIX = "recommendation:lease:";
+
+    /**
+     * 본인 임대만 해제
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final ProductRecommendationService recommendationService;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final CacheManager cacheManager;
+
+    // 임대 유지 시간 (LLM 응답 최대 시간보다 길게)
+    @Value("${recommendation.single-flight.lease-ms:30000}")
+    private long leaseMillis;
+
+    // 다른 요청/노드의 결과를 기다리는 요청당 최대 시간 (노드 내 대기 + 노드 간 대기 합계, 초과 시 직접 실행)
+    @Value("${recommendation.single-flight.wait-timeout-ms:10000}")
+    private long waitTimeoutMillis;
+
+    @Value("${recommendation.single-flight.poll-interval-ms:100}")
+    private long pollIntervalMillis;
+
+    private final Map<String, CompletableFuture<ProductRecommendationDTO>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * AI 상품 추천 (동일 질문 동시 요청 병합)
+     */
+    public ProductRecommendationDTO recommend(String query) {
+
+        String key = CachingEmbeddingModel.normalizeQuery(query);
+
+        ProductRecommendationDTO cached = getCached(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long deadline = System.currentTimeMillis() + waitTimeoutMillis;
+
+        CompletableFuture<ProductRecommendationDTO> future = new CompletableFuture<>();
+        CompletableFuture<ProductRecommendationDTO> existing = inFlight.putIfAbsent(key, future);
+
+        if (existing != null) {
+            log.debug("[ProductRecommendationFacade] 진행 중인 요청 대기 - query: {}", key);
+            return await(existing, query, deadline);
+        }
+
+        try {
+            ProductRecommendationDTO result = loadWithLease(key, query, deadline);
+            future.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    // ============================================
+    // Private Helper Methods
+    // ============================================
+
+    private ProductRecommendationDTO loadWithLease(String key, String query, long deadline) {
+
+        String leaseKey = LEASE_KEY_PREFIX + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8));
+        String token = UUID.randomUUID().toString();
+
+        if (tryAcquire(leaseKey, token)) {
+            try {
+                return recommendationService.recommendProducts(query);
+            } finally {
+                release(leaseKey, token);
+            }
+        }
+
+        // 다른 노드가 실행 중 - 임대가 풀리면 캐시에서 읽음
+        log.debug("[ProductRecommendationFacade] 다른 노드 실행 대기 - query: {}", key);
+
+        boolean released = !isLeased(leaseKey);
+        while (!released) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
+            }
+            try {
+                Thread.sleep(Math.min(pollIntervalMillis, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            released = !isLeased(leaseKey);
+        }
+
+        if (!released) {
+            log.warn("[ProductRecommendationFacade] 다른 노드 대기 시간 초과 - 직접 실행: {}", query);
+        }
+
+        // 캐시 히트면 그대로, 상대 노드가 실패했거나 대기 시간을 넘겼으면 직접 실행
+        ProductRecommendationDTO cached = getCached(key);
+        return cached != null ? cached : recommendationService.recommendProducts(query);
+    }
+
+    private ProductRecommendationDTO await(CompletableFuture<ProductRecommendationDTO> future, String query, long deadline) {
+
+        try {
+            return future.get(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("[ProductRecommendationFacade] 대기 시간 초과 - 직접 실행: {}", query);
+            return recommendationService.recommendProducts(query);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("추천 요청 대기 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    private ProductRecommendationDTO getCached(String key) {
+
+        try {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            return cache != null ? cache.get(key, ProductRecommendationDTO.class) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private boolean tryAcquire(String leaseKey, String token) {
+
+        try {
+            Boolean acquired = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(leaseKey, token, Duration.ofMillis(leaseMillis));
+            return Boolean.TRUE.equals(acquired);
+        } catch (Exception e) {
+            // Redis 장애 시 노드 내 중복 제거만 적용
+            log.warn("[ProductRecommendationFacade] 임대 획득 실패 - 직접 실행: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private boolean isLeased(String leaseKey) {
+
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.hasKey(leaseKey));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void release(String leaseKey, String token) {
+
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey), token);
+        } catch (Exception e) {
+            // 해제 실패 시 임대 만료로 정리된다
+            log.warn("[ProductRecommendationFacade] 임대 해제 실패 - key: {}, error: {}", leaseKey, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.shop.apiserver.application.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.domain.model.product.Product;
+import org.springframework.stereotype.Service;
+
+/**
+ * 상품별 재고 락 전략 라우터
+ *
+ * - 평소(cold): 락 없는 낙관적 compare-and-set (충돌 시 제한된 재시도)
+ * - 최근 충돌률이 임계값을 넘은 상품(hot): SELECT ... FOR UPDATE 비관적 락으로 직렬화
+ *   (재시도 없이 DB 행 락 대기열에서 순서대로 처리되어 충돌/재시도 비용이 사라짐)
+ *
+ * 충돌률은 낙관적 갱신의 실제 CAS 실패 횟수로 집계되며 (ProductStockService),
+ * 두 모드가 섞여도 CAS 가 비관적 락 쪽 갱신을 충돌로 감지하므로 재고가 유실되지 않는다.
+ */
+@Service
+@Log4j2
+@RequiredArgsConstructor
+public class AdaptiveStockRouter {
+
+    public enum Strategy {
+        OPTIMISTIC,
+        PESSIMISTIC
+    }
+
+    private final ProductStockService productStockService;
+    private final ContentionTracker contentionTracker;
+
+    /**
+     * 상품 재고 감소 (상품별 전략 선택)
+     */
+    public Product decreaseStock(Long pno, int qty) {
+
+        if (resolve(pno) == Strategy.PESSIMISTIC) {
+            return productStockService.decreaseStockWithPessimisticLock(pno, qty);
+        }
+
+        return productStockService.decreaseStockOptimistic(pno, qty);
+    }
+
+    /**
+     * 상품 재고 복구 - 원자적 증가이므로 전략과 무관
+     */
+    public void increaseStock(Long pno, int qty) {
+        productStockService.increaseStockOptimistic(pno, qty);
+    }
+
+    public Strategy resolve(Long pno) {
+        return contentionTracker.isHot(pno) ? Strategy.PESSIMISTIC : Strategy.OPTIMISTIC;
+    }
+}
@@ -0,0 +1,84 @@
+package org.shop.apiserver.application.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.application.dto.CouponDTO;
+import org.shop.apiserver.application.dto.CouponIssueEvent;
+import org.shop.apiserver.application.dto.MemberCouponDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * CouponService - 비동기 구현 (coupon.issue.async=true)
+ * 쿠폰 발급은 Kafka 이벤트로 발행하고 즉시 반환하며,
+ * 실제 저장은 CouponIssueConsumer 가 배치로 처리한다.
+ * 발급 외 기능은 동기 구현에 위임.
+ */
+@Service("asyncCouponService")
+@Log4j2
+@RequiredArgsConstructor
+public class AsyncCouponServiceImpl implements CouponService {
+
+    private final CouponServiceImpl couponServiceImpl;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Value("${kafka.topics.coupon-issue}")
+    private String couponIssueTopic;
+
+    @Override
+    public Long createCoupon(CouponDTO couponDTO) {
+        return couponServiceImpl.createCoupon(couponDTO);
+    }
+
+    @Override
+    public List<CouponDTO> getActiveCoupons() {
+        return couponServiceImpl.getActiveCoupons();
+    }
+
+    /**
+     * 발급 이벤트 발행 (key = couponCode, 같은 쿠폰은 같은 파티션에서 순서대로 처리)
+     * 브로커 수신 확인까지만 대기하므로 실패 시 호출자가 보상할 수 있다.
+     * (DB 를 사용하지 않으므로 인터페이스의 트랜잭션 설정을 적용하지 않음)
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void issueCoupon(String email, String couponCode) {
+        log.info("[AsyncCouponService] 쿠폰 발급 이벤트 발행 - email: {}, couponCode: {}", email, couponCode);
+
+        CouponIssueEvent event = CouponIssueEvent.builder()
+                .email(email)
+                .couponCode(couponCode)
+                .requestedAt(LocalDateTime.now())
+                .build();
+
+        try {
+            kafkaTemplate.send(couponIssueTopic, couponCode, event).get(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("쿠폰 발급 요청 중 인터럽트가 발생했습니다", e);
+        } catch (ExecutionException | TimeoutException e) {
+            log.error("[AsyncCouponService] 이벤트 발행 실패 - email: {}, couponCode: {}, error: {}",
+                    email, couponCode, e.getMessage());
+            throw new RuntimeException("쿠폰 발급 요청 중 오류가 발생했습니다", e);
+        }
+    }
+
+    @Override
+    public List<MemberCouponDTO> getMyCoupons(String email) {
+        return couponServiceImpl.getMyCoupons(email);
+    }
+
+    @Override
+    public int useCoupon(Long memberCouponId, String email, int orderAmount) {
+        return couponServiceImpl.useCoupon(memberCouponId, email, orderAmount);
+    }
+}
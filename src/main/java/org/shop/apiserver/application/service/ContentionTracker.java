@@ -0,0 +1,159 @@
+package org.shop.apiserver.application.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 상품별 재고 경합 추적기
+ *
+ * - 최근 N초(1초 단위 버킷) 동안의 재고 갱신 시도/충돌(CAS 실패) 횟수를 상품별로 집계
+ * - 충돌률이 임계값을 넘으면 해당 상품을 hot 으로 표시하고 cooldown 동안 유지
+ * - hot 기간에는 비관적 락을 쓰므로 충돌이 생기지 않고, cooldown 후 낙관적 모드로 돌아가 다시 판정된다
+ * - 집계는 인스턴스(JVM) 단위지만 충돌은 DB 에서 관측되므로 다른 인스턴스의 갱신과 겹친 경우도 포함된다
+ */
+@Component
+@Log4j2
+public class ContentionTracker {
+
+    @Value("${stock.adaptive.window-seconds:10}")
+    private int windowSeconds;
+
+    @Value("${stock.adaptive.conflict-threshold:0.2}")
+    private double conflictThreshold;
+
+    @Value("${stock.adaptive.min-samples:20}")
+    private int minSamples;
+
+    @Value("${stock.adaptive.cooldown-seconds:30}")
+    private int cooldownSeconds;
+
+    private final Map<Long, Window> windows = new ConcurrentHashMap<>();
+    private final Map<Long, Long> hotUntil = new ConcurrentHashMap<>();
+
+    /**
+     * 재고 갱신 시도 1회 기록
+     */
+    public void recordAttempt(Long pno) {
+        add(pno, 1, 0);
+    }
+
+    /**
+     * 재고 갱신 충돌 1회 기록 (읽은 뒤 다른 요청이 먼저 갱신해 CAS 실패)
+     */
+    public void recordConflict(Long pno) {
+        long now = nowSeconds();
+        long[] counts = add(pno, 0, 1).sum(now);
+        if (counts[0] < minSamples || (double) counts[1] / counts[0] < conflictThreshold) {
+            return;
+        }
+
+        Long previous = hotUntil.put(pno, System.currentTimeMillis() + cooldownSeconds * 1000L);
+        if (previous == null || previous < System.currentTimeMillis()) {
+            log.info("🔥 경합 상품 전환: pno={}, 시도={}, 충돌={}", pno, counts[0], counts[1]);
+        }
+    }
+
+    public boolean isHot(Long pno) {
+        Long until = hotUntil.get(pno);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    /**
+     * 오래된 집계/만료된 hot 표시 정리
+     * - 제거 시점에 다시 확인하고 지우므로 (computeIfPresent) 동시에 기록/연장된 항목은 유지된다
+     */
+    @Scheduled(fixedDelayString = "${stock.adaptive.cleanup-interval-ms:60000}")
+    public void cleanup() {
+        long now = nowSeconds();
+        long nowMillis = System.currentTimeMillis();
+
+        for (Long pno : windows.keySet()) {
+            windows.computeIfPresent(pno, (key, window) -> window.isIdle(now) ? null : window);
+        }
+
+        for (Long pno : hotUntil.keySet()) {
+            hotUntil.computeIfPresent(pno, (key, until) -> {
+                if (until < nowMillis) {
+                    log.info("❄️ 경합 해제: pno={}", key);
+                    return null;
+                }
+                return until;
+            });
+        }
+    }
+
+    /**
+     * 집계 반영 (정리 작업과 같은 키 락 안에서 수행되어 제거 직전의 윈도우에 기록되는 일이 없음)
+     */
+    private Window add(Long pno, long attemptDelta, long conflictDelta) {
+        long now = nowSeconds();
+        return windows.compute(pno, (key, window) -> {
+            Window target = window == null ? new Window(windowSeconds) : window;
+            target.add(now, attemptDelta, conflictDelta);
+            return target;
+        });
+    }
+
+    private long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    /**
+     * 1초 단위 링 버퍼 (근사 집계 - 버킷 교체 시점의 경합은 허용)
+     */
+    private static class Window {
+
+        private final int size;
+        private final AtomicLongArray epochs;
+        private final AtomicLongArray attempts;
+        private final AtomicLongArray conflicts;
+
+        Window(int size) {
+            this.size = size;
+            this.epochs = new AtomicLongArray(size);
+            this.attempts = new AtomicLongArray(size);
+            this.conflicts = new AtomicLongArray(size);
+        }
+
+        void add(long second, long attemptDelta, long conflictDelta) {
+            int idx = (int) (second % size);
+            long epoch = epochs.get(idx);
+
+            if (epoch != second && epochs.compareAndSet(idx, epoch, second)) {
+                attempts.set(idx, 0);
+                conflicts.set(idx, 0);
+            }
+
+            attempts.addAndGet(idx, attemptDelta);
+            conflicts.addAndGet(idx, conflictDelta);
+        }
+
+        long[] sum(long now) {
+            long attemptSum = 0;
+            long conflictSum = 0;
+
+            for (int i = 0; i < size; i++) {
+                if (now - epochs.get(i) < size) {
+                    attemptSum += attempts.get(i);
+                    conflictSum += conflicts.get(i);
+                }
+            }
+            return new long[]{attemptSum, conflictSum};
+        }
+
+        boolean isIdle(long now) {
+            for (int i = 0; i < size; i++) {
+                if (now - epochs.get(i) < size) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package org.shop.apiserver.application.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.application.dto.CouponBulkIssueResultDTO;
+import org.shop.apiserver.common.exception.CouponException;
+import org.shop.apiserver.domain.model.coupon.Coupon;
+import org.shop.apiserver.infrastructure.persistence.jdbc.MemberCouponBatchRepository;
+import org.shop.apiserver.infrastructure.persistence.jpa.CouponRepository;
+import org.shop.apiserver.infrastructure.persistence.jpa.MemberCouponRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 대량 쿠폰 발급 서비스 (캠페인 발급)
+ *
+ * 처리 흐름:
+ * 1. 요청 이메일 중복 제거
+ * 2. 이미 보유한 회원 제외 (쿠폰 보유자 조회 쿼리 1회)
+ * 3. 청크 단위 발급, 청크마다 커밋 (서비스 공용 스레드 풀에서 병렬 처리)
+ *    - 청크에서 발급 대상(존재하는 회원 + 미보유) 수만큼 issued_count 를 한 번에 선점
+ *      (남은 수량까지로 제한, 단독 UPDATE 로 바로 커밋)
+ *    - 선점한 수량까지만 INSERT ... SELECT 한 문장으로 저장 (보유 여부는 저장 시점에 다시 검사)
+ *    - 저장되지 않은 수량(또는 저장 실패 시 선점 전체)은 반환
+ * 4. 실제로 발급된 회원만 Redis 발급 게이트에 반영
+ *
+ * 청크 하나가 실패해도 나머지 청크는 계속 처리하며, 실패 청크 수는 결과에 포함된다.
+ * coupon 행은 선점/반환 UPDATE 동안만 잠기므로 같은 쿠폰의 청크 저장도 병렬로 진행된다.
+ */
+@Service
+@Log4j2
+@RequiredArgsConstructor
+public class CouponBulkIssueService {
+
+    private final CouponRepository couponRepository;
+    private final MemberCouponRepository memberCouponRepository;
+    private final MemberCouponBatchRepository memberCouponBatchRepository;
+    private final CouponIssueGate couponIssueGate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${coupon.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${coupon.bulk.parallelism:4}")
+    private int parallelism;
+
+    // 요청마다 풀을 만들지 않고 공용 풀 사용 (대기열이 차면 요청 스레드에서 실행)
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+
+        AtomicInteger sequence = new AtomicInteger();
+
+        executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(parallelism * 2),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "coupon-bulk-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public CouponBulkIssueResultDTO issueBulk(String couponCode, List<String> emailList) {
+
+        long startTime = System.currentTimeMillis();
+        log.info("[CouponBulkIssueService] 대량 발급 시작 - couponCode: {}, requested: {}",
+                couponCode, emailList.size());
+
+        Coupon coupon = couponRepository.findByCouponCode(couponCode)
+                .orElseThrow(() -> CouponException.notFound(couponCode));
+
+        if (!coupon.isAvailable()) {
+            throw CouponException.unavailable();
+        }
+
+        // 1. 요청 내 중복 제거 (요청 순서 유지)
+        Set<String> uniqueEmails = new LinkedHashSet<>(emailList);
+
+        // 2. 이미 보유한 회원 제외
+        Set<String> holders = new HashSet<>(memberCouponRepository.findMemberEmailsByCouponId(coupon.getCouponId()));
+        List<String> targets = new ArrayList<>(uniqueEmails.size());
+        for (String email : uniqueEmails) {
+            if (!holders.contains(email)) {
+                targets.add(email);
+            }
+        }
+        int alreadyIssued = uniqueEmails.size() - targets.size();
+
+        // 3. 청크 병렬 발급 (청크마다 수량 선점 후 발급 가능 여부는 DB 에서 판정)
+        List<List<String>> chunks = partition(targets, chunkSize);
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger failedRows = new AtomicInteger();
+        AtomicInteger issued = new AtomicInteger();
+
+        try {
+            List<Future<?>> futures = new ArrayList<>(chunks.size());
+            for (List<String> chunk : chunks) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        int saved = issueChunk(couponCode, chunk);
+                        issued.addAndGet(saved);
+
+                        // 4. 실제로 발급된 회원만 게이트 반영 (실패해도 DB 가 최종 판정하므로 청크 실패로 보지 않음)
+                        if (saved > 0) {
+                            markIssued(couponCode, chunk);
+                        }
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                        failedRows.addAndGet(chunk.size());
+                        log.error("[CouponBulkIssueService] 청크 저장 실패 - couponCode: {}, size: {}, error: {}",
+                                couponCode, chunk.size(), e.getMessage());
+                    } finally {
+                        int done = completed.incrementAndGet();
+                        if (done % 10 == 0 || done == chunks.size()) {
+                            log.info("[CouponBulkIssueService] 진행 - couponCode: {}, chunks: {}/{}",
+                                    couponCode, done, chunks.size());
+                        }
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("대량 발급 중 인터럽트가 발생했습니다", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("대량 발급 중 오류가 발생했습니다", e.getCause());
+        }
+
+        CouponBulkIssueResultDTO result = CouponBulkIssueResultDTO.builder()
+                .couponCode(couponCode)
+                .requestedCount(emailList.size())
+                .duplicatedCount(emailList.size() - uniqueEmails.size())
+                .alreadyIssuedCount(alreadyIssued)
+                .rejectedCount(targets.size() - issued.get() - failedRows.get())
+                .issuedCount(issued.get())
+                .totalChunks(chunks.size())
+                .failedChunks(failed.get())
+                .elapsedMillis(System.currentTimeMillis() - startTime)
+                .build();
+
+        log.info("[CouponBulkIssueService] 대량 발급 완료 - {}", result);
+
+        return result;
+    }
+
+    /**
+     * 청크 발급 - 수량 선점 후 선점분만 저장, 남은 선점분 반환
+     */
+    private int issueChunk(String couponCode, List<String> chunk) {
+
+        List<String> issuable = memberCouponBatchRepository.selectIssuableEmails(couponCode, chunk);
+        if (issuable.isEmpty()) {
+            return 0;
+        }
+
+        int quota = memberCouponBatchRepository.reserveQuota(couponCode, issuable.size());
+        if (quota == 0) {
+            return 0;
+        }
+
+        int saved;
+        try {
+            saved = transactionTemplate.execute(status ->
+                    memberCouponBatchRepository.insertChunk(couponCode, issuable, quota));
+        } catch (RuntimeException e) {
+            memberCouponBatchRepository.releaseQuota(couponCode, quota);
+            throw e;
+        }
+
+        memberCouponBatchRepository.releaseQuota(couponCode, quota - saved);
+        return saved;
+    }
+
+    private void markIssued(String couponCode, List<String> chunk) {
+        try {
+            List<String> emails = new ArrayList<>(memberCouponBatchRepository.selectHolderEmails(couponCode, chunk));
+            couponIssueGate.markIssued(couponCode, emails);
+        } catch (Exception e) {
+            log.warn("[CouponBulkIssueService] 발급 게이트 반영 실패 - couponCode: {}, size: {}, error: {}",
+                    couponCode, chunk.size(), e.getMessage());
+        }
+    }
+
+    private List<List<String>> partition(List<String> list, int size) {
+        List<List<String>> chunks = new ArrayList<>((list.size() + size - 1) / size);
+        for (int i = 0; i < list.size(); i += size) {
+            chunks.add(new ArrayList<>(list.subList(i, Math.min(i + size, list.size()))));
+        }
+        return chunks;
+    }
+}
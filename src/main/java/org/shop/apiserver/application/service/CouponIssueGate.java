@@ -0,0 +1,221 @@
+package org.shop.apiserver.application.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.common.exception.CouponException;
+import org.shop.apiserver.domain.model.coupon.Coupon;
+import org.shop.apiserver.infrastructure.persistence.jpa.CouponRepository;
+import org.shop.apiserver.infrastructure.persistence.jpa.MemberCouponRepository;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 선착순 쿠폰 발급 게이트 (Redis)
+ *
+ * - 발급 회원 Set(coupon:issued:{code}) 과 발급 수량(coupon:meta:{code} issued) 을
+ *   Lua 스크립트 한 번으로 검사/증가하여 탈락 요청은 DB 를 거치지 않고 즉시 거절
+ * - 쿠폰 메타(최대 수량, 활성 여부, 만료일)는 최초 요청 시 DB 에서 한 번 적재
+ * - 통과한 요청만 DB 에 발급 내역을 저장하고, 저장 실패 시 release 로 되돌린다
+ */
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class CouponIssueGate {
+
+    private static final String ISSUED_KEY_PREFIX = "coupon:issued:";
+    private static final String META_KEY_PREFIX = "coupon:meta:";
+
+    private static final long OK = 0;
+    private static final long NOT_LOADED = 1;
+    private static final long ALREADY_ISSUED = 2;
+    private static final long SOLD_OUT = 3;
+    private static final long UNAVAILABLE = 4;
+
+    /**
+     * KEYS[1] = 발급 회원 Set, KEYS[2] = 메타 해시
+     * ARGV[1] = 이메일, ARGV[2] = 현재 시각(ms)
+     */
+    private static final RedisScript<Long> TRY_ISSUE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[2]) == 0 then return 1 end
+            local meta = redis.call('HMGET', KEYS[2], 'max', 'issued', 'active', 'endAt')
+            if meta[3] ~= '1' or tonumber(ARGV[2]) >= tonumber(meta[4]) then return 4 end
+            if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then return 2 end
+            local max = tonumber(meta[1])
+            if max > 0 and tonumber(meta[2]) >= max then return 3 end
+            redis.call('SADD', KEYS[1], ARGV[1])
+            redis.call('HINCRBY', KEYS[2], 'issued', 1)
+            return 0
+            """, Long.class);
+
+    /**
+     * 발급 취소 (DB 저장 실패 시 보상)
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('SREM', KEYS[1], ARGV[1]) == 1 then
+              redis.call('HINCRBY', KEYS[2], 'issued', -1)
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * 외부(대량 발급)에서 저장된 회원을 게이트에 반영 (적재 전이면 다음 적재 시 DB 에서 읽음)
+     */
+    private static final RedisScript<Long> MARK_ISSUED_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[2]) == 0 then return 0 end
+            local added = 0
+            for i = 1, #ARGV do
+              added = added + redis.call('SADD', KEYS[1], ARGV[i])
+            end
+            redis.call('HINCRBY', KEYS[2], 'issued', added)
+            return added
+            """, Long.class);
+
+    /**
+     * KEYS[1] = 발급 회원 Set, KEYS[2] = 메타 해시, KEYS[3] = 적재용 임시 Set (미리 청크 단위 SADD)
+     * ARGV[1..4] = max, issuedCount, active, endAt, ARGV[5] = TTL(초)
+     * 이미 적재되어 있으면 임시 Set 만 지운다 (동시 적재 방지)
+     */
+    private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[2]) == 1 then
+              redis.call('DEL', KEYS[3])
+              return 0
+            end
+            if redis.call('EXISTS', KEYS[3]) == 1 then
+              redis.call('RENAME', KEYS[3], KEYS[1])
+            else
+              redis.call('DEL', KEYS[1])
+            end
+            local issued = math.max(tonumber(ARGV[2]), redis.call('SCARD', KEYS[1]))
+            redis.call('HSET', KEYS[2], 'max', ARGV[1], 'issued', issued, 'active', ARGV[3], 'endAt', ARGV[4])
+            redis.call('EXPIRE', KEYS[2], ARGV[5])
+            redis.call('EXPIRE', KEYS[1], ARGV[5])
+            return 1
+            """, Long.class);
+
+    // 기발급 회원 적재 시 SADD 한 번에 보내는 회원 수
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    // 적재 도중 실패했을 때 임시 Set 이 남아 있는 시간
+    private static final Duration STAGING_TTL = Duration.ofMinutes(5);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final CouponRepository couponRepository;
+    private final MemberCouponRepository memberCouponRepository;
+
+    /**
+     * 선착순 발급 자격 획득 시도
+     *
+     * @throws CouponException 이미 발급, 소진, 사용 불가, 쿠폰 없음
+     */
+    public void tryIssue(String email, String couponCode) {
+
+        List<String> keys = keys(couponCode);
+        String now = String.valueOf(System.currentTimeMillis());
+
+        Long result = stringRedisTemplate.execute(TRY_ISSUE_SCRIPT, keys, email, now);
+
+        if (result != null && result == NOT_LOADED) {
+            load(couponCode);
+            result = stringRedisTemplate.execute(TRY_ISSUE_SCRIPT, keys, email, now);
+        }
+
+        if (result == null || result == OK) {
+            return;
+        }
+
+        log.debug("[CouponIssueGate] 발급 거절 - email: {}, couponCode: {}, result: {}", email, couponCode, result);
+
+        if (result == ALREADY_ISSUED) {
+            throw CouponException.alreadyIssued();
+        }
+        if (result == SOLD_OUT) {
+            throw CouponException.stockEmpty();
+        }
+        if (result == UNAVAILABLE) {
+            throw CouponException.unavailable();
+        }
+        throw CouponException.notFound(couponCode);
+    }
+
+    /**
+     * 발급 자격 반환 (DB 저장 실패 시)
+     */
+    public void release(String email, String couponCode) {
+        stringRedisTemplate.execute(RELEASE_SCRIPT, keys(couponCode), email);
+        log.info("[CouponIssueGate] 발급 자격 반환 - email: {}, couponCode: {}", email, couponCode);
+    }
+
+    /**
+     * 대량 발급으로 저장된 회원 반영
+     */
+    public void markIssued(String couponCode, List<String> emails) {
+
+        if (emails.isEmpty()) {
+            return;
+        }
+
+        stringRedisTemplate.execute(MARK_ISSUED_SCRIPT, keys(couponCode), emails.toArray());
+    }
+
+    /**
+     * 쿠폰 메타 제거 (쿠폰 생성/변경 커밋 후 호출, 다음 요청에서 DB 기준으로 다시 적재)
+     */
+    public void evict(String couponCode) {
+        stringRedisTemplate.delete(keys(couponCode));
+    }
+
+    // ============================================
+    // Private Helper Methods
+    // ============================================
+
+    private void load(String couponCode) {
+
+        Coupon coupon = couponRepository.findByCouponCode(couponCode)
+                .orElseThrow(() -> CouponException.notFound(couponCode));
+
+        long endAt = coupon.getEndDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        // 만료 후 하루까지만 보관
+        long ttlSeconds = Math.max(
+                Duration.between(LocalDateTime.now(), coupon.getEndDate()).plusDays(1).getSeconds(), 60);
+
+        List<String> keys = keys(couponCode);
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(keys.get(1)))) {
+            return;
+        }
+
+        // 기발급 회원은 임시 Set 에 청크 단위로 먼저 넣고, 메타 스크립트에서 한 번에 교체 (스크립트 인자 크기 제한)
+        String stagingKey = keys.get(0) + ":loading:" + UUID.randomUUID();
+        List<String> emails = memberCouponRepository.findMemberEmailsByCouponId(coupon.getCouponId());
+
+        for (int from = 0; from < emails.size(); from += LOAD_CHUNK_SIZE) {
+            List<String> chunk = emails.subList(from, Math.min(from + LOAD_CHUNK_SIZE, emails.size()));
+            stringRedisTemplate.opsForSet().add(stagingKey, chunk.toArray(new String[0]));
+        }
+        if (!emails.isEmpty()) {
+            stringRedisTemplate.expire(stagingKey, STAGING_TTL);
+        }
+
+        stringRedisTemplate.execute(LOAD_SCRIPT, List.of(keys.get(0), keys.get(1), stagingKey),
+                String.valueOf(coupon.getMaxIssueCount()),
+                String.valueOf(coupon.getIssuedCount()),
+                coupon.isActive() ? "1" : "0",
+                String.valueOf(endAt),
+                String.valueOf(ttlSeconds));
+
+        log.info("[CouponIssueGate] 쿠폰 메타 적재 - couponCode: {}, max: {}, issued: {}",
+                couponCode, coupon.getMaxIssueCount(), coupon.getIssuedCount());
+    }
+
+    private List<String> keys(String couponCode) {
+        return List.of(ISSUED_KEY_PREFIX + couponCode, META_KEY_PREFIX + couponCode);
+    }
+}
@@ -13,6 +13,8 @@ import org.shop.apiserver.infrastructure.persistence.jpa.MemberCouponRepository;
 import org.shop.apiserver.infrastructure.persistence.jpa.MemberRepository;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -32,6 +34,7 @@ public class CouponServiceImpl implements CouponService {
     private final CouponRepository couponRepository;
     private final MemberCouponRepository memberCouponRepository;
     private final MemberRepository memberRepository;
+    private final CouponIssueGate couponIssueGate;
 
     @Override
     public Long createCoupon(CouponDTO dto) {
@@ -55,6 +58,9 @@ public class CouponServiceImpl implements CouponService {
 
         Coupon savedCoupon = couponRepository.save(coupon);
 
+        // 같은 코드로 남아 있던 발급 게이트 메타는 커밋 후 제거 (다음 발급 요청에서 DB 기준으로 적재)
+        evictGateAfterCommit(savedCoupon.getCouponCode());
+
         // 선착순 쿠폰인 경우 로그 출력
         if (maxIssueCount > 0) {
             log.info("[CouponService] 선착순 쿠폰 생성 완료 - couponId: {}, stock: {}", 
@@ -103,7 +109,14 @@ public class CouponServiceImpl implements CouponService {
                 throw new IllegalStateException("이미 발급된 쿠폰");
             }
 
-            // 4. 쿠폰 발급 처리 (동기)
+            // 4. 발급 수량 증가 (최대 발급 수량 초과 시 실패)
+            if (couponRepository.increaseIssuedCount(coupon.getCouponId()) == 0) {
+                log.warn("[CouponService] 쿠폰 소진 - couponCode: {}, maxIssueCount: {}",
+                        couponCode, coupon.getMaxIssueCount());
+                throw new IllegalStateException("쿠폰 소진");
+            }
+
+            // 5. 쿠폰 발급 처리 (동기)
             MemberCoupon memberCoupon = MemberCoupon.builder()
                     .member(member)
                     .coupon(coupon)
@@ -184,4 +197,19 @@ public class CouponServiceImpl implements CouponService {
                 .usable(mc.isUsable())
                 .build();
     }
+
+    private void evictGateAfterCommit(String couponCode) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            couponIssueGate.evict(couponCode);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                couponIssueGate.evict(couponCode);
+            }
+        });
+    }
 }
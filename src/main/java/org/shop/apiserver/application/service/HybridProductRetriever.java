@@ -0,0 +1,77 @@
+package org.shop.apiserver.application.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.infrastructure.search.ProductKeywordIndex;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 하이브리드 상품 검색 (벡터 + BM25 키워드)
+ *
+ * - 벡터 검색은 의미가 비슷한 상품, BM25 는 상품명/설명에 질의 단어가 들어간 상품을 잘 찾는다
+ * - 두 결과의 점수 척도가 달라 순위만 사용하는 RRF(Reciprocal Rank Fusion)로 합침
+ *   score(pno) = Σ 1 / (k + rank)
+ */
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class HybridProductRetriever {
+
+    private final VectorStore vectorStore;
+    private final ProductKeywordIndex productKeywordIndex;
+
+    // 각 검색기에서 가져올 후보 수
+    @Value("${recommendation.hybrid.candidates:20}")
+    private int candidates;
+
+    @Value("${recommendation.hybrid.rrf-k:60}")
+    private int rrfK;
+
+    @Value("${recommendation.hybrid.similarity-threshold:0.6}")
+    private double similarityThreshold;
+
+    /**
+     * 융합 점수 상위 상품번호 (점수 순)
+     */
+    public List<Long> retrieve(String query, int topK) {
+
+        long startTime = System.currentTimeMillis();
+
+        List<Document> vectorResults = vectorStore.similaritySearch(
+                SearchRequest.query(query)
+                        .withTopK(candidates)
+                        .withSimilarityThreshold(similarityThreshold)
+        );
+
+        List<ProductKeywordIndex.Hit> keywordResults = productKeywordIndex.search(query, candidates);
+
+        Map<Long, Double> scores = new HashMap<>();
+
+        for (int rank = 0; rank < vectorResults.size(); rank++) {
+            Long pno = ((Number) vectorResults.get(rank).getMetadata().get("pno")).longValue();
+            scores.merge(pno, 1.0 / (rrfK + rank + 1), Double::sum);
+        }
+        for (int rank = 0; rank < keywordResults.size(); rank++) {
+            scores.merge(keywordResults.get(rank).getPno(), 1.0 / (rrfK + rank + 1), Double::sum);
+        }
+
+        List<Long> pnos = scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+                .limit(topK)
+                .map(Map.Entry::getKey)
+                .toList();
+
+        log.debug("[HybridProductRetriever] 검색 완료 - query: {}, vector: {}, keyword: {}, fused: {}, {}ms",
+                query, vectorResults.size(), keywordResults.size(), pnos.size(), System.currentTimeMillis() - startTime);
+
+        return pnos;
+    }
+}
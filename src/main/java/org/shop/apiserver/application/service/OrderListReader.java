@@ -0,0 +1,105 @@
+package org.shop.apiserver.application.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.application.dto.CursorRequestDTO;
+import org.shop.apiserver.application.dto.CursorResponseDTO;
+import org.shop.apiserver.application.dto.OrderListDTO;
+import org.shop.apiserver.application.dto.PageRequestDTO;
+import org.shop.apiserver.application.dto.PageResponseDTO;
+import org.shop.apiserver.infrastructure.persistence.jpa.OrderRepository;
+import org.shop.apiserver.util.CursorUtil;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * 주문 목록 조회 (락 전략과 무관한 읽기 전용 로직)
+ *
+ * - 목록 행은 DTO 프로젝션 쿼리로 조회 (대표 상품명/상품 개수를 서브쿼리로 계산해 주문별 지연 로딩이 없다)
+ * - 커서 페이징: 마지막 행의 (orderDate, ono) 이후만 조회하므로 페이지가 깊어져도 OFFSET 스캔이 없다
+ * - size + 1 건을 조회해 다음 페이지 존재 여부를 판단 (count 쿼리 없음)
+ * - 전체 건수는 withTotal 요청 시에만 조회
+ */
+@Service
+@Log4j2
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OrderListReader {
+
+    private static final int MAX_SIZE = 100;
+
+    private final OrderRepository orderRepository;
+
+    public PageResponseDTO<OrderListDTO> getMyOrders(String email, PageRequestDTO pageRequestDTO) {
+
+        // 정렬은 쿼리에 고정 (orderDate, ono 내림차순)
+        Pageable pageable = PageRequest.of(pageRequestDTO.getPage() - 1, pageRequestDTO.getSize());
+
+        Page<OrderListDTO> result = orderRepository.findListByMemberEmail(email, pageable);
+
+        return PageResponseDTO.<OrderListDTO>withAll()
+                .dtoList(result.getContent())
+                .pageRequestDTO(pageRequestDTO)
+                .totalCount(result.getTotalElements())
+                .build();
+    }
+
+    public CursorResponseDTO<OrderListDTO> getMyOrdersByCursor(String email, CursorRequestDTO cursorRequestDTO) {
+
+        int size = Math.min(Math.max(cursorRequestDTO.getSize(), 1), MAX_SIZE);
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<OrderListDTO> result;
+
+        if (cursorRequestDTO.getCursor() == null || cursorRequestDTO.getCursor().isBlank()) {
+            result = orderRepository.findListFirstByMemberEmail(email, limit);
+        } else {
+            String[] values = CursorUtil.decode(cursorRequestDTO.getCursor(), 2);
+            result = orderRepository.findListNextByMemberEmail(
+                    email, parseOrderDate(values[0]), parseOno(values[1]), limit);
+        }
+
+        boolean hasNext = result.size() > size;
+        List<OrderListDTO> dtoList = hasNext ? result.subList(0, size) : result;
+
+        String nextCursor = null;
+        if (hasNext) {
+            OrderListDTO last = dtoList.get(dtoList.size() - 1);
+            nextCursor = CursorUtil.encode(last.getOrderDate(), last.getOno());
+        }
+
+        Long totalCount = cursorRequestDTO.isWithTotal() ? orderRepository.countByMemberEmail(email) : null;
+
+        log.debug("[OrderListReader] 커서 조회 - email: {}, size: {}, hasNext: {}", email, dtoList.size(), hasNext);
+
+        return CursorResponseDTO.<OrderListDTO>builder()
+                .dtoList(dtoList)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .totalCount(totalCount)
+                .build();
+    }
+
+    private LocalDateTime parseOrderDate(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalStateException("잘못된 커서입니다.");
+        }
+    }
+
+    private Long parseOno(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("잘못된 커서입니다.");
+        }
+    }
+}
@@ -37,6 +37,14 @@ public interface OrderService {
      */
     PageResponseDTO<OrderListDTO> getMyOrders(String email, PageRequestDTO pageRequestDTO);
 
+    /**
+     * 내 주문 목록 조회 (커서 페이징)
+     * @param email 회원 이메일
+     * @param cursorRequestDTO 커서 정보
+     * @return 주문 목록과 다음 커서
+     */
+    CursorResponseDTO<OrderListDTO> getMyOrdersByCursor(String email, CursorRequestDTO cursorRequestDTO);
+
     /**
      * 주문 취소
      * @param ono 주문 ID
@@ -12,10 +12,6 @@ import org.shop.apiserver.infrastructure.persistence.jpa.*;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
@@ -40,6 +36,7 @@ public class OrderServiceImpl implements OrderService {
     private final MemberRepository memberRepository;
     private final PaymentService paymentService;
     private final CouponService couponService;
+    private final OrderListReader orderListReader;
 
     @Override
     public String createOrder(OrderDTO orderDTO) {
@@ -165,24 +162,13 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional(readOnly = true)
     public PageResponseDTO<OrderListDTO> getMyOrders(String email, PageRequestDTO pageRequestDTO) {
+        return orderListReader.getMyOrders(email, pageRequestDTO);
+    }
 
-        Pageable pageable = PageRequest.of(
-                pageRequestDTO.getPage() - 1,
-                pageRequestDTO.getSize(),
-                Sort.by("orderDate").descending()
-        );
-
-        Page<Orders> result = orderRepository.findByMemberEmail(email, pageable);
-
-        List<OrderListDTO> dtoList = result.getContent().stream()
-                .map(this::entityToListDTO)
-                .collect(Collectors.toList());
-
-        return PageResponseDTO.<OrderListDTO>withAll()
-                .dtoList(dtoList)
-                .pageRequestDTO(pageRequestDTO)
-                .totalCount(result.getTotalElements())
-                .build();
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponseDTO<OrderListDTO> getMyOrdersByCursor(String email, CursorRequestDTO cursorRequestDTO) {
+        return orderListReader.getMyOrdersByCursor(email, cursorRequestDTO);
     }
 
     @Override
@@ -289,30 +275,4 @@ public class OrderServiceImpl implements OrderService {
                 .delivery(deliveryDTO)
                 .build();
     }
-
-    /**
-     * Entity -> ListDTO 변환 (주문 목록용)
-     */
-    private OrderListDTO entityToListDTO(Orders order) {
-
-        // 대표 상품명 가져오기
-        String firstProductName = order.getOrderItems().isEmpty() ?
-                "상품 없음" : order.getOrderItems().get(0).getProduct().getPname();
-
-        // 상품이 2개 이상이면 "상품명 외 n개" 형식
-        int productCount = order.getOrderItems().size();
-        if (productCount > 1) {
-            firstProductName += " 외 " + (productCount - 1) + "개";
-        }
-
-        return OrderListDTO.builder()
-                .ono(order.getOno())
-                .orderNumber(order.getOrderNumber())
-                .finalAmount(order.getFinalAmount())
-                .orderDate(order.getOrderDate())
-                .status(order.getStatus())
-                .firstProductName(firstProductName)
-                .productCount(productCount)
-                .build();
-    }
 }
\ No newline at end of file
@@ -0,0 +1,287 @@
+package org.shop.apiserver.application.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.application.dto.*;
+import org.shop.apiserver.domain.model.delivery.Delivery;
+import org.shop.apiserver.domain.model.delivery.DeliveryStatus;
+import org.shop.apiserver.domain.model.member.Member;
+import org.shop.apiserver.domain.model.order.OrderItem;
+import org.shop.apiserver.domain.model.order.OrderStatus;
+import org.shop.apiserver.domain.model.order.Orders;
+import org.shop.apiserver.domain.model.product.Product;
+import org.shop.apiserver.infrastructure.persistence.jpa.MemberRepository;
+import org.shop.apiserver.infrastructure.persistence.jpa.OrderRepository;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+/**
+ * 상품별 적응형 락 전략 주문 서비스
+ * - 경합 없는 상품은 낙관적 compare-and-set, 경합 상품만 비관적 락 사용
+ * - 전략 선택은 AdaptiveStockRouter 가 최근 충돌률 기준으로 수행
+ * - 주문 트랜잭션이 롤백되면 이미 차감한 재고를 복구
+ */
+@Service("adaptiveOrderService")
+@Primary  // ✅ 기본으로 이 구현체 사용
+@Transactional
+@Log4j2
+@RequiredArgsConstructor
+public class OrderServiceWithAdaptiveLock implements OrderService {
+
+    private final OrderRepository orderRepository;
+    private final MemberRepository memberRepository;
+    private final PaymentService paymentService;
+    private final CouponService couponService;
+    private final AdaptiveStockRouter adaptiveStockRouter;
+    private final OrderListReader orderListReader;
+
+    @Override
+    public String createOrder(OrderDTO orderDTO) {
+        log.info("🛒 Creating order (Adaptive Stock Strategy)");
+
+        Member member = memberRepository.findById(orderDTO.getEmail())
+                .orElseThrow(() -> new NoSuchElementException("회원을 찾을 수 없습니다."));
+
+        String orderNumber = generateOrderNumber();
+        Orders order = Orders.builder()
+                .orderNumber(orderNumber)
+                .member(member)
+                .orderDate(LocalDateTime.now())
+                .status(OrderStatus.PENDING)
+                .build();
+
+        int totalAmount = 0;
+
+        // 차감 완료된 항목 (롤백 시 복구 대상)
+        List<OrderItemDTO> decreasedItems = new ArrayList<>();
+        restoreOnRollback(decreasedItems);
+
+        // 상품번호 오름차순 정렬 (다건 주문 간 갱신 순서 고정)
+        List<OrderItemDTO> sortedItems = orderDTO.getOrderItems().stream()
+                .sorted(Comparator.comparing(OrderItemDTO::getPno))
+                .collect(Collectors.toList());
+
+        for (OrderItemDTO itemDTO : sortedItems) {
+            Product product = adaptiveStockRouter.decreaseStock(itemDTO.getPno(), itemDTO.getQty());
+            decreasedItems.add(itemDTO);
+
+            OrderItem orderItem = OrderItem.builder()
+                    .product(product)
+                    .qty(itemDTO.getQty())
+                    .price(product.getPrice())
+                    .build();
+
+            order.addOrderItem(orderItem);
+            totalAmount += product.getPrice() * itemDTO.getQty();
+        }
+
+        // 쿠폰 처리
+        int discountAmount = 0;
+        if (orderDTO.getMemberCouponId() != null) {
+            try {
+                discountAmount = couponService.useCoupon(
+                        orderDTO.getMemberCouponId(),
+                        orderDTO.getEmail(),
+                        totalAmount
+                );
+            } catch (Exception e) {
+                log.error("Coupon use failed: {}", e.getMessage());
+            }
+        }
+
+        int finalAmount = totalAmount - discountAmount;
+        order.setTotalAmount(totalAmount);
+        order.setDiscountAmount(discountAmount);
+        order.setFinalAmount(finalAmount);
+
+        // 배송 정보
+        DeliveryDTO deliveryDTO = orderDTO.getDelivery();
+        Delivery delivery = Delivery.builder()
+                .receiverName(deliveryDTO.getReceiverName())
+                .receiverPhone(deliveryDTO.getReceiverPhone())
+                .address(deliveryDTO.getAddress())
+                .zipCode(deliveryDTO.getZipCode())
+                .deliveryMessage(deliveryDTO.getDeliveryMessage())
+                .status(DeliveryStatus.READY)
+                .build();
+
+        order.setDelivery(delivery);
+        orderRepository.save(order);
+
+        // 결제 처리
+        String paymentMethod = orderDTO.getPaymentMethod() != null ?
+                orderDTO.getPaymentMethod() : "CARD";
+        paymentService.processPayment(orderNumber, paymentMethod);
+
+        log.info("✅ Order created with adaptive stock strategy: {}", orderNumber);
+        return orderNumber;
+    }
+
+    @Override
+    public void cancelOrder(Long ono, String email) {
+        Orders order = orderRepository.findById(ono)
+                .orElseThrow(() -> new NoSuchElementException("주문을 찾을 수 없습니다."));
+
+        if (!order.getMember().getEmail().equals(email)) {
+            throw new AccessDeniedException("주문 취소 권한이 없습니다.");
+        }
+
+        if (!order.canCancel()) {
+            throw new IllegalStateException("취소할 수 없는 주문 상태입니다.");
+        }
+
+        List<OrderItem> sortedItems = order.getOrderItems().stream()
+                .sorted(Comparator.comparing(item -> item.getProduct().getPno()))
+                .collect(Collectors.toList());
+
+        for (OrderItem item : sortedItems) {
+            adaptiveStockRouter.increaseStock(item.getProduct().getPno(), item.getQty());
+        }
+
+        if (order.getPayment() != null) {
+            paymentService.cancelPayment(order.getOrderNumber(), "사용자 주문 취소");
+        }
+
+        order.changeStatus(OrderStatus.CANCELLED);
+        log.info("♻️ Order cancelled with adaptive stock strategy: {}", order.getOrderNumber());
+    }
+
+    private String generateOrderNumber() {
+        String timestamp = LocalDateTime.now()
+                .format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        int random = (int) (Math.random() * 900) + 100;
+        return "ORD" + timestamp + random;
+    }
+
+    /**
+     * 재고 차감은 별도 트랜잭션으로 커밋되므로, 주문 트랜잭션 롤백 시 보상 처리
+     */
+    private void restoreOnRollback(List<OrderItemDTO> decreasedItems) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                for (OrderItemDTO item : decreasedItems) {
+                    try {
+                        adaptiveStockRouter.increaseStock(item.getPno(), item.getQty());
+                    } catch (Exception e) {
+                        log.error("재고 복구 실패: pno={}, qty={}, {}", item.getPno(), item.getQty(), e.getMessage());
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderResponseDTO getOrder(Long ono, String email) {
+        Orders order = orderRepository.findByIdWithDetails(ono)
+                .orElseThrow(() -> new NoSuchElementException("주문을 찾을 수 없습니다."));
+
+        if (!order.getMember().getEmail().equals(email)) {
+            throw new AccessDeniedException("주문 조회 권한이 없습니다.");
+        }
+
+        return entityToDTO(order);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderResponseDTO getOrderByOrderNumber(String orderNumber, String email) {
+        Orders order = orderRepository.findByOrderNumberWithDetails(orderNumber)
+                .orElseThrow(() -> new NoSuchElementException("주문을 찾을 수 없습니다."));
+
+        if (!order.getMember().getEmail().equals(email)) {
+            throw new AccessDeniedException("주문 조회 권한이 없습니다.");
+        }
+
+        return entityToDTO(order);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDTO<OrderListDTO> getMyOrders(String email, PageRequestDTO pageRequestDTO) {
+        return orderListReader.getMyOrders(email, pageRequestDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponseDTO<OrderListDTO> getMyOrdersByCursor(String email, CursorRequestDTO cursorRequestDTO) {
+        return orderListReader.getMyOrdersByCursor(email, cursorRequestDTO);
+    }
+
+    @Override
+    public void updateOrderStatus(Long ono, String status) {
+        Orders order = orderRepository.findById(ono)
+                .orElseThrow(() -> new NoSuchElementException("주문을 찾을 수 없습니다."));
+
+        OrderStatus orderStatus = OrderStatus.valueOf(status);
+        order.changeStatus(orderStatus);
+
+        if (orderStatus == OrderStatus.SHIPPED && order.getDelivery() != null) {
+            order.getDelivery().changeStatus(DeliveryStatus.SHIPPING);
+        } else if (orderStatus == OrderStatus.DELIVERED && order.getDelivery() != null) {
+            order.getDelivery().changeStatus(DeliveryStatus.COMPLETED);
+        }
+
+        log.info("Order status updated: {} -> {}", order.getOrderNumber(), status);
+    }
+
+    private OrderResponseDTO entityToDTO(Orders order) {
+        List<OrderItemDTO> orderItemDTOs = order.getOrderItems().stream()
+                .map(item -> OrderItemDTO.builder()
+                        .pno(item.getProduct().getPno())
+                        .pname(item.getProduct().getPname())
+                        .qty(item.getQty())
+                        .price(item.getPrice())
+                        .build())
+                .collect(Collectors.toList());
+
+        DeliveryResponseDTO deliveryDTO = null;
+        if (order.getDelivery() != null) {
+            Delivery delivery = order.getDelivery();
+            deliveryDTO = DeliveryResponseDTO.builder()
+                    .dno(delivery.getDno())
+                    .receiverName(delivery.getReceiverName())
+                    .receiverPhone(delivery.getReceiverPhone())
+                    .address(delivery.getAddress())
+                    .zipCode(delivery.getZipCode())
+                    .deliveryMessage(delivery.getDeliveryMessage())
+                    .status(delivery.getStatus())
+                    .trackingNumber(delivery.getTrackingNumber())
+                    .build();
+        }
+
+        return OrderResponseDTO.builder()
+                .ono(order.getOno())
+                .orderNumber(order.getOrderNumber())
+                .memberEmail(order.getMember().getEmail())
+                .totalAmount(order.getTotalAmount())
+                .discountAmount(order.getDiscountAmount())
+                .finalAmount(order.getFinalAmount())
+                .orderDate(order.getOrderDate())
+                .status(order.getStatus())
+                .orderItems(orderItemDTOs)
+                .delivery(deliveryDTO)
+                .build();
+    }
+}
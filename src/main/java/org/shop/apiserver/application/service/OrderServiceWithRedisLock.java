@@ -14,11 +14,6 @@ import org.shop.apiserver.domain.model.product.Product;
 import org.shop.apiserver.infrastructure.persistence.jpa.MemberRepository;
 import org.shop.apiserver.infrastructure.persistence.jpa.OrderRepository;
 import org.shop.apiserver.infrastructure.persistence.jpa.ProductRepository;
-import org.springframework.context.annotation.Primary;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
@@ -30,7 +25,6 @@ import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
 
 @Service("redisLockOrderService")  // ✅ Bean 이름 지정
-@Primary  // ✅ 기본으로 이 구현체 사용
 @Transactional
 @Log4j2
 @RequiredArgsConstructor
@@ -43,6 +37,7 @@ public class OrderServiceWithRedisLock implements OrderService {
     private final CouponService couponService;
     private final RedisLockService redisLockService;  // ✅ Redis Lock 추가
     private final ProductStockService productStockService;
+    private final OrderListReader orderListReader;
 
     @Override
     public String createOrder(OrderDTO orderDTO) {
@@ -188,23 +183,13 @@ public class OrderServiceWithRedisLock implements OrderService {
     @Override
     @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public PageResponseDTO<OrderListDTO> getMyOrders(String email, PageRequestDTO pageRequestDTO) {
-        Pageable pageable = PageRequest.of(
-                pageRequestDTO.getPage() - 1,
-                pageRequestDTO.getSize(),
-                Sort.by("orderDate").descending()
-        );
-
-        Page<Orders> result = orderRepository.findByMemberEmail(email, pageable);
-
-        List<OrderListDTO> dtoList = result.getContent().stream()
-                .map(this::entityToListDTO)
-                .collect(Collectors.toList());
+        return orderListReader.getMyOrders(email, pageRequestDTO);
+    }
 
-        return PageResponseDTO.<OrderListDTO>withAll()
-                .dtoList(dtoList)
-                .pageRequestDTO(pageRequestDTO)
-                .totalCount(result.getTotalElements())
-                .build();
+    @Override
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public CursorResponseDTO<OrderListDTO> getMyOrdersByCursor(String email, CursorRequestDTO cursorRequestDTO) {
+        return orderListReader.getMyOrdersByCursor(email, cursorRequestDTO);
     }
 
     @Override
@@ -262,24 +247,4 @@ public class OrderServiceWithRedisLock implements OrderService {
                 .delivery(deliveryDTO)
                 .build();
     }
-
-    private OrderListDTO entityToListDTO(Orders order) {
-        String firstProductName = order.getOrderItems().isEmpty() ?
-                "상품 없음" : order.getOrderItems().get(0).getProduct().getPname();
-
-        int productCount = order.getOrderItems().size();
-        if (productCount > 1) {
-            firstProductName += " 외 " + (productCount - 1) + "개";
-        }
-
-        return OrderListDTO.builder()
-                .ono(order.getOno())
-                .orderNumber(order.getOrderNumber())
-                .finalAmount(order.getFinalAmount())
-                .orderDate(order.getOrderDate())
-                .status(order.getStatus())
-                .firstProductName(firstProductName)
-                .productCount(productCount)
-                .build();
-    }
 }
\ No newline at end of file
@@ -0,0 +1,299 @@
+package org.shop.apiserver.application.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.application.dto.*;
+import org.shop.apiserver.domain.model.delivery.Delivery;
+import org.shop.apiserver.domain.model.delivery.DeliveryStatus;
+import org.shop.apiserver.domain.model.member.Member;
+import org.shop.apiserver.domain.model.order.OrderItem;
+import org.shop.apiserver.domain.model.order.OrderStatus;
+import org.shop.apiserver.domain.model.order.Orders;
+import org.shop.apiserver.domain.model.product.Product;
+import org.shop.apiserver.infrastructure.persistence.jpa.MemberRepository;
+import org.shop.apiserver.infrastructure.persistence.jpa.OrderRepository;
+import org.shop.apiserver.infrastructure.persistence.jpa.ProductRepository;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Redis 재고 원장 기반 주문 서비스
+ * - 주문 상품 전체를 Lua 스크립트 한 번으로 예약 (상품별 락 없음)
+ * - 주문 트랜잭션이 롤백되면 예약 재고를 반환
+ * - tbl_product.stock 은 StockReservationService 가 비동기로 반영
+ */
+@Service("reservationOrderService")
+@Transactional
+@Log4j2
+@RequiredArgsConstructor
+public class OrderServiceWithStockReservation implements OrderService {
+
+    private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+    private final MemberRepository memberRepository;
+    private final PaymentService paymentService;
+    private final CouponService couponService;
+    private final StockReservationService stockReservationService;
+    private final OrderListReader orderListReader;
+
+    @Override
+    public String createOrder(OrderDTO orderDTO) {
+        log.info("🛒 Creating order (Redis Stock Reservation)");
+
+        Member member = memberRepository.findById(orderDTO.getEmail())
+                .orElseThrow(() -> new NoSuchElementException("회원을 찾을 수 없습니다."));
+
+        // 상품번호별 수량 합산 후 한 번에 예약
+        Map<Long, Integer> quantities = orderDTO.getOrderItems().stream()
+                .collect(Collectors.toMap(OrderItemDTO::getPno, OrderItemDTO::getQty, Integer::sum, TreeMap::new));
+
+        stockReservationService.reserve(quantities);
+        releaseOnRollback(quantities);
+
+        Map<Long, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getPno, Function.identity()));
+
+        String orderNumber = generateOrderNumber();
+        Orders order = Orders.builder()
+                .orderNumber(orderNumber)
+                .member(member)
+                .orderDate(LocalDateTime.now())
+                .status(OrderStatus.PENDING)
+                .build();
+
+        int totalAmount = 0;
+
+        for (OrderItemDTO itemDTO : orderDTO.getOrderItems()) {
+            Product product = products.get(itemDTO.getPno());
+
+            if (product == null) {
+                throw new NoSuchElementException("상품을 찾을 수 없습니다.");
+            }
+
+            OrderItem orderItem = OrderItem.builder()
+                    .product(product)
+                    .qty(itemDTO.getQty())
+                    .price(product.getPrice())
+                    .build();
+
+            order.addOrderItem(orderItem);
+            totalAmount += product.getPrice() * itemDTO.getQty();
+        }
+
+        // 쿠폰 처리
+        int discountAmount = 0;
+        if (orderDTO.getMemberCouponId() != null) {
+            try {
+                discountAmount = couponService.useCoupon(
+                        orderDTO.getMemberCouponId(),
+                        orderDTO.getEmail(),
+                        totalAmount
+                );
+            } catch (Exception e) {
+                log.error("Coupon use failed: {}", e.getMessage());
+            }
+        }
+
+        int finalAmount = totalAmount - discountAmount;
+        order.setTotalAmount(totalAmount);
+        order.setDiscountAmount(discountAmount);
+        order.setFinalAmount(finalAmount);
+
+        // 배송 정보
+        DeliveryDTO deliveryDTO = orderDTO.getDelivery();
+        Delivery delivery = Delivery.builder()
+                .receiverName(deliveryDTO.getReceiverName())
+                .receiverPhone(deliveryDTO.getReceiverPhone())
+                .address(deliveryDTO.getAddress())
+                .zipCode(deliveryDTO.getZipCode())
+                .deliveryMessage(deliveryDTO.getDeliveryMessage())
+                .status(DeliveryStatus.READY)
+                .build();
+
+        order.setDelivery(delivery);
+        orderRepository.save(order);
+
+        // 결제 처리
+        String paymentMethod = orderDTO.getPaymentMethod() != null ?
+                orderDTO.getPaymentMethod() : "CARD";
+        paymentService.processPayment(orderNumber, paymentMethod);
+
+        log.info("✅ Order created with stock reservation: {}", orderNumber);
+        return orderNumber;
+    }
+
+    @Override
+    public void cancelOrder(Long ono, String email) {
+        Orders order = orderRepository.findById(ono)
+                .orElseThrow(() -> new NoSuchElementException("주문을 찾을 수 없습니다."));
+
+        if (!order.getMember().getEmail().equals(email)) {
+            throw new AccessDeniedException("주문 취소 권한이 없습니다.");
+        }
+
+        if (!order.canCancel()) {
+            throw new IllegalStateException("취소할 수 없는 주문 상태입니다.");
+        }
+
+        if (order.getPayment() != null) {
+            paymentService.cancelPayment(order.getOrderNumber(), "사용자 주문 취소");
+        }
+
+        order.changeStatus(OrderStatus.CANCELLED);
+
+        // 커밋 이후 재고 반환 (취소가 롤백되면 재고도 그대로 유지)
+        Map<Long, Integer> quantities = order.getOrderItems().stream()
+                .collect(Collectors.toMap(item -> item.getProduct().getPno(), OrderItem::getQty, Integer::sum, TreeMap::new));
+
+        afterCommit(() -> stockReservationService.release(quantities));
+
+        log.info("♻️ Order cancelled with stock reservation: {}", order.getOrderNumber());
+    }
+
+    private String generateOrderNumber() {
+        String timestamp = LocalDateTime.now()
+                .format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        int random = (int) (Math.random() * 900) + 100;
+        return "ORD" + timestamp + random;
+    }
+
+    /**
+     * 주문 트랜잭션이 롤백되면 예약했던 재고를 반환
+     */
+    private void releaseOnRollback(Map<Long, Integer> quantities) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    stockReservationService.release(quantities);
+                }
+            }
+        });
+    }
+
+    private void afterCommit(Runnable runnable) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderResponseDTO getOrder(Long ono, String email) {
+        Orders order = orderRepository.findByIdWithDetails(ono)
+                .orElseThrow(() -> new NoSuchElementException("주문을 찾을 수 없습니다."));
+
+        if (!order.getMember().getEmail().equals(email)) {
+            throw new AccessDeniedException("주문 조회 권한이 없습니다.");
+        }
+
+        return entityToDTO(order);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderResponseDTO getOrderByOrderNumber(String orderNumber, String email) {
+        Orders order = orderRepository.findByOrderNumberWithDetails(orderNumber)
+                .orElseThrow(() -> new NoSuchElementException("주문을 찾을 수 없습니다."));
+
+        if (!order.getMember().getEmail().equals(email)) {
+            throw new AccessDeniedException("주문 조회 권한이 없습니다.");
+        }
+
+        return entityToDTO(order);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDTO<OrderListDTO> getMyOrders(String email, PageRequestDTO pageRequestDTO) {
+        return orderListReader.getMyOrders(email, pageRequestDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponseDTO<OrderListDTO> getMyOrdersByCursor(String email, CursorRequestDTO cursorRequestDTO) {
+        return orderListReader.getMyOrdersByCursor(email, cursorRequestDTO);
+    }
+
+    @Override
+    public void updateOrderStatus(Long ono, String status) {
+        Orders order = orderRepository.findById(ono)
+                .orElseThrow(() -> new NoSuchElementException("주문을 찾을 수 없습니다."));
+
+        OrderStatus orderStatus = OrderStatus.valueOf(status);
+        order.changeStatus(orderStatus);
+
+        if (orderStatus == OrderStatus.SHIPPED && order.getDelivery() != null) {
+            order.getDelivery().changeStatus(DeliveryStatus.SHIPPING);
+        } else if (orderStatus == OrderStatus.DELIVERED && order.getDelivery() != null) {
+            order.getDelivery().changeStatus(DeliveryStatus.COMPLETED);
+        }
+
+        log.info("Order status updated: {} -> {}", order.getOrderNumber(), status);
+    }
+
+    private OrderResponseDTO entityToDTO(Orders order) {
+        List<OrderItemDTO> orderItemDTOs = order.getOrderItems().stream()
+                .map(item -> OrderItemDTO.builder()
+                        .pno(item.getProduct().getPno())
+                        .pname(item.getProduct().getPname())
+                        .qty(item.getQty())
+                        .price(item.getPrice())
+                        .build())
+                .collect(Collectors.toList());
+
+        DeliveryResponseDTO deliveryDTO = null;
+        if (order.getDelivery() != null) {
+            Delivery delivery = order.getDelivery();
+            deliveryDTO = DeliveryResponseDTO.builder()
+                    .dno(delivery.getDno())
+                    .receiverName(delivery.getReceiverName())
+                    .receiverPhone(delivery.getReceiverPhone())
+                    .address(delivery.getAddress())
+                    .zipCode(delivery.getZipCode())
+                    .deliveryMessage(delivery.getDeliveryMessage())
+                    .status(delivery.getStatus())
+                    .trackingNumber(delivery.getTrackingNumber())
+                    .build();
+        }
+
+        return OrderResponseDTO.builder()
+                .ono(order.getOno())
+                .orderNumber(order.getOrderNumber())
+                .memberEmail(order.getMember().getEmail())
+                .totalAmount(order.getTotalAmount())
+                .discountAmount(order.getDiscountAmount())
+                .finalAmount(order.getFinalAmount())
+                .orderDate(order.getOrderDate())
+                .status(order.getStatus())
+                .orderItems(orderItemDTOs)
+                .delivery(deliveryDTO)
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package org.shop.apiserver.application.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.infrastructure.persistence.jpa.ProductRepository;
+import org.shop.apiserver.util.CustomFileUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 상품 이미지 파일 정리 (내용 주소 저장소 GC)
+ *
+ * - 같은 이미지 파일을 여러 상품이 공유하므로 상품 수정/삭제 시 바로 지우지 않고 삭제 후보로만 등록
+ * - 주기적으로 후보를 모아 삭제되지 않은 상품의 ProductImage 가 참조하는지 한 번의 쿼리로 확인 (참조 수 = DB 행)
+ * - 참조가 없고 마지막 저장(재업로드) 후 grace 가 지난 파일만 삭제
+ *   (업로드는 끝났지만 아직 상품 등록 트랜잭션이 커밋되지 않은 파일 보호)
+ * - 후보는 노드 메모리에만 있으므로 재시작 시 유실되면 파일이 남을 뿐 잘못 지워지지는 않음
+ */
+@Service
+@Log4j2
+@RequiredArgsConstructor
+public class ProductImageCollector {
+
+    private final ProductRepository productRepository;
+    private final CustomFileUtil fileUtil;
+
+    @Value("${image.gc.grace-minutes:10}")
+    private long graceMinutes;
+
+    @Value("${image.gc.batch-size:500}")
+    private int batchSize;
+
+    private final Set<String> candidates = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 상품에서 빠진 이미지 파일을 삭제 후보로 등록
+     */
+    public void release(List<String> fileNames) {
+
+        if (fileNames == null || fileNames.isEmpty()) {
+            return;
+        }
+
+        candidates.addAll(fileNames);
+    }
+
+    @Scheduled(fixedDelayString = "${image.gc.interval-ms:60000}")
+    public void collect() {
+
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<String> batch = new ArrayList<>();
+        for (String fileName : candidates) {
+            if (batch.size() >= batchSize) {
+                break;
+            }
+            if (candidates.remove(fileName)) {
+                batch.add(fileName);
+            }
+        }
+
+        try {
+            Set<String> referenced = new HashSet<>(productRepository.selectReferencedFileNames(batch));
+            Duration grace = Duration.ofMinutes(graceMinutes);
+
+            int deleted = 0;
+            for (String fileName : batch) {
+                if (referenced.contains(fileName)) {
+                    continue;
+                }
+                if (fileUtil.deleteFile(fileName, grace)) {
+                    deleted++;
+                } else {
+                    // 최근에 다시 업로드된 파일 - 다음 주기에 재확인
+                    candidates.add(fileName);
+                }
+            }
+
+            log.info("[ProductImageCollector] 이미지 정리 - candidates: {}, referenced: {}, deleted: {}",
+                    batch.size(), referenced.size(), deleted);
+
+        } catch (Exception e) {
+            // 다음 주기에 재시도
+            candidates.addAll(batch);
+            log.error("[ProductImageCollector] 이미지 정리 실패 - candidates: {}, error: {}", batch.size(), e.getMessage());
+        }
+    }
+}
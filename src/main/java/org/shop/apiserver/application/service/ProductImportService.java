@@ -0,0 +1,366 @@
+package org.shop.apiserver.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.application.dto.ProductImportResultDTO;
+import org.shop.apiserver.domain.model.product.Product;
+import org.shop.apiserver.infrastructure.persistence.jdbc.ProductBatchRepository;
+import org.shop.apiserver.util.CsvReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 상품 대량 등록 서비스 (거래처 카탈로그 동기화)
+ *
+ * 처리 흐름:
+ * 1. 요청 본문(CSV / JSONL)을 한 행씩 읽어 검증 (파일 전체를 메모리에 올리지 않음)
+ * 2. 청크 단위로 모아 JDBC 배치 INSERT (상품 + 이미지), 청크마다 커밋 (공유하는 제한된 스레드 풀에서 병렬 처리)
+ * 3. 상품별 변경 이벤트 대신 끝난 뒤 변경분 인덱싱(벡터 + 키워드)을 한 번 실행
+ *
+ * CSV 헤더: pname,price,pdesc,stock,images (images 는 '|' 로 구분, pname/price 필수)
+ * JSONL: 한 줄에 {"pname": ..., "price": ..., "pdesc": ..., "stock": ..., "images": [...]}
+ *
+ * 형식이 잘못되었거나 컬럼 길이를 넘는 행은 건너뛰고, 청크 하나가 실패해도 나머지 청크는 계속 처리한다.
+ * 둘 다 결과에 포함된다.
+ */
+@Service
+@Log4j2
+@RequiredArgsConstructor
+public class ProductImportService {
+
+    public static final String CSV = "csv";
+    public static final String JSONL = "jsonl";
+
+    // 결과에 담을 최대 오류 수
+    private static final int MAX_ERRORS = 100;
+
+    // pname, pdesc, 이미지 file_name 컬럼 길이 (엔티티에 length 미지정 - VARCHAR(255))
+    private static final int MAX_COLUMN_LENGTH = 255;
+
+    private final ProductBatchRepository productBatchRepository;
+    private final ProductIndexingJob productIndexingJob;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${product.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${product.import.parallelism:4}")
+    private int parallelism;
+
+    // 청크 저장 작업 스레드 (가져오기 요청끼리 공유, 대기열이 차면 요청 스레드가 직접 저장)
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+
+        AtomicInteger sequence = new AtomicInteger();
+
+        executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(parallelism * 2),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "product-import-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 가져오기 행 (JSONL 한 줄 / CSV 한 레코드)
+     */
+    public record ImportRow(String pname, Integer price, String pdesc, Integer stock, List<String> images) {
+    }
+
+    /**
+     * Content-Type 으로 형식 판별 (text/csv -> csv, application/x-ndjson, application/jsonl -> jsonl)
+     */
+    public static String resolveFormat(String contentType) {
+
+        if (contentType != null) {
+            String type = contentType.toLowerCase(Locale.ROOT);
+            if (type.contains("csv")) {
+                return CSV;
+            }
+            if (type.contains("ndjson") || type.contains("jsonl")) {
+                return JSONL;
+            }
+        }
+        throw new IllegalStateException("지원하지 않는 형식입니다 (text/csv, application/x-ndjson): " + contentType);
+    }
+
+    @CacheEvict(value = "product-list", allEntries = true)
+    public ProductImportResultDTO importProducts(InputStream in, String format) throws IOException {
+
+        long startTime = System.currentTimeMillis();
+        log.info("[ProductImportService] 대량 등록 시작 - format: {}", format);
+
+        ImportJob job = new ImportJob(executor);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+
+            if (CSV.equals(format)) {
+                readCsv(reader, job);
+            } else {
+                readJsonl(reader, job);
+            }
+            job.flush();
+            job.await();
+        }
+
+        // 상품별 이벤트(수십만 건) 대신 변경분 인덱싱 1회 (실행 중이면 다음 주기에 반영)
+        boolean indexingStarted = job.imported.get() > 0 && productIndexingJob.start(ProductIndexingJob.Mode.CHANGED);
+
+        ProductImportResultDTO result = ProductImportResultDTO.builder()
+                .format(format)
+                .totalRows(job.accepted + job.skipped)
+                .importedCount(job.imported.get())
+                .skippedCount(job.skipped)
+                .totalChunks(job.chunks)
+                .failedChunks(job.failedChunks.get())
+                .indexingStarted(indexingStarted)
+                .errors(job.errors)
+                .elapsedMillis(System.currentTimeMillis() - startTime)
+                .build();
+
+        log.info("[ProductImportService] 대량 등록 완료 - total: {}, imported: {}, skipped: {}, failedChunks: {}, {}ms",
+                result.getTotalRows(), result.getImportedCount(), result.getSkippedCount(),
+                result.getFailedChunks(), result.getElapsedMillis());
+
+        return result;
+    }
+
+    // ============================================
+    // Private Helper Methods
+    // ============================================
+
+    private void readCsv(BufferedReader reader, ImportJob job) throws IOException {
+
+        CsvReader csv = new CsvReader(reader);
+
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        if (!columns.containsKey("pname") || !columns.containsKey("price")) {
+            throw new IllegalStateException("CSV 헤더에 pname, price 컬럼이 필요합니다.");
+        }
+
+        int rowNumber = 1;
+        List<String> record;
+
+        while ((record = csv.next()) != null) {
+
+            rowNumber++;
+
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+
+            try {
+                String images = column(record, columns, "images");
+
+                job.add(rowNumber, new ImportRow(
+                        column(record, columns, "pname"),
+                        toInteger(column(record, columns, "price")),
+                        column(record, columns, "pdesc"),
+                        toInteger(column(record, columns, "stock")),
+                        images == null ? List.of() : Arrays.asList(images.split("\\|"))));
+
+            } catch (NumberFormatException e) {
+                job.reject(rowNumber, "숫자 형식 오류 - " + e.getMessage());
+            }
+        }
+    }
+
+    private void readJsonl(BufferedReader reader, ImportJob job) throws IOException {
+
+        int rowNumber = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+
+            rowNumber++;
+
+            if (rowNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+
+            if (line.isBlank()) {
+                continue;
+            }
+
+            try {
+                job.add(rowNumber, objectMapper.readValue(line, ImportRow.class));
+            } catch (JsonProcessingException e) {
+                job.reject(rowNumber, "JSON 형식 오류 - " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private String column(List<String> record, Map<String, Integer> columns, String name) {
+
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private Integer toInteger(String value) {
+        return value == null ? null : Integer.valueOf(value);
+    }
+
+    /**
+     * 한 번의 가져오기 진행 상태 (행 읽기는 요청 스레드, 청크 저장은 작업 스레드)
+     */
+    private class ImportJob {
+
+        private final ExecutorService executor;
+        private final List<Future<?>> futures = new ArrayList<>();
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger imported = new AtomicInteger();
+        private final AtomicInteger failedChunks = new AtomicInteger();
+
+        private List<Product> chunk = new ArrayList<>();
+        private int accepted;
+        private int skipped;
+        private int chunks;
+
+        ImportJob(ExecutorService executor) {
+            this.executor = executor;
+        }
+
+        void add(int rowNumber, ImportRow row) {
+
+            if (row.pname() == null || row.pname().isBlank()) {
+                reject(rowNumber, "상품명이 비어 있습니다.");
+                return;
+            }
+            if (row.price() == null || row.price() < 0) {
+                reject(rowNumber, "가격이 올바르지 않습니다.");
+                return;
+            }
+            if (row.stock() != null && row.stock() < 0) {
+                reject(rowNumber, "재고가 올바르지 않습니다.");
+                return;
+            }
+            // 긴 값이 섞이면 청크 전체 INSERT 가 실패하므로 행 단위로 거름
+            if (row.pname().trim().length() > MAX_COLUMN_LENGTH) {
+                reject(rowNumber, "상품명이 너무 깁니다 (최대 " + MAX_COLUMN_LENGTH + "자).");
+                return;
+            }
+            if (row.pdesc() != null && row.pdesc().length() > MAX_COLUMN_LENGTH) {
+                reject(rowNumber, "상품 설명이 너무 깁니다 (최대 " + MAX_COLUMN_LENGTH + "자).");
+                return;
+            }
+            if (row.images() != null && row.images().stream()
+                    .anyMatch(image -> image != null && image.trim().length() > MAX_COLUMN_LENGTH)) {
+                reject(rowNumber, "이미지 파일명이 너무 깁니다 (최대 " + MAX_COLUMN_LENGTH + "자).");
+                return;
+            }
+
+            Product product = Product.builder()
+                    .pname(row.pname().trim())
+                    .price(row.price())
+                    .pdesc(row.pdesc())
+                    .stock(row.stock() == null ? 0 : row.stock())
+                    .build();
+
+            if (row.images() != null) {
+                row.images().stream()
+                        .filter(image -> image != null && !image.isBlank())
+                        .forEach(image -> product.addImageString(image.trim()));
+            }
+
+            accepted++;
+            chunk.add(product);
+
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(int rowNumber, String message) {
+
+            skipped++;
+            addError(rowNumber + "행: " + message);
+        }
+
+        void flush() {
+
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            List<Product> products = chunk;
+            int chunkNumber = ++chunks;
+            chunk = new ArrayList<>(chunkSize);
+
+            futures.add(executor.submit(() -> {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> productBatchRepository.insertAll(products));
+                    imported.addAndGet(products.size());
+                } catch (Exception e) {
+                    failedChunks.incrementAndGet();
+                    addError(chunkNumber + "번째 청크 저장 실패 (" + products.size() + "건): " + e.getMessage());
+                    log.error("[ProductImportService] 청크 저장 실패 - chunk: {}, size: {}, error: {}",
+                            chunkNumber, products.size(), e.getMessage());
+                }
+
+                if (chunkNumber % 10 == 0) {
+                    log.info("[ProductImportService] 진행 - chunks: {}, imported: {}", chunkNumber, imported.get());
+                }
+            }));
+        }
+
+        void await() {
+            try {
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("대량 등록 중 인터럽트가 발생했습니다", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("대량 등록 중 오류가 발생했습니다", e.getCause());
+            }
+        }
+
+        private void addError(String error) {
+            synchronized (errors) {
+                if (errors.size() < MAX_ERRORS) {
+                    errors.add(error);
+                }
+            }
+        }
+    }
+}
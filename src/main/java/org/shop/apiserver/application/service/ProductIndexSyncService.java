@@ -0,0 +1,121 @@
+package org.shop.apiserver.application.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.application.dto.ProductChangedEvent;
+import org.shop.apiserver.domain.model.product.Product;
+import org.shop.apiserver.infrastructure.persistence.jpa.ProductRepository;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 변경 -> 벡터 인덱스 동기화
+ *
+ * - 상품 등록/수정/삭제 트랜잭션이 커밋되면 pno 를 Redis 채널로 발행 (벡터 인덱스가 노드 로컬이므로 모든 노드가 수신)
+ * - 수신한 pno 는 Set 에 모아 두고 주기적으로 한 번에 upsert/delete (같은 상품의 연속 변경은 1회로 합쳐짐)
+ * - 반영 후 변경된 상품이 포함된 추천 캐시만 제거
+ * - 메시지 유실 시에는 ProductIndexingJob 의 변경분 인덱싱이 보정한다
+ */
+@Service
+@Log4j2
+@RequiredArgsConstructor
+public class ProductIndexSyncService implements MessageListener {
+
+    private static final String CHANNEL = "product:changed";
+
+    private final ProductRepository productRepository;
+    private final ProductIndexingJob productIndexingJob;
+    private final RecommendationCacheIndex recommendationCacheIndex;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+
+        // 재고는 벡터 문서/추천 캐시에 포함되지 않음
+        if (event.getType() == ProductChangedEvent.Type.STOCK_CHANGED) {
+            return;
+        }
+
+        log.debug("[ProductIndexSync] 상품 변경 - pno: {}, type: {}", event.getPno(), event.getType());
+
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, String.valueOf(event.getPno()));
+        } catch (Exception e) {
+            // 발행 실패 시 현재 노드만이라도 반영 (다른 노드는 변경분 인덱싱으로 보정)
+            log.warn("[ProductIndexSync] 변경 이벤트 발행 실패 - pno: {}, error: {}", event.getPno(), e.getMessage());
+            pending.add(event.getPno());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            pending.add(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            log.warn("[ProductIndexSync] 잘못된 변경 메시지 - body: {}", new String(message.getBody(), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * 모인 변경분을 한 번에 벡터 인덱스에 반영
+     */
+    @Scheduled(fixedDelayString = "${vector.sync.interval-ms:1000}")
+    public void flush() {
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Long> pnos = new ArrayList<>();
+        for (Long pno : pending) {
+            if (pending.remove(pno)) {
+                pnos.add(pno);
+            }
+        }
+
+        try {
+            List<Product> products = productRepository.findAllById(pnos);
+
+            // 조회되지 않는 상품은 삭제된 것으로 처리
+            Set<Long> found = products.stream().map(Product::getPno).collect(Collectors.toSet());
+            List<Long> missing = pnos.stream()
+                    .filter(pno -> !found.contains(pno))
+                    .toList();
+
+            productIndexingJob.index(products);
+            productIndexingJob.delete(missing);
+
+            recommendationCacheIndex.evictByProducts(pnos);
+
+            log.info("[ProductIndexSync] 벡터 인덱스 동기화 - products: {}", pnos.size());
+
+        } catch (Exception e) {
+            // 다음 주기에 재시도
+            pending.addAll(pnos);
+            log.error("[ProductIndexSync] 벡터 인덱스 동기화 실패 - products: {}, error: {}", pnos.size(), e.getMessage());
+        }
+    }
+}
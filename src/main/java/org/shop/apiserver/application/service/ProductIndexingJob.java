@@ -0,0 +1,395 @@
+package org.shop.apiserver.application.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.domain.model.product.Product;
+import org.shop.apiserver.infrastructure.vector.MappedHnswVectorStore;
+import org.shop.apiserver.infrastructure.persistence.jpa.ProductRepository;
+import org.shop.apiserver.infrastructure.search.ProductKeywordIndex;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 상품 벡터 인덱싱 작업
+ *
+ * - pno 키셋 페이지 단위로 읽어 메모리에 전체 상품을 올리지 않는다 (이미지 로딩 없음)
+ * - 페이지를 청크로 나눠 제한된 병렬도로 임베딩/저장하고, 체크포인트 주기마다 벡터 인덱스를 디스크에 반영한 뒤 마지막 pno 를 기록
+ *   (반영 전에 체크포인트가 전진하면 재시작 시 스냅샷에 없는 상품을 건너뛰게 된다)
+ * - 중단된 작업은 다음 실행 시 체크포인트 이후부터 이어서 진행
+ * - CHANGED 모드는 마지막 완료 실행 이후 수정/삭제(delFlag)된 상품만 반영하고, 해당 상품이 포함된 추천 캐시만 제거
+ *
+ * 벡터 인덱스가 노드 로컬 파일이므로 체크포인트도 인덱스 디렉토리에 함께 저장한다.
+ * 키워드(BM25) 인덱스도 같은 경로로 함께 갱신한다 (기동 시 적재는 ProductSearchService).
+ */
+@Service
+@Log4j2
+@RequiredArgsConstructor
+public class ProductIndexingJob {
+
+    public enum Mode {
+        FULL,
+        CHANGED
+    }
+
+    private static final String CHECKPOINT_FILE = "indexing.checkpoint";
+
+    // 변경분 조회 시 시계 오차/커밋 지연 보정
+    private static final long SINCE_OVERLAP_SECONDS = 60;
+
+    private final ProductRepository productRepository;
+    private final VectorStore vectorStore;
+    private final ProductKeywordIndex productKeywordIndex;
+    private final CacheManager cacheManager;
+    private final RecommendationCacheIndex recommendationCacheIndex;
+    private final SemanticRecommendationCache semanticRecommendationCache;
+
+    @Value("${vector.index.path:vector-index}")
+    private String indexPath;
+
+    @Value("${vector.indexing.page-size:500}")
+    private int pageSize;
+
+    @Value("${vector.indexing.chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${vector.indexing.parallelism:4}")
+    private int parallelism;
+
+    // 체크포인트(= 벡터 인덱스 스냅샷 저장) 최소 간격
+    @Value("${vector.indexing.checkpoint-interval-ms:30000}")
+    private long checkpointIntervalMs;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-indexing");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 백그라운드 실행 (이미 실행 중이면 false)
+     */
+    public boolean start(Mode mode) {
+
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+
+        runner.execute(() -> {
+            try {
+                execute(mode);
+            } catch (Exception e) {
+                log.error("[ProductIndexingJob] 인덱싱 실패 - mode: {}, error: {}", mode, e.getMessage(), e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * 동기 실행 (이미 실행 중이면 IllegalStateException)
+     *
+     * @return 반영된 상품 수
+     */
+    public int run(Mode mode) {
+
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("상품 인덱싱이 이미 실행 중입니다.");
+        }
+
+        try {
+            return execute(mode);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 주기적 변경분 인덱싱
+     */
+    @Scheduled(initialDelayString = "${vector.indexing.initial-delay-ms:60000}",
+            fixedDelayString = "${vector.indexing.interval-ms:300000}")
+    public void scheduledRun() {
+        start(Mode.CHANGED);
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * 상품 인덱싱 (삭제된 상품은 인덱스에서 제거)
+     */
+    public void index(List<Product> products) {
+        indexChunk(products);
+    }
+
+    /**
+     * 조회되지 않는 상품 인덱스 제거
+     */
+    public void delete(List<Long> pnos) {
+
+        if (pnos.isEmpty()) {
+            return;
+        }
+
+        vectorStore.delete(pnos.stream().map(this::documentId).toList());
+        pnos.forEach(productKeywordIndex::remove);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    // ============================================
+    // Private Helper Methods
+    // ============================================
+
+    private int execute(Mode mode) {
+
+        Checkpoint checkpoint = Checkpoint.load(checkpointPath());
+
+        // 완료된 FULL 실행이 없으면 변경분 기준 시각이 없으므로 FULL 로 실행
+        if (mode == Mode.CHANGED && checkpoint.lastSyncedAt == null && !checkpoint.inProgress()) {
+            mode = Mode.FULL;
+        }
+
+        if (checkpoint.inProgress()) {
+            // 중단된 작업 이어서 진행 (요청 모드보다 우선)
+            log.info("[ProductIndexingJob] 중단된 인덱싱 재개 - mode: {}, cursor: {}", checkpoint.mode, checkpoint.cursor);
+            mode = checkpoint.mode;
+        } else {
+            checkpoint.mode = mode;
+            checkpoint.cursor = 0L;
+            checkpoint.runStartedAt = LocalDateTime.now();
+            checkpoint.since = mode == Mode.CHANGED
+                    ? checkpoint.lastSyncedAt.minusSeconds(SINCE_OVERLAP_SECONDS) : null;
+            checkpoint.save(checkpointPath());
+        }
+
+        long startTime = System.currentTimeMillis();
+        long lastCheckpointTime = startTime;
+        int indexed = 0;
+
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+
+        try {
+            while (true) {
+                List<Product> page = mode == Mode.FULL
+                        ? productRepository.selectPageAfter(checkpoint.cursor, PageRequest.of(0, pageSize))
+                        : productRepository.selectModifiedAfter(checkpoint.since, checkpoint.cursor, PageRequest.of(0, pageSize));
+
+                if (page.isEmpty()) {
+                    break;
+                }
+
+                // 페이지 내 청크 병렬 처리
+                List<CompletableFuture<Void>> futures = new ArrayList<>();
+                for (int from = 0; from < page.size(); from += chunkSize) {
+                    List<Product> chunk = page.subList(from, Math.min(from + chunkSize, page.size()));
+                    futures.add(CompletableFuture.runAsync(() -> indexChunk(chunk), workers));
+                }
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+                // 변경분 모드는 해당 상품이 포함된 추천 캐시만 제거
+                if (mode == Mode.CHANGED) {
+                    recommendationCacheIndex.evictByProducts(page.stream().map(Product::getPno).toList());
+                }
+
+                indexed += page.size();
+                checkpoint.cursor = page.get(page.size() - 1).getPno();
+
+                // 벡터 인덱스가 디스크에 반영된 뒤에만 체크포인트 전진
+                if (System.currentTimeMillis() - lastCheckpointTime >= checkpointIntervalMs) {
+                    flushVectorStore();
+                    checkpoint.save(checkpointPath());
+                    lastCheckpointTime = System.currentTimeMillis();
+                }
+
+                log.debug("[ProductIndexingJob] 페이지 완료 - mode: {}, cursor: {}, indexed: {}", mode, checkpoint.cursor, indexed);
+
+                if (page.size() < pageSize) {
+                    break;
+                }
+            }
+        } finally {
+            workers.shutdown();
+        }
+
+        flushVectorStore();
+
+        checkpoint.lastSyncedAt = checkpoint.runStartedAt;
+        checkpoint.mode = null;
+        checkpoint.cursor = 0L;
+        checkpoint.save(checkpointPath());
+
+        if (mode == Mode.FULL && indexed > 0) {
+            clearRecommendationCaches();
+        }
+
+        log.info("[ProductIndexingJob] 인덱싱 완료 - mode: {}, products: {}, {}ms",
+                mode, indexed, System.currentTimeMillis() - startTime);
+
+        return indexed;
+    }
+
+    /**
+     * 지금까지 추가/삭제한 문서를 디스크에 반영 (파일 기반 저장소만, 실패 시 체크포인트를 기록하지 않음)
+     */
+    private void flushVectorStore() {
+        if (vectorStore instanceof MappedHnswVectorStore mappedVectorStore) {
+            mappedVectorStore.flushAndWait();
+        }
+    }
+
+    private void indexChunk(List<Product> products) {
+
+        List<Document> documents = new ArrayList<>();
+        List<String> deletedIds = new ArrayList<>();
+
+        for (Product product : products) {
+            if (product.isDelFlag()) {
+                deletedIds.add(documentId(product.getPno()));
+                productKeywordIndex.remove(product.getPno());
+            } else {
+                documents.add(toDocument(product));
+                productKeywordIndex.upsert(product.getPno(), product.getPname(), product.getPdesc(), product.getPrice());
+            }
+        }
+
+        if (!deletedIds.isEmpty()) {
+            vectorStore.delete(deletedIds);
+        }
+        if (!documents.isEmpty()) {
+            vectorStore.add(documents);
+        }
+    }
+
+    private Document toDocument(Product product) {
+
+        String content = String.format(
+                "상품번호: %d\n상품명: %s\n가격: %,d원\n설명: %s",
+                product.getPno(),
+                product.getPname(),
+                product.getPrice(),
+                product.getPdesc() != null ? product.getPdesc() : "설명 없음"
+        );
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("pno", product.getPno());
+        metadata.put("pname", product.getPname());
+        metadata.put("price", product.getPrice());
+        metadata.put("pdesc", product.getPdesc());
+
+        return new Document(documentId(product.getPno()), content, metadata);
+    }
+
+    private String documentId(Long pno) {
+        return "product_" + pno;
+    }
+
+    private void clearRecommendationCaches() {
+        for (String name : List.of("product-recommendations", "vector-search")) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        semanticRecommendationCache.clear();
+    }
+
+    private Path checkpointPath() {
+        return Path.of(indexPath, CHECKPOINT_FILE);
+    }
+
+    /**
+     * 인덱싱 진행 상태 (properties 파일)
+     */
+    private static class Checkpoint {
+
+        Mode mode;                      // 진행 중인 모드 (null 이면 진행 중 아님)
+        Long cursor = 0L;               // 마지막으로 반영한 pno
+        LocalDateTime since;            // CHANGED 모드 조회 기준 시각
+        LocalDateTime runStartedAt;     // 진행 중인 실행 시작 시각
+        LocalDateTime lastSyncedAt;     // 마지막 완료 실행의 시작 시각
+
+        boolean inProgress() {
+            return mode != null;
+        }
+
+        static Checkpoint load(Path path) {
+
+            Checkpoint checkpoint = new Checkpoint();
+            if (!Files.exists(path)) {
+                return checkpoint;
+            }
+
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(path)) {
+                properties.load(in);
+            } catch (IOException e) {
+                log.warn("[ProductIndexingJob] 체크포인트 읽기 실패 - 처음부터 진행: {}", e.getMessage());
+                return checkpoint;
+            }
+
+            String mode = properties.getProperty("mode");
+            checkpoint.mode = mode == null || mode.isEmpty() ? null : Mode.valueOf(mode);
+            checkpoint.cursor = Long.valueOf(properties.getProperty("cursor", "0"));
+            checkpoint.since = parse(properties.getProperty("since"));
+            checkpoint.runStartedAt = parse(properties.getProperty("runStartedAt"));
+            checkpoint.lastSyncedAt = parse(properties.getProperty("lastSyncedAt"));
+            return checkpoint;
+        }
+
+        void save(Path path) {
+
+            Properties properties = new Properties();
+            properties.setProperty("mode", mode != null ? mode.name() : "");
+            properties.setProperty("cursor", String.valueOf(cursor));
+            properties.setProperty("since", since != null ? since.toString() : "");
+            properties.setProperty("runStartedAt", runStartedAt != null ? runStartedAt.toString() : "");
+            properties.setProperty("lastSyncedAt", lastSyncedAt != null ? lastSyncedAt.toString() : "");
+
+            try {
+                Files.createDirectories(path.getParent());
+                Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    properties.store(out, "product vector indexing checkpoint");
+                }
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new IllegalStateException("인덱싱 체크포인트 저장 실패: " + e.getMessage(), e);
+            }
+        }
+
+        private static LocalDateTime parse(String value) {
+            return value == null || value.isEmpty() ? null : LocalDateTime.parse(value);
+        }
+    }
+}
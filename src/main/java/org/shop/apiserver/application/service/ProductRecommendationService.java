@@ -2,18 +2,26 @@ package org.shop.apiserver.application.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.application.dto.AiRecommendationResultDTO;
 import org.shop.apiserver.application.dto.ProductDTO;
 import org.shop.apiserver.application.dto.ProductRecommendationDTO;
+import org.shop.apiserver.application.dto.RecommendationStreamEventDTO;
 import org.shop.apiserver.domain.model.product.Product;
 import org.shop.apiserver.infrastructure.persistence.jpa.ProductRepository;
+import org.shop.apiserver.infrastructure.vector.CachingEmbeddingModel;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -32,58 +40,79 @@ public class ProductRecommendationService {
     private final ChatClient.Builder chatClientBuilder;
     private final ProductRepository productRepository;
     private final VectorStore vectorStore;
+    private final ProductIndexingJob productIndexingJob;
+    private final RecommendationCacheIndex recommendationCacheIndex;
+    private final EmbeddingModel embeddingModel;
+    private final SemanticRecommendationCache semanticRecommendationCache;
+    private final HybridProductRetriever hybridProductRetriever;
 
     /**
      * ⭐ RAG 기반 상품 추천 (캐싱 적용)
-     * 1. RETRIEVAL: 벡터 검색
-     * 2. AUGMENTED: 컨텍스트 구성
-     * 3. GENERATION: AI 답변 생성
+     * 0. 의미 캐시: 표현만 다른 유사 질문이면 이전 결과 재사용
+     * 1. RETRIEVAL: 하이브리드 검색 (벡터 + BM25, RRF 융합)
+     * 2. AUGMENTED: 후보 상품 컨텍스트 구성
+     * 3. GENERATION: AI 답변을 JSON 구조화 응답으로 생성
      */
-    @Cacheable(value = "product-recommendations", key = "#userQuery")
+    @Cacheable(value = "product-recommendations",
+            key = "T(org.shop.apiserver.infrastructure.vector.CachingEmbeddingModel).normalizeQuery(#userQuery)")
     public ProductRecommendationDTO recommendProducts(String userQuery) {
 
         long startTime = System.currentTimeMillis();
         log.info(" RAG 상품 추천 시작: {}", userQuery);
 
         try {
-            // 1. RETRIEVAL: 벡터 검색
-            List<Document> similarDocs = vectorStore.similaritySearch(
-                    SearchRequest.query(userQuery)
-                            .withTopK(5)
-                            .withSimilarityThreshold(0.6)
-            );
-
-            if (similarDocs.isEmpty()) {
+            // 0. 의미 캐시 조회 (질의 임베딩은 임베딩 캐시에 남아 벡터 검색에서 재사용)
+            float[] queryEmbedding = embeddingModel.embed(userQuery);
+
+            ProductRecommendationDTO cached = semanticRecommendationCache.get(userQuery, queryEmbedding);
+            if (cached != null) {
+                // 이 질의 키로도 @Cacheable 에 저장되므로 상품 변경 시 함께 무효화되도록 기록
+                recommendationCacheIndex.register("product-recommendations",
+                        CachingEmbeddingModel.normalizeQuery(userQuery),
+                        cached.getRecommendedProducts().stream().map(ProductDTO::getPno).collect(Collectors.toSet()));
+
+                log.info("의미 캐시 추천 완료 ({}ms)", System.currentTimeMillis() - startTime);
+                return cached;
+            }
+
+            // 1. RETRIEVAL: 하이브리드 검색
+            List<ProductDTO> candidates = fetchProducts(hybridProductRetriever.retrieve(userQuery, 5));
+
+            if (candidates.isEmpty()) {
                 log.warn("⚠유사한 상품을 찾지 못했습니다.");
                 return createEmptyRecommendation(userQuery);
             }
 
             // 2. AUGMENTED: 컨텍스트 구성
-            String context = similarDocs.stream()
-                    .map(Document::getContent)
-                    .collect(Collectors.joining("\n\n"));
+            String context = createContext(candidates);
+
+            // 3. GENERATION: AI 답변 생성 (JSON -> DTO 변환, 형식이 깨지면 검색 순위로 대체)
+            AiRecommendationResultDTO aiResult = null;
+            try {
+                aiResult = chatClientBuilder.build().prompt()
+                        .user(createStructuredPrompt(userQuery, context))
+                        .call()
+                        .entity(AiRecommendationResultDTO.class);
+            } catch (RuntimeException e) {
+                log.warn("⚠구조화 응답 변환 실패 - 검색 순위로 대체: {}", e.getMessage());
+            }
 
-            // 3. GENERATION: AI 답변 생성
-            String prompt = createPrompt(userQuery, context);
+            ProductRecommendationDTO result = toRecommendation(userQuery, aiResult, candidates);
 
-            ChatClient chatClient = chatClientBuilder.build();
-            String aiResponse = chatClient.prompt()
-                    .user(prompt)
-                    .call()
-                    .content();
+            // 상품 변경 시 이 캐시 항목만 무효화되도록 관련 상품 기록
+            Set<Long> relatedPnos = candidates.stream().map(ProductDTO::getPno).collect(Collectors.toSet());
+            recommendationCacheIndex.register("product-recommendations",
+                    CachingEmbeddingModel.normalizeQuery(userQuery), relatedPnos);
 
-            // 4. 응답 파싱 및 상품 조회
-            List<ProductDTO> recommendedProducts = parseAndFetchProducts(aiResponse);
+            // AI 답변이 없는 대체 결과는 유사 질문에 재사용하지 않음
+            if (aiResult != null) {
+                semanticRecommendationCache.put(userQuery, queryEmbedding, result, relatedPnos);
+            }
 
             long duration = System.currentTimeMillis() - startTime;
             log.info("RAG 추천 완료 ({}ms)", duration);
 
-            return ProductRecommendationDTO.builder()
-                    .userQuery(userQuery)
-                    .recommendedProducts(recommendedProducts)
-                    .explanation(aiResponse)
-                    .confidence(0.85)
-                    .build();
+            return result;
 
         } catch (Exception e) {
             log.error("RAG 추천 실패: {}", e.getMessage(), e);
@@ -91,6 +120,32 @@ public class ProductRecommendationService {
         }
     }
 
+    /**
+     * 스트리밍 RAG 추천 (SSE)
+     * 0. 의미 캐시 히트면 저장된 결과를 바로 전송
+     * 1. 하이브리드 검색 결과 상품 카드를 먼저 전송 (products)
+     * 2. AI 답변을 생성되는 대로 조각 단위 전송 (token) - 응답 대기 중 스레드를 점유하지 않음
+     * 3. 완료 (done) / 실패 (error)
+     *
+     * 질의 임베딩(캐시 미스 시 외부 API 호출)과 검색은 블로킹이므로 구독 시 boundedElastic 에서 수행
+     */
+    public Flux<RecommendationStreamEventDTO> streamRecommendation(String userQuery) {
+
+        log.info("스트리밍 추천 시작: {}", userQuery);
+
+        return Mono.fromCallable(() -> Optional.ofNullable(
+                        semanticRecommendationCache.get(userQuery, embeddingModel.embed(userQuery))))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(cached -> cached
+                        .map(this::streamCached)
+                        .orElseGet(() -> streamGenerated(userQuery)))
+                .onErrorResume(e -> {
+                    log.error("스트리밍 추천 실패: {}", e.getMessage(), e);
+                    return Flux.just(RecommendationStreamEventDTO.of(RecommendationStreamEventDTO.ERROR,
+                            "추천 답변 생성에 실패했습니다."));
+                });
+    }
+
     /**
      * 빠른 벡터 검색 (AI 없이, 캐싱 적용)
      */
@@ -106,15 +161,11 @@ public class ProductRecommendationService {
                         .withSimilarityThreshold(0.5)
         );
 
-        List<ProductDTO> products = results.stream()
-                .map(doc -> {
-                    Long pno = ((Number) doc.getMetadata().get("pno")).longValue();
-                    return productRepository.findById(pno)
-                            .map(this::convertToDTO)
-                            .orElse(null);
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+        List<Long> pnos = extractPnos(results);
+
+        List<ProductDTO> products = fetchProducts(pnos);
+
+        recommendationCacheIndex.register("vector-search", query + "-" + topK, pnos);
 
         long duration = System.currentTimeMillis() - startTime;
         log.info("벡터 검색 완료 ({}ms) - {}개 상품", duration, products.size());
@@ -127,37 +178,22 @@ public class ProductRecommendationService {
      */
     @CacheEvict(value = {"product-recommendations", "vector-search"}, allEntries = true)
     public void clearCache() {
+        semanticRecommendationCache.clear();
         log.info("캐시 초기화 완료");
     }
 
     /**
-     * 모든 상품을 벡터 DB에 인덱싱
+     * 모든 상품을 벡터 DB에 인덱싱 (변경 없는 상품은 임베딩 캐시로 건너뜀)
+     * - 페이지마다 별도 조회로 처리하도록 트랜잭션 없이 실행 (영속성 컨텍스트 누적 방지)
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void indexAllProducts() {
 
         log.info("상품 벡터 인덱싱 시작");
 
-        List<Product> products = productRepository.findAll();
-        List<Document> documents = new ArrayList<>();
+        int indexed = productIndexingJob.run(ProductIndexingJob.Mode.FULL);
 
-        for (Product product : products) {
-            if (product.isDelFlag()) continue;
-
-            String content = formatProductContent(product);
-            Map<String, Object> metadata = createMetadata(product);
-
-            Document doc = new Document(
-                    "product_" + product.getPno(),
-                    content,
-                    metadata
-            );
-
-            documents.add(doc);
-        }
-
-        vectorStore.add(documents);
-
-        log.info("인덱싱 완료: {}개 상품", documents.size());
+        log.info("인덱싱 완료: {}개 상품", indexed);
     }
 
     /**
@@ -168,44 +204,48 @@ public class ProductRecommendationService {
         Product product = productRepository.findById(pno)
                 .orElseThrow(() -> new NoSuchElementException("상품을 찾을 수 없습니다."));
 
-        String content = formatProductContent(product);
-        Map<String, Object> metadata = createMetadata(product);
+        productIndexingJob.index(List.of(product));
 
-        Document doc = new Document(
-                "product_" + product.getPno(),
-                content,
-                metadata
-        );
+        // 해당 상품이 포함된 추천 캐시만 제거
+        recommendationCacheIndex.evictByProducts(List.of(pno));
 
-        vectorStore.add(List.of(doc));
-        
-        // 캐시 초기화
-        clearCache();
-        
-        log.info("상품 인덱싱 및 캐시 초기화 완료: {}", product.getPname());
+        log.info("상품 인덱싱 및 캐시 무효화 완료: {}", product.getPname());
     }
 
     // ============================================
     // Private Helper Methods
     // ============================================
 
-    private String formatProductContent(Product product) {
-        return String.format(
-                "상품번호: %d\n상품명: %s\n가격: %,d원\n설명: %s",
-                product.getPno(),
-                product.getPname(),
-                product.getPrice(),
-                product.getPdesc() != null ? product.getPdesc() : "설명 없음"
-        );
+    private Flux<RecommendationStreamEventDTO> streamCached(ProductRecommendationDTO cached) {
+        return Flux.just(
+                RecommendationStreamEventDTO.of(RecommendationStreamEventDTO.PRODUCTS, cached.getRecommendedProducts()),
+                RecommendationStreamEventDTO.of(RecommendationStreamEventDTO.TOKEN, cached.getExplanation()),
+                RecommendationStreamEventDTO.of(RecommendationStreamEventDTO.DONE, "cached"));
     }
 
-    private Map<String, Object> createMetadata(Product product) {
-        Map<String, Object> metadata = new HashMap<>();
-        metadata.put("pno", product.getPno());
-        metadata.put("pname", product.getPname());
-        metadata.put("price", product.getPrice());
-        metadata.put("pdesc", product.getPdesc());
-        return metadata;
+    private Flux<RecommendationStreamEventDTO> streamGenerated(String userQuery) {
+
+        List<ProductDTO> products = fetchProducts(hybridProductRetriever.retrieve(userQuery, 5));
+
+        if (products.isEmpty()) {
+            return Flux.just(
+                    RecommendationStreamEventDTO.of(RecommendationStreamEventDTO.PRODUCTS, List.of()),
+                    RecommendationStreamEventDTO.of(RecommendationStreamEventDTO.TOKEN,
+                            createEmptyRecommendation(userQuery).getExplanation()),
+                    RecommendationStreamEventDTO.of(RecommendationStreamEventDTO.DONE, "empty"));
+        }
+
+        String context = createContext(products);
+
+        Flux<RecommendationStreamEventDTO> tokens = chatClientBuilder.build().prompt()
+                .user(createPrompt(userQuery, context))
+                .stream()
+                .content()
+                .map(token -> RecommendationStreamEventDTO.of(RecommendationStreamEventDTO.TOKEN, token));
+
+        return Flux.just(RecommendationStreamEventDTO.of(RecommendationStreamEventDTO.PRODUCTS, products))
+                .concatWith(tokens)
+                .concatWith(Flux.just(RecommendationStreamEventDTO.of(RecommendationStreamEventDTO.DONE, "completed")));
     }
 
     private String createPrompt(String userQuery, String context) {
@@ -225,41 +265,101 @@ public class ProductRecommendationService {
             """, userQuery, context);
     }
 
-    private List<ProductDTO> parseAndFetchProducts(String aiResponse) {
-        List<ProductDTO> result = new ArrayList<>();
+    /**
+     * 구조화 응답용 프롬프트 (JSON 형식 지시는 ChatClient 가 entity 변환 시 덧붙임)
+     */
+    private String createStructuredPrompt(String userQuery, String context) {
+        return String.format("""
+            당신은 쇼핑몰의 AI 상품 추천 어시스턴트입니다.
+            
+            사용자 질문: "%s"
+            
+            후보 상품 정보:
+            %s
+            
+            후보 상품 중에서만 사용자에게 가장 적합한 상품을 최대 3개 골라 추천 순서대로 작성하세요.
+            - recommendations: 추천 상품 목록 (pno: 후보 상품의 상품번호, reason: 추천 이유)
+            - summary: 전체 추천 요약을 친절하게 작성
+            """, userQuery, context);
+    }
+
+    private String createContext(List<ProductDTO> products) {
+        return products.stream()
+                .map(product -> String.format("상품번호: %d\n상품명: %s\n가격: %,d원\n설명: %s",
+                        product.getPno(),
+                        product.getPname(),
+                        product.getPrice(),
+                        product.getPdesc() != null ? product.getPdesc() : "설명 없음"))
+                .collect(Collectors.joining("\n\n"));
+    }
 
-        try {
-            String[] lines = aiResponse.split("\n");
-            for (String line : lines) {
-                if (line.contains("추천 상품 번호:") || line.contains("상품 번호:")) {
-                    String numbers = line.replaceAll("[^0-9,]", "");
-                    String[] pnoArray = numbers.split(",");
-
-                    for (String pnoStr : pnoArray) {
-                        if (!pnoStr.trim().isEmpty()) {
-                            try {
-                                Long pno = Long.parseLong(pnoStr.trim());
-                                Optional<Product> productOpt = productRepository.findById(pno);
-                                if (productOpt.isPresent()) {
-                                    result.add(convertToDTO(productOpt.get()));
-                                }
-                            } catch (NumberFormatException e) {
-                                log.warn("⚠상품 번호 파싱 실패: {}", pnoStr);
-                            }
-                        }
-                    }
-                    break;
+    /**
+     * 구조화 응답 -> 추천 결과 (후보에 없는 상품번호는 무시, 유효한 추천이 없으면 검색 순위 상위 3개)
+     */
+    private ProductRecommendationDTO toRecommendation(String userQuery, AiRecommendationResultDTO aiResult,
+                                                      List<ProductDTO> candidates) {
+
+        Map<Long, ProductDTO> candidateMap = candidates.stream()
+                .collect(Collectors.toMap(ProductDTO::getPno, product -> product));
+
+        List<ProductDTO> recommendedProducts = new ArrayList<>();
+        StringBuilder explanation = new StringBuilder();
+
+        if (aiResult != null && aiResult.getSummary() != null) {
+            explanation.append(aiResult.getSummary());
+        }
+
+        if (aiResult != null && aiResult.getRecommendations() != null) {
+            for (AiRecommendationResultDTO.Item item : aiResult.getRecommendations()) {
+                ProductDTO product = item.getPno() != null ? candidateMap.get(item.getPno()) : null;
+                if (product == null || recommendedProducts.contains(product)) {
+                    log.warn("⚠후보에 없는 상품 번호: {}", item.getPno());
+                    continue;
                 }
+                recommendedProducts.add(product);
+                explanation.append("\n- ").append(product.getPname()).append(": ").append(item.getReason());
             }
-        } catch (Exception e) {
-            log.error("응답 파싱 오류: {}", e.getMessage());
         }
 
-        if (result.isEmpty()) {
-            return searchSimilarProducts(aiResponse, 3);
+        if (recommendedProducts.isEmpty()) {
+            recommendedProducts.addAll(candidates.subList(0, Math.min(3, candidates.size())));
+        }
+        if (explanation.length() == 0) {
+            explanation.append("질문과 가장 관련 있는 상품입니다.");
         }
 
-        return result;
+        return ProductRecommendationDTO.builder()
+                .userQuery(userQuery)
+                .recommendedProducts(recommendedProducts)
+                .explanation(explanation.toString().strip())
+                .confidence(0.85)
+                .build();
+    }
+
+    private List<Long> extractPnos(List<Document> documents) {
+        return documents.stream()
+                .map(doc -> ((Number) doc.getMetadata().get("pno")).longValue())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 상품 번호 목록을 이미지와 함께 한 번에 조회 (요청 순서 유지, 없는 상품은 제외)
+     */
+    private List<ProductDTO> fetchProducts(List<Long> pnos) {
+
+        if (pnos.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Product> products = productRepository.selectListByPnos(new LinkedHashSet<>(pnos)).stream()
+                .collect(Collectors.toMap(Product::getPno, product -> product));
+
+        return pnos.stream()
+                .distinct()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
     }
 
     private ProductRecommendationDTO createEmptyRecommendation(String userQuery) {
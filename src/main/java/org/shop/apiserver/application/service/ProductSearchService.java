@@ -0,0 +1,190 @@
+package org.shop.apiserver.application.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.application.dto.ProductDTO;
+import org.shop.apiserver.domain.model.product.Product;
+import org.shop.apiserver.infrastructure.persistence.jpa.ProductRepository;
+import org.shop.apiserver.infrastructure.search.ProductKeywordIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 상품 키워드 검색 (BM25 메모리 역색인)
+ *
+ * - 검색/자동완성은 메모리 인덱스만 사용 (임베딩 API 호출 없음)
+ * - 검색 결과의 대표 이미지만 PK 조회 1회로 채움 (목록 API 와 같은 uploadFileNames)
+ * - 기동 시 스냅샷을 복원한 뒤 스냅샷 이후 변경된 상품만 DB 에서 반영 (스냅샷이 없으면 전체 적재)
+ * - 이후 변경은 상품 변경 이벤트(ProductIndexSyncService -> ProductIndexingJob)로 반영
+ * - 변경이 있을 때만 주기적으로 스냅샷 저장, 종료 시 한 번 더 저장
+ */
+@Service
+@Log4j2
+@RequiredArgsConstructor
+public class ProductSearchService {
+
+    private static final int MAX_SIZE = 100;
+
+    // 스냅샷 이후 변경분 조회 시 시계 오차/반영 지연 보정
+    private static final long SINCE_OVERLAP_SECONDS = 60;
+
+    private final ProductRepository productRepository;
+    private final ProductKeywordIndex productKeywordIndex;
+
+    @Value("${search.keyword.snapshot-path:search-index/keyword.snapshot}")
+    private String snapshotPath;
+
+    @Value("${search.keyword.page-size:1000}")
+    private int pageSize;
+
+    private volatile boolean loaded;
+    private volatile long savedModifications = -1;
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "keyword-index-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 키워드 검색 (가격 범위 선택)
+     */
+    public List<ProductDTO> search(String keyword, Integer minPrice, Integer maxPrice, int size) {
+
+        List<ProductKeywordIndex.Hit> hits = productKeywordIndex.search(keyword, minPrice, maxPrice, Math.min(size, MAX_SIZE));
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, String> mainImages = new HashMap<>();
+        productRepository.selectMainImages(hits.stream().map(ProductKeywordIndex.Hit::getPno).toList())
+                .forEach(arr -> mainImages.put((Long) arr[0], (String) arr[1]));
+
+        return hits.stream()
+                .map(hit -> {
+                    ProductDTO productDTO = ProductDTO.builder()
+                            .pno(hit.getPno())
+                            .pname(hit.getPname())
+                            .pdesc(hit.getPdesc())
+                            .price(hit.getPrice())
+                            .build();
+
+                    String imageStr = mainImages.get(hit.getPno());
+                    if (imageStr != null) {
+                        productDTO.setUploadFileNames(new ArrayList<>(List.of(imageStr)));
+                    }
+                    return productDTO;
+                })
+                .toList();
+    }
+
+    /**
+     * 상품명 자동완성
+     */
+    public List<String> autocomplete(String prefix, int size) {
+        return productKeywordIndex.autocomplete(prefix, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * 기동 후 백그라운드 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        loader.execute(() -> {
+            try {
+                loadIndex();
+            } catch (Exception e) {
+                log.error("[ProductSearchService] 키워드 인덱스 적재 실패 - error: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * 변경이 있으면 스냅샷 저장
+     */
+    @Scheduled(initialDelayString = "${search.keyword.snapshot-interval-ms:60000}",
+            fixedDelayString = "${search.keyword.snapshot-interval-ms:60000}")
+    public void snapshot() {
+
+        long modifications = productKeywordIndex.modifications();
+        if (!loaded || modifications == savedModifications) {
+            return;
+        }
+
+        productKeywordIndex.save(Path.of(snapshotPath), LocalDateTime.now());
+        savedModifications = modifications;
+
+        log.debug("[ProductSearchService] 키워드 인덱스 스냅샷 저장 - products: {}", productKeywordIndex.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+
+        loader.shutdownNow();
+
+        try {
+            snapshot();
+        } catch (Exception e) {
+            log.warn("[ProductSearchService] 종료 시 스냅샷 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    // ============================================
+    // Private Helper Methods
+    // ============================================
+
+    private void loadIndex() {
+
+        long startTime = System.currentTimeMillis();
+        LocalDateTime syncedAt = productKeywordIndex.load(Path.of(snapshotPath));
+
+        int applied = 0;
+        Long cursor = 0L;
+
+        while (true) {
+            List<Product> page = syncedAt == null
+                    ? productRepository.selectPageAfter(cursor, PageRequest.of(0, pageSize))
+                    : productRepository.selectModifiedAfter(syncedAt.minusSeconds(SINCE_OVERLAP_SECONDS),
+                            cursor, PageRequest.of(0, pageSize));
+
+            if (page.isEmpty()) {
+                break;
+            }
+
+            for (Product product : page) {
+                if (product.isDelFlag()) {
+                    productKeywordIndex.remove(product.getPno());
+                } else {
+                    productKeywordIndex.upsert(product.getPno(), product.getPname(), product.getPdesc(), product.getPrice());
+                }
+            }
+
+            applied += page.size();
+            cursor = page.get(page.size() - 1).getPno();
+
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+
+        loaded = true;
+        snapshot();
+
+        log.info("[ProductSearchService] 키워드 인덱스 적재 완료 - snapshot: {}, applied: {}, products: {}, {}ms",
+                syncedAt != null, applied, productKeywordIndex.size(), System.currentTimeMillis() - startTime);
+    }
+}
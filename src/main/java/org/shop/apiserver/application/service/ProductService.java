@@ -1,5 +1,7 @@
 package org.shop.apiserver.application.service;
 
+import org.shop.apiserver.application.dto.CursorRequestDTO;
+import org.shop.apiserver.application.dto.CursorResponseDTO;
 import org.shop.apiserver.application.dto.PageRequestDTO;
 import org.shop.apiserver.application.dto.PageResponseDTO;
 import org.shop.apiserver.application.dto.ProductDTO;
@@ -11,6 +13,8 @@ public interface ProductService {
 
   PageResponseDTO<ProductDTO> getList(PageRequestDTO pageRequestDTO);
 
+  CursorResponseDTO<ProductDTO> getListByCursor(CursorRequestDTO cursorRequestDTO);
+
   Long register(ProductDTO productDTO);
 
   ProductDTO get(Long pno);
@@ -19,4 +23,6 @@ public interface ProductService {
 
   void remove(Long pno);
 
+  void changeStock(Long pno, int stock);
+
 }
@@ -4,10 +4,18 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.shop.apiserver.domain.model.product.Product;
 import org.shop.apiserver.domain.model.product.ProductImage;
+import org.shop.apiserver.application.dto.CursorRequestDTO;
+import org.shop.apiserver.application.dto.CursorResponseDTO;
 import org.shop.apiserver.application.dto.PageRequestDTO;
 import org.shop.apiserver.application.dto.PageResponseDTO;
+import org.shop.apiserver.application.dto.ProductChangedEvent;
 import org.shop.apiserver.application.dto.ProductDTO;
 import org.shop.apiserver.infrastructure.persistence.jpa.ProductRepository;
+import org.shop.apiserver.util.CursorUtil;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -16,7 +24,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -27,8 +37,11 @@ import java.util.stream.Collectors;
 public class ProductServiceImpl implements ProductService{
 
   private final ProductRepository productRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
+  // 목록 페이지 캐시 (상품 등록/수정/삭제 시 전체 무효화)
   @Override
+  @Cacheable(value = "product-list", key = "#pageRequestDTO.page + ':' + #pageRequestDTO.size", sync = true)
   public PageResponseDTO<ProductDTO> getList(PageRequestDTO pageRequestDTO) {
 
     log.info("getList..............");
@@ -54,7 +67,7 @@ public class ProductServiceImpl implements ProductService{
       .build();
 
       String imageStr = productImage.getFileName();
-      productDTO.setUploadFileNames(List.of(imageStr));
+      productDTO.setUploadFileNames(new ArrayList<>(List.of(imageStr)));
 
       return productDTO;
     }).collect(Collectors.toList());
@@ -68,12 +81,73 @@ public class ProductServiceImpl implements ProductService{
                 .build();
   }
 
+  // 커서 페이징 목록 (size + 1 건 조회로 다음 페이지 판단, 전체 건수는 요청 시 근사값)
   @Override
+  @Transactional(readOnly = true)
+  public CursorResponseDTO<ProductDTO> getListByCursor(CursorRequestDTO cursorRequestDTO) {
+
+    int size = Math.min(Math.max(cursorRequestDTO.getSize(), 1), 100);
+    Pageable limit = PageRequest.of(0, size + 1);
+
+    List<Object[]> result;
+
+    if (cursorRequestDTO.getCursor() == null || cursorRequestDTO.getCursor().isBlank()) {
+      result = productRepository.selectListFirst(limit);
+    } else {
+      result = productRepository.selectListAfter(parseCursor(cursorRequestDTO.getCursor()), limit);
+    }
+
+    boolean hasNext = result.size() > size;
+    List<Object[]> page = hasNext ? result.subList(0, size) : result;
+
+    List<ProductDTO> dtoList = page.stream().map(arr -> {
+
+      Product product = (Product) arr[0];
+      ProductImage productImage = (ProductImage) arr[1];
+
+      ProductDTO productDTO = ProductDTO.builder()
+      .pno(product.getPno())
+      .pname(product.getPname())
+      .pdesc(product.getPdesc())
+      .price(product.getPrice())
+      .build();
+
+      productDTO.setUploadFileNames(new ArrayList<>(List.of(productImage.getFileName())));
+
+      return productDTO;
+    }).collect(Collectors.toList());
+
+    String nextCursor = hasNext ? CursorUtil.encode(dtoList.get(dtoList.size() - 1).getPno()) : null;
+
+    Long totalCount = cursorRequestDTO.isWithTotal() ? productRepository.estimateCount() : null;
+
+    return CursorResponseDTO.<ProductDTO>builder()
+                .dtoList(dtoList)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .totalCount(totalCount)
+                .build();
+  }
+
+  private Long parseCursor(String cursor) {
+
+    try {
+      return Long.valueOf(CursorUtil.decode(cursor, 1)[0]);
+    } catch (NumberFormatException e) {
+      throw new IllegalStateException("잘못된 커서입니다.");
+    }
+  }
+
+  @Override
+  @CacheEvict(value = "product-list", allEntries = true)
   public Long register(ProductDTO productDTO) {
 
     Product product = dtoToEntity(productDTO);
 
     Product result = productRepository.save(product);
+
+    // 커밋 후 벡터 인덱스 동기화
+    eventPublisher.publishEvent(new ProductChangedEvent(result.getPno(), ProductChangedEvent.Type.REGISTERED));
     
     return result.getPno();
   }
@@ -102,7 +176,9 @@ public class ProductServiceImpl implements ProductService{
     return product;
   }
 
+  // 상품 상세 캐시 (sync: 만료 직후 동시 요청은 한 번만 DB 조회)
   @Override
+  @Cacheable(value = "product-detail", key = "#pno", sync = true)
   public ProductDTO get(Long pno) {
     
     Optional<Product> result = productRepository.selectOne(pno);
@@ -132,7 +208,7 @@ public class ProductServiceImpl implements ProductService{
     }
 
     List<String> fileNameList = imageList.stream().map(productImage -> 
-      productImage.getFileName()).toList();
+      productImage.getFileName()).collect(Collectors.toCollection(ArrayList::new));
 
     productDTO.setUploadFileNames(fileNameList);
 
@@ -140,6 +216,10 @@ public class ProductServiceImpl implements ProductService{
   }
 
   @Override
+  @Caching(evict = {
+      @CacheEvict(value = "product-detail", key = "#productDTO.pno"),
+      @CacheEvict(value = "product-list", allEntries = true)
+  })
   public void modify(ProductDTO productDTO) {
     
     //step1 read
@@ -163,13 +243,37 @@ public class ProductServiceImpl implements ProductService{
       });
     }
     productRepository.save(product);
+
+    eventPublisher.publishEvent(new ProductChangedEvent(product.getPno(), ProductChangedEvent.Type.MODIFIED));
   }
 
   @Override
+  @Caching(evict = {
+      @CacheEvict(value = "product-detail", key = "#pno"),
+      @CacheEvict(value = "product-list", allEntries = true)
+  })
   public void remove(Long pno) {
     
     productRepository.updateToDelete(pno, true);
 
+    eventPublisher.publishEvent(new ProductChangedEvent(pno, ProductChangedEvent.Type.REMOVED));
+
+  }
+
+  @Override
+  public void changeStock(Long pno, int stock) {
+
+    if (stock < 0) {
+      throw new IllegalStateException("재고는 0 이상이어야 합니다.");
+    }
+
+    Product product = productRepository.findById(pno)
+            .orElseThrow(() -> new NoSuchElementException("상품을 찾을 수 없습니다."));
+
+    product.changeStock(stock);
+
+    // 커밋 후 Redis 재고 원장 제거 (다음 예약 때 변경된 DB 재고로 다시 적재)
+    eventPublisher.publishEvent(new ProductChangedEvent(pno, ProductChangedEvent.Type.STOCK_CHANGED));
   }
 
 
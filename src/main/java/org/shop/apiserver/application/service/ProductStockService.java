@@ -1,15 +1,21 @@
 package org.shop.apiserver.application.service;
 
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.shop.apiserver.domain.model.product.Product;
 import org.shop.apiserver.infrastructure.persistence.jpa.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @Log4j2
@@ -18,6 +24,23 @@ public class ProductStockService {
 
     private final ProductRepository productRepository;
     private final RedisLockService redisLockService;
+    private final ContentionTracker contentionTracker;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${stock.optimistic.max-attempts:5}")
+    private int optimisticMaxAttempts;
+
+    @Value("${stock.optimistic.backoff-ms:10}")
+    private long optimisticBackoffMs;
+
+    // 낙관적 갱신 1회 시도용 (시도마다 별도 트랜잭션으로 커밋하고 대기는 트랜잭션 밖에서 수행)
+    private TransactionTemplate attemptTemplate;
+
+    @PostConstruct
+    public void init() {
+        attemptTemplate = new TransactionTemplate(transactionManager);
+        attemptTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     /**
      * 상품 재고 감소 (분산락 + 별도 트랜잭션)
@@ -58,4 +81,96 @@ public class ProductStockService {
             return p;
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * 상품 재고 감소 (락 없는 compare-and-set + 제한된 재시도)
+     * - 현재 재고를 읽고 "stock = 읽은 값" 조건으로 갱신, 그 사이 다른 요청이 먼저 갱신했으면 충돌로 보고 재시도
+     * - 시도마다 별도 트랜잭션으로 바로 커밋하므로 백오프 대기 중에는 행 락을 잡고 있지 않다
+     * - 재시도 간격은 지수 증가 + 지터(무작위 대기)로 동시에 충돌한 요청들이 다시 몰리지 않게 분산
+     */
+    public Product decreaseStockOptimistic(Long pno, int qty) {
+
+        for (int attempt = 1; attempt <= optimisticMaxAttempts; attempt++) {
+
+            Product p = attemptTemplate.execute(status -> tryDecreaseStock(pno, qty));
+            if (p != null) {
+                log.info("✅ 재고 감소 완료 (낙관적): pno={}, 남은재고={}, 시도={}", pno, p.getStock(), attempt);
+                return p;
+            }
+
+            contentionTracker.recordConflict(pno);
+            log.debug("[ProductStockService] 재고 갱신 충돌 - pno: {}, attempt: {}", pno, attempt);
+            if (attempt < optimisticMaxAttempts) {
+                backoff(attempt);
+            }
+        }
+
+        log.warn("[ProductStockService] 재고 갱신 재시도 초과 - pno: {}, attempts: {}", pno, optimisticMaxAttempts);
+        throw new IllegalStateException("현재 다른 사용자가 처리 중입니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    /**
+     * 상품 재고 감소 (비관적 락 + 별도 트랜잭션)
+     * - 행 락을 잡은 채로 커밋하므로 낙관적 모드의 compare-and-set 과 섞여도 안전 (CAS 쪽이 충돌로 감지하고 재시도)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Product decreaseStockWithPessimisticLock(Long pno, int qty) {
+
+        contentionTracker.recordAttempt(pno);
+
+        Product p = productRepository.findByIdWithPessimisticLock(pno)
+                .orElseThrow(() -> new NoSuchElementException("상품을 찾을 수 없습니다."));
+
+        p.decreaseStock(qty);
+        log.info("✅ 재고 감소 완료 (비관적 락): pno={}, 남은재고={}", pno, p.getStock());
+        return p;
+    }
+
+    /**
+     * 상품 재고 복구 (낙관적 모드 취소 시) - 증가는 조건 없이 원자적으로 반영
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void increaseStockOptimistic(Long pno, int qty) {
+
+        if (productRepository.applyStockDelta(pno, -qty) == 0) {
+            throw new NoSuchElementException("상품을 찾을 수 없습니다.");
+        }
+
+        log.info("♻️ 재고 복구 완료 (낙관적): pno={}, 복구수량={}", pno, qty);
+    }
+
+    /**
+     * compare-and-set 1회 시도 (충돌이면 null)
+     */
+    private Product tryDecreaseStock(Long pno, int qty) {
+
+        contentionTracker.recordAttempt(pno);
+
+        int stock = productRepository.findStockByPno(pno)
+                .orElseThrow(() -> new NoSuchElementException("상품을 찾을 수 없습니다."));
+
+        if (stock < qty) {
+            throw new IllegalStateException("재고 부족: 상품번호 " + pno);
+        }
+
+        if (productRepository.compareAndSetStock(pno, stock, stock - qty) == 0) {
+            return null;
+        }
+
+        return productRepository.findById(pno)
+                .orElseThrow(() -> new NoSuchElementException("상품을 찾을 수 없습니다."));
+    }
+
+    /**
+     * 지수 백오프 + full jitter: 0 ~ backoffMs * 2^(attempt-1) 사이 무작위 대기
+     */
+    private void backoff(int attempt) {
+        long bound = optimisticBackoffMs << Math.min(attempt - 1, 6);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재고 갱신 재시도 중 인터럽트", e);
+        }
+    }
+}
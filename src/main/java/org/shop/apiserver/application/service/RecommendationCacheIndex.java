@@ -0,0 +1,85 @@
+package org.shop.apiserver.application.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 추천 캐시 역색인 (상품번호 -> 해당 상품이 포함된 캐시 키)
+ *
+ * - 추천/벡터 검색 결과를 캐시할 때 결과에 포함된 pno 별로 캐시 키를 기록
+ * - 상품이 변경되면 그 상품이 포함된 캐시 항목만 제거 (전체 캐시 초기화 대신)
+ * - 역색인 TTL 은 캐시 TTL(1시간)보다 길게 유지
+ * - 노드 로컬 의미 캐시(SemanticRecommendationCache)도 함께 정리
+ */
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class RecommendationCacheIndex {
+
+    private static final String KEY_PREFIX = "recommendation:pno:";
+    private static final String DELIMITER = "|";
+    private static final Duration TTL = Duration.ofMinutes(70);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final CacheManager cacheManager;
+    private final SemanticRecommendationCache semanticRecommendationCache;
+
+    /**
+     * 캐시 항목에 포함된 상품 기록
+     */
+    public void register(String cacheName, String cacheKey, Collection<Long> pnos) {
+
+        String member = cacheName + DELIMITER + cacheKey;
+
+        try {
+            for (Long pno : pnos) {
+                String key = KEY_PREFIX + pno;
+                stringRedisTemplate.opsForSet().add(key, member);
+                stringRedisTemplate.expire(key, TTL);
+            }
+        } catch (Exception e) {
+            // 기록 실패 시 해당 항목은 TTL 만료로 정리된다
+            log.warn("[RecommendationCacheIndex] 역색인 기록 실패 - cache: {}, error: {}", cacheName, e.getMessage());
+        }
+    }
+
+    /**
+     * 변경된 상품이 포함된 캐시 항목만 제거
+     *
+     * @return 제거한 캐시 항목 수
+     */
+    public int evictByProducts(Collection<Long> pnos) {
+
+        int evicted = 0;
+
+        for (Long pno : pnos) {
+            String key = KEY_PREFIX + pno;
+            Set<String> members = stringRedisTemplate.opsForSet().members(key);
+
+            if (members != null) {
+                for (String member : members) {
+                    int idx = member.indexOf(DELIMITER);
+                    Cache cache = cacheManager.getCache(member.substring(0, idx));
+                    if (cache != null) {
+                        cache.evict(member.substring(idx + 1));
+                        evicted++;
+                    }
+                }
+            }
+            stringRedisTemplate.delete(key);
+        }
+
+        evicted += semanticRecommendationCache.evictByProducts(pnos);
+
+        log.info("[RecommendationCacheIndex] 추천 캐시 부분 무효화 - products: {}, evicted: {}", pnos.size(), evicted);
+        return evicted;
+    }
+}
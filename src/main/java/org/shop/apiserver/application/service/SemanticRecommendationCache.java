@@ -0,0 +1,244 @@
+package org.shop.apiserver.application.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.application.dto.ProductRecommendationDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AI 추천 의미 캐시 (질의 임베딩 유사도 기반)
+ *
+ * - "겨울 따뜻한 옷 추천" / "겨울에 입을 따뜻한 옷 추천해줘" 처럼 표현만 다른 질문은
+ *   질의 임베딩의 코사인 유사도가 임계값 이상이면 이전 추천 결과를 재사용 (LLM 호출 생략)
+ * - 항목 수가 작으므로 정규화된 벡터를 전수 비교 (HNSW 불필요, 1,000건 x 1,536차원 < 1ms)
+ * - TTL 만료 + 최대 건수 초과 시 가장 오래 사용되지 않은 항목부터 제거 (LRU)
+ * - 노드 로컬 캐시이며, 상품 변경 시 RecommendationCacheIndex 를 통해 해당 상품이 포함된 항목만 제거
+ */
+@Component
+@Log4j2
+public class SemanticRecommendationCache {
+
+    @Value("${recommendation.semantic-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${recommendation.semantic-cache.similarity-threshold:0.92}")
+    private double similarityThreshold;
+
+    @Value("${recommendation.semantic-cache.maximum-size:1000}")
+    private int maximumSize;
+
+    @Value("${recommendation.semantic-cache.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    // accessOrder = true -> 조회 시 뒤로 이동, 맨 앞이 가장 오래 사용되지 않은 항목
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            if (size() > maximumSize) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * 유사한 이전 질의의 추천 결과 조회
+     *
+     * @return 캐시된 결과 (userQuery 는 현재 질의로 교체), 없으면 null
+     */
+    public ProductRecommendationDTO get(String userQuery, float[] embedding) {
+
+        if (!enabled) {
+            return null;
+        }
+
+        float[] vector = normalize(embedding);
+        long now = System.currentTimeMillis();
+
+        Long bestId = null;
+        Entry best = null;
+        double bestSimilarity = similarityThreshold;
+
+        synchronized (entries) {
+            Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Long, Entry> current = iterator.next();
+                Entry entry = current.getValue();
+
+                if (entry.expiresAt <= now) {
+                    iterator.remove();
+                    evictions.increment();
+                    continue;
+                }
+
+                double similarity = dot(vector, entry.vector);
+                if (similarity >= bestSimilarity) {
+                    bestSimilarity = similarity;
+                    bestId = current.getKey();
+                    best = entry;
+                }
+            }
+
+            if (best != null) {
+                entries.get(bestId);    // LRU 순서 갱신
+            }
+        }
+
+        if (best == null) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        log.info("[SemanticRecommendationCache] 의미 캐시 히트 - query: {}, cachedQuery: {}, similarity: {}",
+                userQuery, best.query, String.format("%.4f", bestSimilarity));
+
+        ProductRecommendationDTO cached = best.value;
+        return ProductRecommendationDTO.builder()
+                .userQuery(userQuery)
+                .recommendedProducts(cached.getRecommendedProducts())
+                .explanation(cached.getExplanation())
+                .confidence(cached.getConfidence())
+                .build();
+    }
+
+    /**
+     * 추천 결과 저장
+     *
+     * @param pnos 결과에 포함된 상품 (상품 변경 시 무효화 기준)
+     */
+    public void put(String userQuery, float[] embedding, ProductRecommendationDTO value, Set<Long> pnos) {
+
+        if (!enabled) {
+            return;
+        }
+
+        Entry entry = new Entry(normalize(embedding), userQuery, value, Set.copyOf(pnos),
+                System.currentTimeMillis() + ttlMinutes * 60_000);
+
+        synchronized (entries) {
+            entries.put(sequence.incrementAndGet(), entry);
+        }
+    }
+
+    /**
+     * 변경된 상품이 포함된 항목 제거
+     */
+    public int evictByProducts(Collection<Long> pnos) {
+
+        int evicted = 0;
+
+        synchronized (entries) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (pnos.stream().anyMatch(entry.pnos::contains)) {
+                    iterator.remove();
+                    evicted++;
+                }
+            }
+        }
+
+        return evicted;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * 히트율 통계
+     */
+    public Map<String, Object> stats() {
+
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requestCount = hitCount + missCount;
+
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("size", size);
+        stats.put("maximumSize", maximumSize);
+        stats.put("similarityThreshold", similarityThreshold);
+        stats.put("requestCount", requestCount);
+        stats.put("hitCount", hitCount);
+        stats.put("missCount", missCount);
+        stats.put("hitRate", requestCount == 0 ? 0.0 : (double) hitCount / requestCount);
+        stats.put("evictionCount", evictions.sum());
+        return stats;
+    }
+
+    // ============================================
+    // Private Helper Methods
+    // ============================================
+
+    private static float[] normalize(float[] vector) {
+
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        norm = Math.sqrt(norm);
+
+        float[] normalized = new float[vector.length];
+        if (norm == 0) {
+            return normalized;
+        }
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = (float) (vector[i] / norm);
+        }
+        return normalized;
+    }
+
+    private static double dot(float[] a, float[] b) {
+
+        if (a.length != b.length) {
+            return -1;
+        }
+
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private static class Entry {
+
+        final float[] vector;
+        final String query;
+        final ProductRecommendationDTO value;
+        final Set<Long> pnos;
+        final long expiresAt;
+
+        Entry(float[] vector, String query, ProductRecommendationDTO value, Set<Long> pnos, long expiresAt) {
+            this.vector = vector;
+            this.query = query;
+            this.value = value;
+            this.pnos = pnos;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
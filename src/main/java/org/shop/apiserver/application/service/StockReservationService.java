@@ -0,0 +1,335 @@
+package org.shop.apiserver.application.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.application.dto.ProductChangedEvent;
+import org.shop.apiserver.infrastructure.persistence.jpa.ProductRepository;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 재고 원장 기반 재고 예약 서비스
+ *
+ * - 가용 재고를 Redis(product:stock:{pno})에 보관
+ * - 주문의 모든 상품을 Lua 스크립트 한 번으로 원자적으로 예약 (클라이언트 락 없음)
+ * - 차감 내역은 pending 해시에 누적되고, 스케줄러가 tbl_product.stock 에 배치 반영
+ *
+ * 재고 키는 최초 예약 시 DB 재고 - 미반영 차감분으로 적재되며 만료되지 않는다.
+ * 상품 등록/수정/삭제/재고 변경이 커밋되면 재고 키를 지워 다음 예약 때 DB 기준으로 다시 적재한다.
+ * 적재와 반영은 같은 락(소유자 토큰)으로 직렬화 - 반영 도중 읽은 DB 재고로 적재하면 초과 판매가 생기기 때문.
+ * 반영은 at-least-once: 반영 도중 노드가 죽으면 inflight 해시가 다음 주기에 다시 적용된다.
+ */
+@Service
+@Log4j2
+@RequiredArgsConstructor
+public class StockReservationService {
+
+    private static final String STOCK_KEY_PREFIX = "product:stock:";
+    private static final String PENDING_KEY = "product:stock:pending";
+    private static final String INFLIGHT_KEY = "product:stock:inflight";
+    private static final String FLUSH_LOCK_KEY = "product:stock:flush-lock";
+
+    // 반영 중이라 적재하지 못했을 때 다시 시도하는 최대 횟수
+    private static final int MAX_LOAD_WAITS = 10;
+
+    // 적재 직후 다른 노드가 키를 지워 다시 없는 경우의 최대 재적재 횟수
+    private static final int MAX_RELOADS = 3;
+
+    private static final long FLUSH_LOCK_SECONDS = 30;
+
+    // 적재 시 반영 락을 기다리는 간격
+    private static final long LOAD_RETRY_MILLIS = 50;
+
+    /**
+     * KEYS[1..n] = 재고 키, KEYS[n+1] = pending 해시
+     * ARGV[1..n] = 수량, ARGV[n+1..2n] = 상품번호
+     * 반환: 0 성공, -1 적재되지 않은 재고 키 있음, i i번째 재고 부족
+     */
+    private static final RedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+            local n = #KEYS - 1
+            for i = 1, n do
+              local stock = redis.call('GET', KEYS[i])
+              if not stock then return -1 end
+              if tonumber(stock) < tonumber(ARGV[i]) then return i end
+            end
+            for i = 1, n do
+              redis.call('DECRBY', KEYS[i], ARGV[i])
+              redis.call('HINCRBY', KEYS[n + 1], ARGV[n + i], ARGV[i])
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * 예약 취소 (주문 취소, 롤백)
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            local n = #KEYS - 1
+            for i = 1, n do
+              if redis.call('EXISTS', KEYS[i]) == 1 then
+                redis.call('INCRBY', KEYS[i], ARGV[i])
+              end
+              redis.call('HINCRBY', KEYS[n + 1], ARGV[n + i], -tonumber(ARGV[i]))
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * KEYS[1] = 재고 키, KEYS[2] = pending, KEYS[3] = inflight
+     * ARGV[1] = DB 재고, ARGV[2] = 상품번호
+     * DB에 아직 반영되지 않은 차감분을 빼고 적재
+     */
+    private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>("""
+            local pending = tonumber(redis.call('HGET', KEYS[2], ARGV[2]) or '0')
+            local inflight = tonumber(redis.call('HGET', KEYS[3], ARGV[2]) or '0')
+            redis.call('SET', KEYS[1], tonumber(ARGV[1]) - pending - inflight, 'NX')
+            return tonumber(redis.call('GET', KEYS[1]))
+            """, Long.class);
+
+    /**
+     * pending -> inflight 로 이동 (이전 inflight 가 남아 있으면 그대로 재처리)
+     */
+    private static final RedisScript<List> DRAIN_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[2]) == 0 then
+              if redis.call('EXISTS', KEYS[1]) == 0 then return {} end
+              redis.call('RENAME', KEYS[1], KEYS[2])
+            end
+            return redis.call('HGETALL', KEYS[2])
+            """, List.class);
+
+    /**
+     * 본인 락만 해제 (TTL 이 지나 다른 노드가 얻은 락은 지우지 않음)
+     */
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 주문 상품 전체를 원자적으로 예약
+     *
+     * @param quantities 상품번호 -> 수량
+     * @throws IllegalStateException 재고 부족
+     * @throws NoSuchElementException 상품 없음
+     */
+    public void reserve(Map<Long, Integer> quantities) {
+
+        List<Long> pnos = new ArrayList<>(quantities.keySet());
+        List<String> keys = stockKeys(pnos);
+        Object[] args = scriptArgs(pnos, quantities);
+
+        int waits = 0;
+        int reloads = 0;
+
+        while (true) {
+
+            Long result = stringRedisTemplate.execute(RESERVE_SCRIPT, keys, args);
+
+            if (result == null || result == 0) {
+                log.debug("재고 예약 완료: {}", quantities);
+                return;
+            }
+
+            if (result > 0) {
+                Long pno = pnos.get(result.intValue() - 1);
+                throw new IllegalStateException("재고 부족: 상품번호 " + pno);
+            }
+
+            // 적재되지 않은 재고 키를 한 번에 모두 적재 후 재시도 (반영 중이면 잠시 후 재시도)
+            if (load(missingPnos(pnos, keys))) {
+                if (++reloads > MAX_RELOADS) {
+                    break;
+                }
+            } else {
+                if (++waits > MAX_LOAD_WAITS) {
+                    break;
+                }
+                sleep(LOAD_RETRY_MILLIS);
+            }
+        }
+
+        throw new IllegalStateException("현재 다른 사용자가 처리 중입니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    /**
+     * 예약 재고 반환 (주문 취소 또는 주문 트랜잭션 롤백 시)
+     */
+    public void release(Map<Long, Integer> quantities) {
+
+        List<Long> pnos = new ArrayList<>(quantities.keySet());
+
+        stringRedisTemplate.execute(RELEASE_SCRIPT, stockKeys(pnos), scriptArgs(pnos, quantities));
+
+        log.info("♻️ 재고 예약 반환: {}", quantities);
+    }
+
+    /**
+     * Redis 에 적재된 상품 재고 제거 (관리자 재고 수정 후 DB 기준으로 다시 적재하도록)
+     */
+    public void evict(Long pno) {
+        stringRedisTemplate.delete(STOCK_KEY_PREFIX + pno);
+    }
+
+    /**
+     * 상품 변경 커밋 후 재고 키 제거 (원장은 만료되지 않으므로 지우지 않으면 변경 전 재고가 계속 남음)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        try {
+            evict(event.getPno());
+        } catch (Exception e) {
+            log.error("재고 원장 제거 실패: pno={}, error={}", event.getPno(), e.getMessage());
+        }
+    }
+
+    /**
+     * 누적된 차감분을 tbl_product.stock 에 배치 반영
+     */
+    @Scheduled(fixedDelayString = "${stock.reservation.flush-interval-ms:1000}")
+    public void flushPendingStock() {
+
+        String token = tryLock();
+
+        if (token == null) {
+            return;
+        }
+
+        try {
+            List<?> drained = stringRedisTemplate.execute(DRAIN_SCRIPT, List.of(PENDING_KEY, INFLIGHT_KEY));
+
+            if (drained == null || drained.isEmpty()) {
+                return;
+            }
+
+            Map<Long, Integer> deltas = new TreeMap<>();
+            for (int i = 0; i + 1 < drained.size(); i += 2) {
+                int delta = Integer.parseInt(drained.get(i + 1).toString());
+                if (delta != 0) {
+                    deltas.put(Long.valueOf(drained.get(i).toString()), delta);
+                }
+            }
+
+            transactionTemplate.executeWithoutResult(status ->
+                    deltas.forEach(productRepository::applyStockDelta));
+
+            stringRedisTemplate.delete(INFLIGHT_KEY);
+
+            log.info("재고 원장 DB 반영 완료: {}개 상품", deltas.size());
+
+        } catch (Exception e) {
+            // inflight 는 그대로 남겨 두고 다음 주기에 재처리
+            log.error("재고 원장 DB 반영 실패: {}", e.getMessage(), e);
+        } finally {
+            unlock(token);
+        }
+    }
+
+    // ============================================
+    // Private Helper Methods
+    // ============================================
+
+    /**
+     * 재고 키가 없는 상품번호 (keys 는 stockKeys 결과 - 마지막은 pending 키)
+     */
+    private List<Long> missingPnos(List<Long> pnos, List<String> keys) {
+
+        List<String> values = stringRedisTemplate.opsForValue().multiGet(keys.subList(0, pnos.size()));
+
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < pnos.size(); i++) {
+            if (values == null || values.get(i) == null) {
+                missing.add(pnos.get(i));
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * DB 재고로 원장 적재 (반영 락을 잡고 수행 - DB 재고와 inflight 가 같은 시점 값이 되도록)
+     *
+     * @return 반영 중이라 락을 얻지 못하면 false
+     */
+    private boolean load(List<Long> pnos) {
+
+        if (pnos.isEmpty()) {
+            return true;
+        }
+
+        String token = tryLock();
+
+        if (token == null) {
+            return false;
+        }
+
+        try {
+            for (Long pno : pnos) {
+                Integer dbStock = productRepository.findStockByPno(pno)
+                        .orElseThrow(() -> new NoSuchElementException("상품을 찾을 수 없습니다."));
+
+                Long loaded = stringRedisTemplate.execute(
+                        LOAD_SCRIPT,
+                        List.of(STOCK_KEY_PREFIX + pno, PENDING_KEY, INFLIGHT_KEY),
+                        String.valueOf(dbStock), String.valueOf(pno));
+
+                log.info("재고 원장 적재: pno={}, stock={}", pno, loaded);
+            }
+            return true;
+
+        } finally {
+            unlock(token);
+        }
+    }
+
+    private String tryLock() {
+
+        String token = UUID.randomUUID().toString();
+
+        Boolean locked = stringRedisTemplate.opsForValue()
+                .setIfAbsent(FLUSH_LOCK_KEY, token, FLUSH_LOCK_SECONDS, TimeUnit.SECONDS);
+
+        return Boolean.TRUE.equals(locked) ? token : null;
+    }
+
+    private void unlock(String token) {
+        stringRedisTemplate.execute(UNLOCK_SCRIPT, List.of(FLUSH_LOCK_KEY), token);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재고 예약 중 인터럽트가 발생했습니다", e);
+        }
+    }
+
+    private List<String> stockKeys(List<Long> pnos) {
+        List<String> keys = new ArrayList<>(pnos.size() + 1);
+        pnos.forEach(pno -> keys.add(STOCK_KEY_PREFIX + pno));
+        keys.add(PENDING_KEY);
+        return keys;
+    }
+
+    private Object[] scriptArgs(List<Long> pnos, Map<Long, Integer> quantities) {
+        Object[] args = new Object[pnos.size() * 2];
+        for (int i = 0; i < pnos.size(); i++) {
+            args[i] = String.valueOf(quantities.get(pnos.get(i)));
+            args[pnos.size() + i] = String.valueOf(pnos.get(i));
+        }
+        return args;
+    }
+}
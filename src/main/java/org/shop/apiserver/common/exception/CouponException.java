@@ -0,0 +1,35 @@
+package org.shop.apiserver.common.exception;
+
+/**
+ * 쿠폰 발급/사용 관련 예외
+ */
+public class CouponException extends BusinessException {
+
+    public CouponException(ErrorCode errorCode) {
+        super(errorCode);
+    }
+
+    public CouponException(ErrorCode errorCode, String message) {
+        super(errorCode, message);
+    }
+
+    // 편의 메서드
+    public static CouponException notFound(String couponCode) {
+        return new CouponException(
+            ErrorCode.COUPON_NOT_FOUND,
+            "쿠폰을 찾을 수 없습니다. Code: " + couponCode
+        );
+    }
+
+    public static CouponException alreadyIssued() {
+        return new CouponException(ErrorCode.COUPON_ALREADY_ISSUED);
+    }
+
+    public static CouponException stockEmpty() {
+        return new CouponException(ErrorCode.COUPON_STOCK_EMPTY);
+    }
+
+    public static CouponException unavailable() {
+        return new CouponException(ErrorCode.COUPON_UNAVAILABLE);
+    }
+}
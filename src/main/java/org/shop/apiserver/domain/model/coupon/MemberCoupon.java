@@ -7,6 +7,9 @@ import org.shop.apiserver.domain.model.member.Member;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = "uk_member_coupon_member_coupon",
+        columnNames = {"member_email", "coupon_id"}))
 @Getter
 @Builder
 @AllArgsConstructor
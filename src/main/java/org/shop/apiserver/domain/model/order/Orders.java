@@ -16,6 +16,7 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @ToString(exclude = {"orderItems", "delivery"})
+@Table(indexes = @Index(name = "idx_orders_member_date", columnList = "member_email, order_date, ono"))
 public class Orders {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -3,12 +3,14 @@ package org.shop.apiserver.domain.model.product;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "tbl_product")
+@Table(name = "tbl_product", indexes = @Index(name = "idx_product_mod_date", columnList = "mod_date"))
 @Getter
 @ToString(exclude = "imageList")
 @Builder
@@ -32,6 +34,10 @@ public class Product {
   @Builder.Default
   private int stock = 0;
 
+  // 마지막 수정 시각 (벡터 인덱스 변경분 감지용, 재고 일괄 UPDATE 는 갱신하지 않음)
+  @UpdateTimestamp
+  private LocalDateTime modDate;
+
 
   public void changeDel(boolean delFlag) {
     this.delFlag = delFlag;
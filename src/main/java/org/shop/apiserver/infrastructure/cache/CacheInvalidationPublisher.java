@@ -0,0 +1,50 @@
+package org.shop.apiserver.infrastructure.cache;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * L1 캐시 무효화 메시지 발행 (Redis pub/sub)
+ *
+ * 메시지 형식: {op}|{nodeId}|{cacheName}|{key}
+ * - op: E(evict), C(clear)
+ * - 자기 자신이 보낸 메시지는 nodeId 로 걸러낸다
+ */
+@Log4j2
+public class CacheInvalidationPublisher {
+
+    static final String EVICT = "E";
+    static final String CLEAR = "C";
+    static final String DELIMITER = "|";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String channel;
+    private final String nodeId;
+
+    public CacheInvalidationPublisher(StringRedisTemplate stringRedisTemplate, String channel, String nodeId) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.channel = channel;
+        this.nodeId = nodeId;
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(EVICT + DELIMITER + nodeId + DELIMITER + cacheName + DELIMITER + key);
+    }
+
+    public void publishClear(String cacheName) {
+        publish(CLEAR + DELIMITER + nodeId + DELIMITER + cacheName + DELIMITER);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void publish(String message) {
+        try {
+            stringRedisTemplate.convertAndSend(channel, message);
+        } catch (Exception e) {
+            // 발행 실패 시 다른 노드의 L1 은 TTL 만료로 정리된다
+            log.warn("[CacheInvalidation] 무효화 메시지 발행 실패 - message: {}, error: {}", message, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.shop.apiserver.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * L1(Caffeine, 노드 로컬) + L2(Redis) 2단계 캐시
+ *
+ * - 조회: L1 -> L2 -> (sync 조회 시) 원본 로더, L2 에서 찾은 값은 L1 에 적재
+ * - 변경(put/evict/clear): L2 반영 후 L1 반영, 다른 노드의 L1 은 pub/sub 메시지로 무효화
+ * - L1 키는 Redis 캐시 키와 같은 문자열 표현을 사용 (노드 간 무효화 메시지에 그대로 사용)
+ *
+ * L1 은 역직렬화 없이 같은 인스턴스를 반환하므로, 캐시된 객체를 호출자가 수정하면 안 된다.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache<String, Object> l1;
+    private final org.springframework.cache.Cache l2;
+    private final CacheInvalidationPublisher publisher;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public TwoLevelCache(String name,
+                         Cache<String, Object> l1,
+                         org.springframework.cache.Cache l2,
+                         CacheInvalidationPublisher publisher) {
+        super(true);
+        this.name = name;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l2.getNativeCache();
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+
+        String l1Key = l1Key(key);
+        Object value = l1.getIfPresent(l1Key);
+
+        if (value != null) {
+            return value;
+        }
+
+        ValueWrapper wrapper = l2.get(key);
+
+        if (wrapper == null) {
+            return null;
+        }
+
+        value = toStoreValue(wrapper.get());
+        l1.put(l1Key, value);
+        return value;
+    }
+
+    /**
+     * sync=true 조회 - 같은 키의 동시 미스는 노드당 한 번만 로더를 실행 (캐시 스탬피드 방지)
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+
+        Object value = lookup(key);
+
+        if (value != null) {
+            return (T) fromStoreValue(value);
+        }
+
+        String l1Key = l1Key(key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(l1Key, flight);
+
+        if (existing != null) {
+            try {
+                return (T) fromStoreValue(existing.join());
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+
+        try {
+            // 대기 중 다른 스레드가 적재했을 수 있으므로 한 번 더 확인
+            value = lookup(key);
+
+            if (value == null) {
+                T loaded = valueLoader.call();
+                value = toStoreValue(loaded);
+                l2.put(key, loaded);
+                l1.put(l1Key, value);
+            }
+
+            flight.complete(value);
+            return (T) fromStoreValue(value);
+
+        } catch (Exception e) {
+            flight.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            inFlight.remove(l1Key, flight);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l2.put(key, value);
+        l1.put(l1Key(key), toStoreValue(value));
+        publisher.publishEvict(name, l1Key(key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+        l1.invalidate(l1Key(key));
+        publisher.publishEvict(name, l1Key(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = l2.evictIfPresent(key);
+        l1.invalidate(l1Key(key));
+        publisher.publishEvict(name, l1Key(key));
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        l1.invalidateAll();
+        publisher.publishClear(name);
+    }
+
+    /**
+     * 다른 노드에서 변경된 키의 L1 항목만 제거 (L2 는 이미 반영됨)
+     */
+    void evictLocal(String l1Key) {
+        l1.invalidate(l1Key);
+    }
+
+    void clearLocal() {
+        l1.invalidateAll();
+    }
+
+    private String l1Key(Object key) {
+        return String.valueOf(key);
+    }
+}
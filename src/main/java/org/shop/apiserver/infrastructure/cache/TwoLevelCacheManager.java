@@ -0,0 +1,108 @@
+package org.shop.apiserver.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * L1(Caffeine) + L2(Redis) 2단계 CacheManager
+ *
+ * - 캐시 이름별로 노드 로컬 L1 을 두고, L2 는 RedisCacheManager 의 캐시를 그대로 사용
+ * - 다른 노드에서 발행한 무효화 메시지를 받아 로컬 L1 만 정리 (MessageListener)
+ */
+@Log4j2
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    private final RedisCacheManager redisCacheManager;
+    private final CacheInvalidationPublisher publisher;
+    private final long l1MaximumSize;
+    private final Duration l1ExpireAfterWrite;
+
+    private final boolean transactionAware;
+
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Cache> decoratedCaches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager,
+                                CacheInvalidationPublisher publisher,
+                                long l1MaximumSize,
+                                Duration l1ExpireAfterWrite,
+                                boolean transactionAware) {
+        this.redisCacheManager = redisCacheManager;
+        this.publisher = publisher;
+        this.l1MaximumSize = l1MaximumSize;
+        this.l1ExpireAfterWrite = l1ExpireAfterWrite;
+        this.transactionAware = transactionAware;
+    }
+
+    /**
+     * transactionAware 이면 put/evict 를 트랜잭션 커밋 이후로 미룬다
+     * (커밋 전에 무효화하면 다른 요청이 이전 데이터로 다시 캐시를 채울 수 있음)
+     */
+    @Override
+    public Cache getCache(String name) {
+        return decoratedCaches.computeIfAbsent(name, key -> {
+            TwoLevelCache cache = caches.computeIfAbsent(key, this::createCache);
+            return transactionAware ? new TransactionAwareCacheDecorator(cache) : cache;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * 다른 노드의 무효화 메시지 처리
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|", 4);
+
+        if (parts.length < 4 || publisher.getNodeId().equals(parts[1])) {
+            return;
+        }
+
+        TwoLevelCache cache = caches.get(parts[2]);
+        if (cache == null) {
+            return;
+        }
+
+        if (CacheInvalidationPublisher.CLEAR.equals(parts[0])) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(parts[3]);
+        }
+
+        log.debug("[CacheInvalidation] L1 무효화 수신 - cache: {}, op: {}, key: {}", parts[2], parts[0], parts[3]);
+    }
+
+    private TwoLevelCache createCache(String name) {
+
+        Cache l2 = redisCacheManager.getCache(name);
+
+        com.github.benmanes.caffeine.cache.Cache<String, Object> l1 = Caffeine.newBuilder()
+                .maximumSize(l1MaximumSize)
+                .expireAfterWrite(l1ExpireAfterWrite)
+                .build();
+
+        log.info("[CacheManager] 2단계 캐시 생성 - name: {}, l1MaximumSize: {}, l1Ttl: {}",
+                name, l1MaximumSize, l1ExpireAfterWrite);
+
+        return new TwoLevelCache(name, l1, l2, publisher);
+    }
+}
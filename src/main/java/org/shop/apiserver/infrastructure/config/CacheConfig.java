@@ -2,6 +2,9 @@ package org.shop.apiserver.infrastructure.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.shop.apiserver.infrastructure.cache.CacheInvalidationPublisher;
+import org.shop.apiserver.infrastructure.cache.TwoLevelCacheManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,19 +13,57 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.UUID;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    // L1 캐시 무효화 채널 (노드 간 pub/sub)
+    private static final String CACHE_INVALIDATION_CHANNEL = "cache:invalidation";
+
+    @Value("${cache.l1.maximum-size:10000}")
+    private long l1MaximumSize;
+
+    @Value("${cache.l1.expire-after-write:60s}")
+    private Duration l1ExpireAfterWrite;
+
+    /**
+     * L1(Caffeine) + L2(Redis) 2단계 캐시
+     * 자주 조회되는 키는 Redis 왕복/역직렬화 없이 노드 메모리에서 응답
+     */
     @Bean
     @Primary
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public TwoLevelCacheManager cacheManager(RedisCacheManager redisCacheManager,
+                                             StringRedisTemplate stringRedisTemplate) {
+
+        CacheInvalidationPublisher publisher = new CacheInvalidationPublisher(
+                stringRedisTemplate, CACHE_INVALIDATION_CHANNEL, UUID.randomUUID().toString());
+
+        return new TwoLevelCacheManager(redisCacheManager, publisher, l1MaximumSize, l1ExpireAfterWrite, true);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TwoLevelCacheManager cacheManager) {
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(CACHE_INVALIDATION_CHANNEL));
+        return container;
+    }
+
+    @Bean
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
         
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
@@ -0,0 +1,103 @@
+package org.shop.apiserver.infrastructure.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+public class KafkaConfig {
+
+    @Value("${kafka.topics.coupon-issue}")
+    private String couponIssueTopic;
+
+    @Value("${kafka.topics.coupon-issue-dlt}")
+    private String couponIssueDltTopic;
+
+    @Value("${kafka.coupon-issue.partitions:3}")
+    private int couponIssuePartitions;
+
+    @Value("${kafka.coupon-issue.retry-interval-ms:1000}")
+    private long retryIntervalMs;
+
+    @Value("${kafka.coupon-issue.retry-attempts:2}")
+    private long retryAttempts;
+
+    // 비동기 발급 사용 시에만 토픽 생성 (브로커가 없는 환경에서 기동 지연 방지)
+    @Bean
+    @ConditionalOnProperty(name = "coupon.issue.async", havingValue = "true")
+    public NewTopic couponIssueTopic() {
+        return TopicBuilder.name(couponIssueTopic)
+                .partitions(couponIssuePartitions)
+                .replicas(1)
+                .build();
+    }
+
+    // 원본과 같은 파티션으로 보내므로 파티션 수를 맞춘다
+    @Bean
+    @ConditionalOnProperty(name = "coupon.issue.async", havingValue = "true")
+    public NewTopic couponIssueDltTopic() {
+        return TopicBuilder.name(couponIssueDltTopic)
+                .partitions(couponIssuePartitions)
+                .replicas(1)
+                .build();
+    }
+
+    /**
+     * 쿠폰 발급 에러 핸들러
+     * - 역직렬화 실패(ErrorHandlingDeserializer)는 재시도 없이 바로 DLT 로 전송
+     * - 그 외 실패는 배치 전체를 retry-attempts 회 재시도한 뒤 레코드별로 DLT 전송 후 다음 offset 진행
+     * - 역직렬화 실패 레코드는 원본 byte[] 그대로 보내야 하므로 byte[] 전용 템플릿을 따로 둔다
+     */
+    @Bean
+    public DefaultErrorHandler couponIssueErrorHandler(KafkaTemplate<Object, Object> kafkaTemplate,
+                                                       ProducerFactory<Object, Object> producerFactory) {
+
+        KafkaTemplate<String, byte[]> bytesTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                producerFactory.getConfigurationProperties(), new StringSerializer(), new ByteArraySerializer()));
+
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(byte[].class, bytesTemplate);
+        templates.put(Object.class, kafkaTemplate);
+
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(templates,
+                (record, exception) -> new TopicPartition(couponIssueDltTopic, record.partition()));
+
+        return new DefaultErrorHandler(recoverer, new FixedBackOff(retryIntervalMs, retryAttempts));
+    }
+
+    /**
+     * 쿠폰 발급 배치 리스너 (poll 단위로 List 수신, 처리 완료 후 offset 커밋)
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> couponBatchListenerContainerFactory(
+            ConsumerFactory<Object, Object> consumerFactory, DefaultErrorHandler couponIssueErrorHandler) {
+
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(couponIssuePartitions);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(couponIssueErrorHandler);
+        return factory;
+    }
+}
@@ -1,15 +1,17 @@
 package org.shop.apiserver.infrastructure.config;
 
+import org.shop.apiserver.infrastructure.vector.CachingEmbeddingModel;
+import org.shop.apiserver.infrastructure.vector.MappedHnswVectorStore;
 import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.openai.OpenAiEmbeddingModel;
 import org.springframework.ai.openai.api.OpenAiApi;
-import org.springframework.ai.vectorstore.SimpleVectorStore;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.io.File;
+import java.nio.file.Path;
 
 @Configuration
 public class VectorStoreConfig {
@@ -17,27 +19,71 @@ public class VectorStoreConfig {
     @Value("${spring.ai.openai.api-key}")
     private String openAiApiKey;
 
+    @Value("${embedding.cache.namespace:openai}")
+    private String embeddingNamespace;
+
+    @Value("${embedding.cache.path:embedding-cache/embeddings.dat}")
+    private String embeddingCachePath;
+
+    @Value("${embedding.cache.max-entries:100000}")
+    private int embeddingCacheMaxEntries;
+
+    @Value("${embedding.query-cache.maximum-size:10000}")
+    private long queryCacheSize;
+
+    @Value("${embedding.batch.max-size:100}")
+    private int batchMaxSize;
+
+    @Value("${embedding.batch.max-wait-ms:10}")
+    private long batchMaxWaitMs;
+
+    @Value("${embedding.batch.concurrency:4}")
+    private int batchConcurrency;
+
+    @Value("${vector.index.path:vector-index}")
+    private String indexPath;
+
+    @Value("${vector.index.m:16}")
+    private int m;
+
+    @Value("${vector.index.ef-construction:200}")
+    private int efConstruction;
+
+    @Value("${vector.index.ef-search:64}")
+    private int efSearch;
+
+    @Value("${vector.index.compaction-ratio:0.3}")
+    private double compactionRatio;
+
     /**
-     * 임베딩 모델 - 텍스트를 벡터로 변환
+     * 임베딩 모델 - 텍스트를 벡터로 변환 (본문 해시 캐시 + 요청 마이크로 배치)
      */
     @Bean
     public EmbeddingModel embeddingModel() {
-        return new OpenAiEmbeddingModel(new OpenAiApi(openAiApiKey));
+        return new CachingEmbeddingModel(
+                new OpenAiEmbeddingModel(new OpenAiApi(openAiApiKey)),
+                embeddingNamespace,
+                Path.of(embeddingCachePath),
+                embeddingCacheMaxEntries,
+                queryCacheSize,
+                batchMaxSize,
+                batchMaxWaitMs,
+                batchConcurrency);
     }
 
     /**
-     * 벡터 저장소 - 간단한 파일 기반 벡터 DB
+     * 벡터 저장소 - memory-mapped 파일 기반 HNSW 인덱스
      */
     @Bean
     public VectorStore vectorStore(EmbeddingModel embeddingModel) {
 
-        File vectorStoreFile = new File("vector-store.json");
-
-        SimpleVectorStore vectorStore = new SimpleVectorStore(embeddingModel);
+        MappedHnswVectorStore vectorStore = new MappedHnswVectorStore(
+                embeddingModel, Path.of(indexPath), m, efConstruction, efSearch, compactionRatio);
 
-        // 기존 벡터 데이터가 있으면 로드
-        if (vectorStoreFile.exists()) {
-            vectorStore.load(vectorStoreFile);
+        // 기존 SimpleVectorStore 파일이 있으면 최초 1회 이관
+        File legacyFile = new File("vector-store.json");
+        if (vectorStore.size() == 0 && legacyFile.exists()) {
+            vectorStore.importSimpleVectorStore(legacyFile);
         }
 
         return vectorStore;
@@ -0,0 +1,133 @@
+package org.shop.apiserver.infrastructure.messaging;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.shop.apiserver.application.dto.CouponIssueEvent;
+import org.shop.apiserver.application.service.CouponIssueGate;
+import org.shop.apiserver.infrastructure.persistence.jdbc.MemberCouponBatchRepository;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * 쿠폰 발급 이벤트 배치 컨슈머
+ *
+ * - poll 한 번에 받은 이벤트를 JDBC 배치로 저장 (행별 issued_count 선점 + INSERT, 같은 트랜잭션)
+ * - 중복 이벤트(재전송, 재처리)는 배치 내 중복 제거 + 보유 여부 조건으로 무시
+ * - 발급되지 못한 이벤트(수량 소진, 만료, 회원 없음)는 커밋 후 Redis 발급 게이트에 자격 반환
+ * - 처리 완료 후에만 offset 을 커밋하므로 실패 시 배치 전체가 재처리된다 (at-least-once)
+ * - 역직렬화에 실패한 레코드는 그 앞까지만 저장하고 위치를 에러 핸들러에 알려 DLT 로 보낸다 (KafkaConfig)
+ */
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class CouponIssueConsumer {
+
+    private final MemberCouponBatchRepository memberCouponBatchRepository;
+    private final CouponIssueGate couponIssueGate;
+    private final TransactionTemplate transactionTemplate;
+
+    @KafkaListener(
+            topics = "${kafka.topics.coupon-issue}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "couponBatchListenerContainerFactory",
+            autoStartup = "${coupon.issue.async:false}",
+            properties = {
+                    "enable.auto.commit=false",
+                    "max.poll.records=${kafka.coupon-issue.max-poll-records:500}",
+                    "spring.json.value.default.type=org.shop.apiserver.application.dto.CouponIssueEvent"
+            })
+    public void consume(List<ConsumerRecord<String, CouponIssueEvent>> records) {
+        log.info("[CouponIssueConsumer] 쿠폰 발급 이벤트 수신 - size: {}", records.size());
+
+        // ErrorHandlingDeserializer 가 역직렬화 실패 레코드를 value null 로 넘김
+        int failedIndex = 0;
+        while (failedIndex < records.size() && records.get(failedIndex).value() != null) {
+            failedIndex++;
+        }
+
+        List<CouponIssueEvent> events = records.subList(0, failedIndex).stream()
+                .map(ConsumerRecord::value)
+                .toList();
+
+        // 실패 레코드 앞부분은 커밋까지 끝내야 에러 핸들러가 그 offset 을 커밋해도 유실이 없다
+        if (!events.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> issue(events));
+        }
+
+        if (failedIndex < records.size()) {
+            ConsumerRecord<String, CouponIssueEvent> failed = records.get(failedIndex);
+            log.warn("[CouponIssueConsumer] 역직렬화 실패 레코드 - partition: {}, offset: {}",
+                    failed.partition(), failed.offset());
+            throw new BatchListenerFailedException("쿠폰 발급 이벤트 역직렬화 실패", failed);
+        }
+    }
+
+    // ============================================
+    // Private Helper Methods
+    // ============================================
+
+    private void issue(List<CouponIssueEvent> events) {
+
+        // 같은 (회원, 쿠폰) 이벤트는 첫 번째만 처리
+        Map<String, CouponIssueEvent> unique = new LinkedHashMap<>();
+        for (CouponIssueEvent event : events) {
+            unique.putIfAbsent(event.getCouponCode() + "\n" + event.getEmail(), event);
+        }
+        List<CouponIssueEvent> targets = new ArrayList<>(unique.values());
+
+        List<CouponIssueEvent> issued = memberCouponBatchRepository.issueAll(targets);
+
+        if (issued.size() < targets.size()) {
+            releaseRejected(targets, issued);
+        }
+
+        log.info("[CouponIssueConsumer] 쿠폰 발급 저장 완료 - received: {}, issued: {}", events.size(), issued.size());
+    }
+
+    /**
+     * 발급되지 못한 이벤트의 게이트 자격 반환 (이미 보유한 회원 = 재전송 이벤트는 제외)
+     */
+    private void releaseRejected(List<CouponIssueEvent> targets, List<CouponIssueEvent> issued) {
+
+        Set<CouponIssueEvent> issuedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        issuedSet.addAll(issued);
+
+        Map<String, List<String>> rejected = new HashMap<>();
+        for (CouponIssueEvent event : targets) {
+            if (!issuedSet.contains(event)) {
+                rejected.computeIfAbsent(event.getCouponCode(), key -> new ArrayList<>()).add(event.getEmail());
+            }
+        }
+
+        Map<String, List<String>> releases = new HashMap<>();
+        rejected.forEach((couponCode, emails) -> {
+            Set<String> holders = memberCouponBatchRepository.selectHolderEmails(couponCode, emails);
+            List<String> release = emails.stream().filter(email -> !holders.contains(email)).toList();
+            if (!release.isEmpty()) {
+                releases.put(couponCode, release);
+            }
+        });
+
+        if (releases.isEmpty()) {
+            return;
+        }
+
+        log.info("[CouponIssueConsumer] 발급 거절 - {}", releases);
+
+        // 롤백되면 배치 전체가 재처리되므로 커밋된 경우에만 반환
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                releases.forEach((couponCode, emails) ->
+                        emails.forEach(email -> couponIssueGate.release(email, couponCode)));
+            }
+        });
+    }
+}
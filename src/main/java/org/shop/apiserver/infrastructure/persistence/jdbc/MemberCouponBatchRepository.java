@@ -0,0 +1,234 @@
+package org.shop.apiserver.infrastructure.persistence.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.application.dto.CouponIssueEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * MemberCoupon JDBC 배치 저장소
+ *
+ * - JPA IDENTITY 전략은 배치 INSERT 가 불가능하므로 대량 발급은 JDBC 로 처리
+ * - 이벤트 발급(issueAll)은 행마다 issued_count 선점 UPDATE(발급 가능 조건 + 회원 존재 + 미보유) 후 선점된 행만 INSERT
+ *   (같은 트랜잭션, 행별 갱신 건수로 발급/거절 판정 - 수량 초과/만료/비활성 쿠폰은 저장되지 않음)
+ * - 대량 발급은 청크마다 수량을 한 번에 선점(reserveQuota)한 뒤 선점 수량만큼만 INSERT ... SELECT 한 문장으로 저장하고,
+ *   저장되지 않은 만큼 반환(releaseQuota)한다. 선점/반환은 짧은 단독 UPDATE 라 청크 저장끼리 coupon 행 락을 기다리지 않는다
+ */
+@Repository
+@Log4j2
+@RequiredArgsConstructor
+public class MemberCouponBatchRepository {
+
+    /**
+     * 발급 가능 조건 (활성, 미만료, 최대 발급 수량 미달)
+     */
+    private static final String ISSUABLE =
+            "c.active AND c.end_date > NOW() AND (c.max_issue_count = 0 OR c.issued_count < c.max_issue_count) ";
+
+    // ? = 쿠폰 코드, 회원 이메일, 회원 이메일 (0 이면 발급 불가)
+    private static final String CLAIM_SQL =
+            "UPDATE coupon c SET c.issued_count = c.issued_count + 1 " +
+            "WHERE c.coupon_code = ? AND " + ISSUABLE +
+            "AND EXISTS (SELECT 1 FROM member m WHERE m.email = ?) " +
+            "AND NOT EXISTS (SELECT 1 FROM member_coupon mc WHERE mc.coupon_id = c.coupon_id AND mc.member_email = ?)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO member_coupon (member_email, coupon_id, used) " +
+            "SELECT ?, c.coupon_id, false FROM coupon c WHERE c.coupon_code = ?";
+
+    // ? = 발급 가능 쿠폰의 현재 발급 수량 / 최대 발급 수량
+    private static final String SELECT_QUOTA_SQL =
+            "SELECT c.issued_count, c.max_issue_count FROM coupon c " +
+            "WHERE c.coupon_code = ? AND c.active AND c.end_date > NOW()";
+
+    // ? = 선점 수량, 쿠폰 코드, 선점 수량 (남은 수량을 넘으면 0)
+    private static final String RESERVE_SQL =
+            "UPDATE coupon c SET c.issued_count = c.issued_count + ? " +
+            "WHERE c.coupon_code = ? AND c.active AND c.end_date > NOW() " +
+            "AND (c.max_issue_count = 0 OR c.issued_count + ? <= c.max_issue_count)";
+
+    private static final String RELEASE_SQL =
+            "UPDATE coupon c SET c.issued_count = c.issued_count - ? WHERE c.coupon_code = ?";
+
+    // 발급 대상 (회원이 존재하고 아직 보유하지 않음) - 선점 수량 계산용
+    private static final String SELECT_ISSUABLE_SQL =
+            "SELECT m.email FROM member m JOIN coupon c ON c.coupon_code = :couponCode " +
+            "WHERE m.email IN (:emails) " +
+            "AND NOT EXISTS (SELECT 1 FROM member_coupon mc WHERE mc.coupon_id = c.coupon_id AND mc.member_email = m.email)";
+
+    // 회원이 존재하고 아직 보유하지 않은 행만 선점 수량까지 저장 (동시 단건 발급과 겹친 중복 행은 IGNORE)
+    private static final String INSERT_CHUNK_SQL =
+            "INSERT IGNORE INTO member_coupon (member_email, coupon_id, used) " +
+            "SELECT m.email, c.coupon_id, false FROM member m JOIN coupon c ON c.coupon_code = :couponCode " +
+            "WHERE m.email IN (:emails) " +
+            "AND NOT EXISTS (SELECT 1 FROM member_coupon mc WHERE mc.coupon_id = c.coupon_id AND mc.member_email = m.email) " +
+            "ORDER BY m.email LIMIT :quota";
+
+    private static final String SELECT_HOLDERS_SQL =
+            "SELECT mc.member_email FROM member_coupon mc JOIN coupon c ON c.coupon_id = mc.coupon_id " +
+            "WHERE c.coupon_code = :couponCode AND mc.member_email IN (:emails)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * 발급 이벤트 배치 저장 (호출 측 트랜잭션 안에서 실행)
+     *
+     * @return 실제로 발급된 이벤트 (수량 소진/만료/비활성/회원 없음/이미 보유한 이벤트는 제외)
+     */
+    public List<CouponIssueEvent> issueAll(List<CouponIssueEvent> events) {
+        return issue(events);
+    }
+
+    /**
+     * 쿠폰 보유 회원 조회 (emails 중 이미 발급받은 회원)
+     */
+    public Set<String> selectHolderEmails(String couponCode, Collection<String> emails) {
+
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("couponCode", couponCode)
+                .addValue("emails", emails);
+
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(SELECT_HOLDERS_SQL, params, String.class));
+    }
+
+    /**
+     * 대량 발급 대상 조회 (emails 중 존재하는 회원이면서 아직 보유하지 않은 회원)
+     * 저장되지 못할 행까지 선점했다가 반환하면 그 사이 다른 청크가 소진으로 판정할 수 있으므로 선점 전에 걸러낸다.
+     */
+    public List<String> selectIssuableEmails(String couponCode, Collection<String> emails) {
+
+        if (emails.isEmpty()) {
+            return List.of();
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("couponCode", couponCode)
+                .addValue("emails", emails);
+
+        return namedParameterJdbcTemplate.queryForList(SELECT_ISSUABLE_SQL, params, String.class);
+    }
+
+    /**
+     * 대량 발급 수량 선점 (단독 실행 - 바로 커밋되어 다른 청크가 기다리지 않음)
+     * 남은 수량보다 많이 요청하면 남은 만큼만 선점한다.
+     *
+     * @return 선점한 수량 (소진/만료/비활성이면 0)
+     */
+    public int reserveQuota(String couponCode, int requested) {
+
+        // 조건부 UPDATE 가 실패하는 경우는 그 사이 다른 청크가 선점한 경우뿐이므로 남은 수량을 다시 읽고 재시도
+        while (true) {
+            List<int[]> quota = jdbcTemplate.query(SELECT_QUOTA_SQL,
+                    (rs, rowNum) -> new int[]{rs.getInt(1), rs.getInt(2)}, couponCode);
+
+            if (quota.isEmpty()) {
+                return 0;
+            }
+
+            int issued = quota.get(0)[0];
+            int max = quota.get(0)[1];
+            int granted = max == 0 ? requested : Math.min(requested, max - issued);
+
+            if (granted <= 0) {
+                return 0;
+            }
+            if (jdbcTemplate.update(RESERVE_SQL, granted, couponCode, granted) == 1) {
+                return granted;
+            }
+        }
+    }
+
+    /**
+     * 선점했지만 저장되지 않은 수량 반환 (단독 실행)
+     */
+    public void releaseQuota(String couponCode, int count) {
+        if (count > 0) {
+            jdbcTemplate.update(RELEASE_SQL, count, couponCode);
+        }
+    }
+
+    /**
+     * 대량 발급 청크 저장 (호출 측 트랜잭션 안에서 실행, reserveQuota 로 선점한 수량까지만 저장)
+     *
+     * @return 저장된 건수 (그 사이 다른 경로로 발급받은 회원은 제외)
+     */
+    public int insertChunk(String couponCode, List<String> emails, int quota) {
+
+        if (emails.isEmpty() || quota <= 0) {
+            return 0;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("couponCode", couponCode)
+                .addValue("emails", emails)
+                .addValue("quota", quota);
+
+        int inserted = namedParameterJdbcTemplate.update(INSERT_CHUNK_SQL, params);
+
+        log.debug("[MemberCouponBatchRepository] 청크 발급 - requested: {}, quota: {}, issued: {}",
+                emails.size(), quota, inserted);
+
+        return inserted;
+    }
+
+    // ============================================
+    // Private Helper Methods
+    // ============================================
+
+    /**
+     * 행별 issued_count 선점 후 선점된 행만 저장
+     * 같은 (회원, 쿠폰) 이 한 배치에 두 번 들어오지 않도록 호출 측에서 중복 제거할 것
+     */
+    private List<CouponIssueEvent> issue(List<CouponIssueEvent> rows) {
+
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        int[][] counts = jdbcTemplate.batchUpdate(CLAIM_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.getCouponCode());
+            ps.setString(2, row.getEmail());
+            ps.setString(3, row.getEmail());
+        });
+
+        List<CouponIssueEvent> claimed = new ArrayList<>(rows.size());
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == Statement.SUCCESS_NO_INFO) {
+                    throw new IllegalStateException("행별 갱신 건수를 확인할 수 없습니다 (JDBC 드라이버 bulk 모드 비활성화 필요)");
+                }
+                if (count > 0) {
+                    claimed.add(rows.get(index));
+                }
+                index++;
+            }
+        }
+
+        if (!claimed.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, claimed, claimed.size(), (ps, row) -> {
+                ps.setString(1, row.getEmail());
+                ps.setString(2, row.getCouponCode());
+            });
+        }
+
+        log.debug("[MemberCouponBatchRepository] 배치 발급 - requested: {}, issued: {}", rows.size(), claimed.size());
+
+        return claimed;
+    }
+}
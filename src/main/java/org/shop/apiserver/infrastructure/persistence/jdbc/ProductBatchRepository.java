@@ -0,0 +1,100 @@
+package org.shop.apiserver.infrastructure.persistence.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.domain.model.product.Product;
+import org.shop.apiserver.domain.model.product.ProductImage;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Product JDBC 배치 저장소
+ *
+ * - JPA IDENTITY 전략은 배치 INSERT 가 불가능하므로 대량 등록은 JDBC 로 처리
+ * - 상품은 배치 INSERT 후 생성된 pno 를 한 번에 받아 이미지(ElementCollection) 행도 배치 INSERT
+ * - JDBC 로 저장하므로 mod_date(@UpdateTimestamp) 는 직접 설정 (변경분 인덱싱 대상이 되도록)
+ */
+@Repository
+@Log4j2
+@RequiredArgsConstructor
+public class ProductBatchRepository {
+
+    private static final String INSERT_PRODUCT_SQL =
+            "INSERT INTO tbl_product (pname, price, pdesc, del_flag, stock, mod_date) VALUES (?, ?, ?, false, ?, ?)";
+
+    private static final String INSERT_IMAGE_SQL =
+            "INSERT INTO product_image_list (product_pno, file_name, ord) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 상품 + 이미지 배치 저장
+     *
+     * @return 저장된 상품 번호 (입력 순서)
+     */
+    public List<Long> insertAll(List<Product> products) {
+
+        if (products.isEmpty()) {
+            return List.of();
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_PRODUCT_SQL, new String[]{"pno"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Product product = products.get(i);
+                        ps.setString(1, product.getPname());
+                        ps.setInt(2, product.getPrice());
+                        ps.setString(3, product.getPdesc());
+                        ps.setInt(4, product.getStock());
+                        ps.setTimestamp(5, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return products.size();
+                    }
+                },
+                keyHolder);
+
+        List<Long> pnos = new ArrayList<>(products.size());
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            pnos.add(((Number) keys.values().iterator().next()).longValue());
+        }
+
+        if (pnos.size() != products.size()) {
+            throw new IllegalStateException(String.format(
+                    "생성된 상품 번호 수가 일치하지 않습니다: 상품 %d건, 번호 %d건", products.size(), pnos.size()));
+        }
+
+        List<Object[]> images = new ArrayList<>();
+        for (int i = 0; i < products.size(); i++) {
+            for (ProductImage image : products.get(i).getImageList()) {
+                images.add(new Object[]{pnos.get(i), image.getFileName(), image.getOrd()});
+            }
+        }
+
+        if (!images.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_IMAGE_SQL, images);
+        }
+
+        log.debug("[ProductBatchRepository] 배치 저장 - products: {}, images: {}", products.size(), images.size());
+
+        return pnos;
+    }
+}
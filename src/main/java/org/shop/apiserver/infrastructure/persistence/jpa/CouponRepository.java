@@ -2,6 +2,9 @@ package org.shop.apiserver.infrastructure.persistence.jpa;
 
 import org.shop.apiserver.domain.model.coupon.Coupon;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,4 +12,13 @@ import java.util.Optional;
 public interface CouponRepository extends JpaRepository<Coupon, Long> {
     Optional<Coupon> findByCouponCode(String couponCode);
     List<Coupon> findByActiveTrue();
+
+    /**
+     * 발급 수량 증가 (최대 발급 수량 초과 시 0 반환, maxIssueCount = 0 이면 무제한)
+     */
+    @Modifying
+    @Query("UPDATE Coupon c SET c.issuedCount = c.issuedCount + 1 " +
+            "WHERE c.couponId = :couponId " +
+            "AND (c.maxIssueCount = 0 OR c.issuedCount < c.maxIssueCount)")
+    int increaseIssuedCount(@Param("couponId") Long couponId);
 }
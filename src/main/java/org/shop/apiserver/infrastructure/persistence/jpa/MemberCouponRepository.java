@@ -28,4 +28,10 @@ public interface MemberCouponRepository extends JpaRepository<MemberCoupon, Long
             "WHERE mc.member.email = :memberEmail AND mc.coupon.couponCode = :couponCode")
     boolean existsByMemberEmailAndCouponCouponCode(@Param("memberEmail") String memberEmail,
                                                     @Param("couponCode") String couponCode);
-}
\ No newline at end of file
+
+    /**
+     * 쿠폰을 발급받은 회원 이메일 목록 (Redis 발급 게이트 적재용)
+     */
+    @Query("SELECT mc.member.email FROM MemberCoupon mc WHERE mc.coupon.couponId = :couponId")
+    List<String> findMemberEmailsByCouponId(@Param("couponId") Long couponId);
+}
@@ -1,5 +1,6 @@
 package org.shop.apiserver.infrastructure.persistence.jpa;
 
+import org.shop.apiserver.application.dto.OrderListDTO;
 import org.shop.apiserver.domain.model.order.OrderStatus;
 import org.shop.apiserver.domain.model.order.Orders;
 import org.springframework.data.domain.Page;
@@ -8,6 +9,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Orders, Long> {
@@ -18,6 +21,37 @@ public interface OrderRepository extends JpaRepository<Orders, Long> {
     @Query("SELECT o FROM Orders o WHERE o.member.email = :email ORDER BY o.orderDate DESC")
     Page<Orders> findByMemberEmail(@Param("email") String email, Pageable pageable);
 
+    // 회원의 주문 목록 DTO 프로젝션 (대표 상품명/상품 개수를 서브쿼리로 조회 - 주문/상품별 지연 로딩 없음)
+    String ORDER_LIST_SELECT = "SELECT new org.shop.apiserver.application.dto.OrderListDTO(" +
+            "o.ono, o.orderNumber, o.finalAmount, o.orderDate, o.status, " +
+            "(SELECT p.pname FROM OrderItem oi JOIN oi.product p " +
+            " WHERE oi.oino = (SELECT MIN(oi2.oino) FROM OrderItem oi2 WHERE oi2.order = o)), " +
+            "(SELECT COUNT(oi3) FROM OrderItem oi3 WHERE oi3.order = o)) " +
+            "FROM Orders o WHERE o.member.email = :email ";
+
+    // 회원의 주문 목록 (페이징)
+    @Query(value = ORDER_LIST_SELECT + "ORDER BY o.orderDate DESC, o.ono DESC",
+            countQuery = "SELECT count(o) FROM Orders o WHERE o.member.email = :email")
+    Page<OrderListDTO> findListByMemberEmail(@Param("email") String email, Pageable pageable);
+
+    // 회원의 주문 목록 - 커서 첫 페이지 (orderDate, ono 내림차순)
+    @Query(ORDER_LIST_SELECT + "ORDER BY o.orderDate DESC, o.ono DESC")
+    List<OrderListDTO> findListFirstByMemberEmail(@Param("email") String email, Pageable pageable);
+
+    // 회원의 주문 목록 - 커서 다음 페이지 (마지막 행의 (orderDate, ono) 이후만 조회, OFFSET 없음)
+    @Query(ORDER_LIST_SELECT +
+            "AND (o.orderDate < :orderDate OR (o.orderDate = :orderDate AND o.ono < :ono)) " +
+            "ORDER BY o.orderDate DESC, o.ono DESC")
+    List<OrderListDTO> findListNextByMemberEmail(
+            @Param("email") String email,
+            @Param("orderDate") LocalDateTime orderDate,
+            @Param("ono") Long ono,
+            Pageable pageable);
+
+    // 회원의 주문 건수
+    @Query("SELECT count(o) FROM Orders o WHERE o.member.email = :email")
+    long countByMemberEmail(@Param("email") String email);
+
     // 회원의 특정 상태 주문 목록
     @Query("SELECT o FROM Orders o WHERE o.member.email = :email AND o.status = :status ORDER BY o.orderDate DESC")
     Page<Orders> findByMemberEmailAndStatus(
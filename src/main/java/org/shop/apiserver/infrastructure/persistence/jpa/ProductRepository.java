@@ -7,6 +7,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository<Product, Long>{
@@ -21,8 +24,17 @@ public interface ProductRepository extends JpaRepository<Product, Long>{
   @Query("select p from Product p where p.pno = :pno")
   Optional<Product> selectOne(@Param("pno") Long pno);
 
+  // 여러 상품을 이미지와 함께 한 번에 조회 (추천 결과 등 상품별 개별 조회 방지)
+  @EntityGraph(attributePaths = "imageList")
+  @Query("select p from Product p where p.pno in :pnos")
+  List<Product> selectListByPnos(@Param("pnos") Collection<Long> pnos);
+
+  // 대표 이미지(ord = 0)만 조회 - [pno, fileName] (키워드 검색 결과에 목록 API 와 같은 이미지 채움)
+  @Query("select p.pno, pi.fileName from Product p join p.imageList pi where pi.ord = 0 and p.pno in :pnos")
+  List<Object[]> selectMainImages(@Param("pnos") Collection<Long> pnos);
+
   @Modifying
-  @Query("update Product p set p.delFlag = :flag where p.pno = :pno")
+  @Query("update Product p set p.delFlag = :flag, p.modDate = CURRENT_TIMESTAMP where p.pno = :pno")
   void updateToDelete(@Param("pno") Long pno , @Param("flag") boolean flag);
 
   
@@ -36,4 +48,46 @@ public interface ProductRepository extends JpaRepository<Product, Long>{
 
   @Query("select p from Product p left join p.imageList pi  where p.delFlag = false ")
   Page<Product> selectListWitAll(Pageable pageable);
+
+  // 커서 페이징 첫 페이지 (count 쿼리 없음)
+  @Query("select p, pi  from Product p left join p.imageList pi  where pi.ord = 0 and p.delFlag = false order by p.pno desc")
+  List<Object[]> selectListFirst(Pageable pageable);
+
+  // 커서 페이징 다음 페이지 (마지막 pno 보다 작은 상품만 조회, OFFSET 없음)
+  @Query("select p, pi  from Product p left join p.imageList pi  where pi.ord = 0 and p.delFlag = false and p.pno < :cursor order by p.pno desc")
+  List<Object[]> selectListAfter(@Param("cursor") Long cursor, Pageable pageable);
+
+  // 벡터 인덱싱용 pno 순서 페이지 조회 (이미지 로딩 없음)
+  @Query("select p from Product p where p.pno > :cursor order by p.pno asc")
+  List<Product> selectPageAfter(@Param("cursor") Long cursor, Pageable pageable);
+
+  // 벡터 인덱싱용 변경분 조회 (since 이후 수정/삭제된 상품)
+  @Query("select p from Product p where p.modDate >= :since and p.pno > :cursor order by p.pno asc")
+  List<Product> selectModifiedAfter(@Param("since") LocalDateTime since,
+                                    @Param("cursor") Long cursor,
+                                    Pageable pageable);
+
+  // 이미지 참조 확인 (삭제되지 않은 상품이 참조 중인 파일명만 반환)
+  @Query("select distinct pi.fileName from Product p join p.imageList pi where p.delFlag = false and pi.fileName in :fileNames")
+  List<String> selectReferencedFileNames(@Param("fileNames") Collection<String> fileNames);
+
+  // 상품 근사 건수 (InnoDB 통계값, 전체 COUNT 스캔 없음)
+  @Query(value = "select TABLE_ROWS from information_schema.TABLES where TABLE_SCHEMA = DATABASE() and TABLE_NAME = 'tbl_product'",
+          nativeQuery = true)
+  Long estimateCount();
+
+  // 재고 원장 적재용 (이미지 로딩 없이 재고만 조회)
+  @Query("select p.stock from Product p where p.pno = :pno")
+  Optional<Integer> findStockByPno(@Param("pno") Long pno);
+
+  // 재고 원장 차감분 반영 (Redis 원장이 재고 검증을 이미 수행함)
+  @Modifying
+  @Query("update Product p set p.stock = p.stock - :delta where p.pno = :pno")
+  int applyStockDelta(@Param("pno") Long pno, @Param("delta") int delta);
+
+  // 낙관적 재고 갱신 (읽은 재고가 그대로일 때만 반영, 0 이면 다른 요청이 먼저 갱신한 충돌)
+  @Modifying
+  @Query("update Product p set p.stock = :newStock where p.pno = :pno and p.stock = :expectedStock")
+  int compareAndSetStock(@Param("pno") Long pno, @Param("expectedStock") int expectedStock,
+                         @Param("newStock") int newStock);
 }
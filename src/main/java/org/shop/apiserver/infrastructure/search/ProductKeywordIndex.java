@@ -0,0 +1,513 @@
+package org.shop.apiserver.infrastructure.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품 키워드 역색인 (BM25)
+ *
+ * - 상품명/설명을 토큰화해 term -> (pno, tf) 포스팅으로 보관, 상품명은 가중치를 위해 두 번 색인
+ * - 한글은 띄어쓰기/조사 차이에 강하도록 음절 bigram 으로 분해 ("노트북을" -> 노트, 트북, 북을)
+ * - 한 글자 한글 질의("책", "폰")는 bigram 으로 찾을 수 없으므로 별도 음절 포스팅으로 조회
+ * - 자동완성: 상품명의 단어 시작 위치부터의 접미사를 정렬 맵에 보관해 접두어 범위 조회
+ * - 가격 범위 필터는 점수 계산 전에 적용
+ * - 외부 호출 없이 메모리에서 점수 계산 (임베딩 API / DB 호출 없음)
+ * - 스냅샷 파일(원본 필드)로 재시작 시 DB 전체 조회 없이 복원
+ */
+@Component
+@Log4j2
+public class ProductKeywordIndex {
+
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_BOOST = 2;
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // 2음절 이상 한글 토큰의 음절 -> (pno, tf) (한 글자 질의 전용)
+    private final Map<String, Map<Long, Integer>> syllablePostings = new HashMap<>();
+    private final Map<Long, IndexedProduct> products = new HashMap<>();
+    private final TreeMap<String, Set<Long>> nameSuffixes = new TreeMap<>();
+    private long totalLength;
+
+    // 변경 횟수 (스냅샷 저장 여부 판단)
+    private final AtomicLong modifications = new AtomicLong();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 상품 색인 (이미 있으면 교체)
+     */
+    public void upsert(Long pno, String pname, String pdesc, int price) {
+
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (int i = 0; i < NAME_BOOST; i++) {
+            tokenize(pname).forEach(term -> termFrequencies.merge(term, 1, Integer::sum));
+        }
+        tokenize(pdesc).forEach(term -> termFrequencies.merge(term, 1, Integer::sum));
+
+        Map<String, Integer> syllableFrequencies = new HashMap<>();
+        for (int i = 0; i < NAME_BOOST; i++) {
+            syllables(pname).forEach(syllable -> syllableFrequencies.merge(syllable, 1, Integer::sum));
+        }
+        syllables(pdesc).forEach(syllable -> syllableFrequencies.merge(syllable, 1, Integer::sum));
+
+        int length = termFrequencies.values().stream().mapToInt(Integer::intValue).sum();
+        List<String> suffixes = nameSuffixes(pname);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(pno);
+
+            termFrequencies.forEach((term, tf) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(pno, tf));
+            syllableFrequencies.forEach((syllable, tf) ->
+                    syllablePostings.computeIfAbsent(syllable, key -> new HashMap<>()).put(pno, tf));
+            suffixes.forEach(suffix ->
+                    nameSuffixes.computeIfAbsent(suffix, key -> new HashSet<>()).add(pno));
+            products.put(pno, new IndexedProduct(pname, pdesc, price, length,
+                    List.copyOf(termFrequencies.keySet()), List.copyOf(syllableFrequencies.keySet()), suffixes));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        modifications.incrementAndGet();
+    }
+
+    public void remove(Long pno) {
+
+        lock.writeLock().lock();
+        try {
+            if (removeInternal(pno)) {
+                modifications.incrementAndGet();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * BM25 점수 상위 상품 검색
+     */
+    public List<Hit> search(String query, int limit) {
+        return search(query, null, null, limit);
+    }
+
+    /**
+     * BM25 점수 상위 상품 검색 (가격 범위 필터, null 이면 제한 없음)
+     */
+    public List<Hit> search(String query, Integer minPrice, Integer maxPrice, int limit) {
+
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            int documentCount = products.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / documentCount;
+
+            for (String term : terms) {
+                Map<Long, Integer> posting = posting(term);
+                if (posting == null) {
+                    continue;
+                }
+
+                double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+
+                posting.forEach((pno, tf) -> {
+                    IndexedProduct product = products.get(pno);
+                    if (!inRange(product.price, minPrice, maxPrice)) {
+                        return;
+                    }
+                    double norm = K1 * (1 - B + B * product.length / averageLength);
+                    scores.merge(pno, idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                });
+            }
+
+            // 상위 limit 개만 유지 (전체 정렬 없이)
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Map.Entry<Long, Double> entry = top.poll();
+                IndexedProduct product = products.get(entry.getKey());
+                hits.add(0, new Hit(entry.getKey(), entry.getValue(), product.pname, product.pdesc, product.price));
+            }
+            return hits;
+
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 상품명 자동완성 (상품명의 아무 단어로 시작하는 접두어 가능, 짧은 상품명 우선)
+     */
+    public List<String> autocomplete(String prefix, int limit) {
+
+        String normalized = normalizeName(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Set<Long> matched = new LinkedHashSet<>();
+
+        lock.readLock().lock();
+        try {
+            NavigableMap<String, Set<Long>> range =
+                    nameSuffixes.subMap(normalized, true, normalized + Character.MAX_VALUE, false);
+
+            // 후보를 넉넉히 모은 뒤 정렬
+            for (Set<Long> pnos : range.values()) {
+                matched.addAll(pnos);
+                if (matched.size() >= limit * 10) {
+                    break;
+                }
+            }
+
+            return matched.stream()
+                    .map(pno -> products.get(pno).pname)
+                    .distinct()
+                    .sorted((a, b) -> a.length() != b.length() ? Integer.compare(a.length(), b.length()) : a.compareTo(b))
+                    .limit(limit)
+                    .toList();
+
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+
+        lock.readLock().lock();
+        try {
+            return products.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long modifications() {
+        return modifications.get();
+    }
+
+    /**
+     * 스냅샷 저장 (임시 파일에 쓴 뒤 교체)
+     */
+    public void save(Path path, LocalDateTime syncedAt) {
+
+        lock.readLock().lock();
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeUTF(syncedAt.toString());
+                out.writeInt(products.size());
+                for (Map.Entry<Long, IndexedProduct> entry : products.entrySet()) {
+                    out.writeLong(entry.getKey());
+                    writeString(out, entry.getValue().pname);
+                    writeString(out, entry.getValue().pdesc);
+                    out.writeInt(entry.getValue().price);
+                }
+            }
+
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException e) {
+            throw new IllegalStateException("키워드 인덱스 스냅샷 저장 실패: " + e.getMessage(), e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 스냅샷 복원
+     *
+     * @return 스냅샷 기준 시각 (파일이 없거나 읽을 수 없으면 null)
+     */
+    public LocalDateTime load(Path path) {
+
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+
+            if (in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("[ProductKeywordIndex] 스냅샷 버전 불일치 - 무시: {}", path);
+                return null;
+            }
+
+            LocalDateTime syncedAt = LocalDateTime.parse(in.readUTF());
+            int count = in.readInt();
+
+            for (int i = 0; i < count; i++) {
+                long pno = in.readLong();
+                String pname = readString(in);
+                String pdesc = readString(in);
+                int price = in.readInt();
+                upsert(pno, pname, pdesc, price);
+            }
+
+            log.info("[ProductKeywordIndex] 스냅샷 복원 - products: {}, syncedAt: {}", count, syncedAt);
+            return syncedAt;
+
+        } catch (IOException | RuntimeException e) {
+            log.warn("[ProductKeywordIndex] 스냅샷 읽기 실패 - 무시: {}", e.getMessage());
+            clear();
+            return null;
+        }
+    }
+
+    public void clear() {
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            syllablePostings.clear();
+            products.clear();
+            nameSuffixes.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        modifications.incrementAndGet();
+    }
+
+    /**
+     * 소문자 변환 후 문자/숫자 단위로 분리, 한글 토큰은 음절 bigram 으로 분해
+     */
+    public static List<String> tokenize(String text) {
+
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            if (!containsHangul(token) || token.length() == 1) {
+                terms.add(token);
+                continue;
+            }
+            for (int i = 0; i + 2 <= token.length(); i++) {
+                terms.add(token.substring(i, i + 2));
+            }
+        }
+        return terms;
+    }
+
+    // ============================================
+    // Private Helper Methods
+    // ============================================
+
+    private boolean removeInternal(Long pno) {
+
+        IndexedProduct previous = products.remove(pno);
+        if (previous == null) {
+            return false;
+        }
+
+        for (String term : previous.terms) {
+            removePosting(postings, term, pno);
+        }
+        for (String syllable : previous.syllables) {
+            removePosting(syllablePostings, syllable, pno);
+        }
+        for (String suffix : previous.suffixes) {
+            Set<Long> pnos = nameSuffixes.get(suffix);
+            if (pnos != null) {
+                pnos.remove(pno);
+                if (pnos.isEmpty()) {
+                    nameSuffixes.remove(suffix);
+                }
+            }
+        }
+        totalLength -= previous.length;
+        return true;
+    }
+
+    private static void removePosting(Map<String, Map<Long, Integer>> target, String term, Long pno) {
+
+        Map<Long, Integer> posting = target.get(term);
+        if (posting != null) {
+            posting.remove(pno);
+            if (posting.isEmpty()) {
+                target.remove(term);
+            }
+        }
+    }
+
+    /**
+     * 질의 term 의 포스팅 (한 글자 한글이면 한 글자 토큰 + 음절 포스팅 합산, 읽기 락 안에서 호출)
+     */
+    private Map<Long, Integer> posting(String term) {
+
+        Map<Long, Integer> posting = postings.get(term);
+        if (term.length() != 1 || !containsHangul(term)) {
+            return posting;
+        }
+
+        Map<Long, Integer> syllablePosting = syllablePostings.get(term);
+        if (syllablePosting == null) {
+            return posting;
+        }
+        if (posting == null) {
+            return syllablePosting;
+        }
+
+        Map<Long, Integer> merged = new HashMap<>(syllablePosting);
+        posting.forEach((pno, tf) -> merged.merge(pno, tf, Integer::sum));
+        return merged;
+    }
+
+    /**
+     * 2음절 이상 한글 토큰의 음절 ("노트북 폰" -> 노, 트, 북 / 한 글자 토큰 "폰" 은 일반 term 으로 색인됨)
+     */
+    private static List<String> syllables(String text) {
+
+        List<String> syllables = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return syllables;
+        }
+
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() < 2 || !containsHangul(token)) {
+                continue;
+            }
+            token.codePoints()
+                    .filter(c -> Character.UnicodeScript.of(c) == Character.UnicodeScript.HANGUL)
+                    .forEach(c -> syllables.add(new String(Character.toChars(c))));
+        }
+        return syllables;
+    }
+
+    /**
+     * "게이밍 노트북 15" -> ["게이밍 노트북 15", "노트북 15", "15"]
+     */
+    private static List<String> nameSuffixes(String pname) {
+
+        String normalized = normalizeName(pname);
+        List<String> suffixes = new ArrayList<>();
+
+        for (int i = 0; i < normalized.length(); i++) {
+            if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                suffixes.add(normalized.substring(i));
+            }
+        }
+        return suffixes;
+    }
+
+    private static String normalizeName(String text) {
+        return text == null ? "" : text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean inRange(int price, Integer minPrice, Integer maxPrice) {
+        return (minPrice == null || price >= minPrice) && (maxPrice == null || price <= maxPrice);
+    }
+
+    private static boolean containsHangul(String token) {
+        return token.chars().anyMatch(c -> Character.UnicodeScript.of(c) == Character.UnicodeScript.HANGUL);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 검색 결과 (상품번호 + BM25 점수 + 색인된 상품 정보)
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Hit {
+
+        private final Long pno;
+        private final double score;
+        private final String pname;
+        private final String pdesc;
+        private final int price;
+    }
+
+    private static class IndexedProduct {
+
+        final String pname;
+        final String pdesc;
+        final int price;
+        final int length;
+        final List<String> terms;
+        final List<String> syllables;
+        final List<String> suffixes;
+
+        IndexedProduct(String pname, String pdesc, int price, int length,
+                       List<String> terms, List<String> syllables, List<String> suffixes) {
+            this.pname = pname;
+            this.pdesc = pdesc;
+            this.price = price;
+            this.length = length;
+            this.terms = terms;
+            this.syllables = syllables;
+            this.suffixes = suffixes;
+        }
+    }
+}
@@ -20,6 +20,25 @@ import java.util.Map;
 @Log4j2
 public class JWTCheckFilter extends OncePerRequestFilter {
 
+  private static final Gson GSON = new Gson();
+
+  private static final String ERROR_ACCESS_TOKEN = GSON.toJson(Map.of("error", "ERROR_ACCESS_TOKEN"));
+
+  // 인증 없이 허용하는 경로 (기동 시 한 번 구성)
+  private static final RoutePrefixTrie EXCLUDED_PATHS = new RoutePrefixTrie()
+          .addPrefix("/api/recommendations")
+          //api/member/ 경로의 호출은 체크하지 않음
+          .addPrefix("/api/member/")
+          //이미지 조회 경로는 체크하지 않음
+          .addPrefix("/api/products/view/")
+          // 상품 키워드 검색/자동완성은 인증 없이 허용
+          .addPrefix("/api/products/search")
+          // 상품 목록/상세 조회는 인증 없이 허용 (/api/products/{pno}...)
+          .addPrefix("/api/products/list")
+          .addPrefix("/api/products/#")
+          // 활성 쿠폰 목록 조회는 인증 없이 허용
+          .addExact("/api/coupons/active");
+
   @Override
   protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
 
@@ -28,39 +47,11 @@ public class JWTCheckFilter extends OncePerRequestFilter {
       return true;
     }
 
-
-
     String path = request.getRequestURI();
 
-    log.info("check uri.............." + path);
-
-
-    if(path.startsWith("/api/recommendations")) {
-      return true;  // ← 이 부분 추가 필요!
-    }
-
-
-    //api/member/ 경로의 호출은 체크하지 않음
-    if(path.startsWith("/api/member/")) {
-      return true;
-    }
-
-    //이미지 조회 경로는 체크하지 않는다면
-    if(path.startsWith("/api/products/view/")) {
-      return true;
-    }
-
-    // 상품 목록/상세 조회는 인증 없이 허용
-    if(path.startsWith("/api/products/list") || path.matches("/api/products/\\d+.*")) {
-      return true;
-    }
+    log.debug("check uri..............{}", path);
 
-    // 활성 쿠폰 목록 조회는 인증 없이 허용
-    if(path.equals("/api/coupons/active")) {
-      return true;
-    }
-
-    return false;
+    return EXCLUDED_PATHS.matches(path);
   }
 
 
@@ -69,22 +60,14 @@ public class JWTCheckFilter extends OncePerRequestFilter {
   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
           throws ServletException, IOException {
 
-    log.info("------------------------JWTCheckFilter.......................");
-
     String authHeaderStr = request.getHeader("Authorization");
 
     // Authorization 헤더 검증
     if(authHeaderStr == null || !authHeaderStr.startsWith("Bearer ")) {
       log.error("Authorization header is missing or invalid");
 
-      Gson gson = new Gson();
-      String msg = gson.toJson(Map.of("error", "ERROR_ACCESS_TOKEN"));
-
-      response.setContentType("application/json");
       response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-      PrintWriter printWriter = response.getWriter();
-      printWriter.println(msg);
-      printWriter.close();
+      writeError(response);
       return;
     }
 
@@ -93,8 +76,6 @@ public class JWTCheckFilter extends OncePerRequestFilter {
       String accessToken = authHeaderStr.substring(7);
       Map<String, Object> claims = JWTUtil.validateToken(accessToken);
 
-      log.info("JWT claims: " + claims);
-
       String email = (String) claims.get("email");
       String pw = (String) claims.get("pw");
       String nickname = (String) claims.get("nickname");
@@ -103,9 +84,7 @@ public class JWTCheckFilter extends OncePerRequestFilter {
 
       MemberDTO memberDTO = new MemberDTO(email, pw, nickname, social.booleanValue(), roleNames);
 
-      log.info("-----------------------------------");
-      log.info(memberDTO);
-      log.info(memberDTO.getAuthorities());
+      log.debug("JWT member: {}, authorities: {}", email, memberDTO.getAuthorities());
 
       UsernamePasswordAuthenticationToken authenticationToken
               = new UsernamePasswordAuthenticationToken(memberDTO, pw, memberDTO.getAuthorities());
@@ -119,13 +98,15 @@ public class JWTCheckFilter extends OncePerRequestFilter {
       log.error("JWT Check Error..............");
       log.error(e.getMessage());
 
-      Gson gson = new Gson();
-      String msg = gson.toJson(Map.of("error", "ERROR_ACCESS_TOKEN"));
-
-      response.setContentType("application/json");
-      PrintWriter printWriter = response.getWriter();
-      printWriter.println(msg);
-      printWriter.close();
+      writeError(response);
     }
   }
-}
\ No newline at end of file
+
+  private void writeError(HttpServletResponse response) throws IOException {
+
+    response.setContentType("application/json");
+    PrintWriter printWriter = response.getWriter();
+    printWriter.println(ERROR_ACCESS_TOKEN);
+    printWriter.close();
+  }
+}
@@ -0,0 +1,82 @@
+package org.shop.apiserver.infrastructure.security.filter;
+
+/**
+ * 요청 경로 매칭용 접두어 트라이 (기동 시 한 번 구성, 요청마다 정규식/문자열 비교 반복 없음)
+ *
+ * - addPrefix: 해당 접두어로 시작하는 모든 경로
+ * - addExact: 정확히 일치하는 경로
+ * - 패턴의 '#' 은 숫자 한 글자와 일치 (예: "/api/products/#" -> /api/products/123...)
+ *
+ * 경로 한 글자당 한 번만 이동하며 되돌아가지 않는다 (같은 위치에 숫자 리터럴과 '#' 을 함께 등록하지 말 것).
+ * ASCII 가 아닌 문자가 나오면 그 지점에서 매칭 종료.
+ */
+class RoutePrefixTrie {
+
+  private static final char DIGIT = '#';
+
+  private final Node root = new Node();
+
+  RoutePrefixTrie addPrefix(String pattern) {
+    insert(pattern).prefix = true;
+    return this;
+  }
+
+  RoutePrefixTrie addExact(String pattern) {
+    insert(pattern).exact = true;
+    return this;
+  }
+
+  boolean matches(String path) {
+
+    Node node = root;
+
+    for (int i = 0; i < path.length(); i++) {
+
+      if (node.prefix) {
+        return true;
+      }
+
+      char c = path.charAt(i);
+      if (c >= Node.WIDTH) {
+        return false;
+      }
+
+      Node next = node.children[c];
+      if (next == null && c >= '0' && c <= '9') {
+        next = node.children[DIGIT];
+      }
+      if (next == null) {
+        return false;
+      }
+      node = next;
+    }
+
+    return node.prefix || node.exact;
+  }
+
+  private Node insert(String pattern) {
+
+    Node node = root;
+
+    for (int i = 0; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      if (c >= Node.WIDTH) {
+        throw new IllegalStateException("ASCII 경로만 등록할 수 있습니다: " + pattern);
+      }
+      if (node.children[c] == null) {
+        node.children[c] = new Node();
+      }
+      node = node.children[c];
+    }
+    return node;
+  }
+
+  private static class Node {
+
+    private static final int WIDTH = 128;
+
+    private final Node[] children = new Node[WIDTH];
+    private boolean prefix;
+    private boolean exact;
+  }
+}
@@ -0,0 +1,222 @@
+package org.shop.apiserver.infrastructure.vector;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 임베딩 캐시 + 마이크로 배치 EmbeddingModel
+ *
+ * - 문서 임베딩(embed(List), call): 본문 SHA-256 키로 로컬 파일에 영구 캐시 - 바뀌지 않은 상품은 다시 임베딩하지 않음
+ * - 검색 질의 임베딩(embed(String)): 공백/대소문자 정규화 후 메모리 LRU 캐시에만 보관 (사용자 입력은 파일에 남기지 않음)
+ * - 캐시 미스는 EmbeddingBatcher 로 모아 전송하고, 같은 본문의 동시 요청은 한 번만 전송
+ * - 파일 캐시는 maxCachedEntries 개까지만 유지 (초과 시 오래 쓰이지 않은 항목부터 제거)
+ *
+ * EmbeddingRequest 의 옵션(모델 변경 등)은 사용하지 않으므로 모델을 바꾸면 namespace 도 바꿔야 한다.
+ */
+@Log4j2
+public class CachingEmbeddingModel implements EmbeddingModel {
+
+    private static final int DEFAULT_MAX_CACHED_ENTRIES = 100_000;
+
+    private final String namespace;
+    private final EmbeddingCacheFile contentCache;
+    private final Cache<String, float[]> queryCache;
+    private final EmbeddingBatcher batcher;
+    private final ConcurrentMap<String, CompletableFuture<float[]>> inFlight = new ConcurrentHashMap<>();
+
+    public CachingEmbeddingModel(EmbeddingModel delegate, String namespace, Path cacheFile,
+                                 long queryCacheSize, int maxBatchSize, long maxWaitMillis, int concurrency) {
+        this(delegate, namespace, cacheFile, DEFAULT_MAX_CACHED_ENTRIES,
+                queryCacheSize, maxBatchSize, maxWaitMillis, concurrency);
+    }
+
+    public CachingEmbeddingModel(EmbeddingModel delegate, String namespace, Path cacheFile, int maxCachedEntries,
+                                 long queryCacheSize, int maxBatchSize, long maxWaitMillis, int concurrency) {
+        this.namespace = namespace;
+        this.contentCache = new EmbeddingCacheFile(cacheFile, maxCachedEntries);
+        this.queryCache = Caffeine.newBuilder().maximumSize(queryCacheSize).build();
+        this.batcher = new EmbeddingBatcher(delegate, maxBatchSize, maxWaitMillis, concurrency);
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+
+        List<float[]> vectors = embedContents(request.getInstructions(), true);
+
+        List<Embedding> embeddings = new ArrayList<>(vectors.size());
+        for (int i = 0; i < vectors.size(); i++) {
+            embeddings.add(new Embedding(vectors.get(i), i));
+        }
+        return new EmbeddingResponse(embeddings);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return embedContents(List.of(document.getContent()), true).get(0);
+    }
+
+    /**
+     * 검색 질의 임베딩 (정규화된 질의 기준 LRU)
+     */
+    @Override
+    public float[] embed(String text) {
+
+        String normalized = normalizeQuery(text);
+
+        float[] cached = queryCache.getIfPresent(normalized);
+        if (cached != null) {
+            return cached;
+        }
+
+        float[] vector = embedContents(List.of(normalized), false).get(0);
+        queryCache.put(normalized, vector);
+        return vector;
+    }
+
+    /**
+     * 문서 임베딩 (본문 해시 기준 영구 캐시)
+     */
+    @Override
+    public List<float[]> embed(List<String> texts) {
+        return embedContents(texts, true);
+    }
+
+    public int cachedSize() {
+        return contentCache.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        batcher.close();
+        contentCache.close();
+    }
+
+    // ============================================
+    // Private Helper Methods
+    // ============================================
+
+    /**
+     * @param persist true 면 전송 결과를 파일 캐시에 저장 (문서), false 면 조회만 (검색 질의)
+     */
+    private List<float[]> embedContents(List<String> texts, boolean persist) {
+
+        float[][] result = new float[texts.size()][];
+        Map<Integer, CompletableFuture<float[]>> pending = new LinkedHashMap<>();
+
+        for (int i = 0; i < texts.size(); i++) {
+            String text = texts.get(i) != null ? texts.get(i) : "";
+            byte[] key = hash(text);
+
+            float[] cached = contentCache.get(key);
+            if (cached != null) {
+                result[i] = cached;
+            } else {
+                pending.put(i, load(key, text, persist));
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            log.debug("[CachingEmbeddingModel] 캐시 미스 - requested: {}, miss: {}", texts.size(), pending.size());
+        }
+
+        for (Map.Entry<Integer, CompletableFuture<float[]>> entry : pending.entrySet()) {
+            result[entry.getKey()] = join(entry.getValue());
+        }
+
+        return List.of(result);
+    }
+
+    /**
+     * 같은 본문의 동시 요청은 하나의 전송 결과를 공유
+     */
+    private CompletableFuture<float[]> load(byte[] key, String text, boolean persist) {
+
+        String id = HexFormat.of().formatHex(key);
+        CompletableFuture<float[]> created = new CompletableFuture<>();
+        CompletableFuture<float[]> existing = inFlight.putIfAbsent(id, created);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        // 캐시 조회 이후 다른 요청이 이미 저장했을 수 있음
+        float[] cached = contentCache.get(key);
+        if (cached != null) {
+            inFlight.remove(id, created);
+            created.complete(cached);
+            return created;
+        }
+
+        CompletableFuture<float[]> submitted;
+        try {
+            submitted = batcher.submit(text);
+        } catch (RuntimeException e) {
+            // 대기 중인 다른 요청도 같은 예외로 끝내고, 다음 요청이 다시 시도할 수 있도록 제거
+            inFlight.remove(id, created);
+            created.completeExceptionally(e);
+            return created;
+        }
+
+        submitted.whenComplete((vector, error) -> {
+            if (error == null && persist) {
+                contentCache.put(key, vector);
+            }
+            inFlight.remove(id, created);
+
+            if (error != null) {
+                created.completeExceptionally(error);
+            } else {
+                created.complete(vector);
+            }
+        });
+        return created;
+    }
+
+    private float[] join(CompletableFuture<float[]> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private byte[] hash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(namespace.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return digest.digest(text.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String normalizeQuery(String text) {
+        return text == null ? "" : text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
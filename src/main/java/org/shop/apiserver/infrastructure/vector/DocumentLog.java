@@ -0,0 +1,118 @@
+package org.shop.apiserver.infrastructure.vector;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.ai.document.Document;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 문서 본문/메타데이터 저장 파일 (append-only)
+ *
+ * 레코드 형식: [int 길이][JSON {content, metadata}]
+ * 검색 결과로 선택된 문서만 offset 으로 읽으므로 본문은 힙에 상주하지 않는다.
+ */
+class DocumentLog {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final FileChannel channel;
+
+    DocumentLog(Path path) {
+        try {
+            this.channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("문서 파일 열기 실패: " + path, e);
+        }
+    }
+
+    /**
+     * @return 저장된 레코드 offset
+     */
+    long append(String content, Map<String, Object> metadata) {
+        try {
+            Map<String, Object> record = new HashMap<>();
+            record.put("content", content);
+            record.put("metadata", metadata);
+
+            byte[] json = objectMapper.writeValueAsBytes(record);
+
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + json.length);
+            buffer.putInt(json.length).put(json).flip();
+
+            long offset = channel.size();
+            long position = offset;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            return offset;
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("문서 저장 실패", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    Document read(String id, long offset) {
+        try {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+            readFully(header, offset);
+
+            ByteBuffer body = ByteBuffer.allocate(header.flip().getInt());
+            readFully(body, offset + Integer.BYTES);
+
+            Map<String, Object> record = objectMapper.readValue(body.array(), MAP_TYPE);
+            Map<String, Object> metadata = (Map<String, Object>) record.get("metadata");
+
+            return new Document(id, (String) record.get("content"),
+                    metadata != null ? new HashMap<>(metadata) : new HashMap<>());
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("문서 조회 실패 - id: " + id, e);
+        }
+    }
+
+    long size() {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void force() {
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void close() {
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("문서 파일이 손상되었습니다.");
+            }
+            position += read;
+        }
+    }
+}
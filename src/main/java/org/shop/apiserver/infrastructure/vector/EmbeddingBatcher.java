@@ -0,0 +1,171 @@
+package org.shop.apiserver.infrastructure.vector;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.ai.embedding.EmbeddingModel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 임베딩 요청 마이크로 배치
+ *
+ * - 동시에 들어온 요청을 최대 maxWait 동안 모아 한 번의 embed(List) 호출로 전송
+ * - 이미 큐에 쌓인 요청은 기다리지 않고 maxBatchSize 단위로 바로 묶는다 (대량 인덱싱)
+ * - 동시 전송 배치 수는 concurrency 로 제한 (초과 시 dispatcher 가 대기 - 배압)
+ * - 종료 시 아직 전송하지 못한 요청(큐 + dispatcher 가 들고 있던 배치)은 예외로 완료
+ * - 결과 벡터가 없는(null/개수 부족) 요청은 예외로 완료 (캐시에 저장되지 않음)
+ */
+@Log4j2
+class EmbeddingBatcher {
+
+    private final EmbeddingModel delegate;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final ExecutorService workers;
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread dispatcher;
+
+    private volatile boolean running = true;
+
+    EmbeddingBatcher(EmbeddingModel delegate, int maxBatchSize, long maxWaitMillis, int concurrency) {
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.permits = new Semaphore(concurrency);
+
+        AtomicInteger workerNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "embedding-worker-" + workerNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.dispatcher = new Thread(this::dispatchLoop, "embedding-batcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    CompletableFuture<float[]> submit(String text) {
+
+        if (!running) {
+            throw new IllegalStateException("임베딩 배치 처리기가 종료되었습니다.");
+        }
+
+        Pending pending = new Pending(text);
+        queue.add(pending);
+        return pending.future;
+    }
+
+    void close() {
+        running = false;
+        dispatcher.interrupt();
+        workers.shutdown();
+    }
+
+    private void dispatchLoop() {
+
+        while (running || !queue.isEmpty()) {
+
+            // 큐에서 꺼냈지만 아직 작업 스레드에 넘기지 못한 요청 (종료 시 실패 처리)
+            List<Pending> held = null;
+
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                held = new ArrayList<>(maxBatchSize);
+                held.add(first);
+
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (held.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    held.add(next);
+                }
+
+                permits.acquire();
+
+                List<Pending> batch = held;
+                try {
+                    workers.execute(() -> {
+                        try {
+                            send(batch);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                    held = null;
+                } catch (RejectedExecutionException e) {
+                    permits.release();
+                    throw new InterruptedException("임베딩 작업 스레드가 종료되었습니다.");
+                }
+
+            } catch (InterruptedException e) {
+                if (held != null) {
+                    fail(held);
+                }
+                if (!running) {
+                    break;
+                }
+            }
+        }
+
+        // 종료 시 남은 요청 실패 처리
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        fail(remaining);
+    }
+
+    private void fail(List<Pending> batch) {
+        IllegalStateException error = new IllegalStateException("임베딩 배치 처리기가 종료되었습니다.");
+        batch.forEach(pending -> pending.future.completeExceptionally(error));
+    }
+
+    private void send(List<Pending> batch) {
+
+        try {
+            List<float[]> vectors = delegate.embed(batch.stream().map(pending -> pending.text).toList());
+
+            for (int i = 0; i < batch.size(); i++) {
+                float[] vector = vectors != null && i < vectors.size() ? vectors.get(i) : null;
+
+                if (vector == null) {
+                    batch.get(i).future.completeExceptionally(
+                            new IllegalStateException("임베딩 결과가 없습니다. (batch: " + batch.size() + ", index: " + i + ")"));
+                } else {
+                    batch.get(i).future.complete(vector);
+                }
+            }
+
+            log.debug("[EmbeddingBatcher] 배치 전송 - size: {}", batch.size());
+
+        } catch (Exception e) {
+            log.error("[EmbeddingBatcher] 배치 전송 실패 - size: {}, error: {}", batch.size(), e.getMessage());
+            batch.forEach(pending -> pending.future.completeExceptionally(e));
+        }
+    }
+
+    private static final class Pending {
+
+        final String text;
+        final CompletableFuture<float[]> future = new CompletableFuture<>();
+
+        Pending(String text) {
+            this.text = text;
+        }
+    }
+}
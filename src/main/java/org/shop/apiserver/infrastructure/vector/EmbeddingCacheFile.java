@@ -0,0 +1,277 @@
+package org.shop.apiserver.infrastructure.vector;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 임베딩 영구 캐시 파일 (append-only)
+ *
+ * 레코드 형식: [32 byte SHA-256 키][int 차원][float32 * 차원]
+ * - 힙에는 키 -> offset 만 유지하고 벡터는 조회 시 파일에서 읽는다
+ * - 비정상 종료로 마지막 레코드가 잘린 경우 시작 시 잘라낸다
+ * - 항목 수가 maxEntries 에 도달하면 최근 조회/저장 순으로 3/4 만 남기고 파일을 다시 쓴다 (압축)
+ */
+@Log4j2
+class EmbeddingCacheFile {
+
+    private static final int KEY_BYTES = 32;
+    private static final int HEADER_BYTES = KEY_BYTES + Integer.BYTES;
+
+    private final Path path;
+    private final int maxEntries;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    // 조회/저장 순서 (압축 시 오래 쓰이지 않은 항목부터 제거)
+    private final AtomicLong clock = new AtomicLong();
+    // 조회는 읽기 락, 저장/압축(파일 교체)은 쓰기 락
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private FileChannel channel;
+    private long end;
+
+    EmbeddingCacheFile(Path path, int maxEntries) {
+        this.path = path;
+        this.maxEntries = maxEntries;
+
+        try {
+            Files.createDirectories(path.getParent());
+            this.channel = open(path);
+            load();
+
+            if (entries.size() > maxEntries) {
+                compact();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("임베딩 캐시 파일 열기 실패: " + path, e);
+        }
+    }
+
+    float[] get(byte[] key) {
+
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(new Key(key));
+            if (entry == null) {
+                return null;
+            }
+            entry.lastAccess = clock.incrementAndGet();
+
+            return readVector(channel, entry.offset);
+
+        } catch (IOException e) {
+            log.warn("[EmbeddingCache] 캐시 조회 실패 - error: {}", e.getMessage());
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(byte[] key, float[] vector) {
+
+        Key cacheKey = new Key(key);
+
+        lock.writeLock().lock();
+        try {
+            if (entries.containsKey(cacheKey)) {
+                return;
+            }
+
+            if (entries.size() >= maxEntries) {
+                compact();
+            }
+
+            long offset = end;
+            end = write(channel, offset, key, vector);
+            entries.put(cacheKey, new Entry(offset, clock.incrementAndGet()));
+
+        } catch (IOException e) {
+            log.warn("[EmbeddingCache] 캐시 저장 실패 - error: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void close() {
+        lock.writeLock().lock();
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException ignored) {
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 최근 사용한 maxEntries * 3/4 개만 임시 파일에 다시 쓰고 원자적으로 교체 (쓰기 락 안에서 호출)
+     */
+    private void compact() throws IOException {
+
+        long startTime = System.currentTimeMillis();
+        int before = entries.size();
+        int retain = maxEntries - maxEntries / 4;
+
+        List<Map.Entry<Key, Entry>> recent = new ArrayList<>(entries.entrySet());
+        recent.sort(Comparator.comparingLong((Map.Entry<Key, Entry> e) -> e.getValue().lastAccess).reversed());
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Map<Key, Entry> retained = new ConcurrentHashMap<>();
+        long position = 0;
+
+        try (FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            for (Map.Entry<Key, Entry> entry : recent.subList(0, Math.min(retain, recent.size()))) {
+                float[] vector = readVector(channel, entry.getValue().offset);
+                retained.put(entry.getKey(), new Entry(position, entry.getValue().lastAccess));
+                position = write(target, position, entry.getKey().bytes, vector);
+            }
+            target.force(false);
+        }
+
+        // 교체에 실패하면 기존 파일/항목을 그대로 사용
+        channel.close();
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            channel = open(path);
+        }
+
+        entries.clear();
+        entries.putAll(retained);
+        end = position;
+
+        log.info("[EmbeddingCache] 캐시 압축 - entries: {} -> {}, {}ms",
+                before, entries.size(), System.currentTimeMillis() - startTime);
+    }
+
+    private void load() throws IOException {
+
+        long size = channel.size();
+        long position = 0;
+
+        while (position + HEADER_BYTES <= size) {
+            ByteBuffer header = read(position, HEADER_BYTES);
+            byte[] key = new byte[KEY_BYTES];
+            header.get(key);
+            int dimension = header.getInt();
+
+            long next = position + HEADER_BYTES + (long) dimension * Float.BYTES;
+            if (dimension <= 0 || next > size) {
+                break;
+            }
+
+            // 파일 순서 = 저장 순서이므로 앞쪽 레코드가 먼저 제거 대상
+            entries.put(new Key(key), new Entry(position, clock.incrementAndGet()));
+            position = next;
+        }
+
+        if (position < size) {
+            log.warn("[EmbeddingCache] 손상된 마지막 레코드 제거 - offset: {}", position);
+            channel.truncate(position);
+        }
+        end = position;
+
+        log.info("[EmbeddingCache] 캐시 로드 - entries: {}", entries.size());
+    }
+
+    private float[] readVector(FileChannel source, long offset) throws IOException {
+
+        ByteBuffer header = read(source, offset + KEY_BYTES, Integer.BYTES);
+        int dimension = header.getInt();
+
+        ByteBuffer body = read(source, offset + HEADER_BYTES, dimension * Float.BYTES);
+        float[] vector = new float[dimension];
+        body.asFloatBuffer().get(vector);
+        return vector;
+    }
+
+    /**
+     * @return 기록한 레코드의 끝 위치
+     */
+    private long write(FileChannel target, long offset, byte[] key, float[] vector) throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + vector.length * Float.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(key).putInt(vector.length);
+        buffer.asFloatBuffer().put(vector);
+        buffer.position(buffer.limit()).flip();
+
+        long position = offset;
+        while (buffer.hasRemaining()) {
+            position += target.write(buffer, position);
+        }
+        return position;
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        return read(channel, position, length);
+    }
+
+    private ByteBuffer read(FileChannel source, long position, int length) throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (source.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("임베딩 캐시 파일이 손상되었습니다.");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static final class Entry {
+
+        final long offset;
+        volatile long lastAccess;
+
+        Entry(long offset, long lastAccess) {
+            this.offset = offset;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private static final class Key {
+
+        private final byte[] bytes;
+        private final int hash;
+
+        Key(byte[] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && Arrays.equals(bytes, other.bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,968 @@
+package org.shop.apiserver.infrastructure.vector;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * HNSW 그래프 기반 벡터 저장소 (SimpleVectorStore 대체)
+ *
+ * - 벡터: 정규화된 float32 로 memory-mapped 파일에 저장 (MappedVectorFile)
+ * - 본문/메타데이터: append-only 파일에 저장하고 검색 결과만 읽음 (DocumentLog)
+ * - 그래프/ID 매핑: 힙에 유지하고 주기적으로 스냅샷 파일에 저장, 시작 시 스냅샷만 읽는다
+ * - 같은 ID 로 다시 추가하면 기존 문서는 삭제 표시 후 새 slot 으로 추가 (삭제 slot 은 탐색 경로로만 사용)
+ * - 삭제 slot / 메타데이터 필터(Filter.Expression) 불일치로 topK 가 모자라면 탐색 폭(ef)을 넓혀 다시 검색
+ * - 삭제 slot 비율이 compactionRatio 이상이면 유효 문서만으로 다음 세대 디렉토리(g{n})에 다시 구축해 교체
+ */
+@Log4j2
+public class MappedHnswVectorStore implements VectorStore {
+
+    private static final String SNAPSHOT_FILE = "index.snapshot";
+    private static final String DOCUMENT_FILE = "documents.dat";
+    // v1: 데이터 파일이 디렉토리 바로 아래 (세대 0), v2: 세대 번호 추가
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final String GENERATION_PREFIX = "g";
+    private static final double DEFAULT_COMPACTION_RATIO = 0.3;
+
+    private final EmbeddingModel embeddingModel;
+    private final Path directory;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final int efSearch;
+    private final double levelMultiplier;
+    private final double compactionRatio;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 스냅샷 임시 파일을 동시에 쓰지 않도록 (주기 저장 + 인덱싱 체크포인트)
+    private final Object flushMonitor = new Object();
+    private final ThreadLocal<Visited> visitedPool = ThreadLocal.withInitial(Visited::new);
+
+    // 압축 시 다음 세대 상태로 통째로 교체되므로 final 이 아님 (교체는 쓰기 락 안에서만)
+    private DocumentLog documents;
+    private MappedVectorFile vectors;
+    private int generation;
+    private Path dataDirectory;
+
+    // slot 별 상태
+    private List<String> ids = new ArrayList<>();
+    private List<int[][]> links = new ArrayList<>();
+    private long[] documentOffsets = new long[1024];
+    private BitSet deleted = new BitSet();
+    private Map<String, Integer> slotById = new HashMap<>();
+
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private volatile boolean dirty;
+    // 압축 재구축 중 추가/삭제가 있었는지 확인용 (쓰기 락 안에서만 증가)
+    private long modCount;
+
+    public MappedHnswVectorStore(EmbeddingModel embeddingModel, Path directory,
+                                 int m, int efConstruction, int efSearch) {
+        this(embeddingModel, directory, m, efConstruction, efSearch, DEFAULT_COMPACTION_RATIO);
+    }
+
+    /**
+     * @param compactionRatio 전체 slot 중 삭제 slot 비율이 이 값 이상이면 압축 (0 이하면 압축하지 않음)
+     */
+    public MappedHnswVectorStore(EmbeddingModel embeddingModel, Path directory,
+                                 int m, int efConstruction, int efSearch, double compactionRatio) {
+        this.embeddingModel = embeddingModel;
+        this.directory = directory;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.levelMultiplier = 1 / Math.log(m);
+        this.compactionRatio = compactionRatio;
+
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("벡터 인덱스 디렉토리 생성 실패: " + directory, e);
+        }
+
+        loadSnapshot();
+        deleteStaleGenerations();
+    }
+
+    // ============================================
+    // VectorStore
+    // ============================================
+
+    @Override
+    public void add(List<Document> documentList) {
+
+        if (documentList.isEmpty()) {
+            return;
+        }
+
+        // 임베딩 호출은 락 밖에서 수행
+        List<float[]> embeddings = embeddingModel.embed(
+                documentList.stream().map(Document::getContent).toList());
+
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < documentList.size(); i++) {
+                Document document = documentList.get(i);
+                upsert(document.getId(), document.getContent(), document.getMetadata(), embeddings.get(i));
+            }
+            modCount++;
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("[MappedHnswVectorStore] 문서 추가 - count: {}, total: {}", documentList.size(), size());
+    }
+
+    @Override
+    public Optional<Boolean> delete(List<String> idList) {
+
+        lock.writeLock().lock();
+        try {
+            for (String id : idList) {
+                Integer slot = slotById.remove(id);
+                if (slot != null) {
+                    deleted.set(slot);
+                    modCount++;
+                    dirty = true;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        return Optional.of(true);
+    }
+
+    @Override
+    public List<Document> similaritySearch(SearchRequest request) {
+
+        Filter.Expression filter = request.hasFilterExpression() ? request.getFilterExpression() : null;
+        float[] query = normalize(embeddingModel.embed(request.getQuery()));
+
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0) {
+                return List.of();
+            }
+
+            checkDimension(query);
+
+            int ep = entryPoint;
+            for (int level = maxLevel; level > 0; level--) {
+                ep = greedyClosest(query, ep, level);
+            }
+
+            int topK = request.getTopK();
+            int ef = Math.max(efSearch, topK);
+            Map<Integer, Document> loaded = new HashMap<>();
+
+            // 삭제 표시/필터 불일치 후보가 상위를 차지해 topK 를 못 채우면 탐색 폭을 두 배씩 넓혀 다시 검색
+            while (true) {
+                PriorityQueue<Candidate> nearest = searchLayer(query, ep, ef, 0);
+
+                Candidate[] sorted = nearest.toArray(new Candidate[0]);
+                Arrays.sort(sorted, Candidate.BEST_FIRST);
+
+                List<Document> result = new ArrayList<>(topK);
+                boolean belowThreshold = false;
+
+                for (Candidate candidate : sorted) {
+                    if (result.size() >= topK) {
+                        break;
+                    }
+                    if (candidate.score < request.getSimilarityThreshold()) {
+                        belowThreshold = true;
+                        break;
+                    }
+                    if (deleted.get(candidate.slot)) {
+                        continue;
+                    }
+
+                    Document document = loaded.computeIfAbsent(candidate.slot,
+                            slot -> documents.read(ids.get(slot), documentOffsets[slot]));
+
+                    if (filter != null && !MetadataFilter.matches(filter, document.getMetadata())) {
+                        continue;
+                    }
+
+                    document.getMetadata().put("distance", 1 - candidate.score);
+                    result.add(document);
+                }
+
+                if (result.size() >= topK || belowThreshold || ef >= ids.size()) {
+                    return result;
+                }
+                ef = Math.min(ef * 2, ids.size());
+            }
+
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 유효 문서 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ============================================
+    // 영속화
+    // ============================================
+
+    /**
+     * 변경분이 있으면 벡터/문서 파일을 디스크에 반영하고 그래프 스냅샷 저장, 삭제 slot 이 많으면 압축
+     * (마지막 스냅샷 이후 추가된 slot 은 재시작 시 버려지므로 재인덱싱 대상이 된다)
+     */
+    @Scheduled(fixedDelayString = "${vector.index.flush-interval-ms:5000}")
+    public void flush() {
+        try {
+            flushAndWait();
+            compact();
+        } catch (UncheckedIOException e) {
+            log.error("[MappedHnswVectorStore] 스냅샷 저장 실패 - error: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 지금까지의 추가/삭제를 디스크에 반영하고 끝날 때까지 대기 (실패 시 UncheckedIOException)
+     * 인덱싱 체크포인트는 이 호출이 성공한 뒤에만 전진해야 재시작 후 누락되는 상품이 없다.
+     *
+     * 읽기 락은 그래프를 메모리 버퍼로 직렬화하는 동안만 잡고, 파일 force/스냅샷 쓰기는 락 밖에서 수행한다.
+     * (디스크가 느려도 추가/삭제가 스냅샷 저장을 기다리지 않음)
+     */
+    public void flushAndWait() {
+
+        synchronized (flushMonitor) {
+            if (!dirty) {
+                return;
+            }
+
+            byte[] snapshot;
+            MappedVectorFile vectorFile;
+            DocumentLog documentLog;
+
+            lock.readLock().lock();
+            try {
+                dirty = false;
+                snapshot = serializeSnapshot();
+                vectorFile = vectors;
+                documentLog = documents;
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            // 스냅샷에 담긴 slot 은 모두 직렬화 전에 기록되었으므로 이후 force 로 함께 반영된다
+            // (압축도 flushMonitor 안에서만 파일을 교체/삭제하므로 여기서 닫힌 파일을 만나지 않음)
+            try {
+                if (vectorFile != null) {
+                    vectorFile.force();
+                }
+                documentLog.force();
+
+                writeSnapshot(snapshot);
+
+            } catch (IOException e) {
+                dirty = true;
+                throw new UncheckedIOException("벡터 인덱스 스냅샷 저장 실패: " + directory, e);
+            } catch (UncheckedIOException e) {
+                dirty = true;
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 삭제 slot 비율이 compactionRatio 이상이면 유효 문서만으로 다음 세대 그래프/파일을 만들어 교체
+     *
+     * - 재구축은 읽기 락으로 수행하므로 검색은 계속되고 추가/삭제만 대기한다
+     * - 재구축 후 쓰기 락에서 교체하며, 그 사이 변경이 있었다면 이번 압축은 버린다
+     * - 새 세대 스냅샷이 저장된 뒤에만 이전 세대 파일을 지우므로 도중에 중단되면 이전 세대로 재시작
+     *
+     * @return 압축했으면 true
+     */
+    public boolean compact() {
+
+        synchronized (flushMonitor) {
+            long startTime = System.currentTimeMillis();
+            int nextGeneration;
+            int totalSlots;
+            long expectedModCount;
+            MappedHnswVectorStore rebuilt;
+
+            lock.readLock().lock();
+            try {
+                if (!needsCompaction()) {
+                    return false;
+                }
+
+                nextGeneration = generation + 1;
+                totalSlots = ids.size();
+                expectedModCount = modCount;
+
+                // 이전에 중단된 압축 잔여물 제거 후 유효 slot 을 slot 순서대로 다시 삽입
+                deleteGeneration(nextGeneration);
+                rebuilt = new MappedHnswVectorStore(embeddingModel, dataDirectory(nextGeneration),
+                        m, efConstruction, efSearch, 0);
+
+                float[] vector = new float[vectors.getDimension()];
+                for (int slot = deleted.nextClearBit(0); slot < totalSlots; slot = deleted.nextClearBit(slot + 1)) {
+                    Document document = documents.read(ids.get(slot), documentOffsets[slot]);
+                    vectors.read(slot, vector);
+                    rebuilt.upsert(document.getId(), document.getContent(), document.getMetadata(), vector);
+                }
+
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            MappedVectorFile previousVectors = null;
+            DocumentLog previousDocuments = null;
+            int previousGeneration = generation;
+            boolean swapped = false;
+
+            lock.writeLock().lock();
+            try {
+                if (modCount == expectedModCount) {
+                    previousVectors = vectors;
+                    previousDocuments = documents;
+
+                    vectors = rebuilt.vectors;
+                    documents = rebuilt.documents;
+                    ids = rebuilt.ids;
+                    links = rebuilt.links;
+                    documentOffsets = rebuilt.documentOffsets;
+                    deleted = rebuilt.deleted;
+                    slotById = rebuilt.slotById;
+                    entryPoint = rebuilt.entryPoint;
+                    maxLevel = rebuilt.maxLevel;
+                    generation = nextGeneration;
+                    dataDirectory = rebuilt.dataDirectory;
+                    dirty = true;
+                    swapped = true;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            if (!swapped) {
+                rebuilt.closeFiles();
+                deleteGeneration(nextGeneration);
+                log.info("[MappedHnswVectorStore] 압축 중 변경 발생으로 취소 - generation: {}", nextGeneration);
+                return false;
+            }
+
+            // 스냅샷 저장에 실패하면 디스크의 스냅샷은 아직 이전 세대를 가리키므로 파일은 남겨 둔다
+            try {
+                flushAndWait();
+            } finally {
+                if (previousVectors != null) {
+                    previousVectors.close();
+                }
+                previousDocuments.close();
+            }
+            deleteGeneration(previousGeneration);
+
+            log.info("[MappedHnswVectorStore] 압축 완료 - generation: {}, slots: {} -> {}, {}ms",
+                    nextGeneration, totalSlots, ids.size(), System.currentTimeMillis() - startTime);
+            return true;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            flushAndWait();
+        } catch (UncheckedIOException e) {
+            log.error("[MappedHnswVectorStore] 스냅샷 저장 실패 - error: {}", e.getMessage(), e);
+        }
+        closeFiles();
+    }
+
+    /**
+     * 기존 SimpleVectorStore JSON 파일 이관 (저장된 임베딩을 그대로 사용)
+     */
+    public void importSimpleVectorStore(File file) {
+
+        try {
+            ObjectMapper mapper = new ObjectMapper();
+            JsonNode root = mapper.readTree(file);
+            int imported = 0;
+
+            lock.writeLock().lock();
+            try {
+                Iterator<Map.Entry<String, JsonNode>> iterator = root.fields();
+                while (iterator.hasNext()) {
+                    Map.Entry<String, JsonNode> entry = iterator.next();
+                    JsonNode node = entry.getValue();
+                    JsonNode embeddingNode = node.get("embedding");
+
+                    if (embeddingNode == null || !embeddingNode.isArray() || embeddingNode.isEmpty()) {
+                        continue;
+                    }
+
+                    float[] embedding = new float[embeddingNode.size()];
+                    for (int i = 0; i < embedding.length; i++) {
+                        embedding[i] = (float) embeddingNode.get(i).asDouble();
+                    }
+
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> metadata = node.has("metadata")
+                            ? mapper.convertValue(node.get("metadata"), Map.class) : new HashMap<>();
+
+                    upsert(node.path("id").asText(entry.getKey()), node.path("content").asText(null), metadata, embedding);
+                    imported++;
+                }
+                modCount++;
+                dirty = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            flush();
+            log.info("[MappedHnswVectorStore] SimpleVectorStore 이관 완료 - file: {}, count: {}", file, imported);
+
+        } catch (IOException e) {
+            log.error("[MappedHnswVectorStore] SimpleVectorStore 이관 실패 - file: {}, error: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * 그래프/ID 매핑을 메모리 버퍼로 직렬화 (읽기 락 안에서 호출)
+     */
+    private byte[] serializeSnapshot() {
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(ids.size() * 64 + 64);
+
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(generation);
+            out.writeInt(vectors != null ? vectors.getDimension() : 0);
+            out.writeInt(ids.size());
+            out.writeInt(entryPoint);
+            out.writeInt(maxLevel);
+
+            for (int slot = 0; slot < ids.size(); slot++) {
+                out.writeUTF(ids.get(slot));
+                out.writeBoolean(deleted.get(slot));
+                out.writeLong(documentOffsets[slot]);
+
+                int[][] nodeLinks = links.get(slot);
+                out.writeInt(nodeLinks.length);
+                for (int[] levelLinks : nodeLinks) {
+                    out.writeInt(levelLinks[0]);
+                    for (int i = 1; i <= levelLinks[0]; i++) {
+                        out.writeInt(levelLinks[i]);
+                    }
+                }
+            }
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private void writeSnapshot(byte[] snapshot) throws IOException {
+
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            ByteBuffer buffer = ByteBuffer.wrap(snapshot);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void loadSnapshot() {
+
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(snapshot)) {
+            openGeneration(0);
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16))) {
+
+            int version = in.readInt();
+            if (version != 1 && version != SNAPSHOT_VERSION) {
+                throw new IllegalStateException("지원하지 않는 벡터 인덱스 버전입니다.");
+            }
+
+            openGeneration(version >= 2 ? in.readInt() : 0);
+
+            int dimension = in.readInt();
+            int count = in.readInt();
+            entryPoint = in.readInt();
+            maxLevel = in.readInt();
+
+            if (dimension > 0) {
+                vectors = new MappedVectorFile(dataDirectory, dimension);
+            }
+
+            documentOffsets = new long[Math.max(count, 1024)];
+
+            for (int slot = 0; slot < count; slot++) {
+                String id = in.readUTF();
+                boolean isDeleted = in.readBoolean();
+                documentOffsets[slot] = in.readLong();
+
+                int[][] nodeLinks = new int[in.readInt()][];
+                for (int level = 0; level < nodeLinks.length; level++) {
+                    nodeLinks[level] = new int[capacity(level) + 1];
+                    int size = in.readInt();
+                    nodeLinks[level][0] = size;
+                    for (int i = 1; i <= size; i++) {
+                        nodeLinks[level][i] = in.readInt();
+                    }
+                }
+
+                ids.add(id);
+                links.add(nodeLinks);
+
+                if (isDeleted) {
+                    deleted.set(slot);
+                } else {
+                    slotById.put(id, slot);
+                }
+            }
+
+            log.info("[MappedHnswVectorStore] 인덱스 로드 - generation: {}, documents: {}, slots: {}, {}ms",
+                    generation, slotById.size(), count, System.currentTimeMillis() - startTime);
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("벡터 인덱스 로드 실패: " + snapshot, e);
+        }
+    }
+
+    // ============================================
+    // 세대 (압축)
+    // ============================================
+
+    private boolean needsCompaction() {
+        int tombstones = ids.size() - slotById.size();
+        return compactionRatio > 0 && tombstones > 0 && tombstones >= ids.size() * compactionRatio;
+    }
+
+    private void openGeneration(int generation) {
+
+        this.generation = generation;
+        this.dataDirectory = dataDirectory(generation);
+
+        try {
+            Files.createDirectories(dataDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("벡터 인덱스 디렉토리 생성 실패: " + dataDirectory, e);
+        }
+
+        this.documents = new DocumentLog(dataDirectory.resolve(DOCUMENT_FILE));
+    }
+
+    /**
+     * 세대 0 은 디렉토리 바로 아래(v1 스냅샷 호환), 이후 세대는 하위 디렉토리
+     */
+    private Path dataDirectory(int generation) {
+        return generation == 0 ? directory : directory.resolve(GENERATION_PREFIX + generation);
+    }
+
+    /**
+     * 스냅샷이 가리키지 않는 세대 파일 정리 (압축 후 이전 세대 삭제 전에 중단된 경우)
+     */
+    private void deleteStaleGenerations() {
+
+        if (generation != 0) {
+            deleteGeneration(0);
+        }
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, GENERATION_PREFIX + "*")) {
+            for (Path path : stream) {
+                String suffix = path.getFileName().toString().substring(GENERATION_PREFIX.length());
+                if (Files.isDirectory(path) && suffix.chars().allMatch(Character::isDigit)
+                        && !suffix.isEmpty() && Integer.parseInt(suffix) != generation) {
+                    deleteGeneration(Integer.parseInt(suffix));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("[MappedHnswVectorStore] 이전 세대 정리 실패 - directory: {}, error: {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * 세대 데이터 파일 삭제 (세대 0 은 스냅샷과 같은 디렉토리이므로 데이터 파일만 삭제)
+     */
+    private void deleteGeneration(int generation) {
+
+        Path target = dataDirectory(generation);
+        if (!Files.isDirectory(target)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(target, "{" + DOCUMENT_FILE + ",vectors-*.f32}")) {
+            for (Path path : stream) {
+                Files.deleteIfExists(path);
+            }
+            if (generation != 0) {
+                Files.deleteIfExists(target.resolve(SNAPSHOT_FILE));
+                Files.deleteIfExists(target);
+            }
+        } catch (IOException e) {
+            log.warn("[MappedHnswVectorStore] 세대 파일 삭제 실패 - generation: {}, error: {}", generation, e.getMessage());
+        }
+    }
+
+    private void closeFiles() {
+        if (vectors != null) {
+            vectors.close();
+        }
+        documents.close();
+    }
+
+    // ============================================
+    // HNSW
+    // ============================================
+
+    private void upsert(String id, String content, Map<String, Object> metadata, float[] embedding) {
+
+        float[] vector = normalize(embedding);
+
+        if (vectors == null) {
+            vectors = new MappedVectorFile(dataDirectory, vector.length);
+        }
+        checkDimension(vector);
+
+        Integer previous = slotById.get(id);
+        if (previous != null) {
+            // 본문이 같으면 그래프를 건드리지 않음 (변경 없는 상품 재인덱싱)
+            if (Objects.equals(documents.read(id, documentOffsets[previous]).getContent(), content)) {
+                return;
+            }
+            slotById.remove(id);
+            deleted.set(previous);
+        }
+
+        int slot = ids.size();
+        vectors.write(slot, vector);
+
+        if (slot >= documentOffsets.length) {
+            documentOffsets = Arrays.copyOf(documentOffsets, documentOffsets.length * 2);
+        }
+        documentOffsets[slot] = documents.append(content, metadata);
+
+        ids.add(id);
+        slotById.put(id, slot);
+        insert(slot, vector);
+    }
+
+    private void insert(int slot, float[] vector) {
+
+        int level = randomLevel();
+        int[][] nodeLinks = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            nodeLinks[l] = new int[capacity(l) + 1];
+        }
+        links.add(nodeLinks);
+
+        if (entryPoint < 0) {
+            entryPoint = slot;
+            maxLevel = level;
+            return;
+        }
+
+        int ep = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            ep = greedyClosest(vector, ep, l);
+        }
+
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            PriorityQueue<Candidate> nearest = searchLayer(vector, ep, efConstruction, l);
+
+            List<Candidate> candidates = new ArrayList<>(nearest);
+            candidates.sort(Candidate.BEST_FIRST);
+
+            List<Candidate> neighbors = selectNeighbors(candidates, m);
+            int[] levelLinks = nodeLinks[l];
+            for (Candidate neighbor : neighbors) {
+                levelLinks[++levelLinks[0]] = neighbor.slot;
+                connect(neighbor.slot, l, slot);
+            }
+
+            ep = candidates.get(0).slot;
+        }
+
+        if (level > maxLevel) {
+            entryPoint = slot;
+            maxLevel = level;
+        }
+    }
+
+    /**
+     * target 노드에 역방향 연결 추가 (가득 차면 이웃 재선택)
+     */
+    private void connect(int target, int level, int newSlot) {
+
+        int[] levelLinks = links.get(target)[level];
+        int capacity = levelLinks.length - 1;
+
+        if (levelLinks[0] < capacity) {
+            levelLinks[++levelLinks[0]] = newSlot;
+            return;
+        }
+
+        float[] targetVector = new float[vectors.getDimension()];
+        vectors.read(target, targetVector);
+
+        List<Candidate> candidates = new ArrayList<>(capacity + 1);
+        candidates.add(new Candidate(newSlot, vectors.similarity(targetVector, newSlot)));
+        for (int i = 1; i <= capacity; i++) {
+            candidates.add(new Candidate(levelLinks[i], vectors.similarity(targetVector, levelLinks[i])));
+        }
+        candidates.sort(Candidate.BEST_FIRST);
+
+        List<Candidate> selected = selectNeighbors(candidates, capacity);
+        levelLinks[0] = selected.size();
+        for (int i = 0; i < selected.size(); i++) {
+            levelLinks[i + 1] = selected.get(i).slot;
+        }
+    }
+
+    /**
+     * 이웃 선택 휴리스틱 - 이미 선택된 이웃보다 기준 노드에 더 가까운 후보를 우선 선택하고
+     * 남는 자리는 가까운 순으로 채운다 (candidates 는 유사도 내림차순)
+     */
+    private List<Candidate> selectNeighbors(List<Candidate> candidates, int max) {
+
+        List<Candidate> selected = new ArrayList<>(max);
+        List<Candidate> skipped = new ArrayList<>();
+        float[] buffer = new float[vectors.getDimension()];
+
+        for (Candidate candidate : candidates) {
+            if (selected.size() >= max) {
+                break;
+            }
+
+            vectors.read(candidate.slot, buffer);
+
+            boolean diverse = true;
+            for (Candidate chosen : selected) {
+                if (vectors.similarity(buffer, chosen.slot) > candidate.score) {
+                    diverse = false;
+                    break;
+                }
+            }
+
+            if (diverse) {
+                selected.add(candidate);
+            } else {
+                skipped.add(candidate);
+            }
+        }
+
+        for (Candidate candidate : skipped) {
+            if (selected.size() >= max) {
+                break;
+            }
+            selected.add(candidate);
+        }
+        return selected;
+    }
+
+    private int greedyClosest(float[] query, int ep, int level) {
+
+        float best = vectors.similarity(query, ep);
+        boolean changed = true;
+
+        while (changed) {
+            changed = false;
+            int[] levelLinks = links.get(ep)[level];
+
+            for (int i = 1; i <= levelLinks[0]; i++) {
+                float score = vectors.similarity(query, levelLinks[i]);
+                if (score > best) {
+                    best = score;
+                    ep = levelLinks[i];
+                    changed = true;
+                }
+            }
+        }
+        return ep;
+    }
+
+    /**
+     * @return 유사도 상위 ef 개 (가장 먼 후보가 head 인 min-heap)
+     */
+    private PriorityQueue<Candidate> searchLayer(float[] query, int ep, int ef, int level) {
+
+        Visited visited = visitedPool.get();
+        visited.reset(ids.size());
+
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(Candidate.BEST_FIRST);
+        PriorityQueue<Candidate> nearest = new PriorityQueue<>(Candidate.WORST_FIRST);
+
+        Candidate start = new Candidate(ep, vectors.similarity(query, ep));
+        candidates.add(start);
+        nearest.add(start);
+        visited.mark(ep);
+
+        while (!candidates.isEmpty()) {
+            Candidate current = candidates.poll();
+
+            if (nearest.size() >= ef && current.score < nearest.peek().score) {
+                break;
+            }
+
+            int[] levelLinks = links.get(current.slot)[level];
+            for (int i = 1; i <= levelLinks[0]; i++) {
+                int neighbor = levelLinks[i];
+                if (!visited.mark(neighbor)) {
+                    continue;
+                }
+
+                float score = vectors.similarity(query, neighbor);
+                if (nearest.size() < ef || score > nearest.peek().score) {
+                    Candidate candidate = new Candidate(neighbor, score);
+                    candidates.add(candidate);
+                    nearest.add(candidate);
+
+                    if (nearest.size() > ef) {
+                        nearest.poll();
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    private int randomLevel() {
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return (int) (-Math.log(random) * levelMultiplier);
+    }
+
+    private int capacity(int level) {
+        return level == 0 ? maxM0 : m;
+    }
+
+    private void checkDimension(float[] vector) {
+        if (vector.length != vectors.getDimension()) {
+            throw new IllegalStateException("임베딩 차원이 인덱스와 일치하지 않습니다. (index: "
+                    + vectors.getDimension() + ", input: " + vector.length + ")");
+        }
+    }
+
+    private static float[] normalize(float[] vector) {
+
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        norm = Math.sqrt(norm);
+
+        float[] normalized = new float[vector.length];
+        if (norm == 0) {
+            return normalized;
+        }
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = (float) (vector[i] / norm);
+        }
+        return normalized;
+    }
+
+    private static final class Candidate {
+
+        static final Comparator<Candidate> BEST_FIRST = (a, b) -> Float.compare(b.score, a.score);
+        static final Comparator<Candidate> WORST_FIRST = (a, b) -> Float.compare(a.score, b.score);
+
+        final int slot;
+        final float score;
+
+        Candidate(int slot, float score) {
+            this.slot = slot;
+            this.score = score;
+        }
+    }
+
+    /**
+     * 방문 표시 (스레드별 재사용, 세대 번호로 초기화 비용 제거)
+     */
+    private static final class Visited {
+
+        private int[] marks = new int[0];
+        private int generation;
+
+        void reset(int size) {
+            if (marks.length < size) {
+                marks = new int[Math.max(size, marks.length + (marks.length >> 1))];
+                generation = 0;
+            }
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                generation = 1;
+            }
+        }
+
+        /**
+         * @return 처음 방문이면 true
+         */
+        boolean mark(int slot) {
+            if (marks[slot] == generation) {
+                return false;
+            }
+            marks[slot] = generation;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.shop.apiserver.infrastructure.vector;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * float32 벡터 저장 파일 (memory-mapped)
+ *
+ * - slot 번호 순서로 고정 길이(dimension * 4 byte) 레코드를 저장
+ * - MappedByteBuffer 는 2GB 제한이 있으므로 1GB 단위 세그먼트 파일(vectors-{n}.f32)로 나눈다
+ * - 벡터는 힙이 아닌 OS 페이지 캐시에 올라가며, 재시작 시 파일을 다시 매핑만 한다
+ */
+class MappedVectorFile {
+
+    private static final long SEGMENT_BYTES = 1L << 30;
+
+    private final Path directory;
+    private final int dimension;
+    private final int slotsPerSegment;
+
+    private final List<FileChannel> channels = new ArrayList<>();
+    private final List<MappedByteBuffer> buffers = new ArrayList<>();
+    private final List<FloatBuffer> segments = new ArrayList<>();
+
+    MappedVectorFile(Path directory, int dimension) {
+        this.directory = directory;
+        this.dimension = dimension;
+        this.slotsPerSegment = (int) (SEGMENT_BYTES / (dimension * (long) Float.BYTES));
+
+        // 기존 세그먼트 매핑
+        while (Files.exists(segmentPath(segments.size()))) {
+            mapSegment(segments.size());
+        }
+    }
+
+    int getDimension() {
+        return dimension;
+    }
+
+    void write(int slot, float[] vector) {
+        int segment = slot / slotsPerSegment;
+
+        while (segments.size() <= segment) {
+            mapSegment(segments.size());
+        }
+
+        segments.get(segment).put(offset(slot), vector);
+    }
+
+    void read(int slot, float[] target) {
+        segments.get(slot / slotsPerSegment).get(offset(slot), target);
+    }
+
+    /**
+     * 정규화된 벡터 간 내적 (= 코사인 유사도)
+     */
+    float similarity(float[] query, int slot) {
+        FloatBuffer segment = segments.get(slot / slotsPerSegment);
+        int base = offset(slot);
+
+        float sum = 0;
+        for (int i = 0; i < dimension; i++) {
+            sum += query[i] * segment.get(base + i);
+        }
+        return sum;
+    }
+
+    void force() {
+        buffers.forEach(MappedByteBuffer::force);
+    }
+
+    void close() {
+        force();
+
+        for (FileChannel channel : channels) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private int offset(int slot) {
+        return (slot % slotsPerSegment) * dimension;
+    }
+
+    private void mapSegment(int index) {
+        try {
+            FileChannel channel = FileChannel.open(segmentPath(index),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            long size = (long) slotsPerSegment * dimension * Float.BYTES;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            channels.add(channel);
+            buffers.add(buffer);
+            segments.add(buffer.asFloatBuffer());
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("벡터 파일 매핑 실패: " + segmentPath(index), e);
+        }
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve("vectors-" + index + ".f32");
+    }
+}
@@ -0,0 +1,117 @@
+package org.shop.apiserver.infrastructure.vector;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+
+/**
+ * 검색 필터 조건(Filter.Expression) 을 문서 메타데이터에 적용
+ *
+ * - 지원 연산: AND, OR, NOT, EQ, NE, GT, GTE, LT, LTE, IN, NIN
+ * - 숫자는 double 로 비교 (Integer/Long 메타데이터와 필터 값 타입이 달라도 일치)
+ * - 메타데이터에 키가 없으면 NE/NIN 만 참
+ */
+final class MetadataFilter {
+
+    private MetadataFilter() {
+    }
+
+    static boolean matches(Filter.Expression expression, Map<String, Object> metadata) {
+
+        return switch (expression.type()) {
+            case AND -> test(expression.left(), metadata) && test(expression.right(), metadata);
+            case OR -> test(expression.left(), metadata) || test(expression.right(), metadata);
+            case NOT -> !test(expression.left(), metadata);
+            case EQ -> equal(value(expression, metadata), operand(expression));
+            case NE -> !equal(value(expression, metadata), operand(expression));
+            case GT -> compare(value(expression, metadata), operand(expression), result -> result > 0);
+            case GTE -> compare(value(expression, metadata), operand(expression), result -> result >= 0);
+            case LT -> compare(value(expression, metadata), operand(expression), result -> result < 0);
+            case LTE -> compare(value(expression, metadata), operand(expression), result -> result <= 0);
+            case IN -> contains(operand(expression), value(expression, metadata));
+            case NIN -> !contains(operand(expression), value(expression, metadata));
+            default -> throw new IllegalStateException("지원하지 않는 필터 연산입니다: " + expression.type());
+        };
+    }
+
+    private static boolean test(Filter.Operand operand, Map<String, Object> metadata) {
+
+        if (operand instanceof Filter.Group group) {
+            return matches(group.content(), metadata);
+        }
+        if (operand instanceof Filter.Expression expression) {
+            return matches(expression, metadata);
+        }
+        throw new IllegalStateException("필터 조건 형식이 올바르지 않습니다: " + operand);
+    }
+
+    private static Object value(Filter.Expression expression, Map<String, Object> metadata) {
+
+        if (!(expression.left() instanceof Filter.Key key)) {
+            throw new IllegalStateException("필터 조건의 왼쪽은 메타데이터 키여야 합니다: " + expression);
+        }
+        return metadata.get(unquote(key.key()));
+    }
+
+    private static Object operand(Filter.Expression expression) {
+
+        if (!(expression.right() instanceof Filter.Value value)) {
+            throw new IllegalStateException("필터 조건의 오른쪽은 값이어야 합니다: " + expression);
+        }
+        return value.value();
+    }
+
+    private static boolean equal(Object actual, Object expected) {
+
+        if (actual instanceof Number a && expected instanceof Number b) {
+            return a.doubleValue() == b.doubleValue();
+        }
+        return actual != null && Objects.equals(String.valueOf(actual), String.valueOf(expected));
+    }
+
+    /**
+     * 대소 비교 (값이 없으면 항상 불일치)
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static boolean compare(Object actual, Object expected, IntPredicate test) {
+
+        if (actual == null || expected == null) {
+            return false;
+        }
+        if (actual instanceof Number a && expected instanceof Number b) {
+            return test.test(Double.compare(a.doubleValue(), b.doubleValue()));
+        }
+        if (actual instanceof Comparable comparable && actual.getClass().isInstance(expected)) {
+            return test.test(comparable.compareTo(expected));
+        }
+        return test.test(String.valueOf(actual).compareTo(String.valueOf(expected)));
+    }
+
+    private static boolean contains(Object values, Object actual) {
+
+        if (!(values instanceof Collection<?> collection)) {
+            return equal(actual, values);
+        }
+        for (Object value : collection) {
+            if (equal(actual, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String unquote(String key) {
+
+        if (key.length() >= 2) {
+            char first = key.charAt(0);
+            char last = key.charAt(key.length() - 1);
+            if ((first == '\'' || first == '"' || first == '`') && first == last) {
+                return key.substring(1, key.length() - 1);
+            }
+        }
+        return key;
+    }
+}
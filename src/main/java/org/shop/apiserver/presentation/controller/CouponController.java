@@ -2,11 +2,14 @@ package org.shop.apiserver.presentation.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.shop.apiserver.application.dto.CouponBulkIssueResultDTO;
 import org.shop.apiserver.application.dto.CouponDTO;
 import org.shop.apiserver.application.dto.MemberCouponDTO;
 import org.shop.apiserver.application.facade.CouponFacade;
 import org.shop.apiserver.application.service.CouponService;
 import org.shop.apiserver.infrastructure.persistence.jpa.CouponRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -32,6 +35,15 @@ public class CouponController {
         return Map.of("couponId", id);
     }
 
+    // 대량 쿠폰 발급 (관리자 캠페인)
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+    @PostMapping("/bulk/{couponCode}")
+    public CouponBulkIssueResultDTO issueBulkCoupons(
+            @PathVariable String couponCode,
+            @RequestBody List<String> emailList) {
+        return couponFacade.issueBulkCoupons(emailList, couponCode);
+    }
+
     // 활성 쿠폰 목록
     @GetMapping("/active")
     public List<CouponDTO> getActiveCoupons() {
@@ -39,12 +51,17 @@ public class CouponController {
     }
 
     // 쿠폰 발급 (누구나 접근 가능 - SecurityConfig에서 permitAll로 설정)
+    // 비동기 발급 모드에서는 요청 접수 즉시 202 ACCEPTED 반환
     @PostMapping("/issue/{couponCode}")
-    public Map<String, String> issueCoupon(
+    public ResponseEntity<Map<String, String>> issueCoupon(
             @PathVariable String couponCode,
             Principal principal) {
-        couponFacade.issueCouponAuto(principal.getName(), couponCode);
-        return Map.of("result", "SUCCESS");
+        boolean accepted = couponFacade.issueCouponAuto(principal.getName(), couponCode);
+
+        if (accepted) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("result", "ACCEPTED"));
+        }
+        return ResponseEntity.ok(Map.of("result", "SUCCESS"));
     }
 
 
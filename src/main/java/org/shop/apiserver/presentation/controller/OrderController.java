@@ -83,6 +83,21 @@ public class OrderController {
         return orderService.getMyOrders(principal.getName(), pageRequestDTO);
     }
 
+    /**
+     * 내 주문 목록 조회 (커서 페이징)
+     * GET /api/orders/my/cursor?cursor=&size=&withTotal=
+     */
+    @PreAuthorize("hasAnyRole('ROLE_USER')")
+    @GetMapping("/my/cursor")
+    public CursorResponseDTO<OrderListDTO> getMyOrdersByCursor(
+            CursorRequestDTO cursorRequestDTO,
+            Principal principal) {
+
+        log.info("Get my orders by cursor: " + principal.getName());
+
+        return orderService.getMyOrdersByCursor(principal.getName(), cursorRequestDTO);
+    }
+
     /**
      * 주문 취소
      * DELETE /api/orders/{ono}
@@ -1,26 +1,35 @@
 package org.shop.apiserver.presentation.controller;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.shop.apiserver.application.dto.CursorRequestDTO;
+import org.shop.apiserver.application.dto.CursorResponseDTO;
 import org.shop.apiserver.application.dto.PageRequestDTO;
 import org.shop.apiserver.application.dto.PageResponseDTO;
 import org.shop.apiserver.application.dto.ProductDTO;
+import org.shop.apiserver.application.dto.ProductImportResultDTO;
+import org.shop.apiserver.application.service.ProductImageCollector;
+import org.shop.apiserver.application.service.ProductImportService;
+import org.shop.apiserver.application.service.ProductSearchService;
 import org.shop.apiserver.application.service.ProductService;
 import org.shop.apiserver.util.CustomFileUtil;
-import org.springframework.core.io.Resource;
-import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 
@@ -32,6 +41,9 @@ public class ProductController {
 
   private final ProductService productService; //ProductServcie 주입
   private final CustomFileUtil fileUtil;
+  private final ProductSearchService productSearchService;
+  private final ProductImageCollector productImageCollector;
+  private final ProductImportService productImportService;
 
   @PostMapping("/")
   public Map<String, Long> register(ProductDTO productDTO){
@@ -53,10 +65,23 @@ public class ProductController {
   }
 
 
+  // 상품 대량 등록 (관리자, 본문을 text/csv 또는 application/x-ndjson 으로 전송 - 한 행씩 읽어 배치 저장)
+  @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+  @PostMapping("/import")
+  public ProductImportResultDTO importProducts(HttpServletRequest request) throws IOException {
+
+    String format = ProductImportService.resolveFormat(request.getContentType());
+
+    return productImportService.importProducts(request.getInputStream(), format);
+  }
+
+
+  // 이미지 조회 (ETag/304, Range, 장기 캐시 헤더)
   @GetMapping("/view/{fileName}")
-  public ResponseEntity<Resource> viewFileGET(@PathVariable String fileName){
+  public void viewFileGET(@PathVariable String fileName, HttpServletRequest request, HttpServletResponse response)
+          throws IOException {
 
-    return fileUtil.getFile(fileName);
+    fileUtil.sendFile(fileName, request, response);
 
   }
 
@@ -70,6 +95,34 @@ public class ProductController {
 
   }
 
+  // 키워드 검색 (BM25 메모리 역색인, 외부 호출 없음)
+  @GetMapping("/search")
+  public List<ProductDTO> search(@RequestParam String keyword,
+                                 @RequestParam(required = false) Integer minPrice,
+                                 @RequestParam(required = false) Integer maxPrice,
+                                 @RequestParam(defaultValue = "20") int size) {
+
+    return productSearchService.search(keyword, minPrice, maxPrice, size);
+  }
+
+  // 상품명 자동완성
+  @GetMapping("/search/autocomplete")
+  public List<String> autocomplete(@RequestParam String prefix,
+                                   @RequestParam(defaultValue = "10") int size) {
+
+    return productSearchService.autocomplete(prefix, size);
+  }
+
+  // 커서 페이징 목록 (무한 스크롤용, 깊은 페이지에서도 OFFSET 스캔 없음)
+  @GetMapping("/list/cursor")
+  public CursorResponseDTO<ProductDTO> listByCursor(CursorRequestDTO cursorRequestDTO) {
+
+    log.info("list cursor............." + cursorRequestDTO);
+
+    return productService.getListByCursor(cursorRequestDTO);
+
+  }
+
   @GetMapping("/{pno}")
   public ProductDTO read(@PathVariable(name="pno") Long pno) {
 
@@ -112,12 +165,22 @@ public class ProductController {
               .stream()
               .filter(fileName -> uploadedFileNames.indexOf(fileName) == -1).collect(Collectors.toList());
 
-      //실제 파일 삭제 
-      fileUtil.deleteFiles(removeFiles);
+      //삭제 후보로 등록 (다른 상품이 같은 파일을 참조하지 않으면 정리 작업에서 삭제)
+      productImageCollector.release(removeFiles);
     }
     return Map.of("RESULT", "SUCCESS");
   }
 
+  // 재고 수정 (관리자, /{pno}/... 는 JWT 검사 제외 경로이므로 /stock/{pno})
+  @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+  @PutMapping("/stock/{pno}")
+  public Map<String, String> changeStock(@PathVariable("pno") Long pno, @RequestParam("stock") int stock) {
+
+    productService.changeStock(pno, stock);
+
+    return Map.of("RESULT", "SUCCESS");
+  }
+
   @DeleteMapping("/{pno}")
   public Map<String, String> remove(@PathVariable("pno") Long pno) {
 
@@ -126,7 +189,7 @@ public class ProductController {
 
     productService.remove(pno);
 
-    fileUtil.deleteFiles(oldFileNames);
+    productImageCollector.release(oldFileNames);
 
     return Map.of("RESULT", "SUCCESS");
 
@@ -4,9 +4,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.shop.apiserver.application.dto.ProductDTO;
 import org.shop.apiserver.application.dto.ProductRecommendationDTO;
+import org.shop.apiserver.application.facade.ProductRecommendationFacade;
+import org.shop.apiserver.application.service.ProductIndexingJob;
 import org.shop.apiserver.application.service.ProductRecommendationService;
+import org.shop.apiserver.application.service.SemanticRecommendationCache;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 import java.util.Map;
@@ -18,6 +24,9 @@ import java.util.Map;
 public class ProductRecommendationController {
 
     private final ProductRecommendationService recommendationService;
+    private final ProductRecommendationFacade recommendationFacade;
+    private final ProductIndexingJob productIndexingJob;
+    private final SemanticRecommendationCache semanticRecommendationCache;
 
     /**
      * ⭐ AI 상품 추천 (Redis 캐싱 적용)
@@ -25,6 +34,7 @@ public class ProductRecommendationController {
      * 
      * - 첫 요청: 3~5초
      * - 캐시 히트: 0.05초
+     * - 같은 질문 동시 요청은 한 번만 실행 (single-flight)
      */
     @GetMapping("")
     public ProductRecommendationDTO recommend(@RequestParam String query) {
@@ -32,7 +42,7 @@ public class ProductRecommendationController {
         long startTime = System.currentTimeMillis();
         log.info("추천 요청: {}", query);
 
-        ProductRecommendationDTO result = recommendationService.recommendProducts(query);
+        ProductRecommendationDTO result = recommendationFacade.recommend(query);
 
         long duration = System.currentTimeMillis() - startTime;
         log.info("추천 응답 완료 ({}ms)", duration);
@@ -61,25 +71,30 @@ public class ProductRecommendationController {
     }
 
     /**
-     * 전체 상품 벡터 인덱싱
-     * POST /api/recommendations/index/all
+     * 전체 상품 벡터 인덱싱 (백그라운드 실행)
+     * POST /api/recommendations/index/all?mode=FULL|CHANGED
+     *
+     * - FULL: 전체 상품 (변경 없는 상품은 임베딩 캐시로 건너뜀)
+     * - CHANGED: 마지막 인덱싱 이후 수정/삭제된 상품만
+     * - 중단된 인덱싱이 있으면 체크포인트부터 이어서 진행
      */
     @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
     @PostMapping("/index/all")
-    public Map<String, String> indexAllProducts() {
+    public Map<String, String> indexAllProducts(
+            @RequestParam(defaultValue = "FULL") ProductIndexingJob.Mode mode) {
 
-        long startTime = System.currentTimeMillis();
-        log.info("인덱싱 시작");
-
-        recommendationService.indexAllProducts();
+        log.info("인덱싱 요청: {}", mode);
 
-        long duration = System.currentTimeMillis() - startTime;
-        log.info("인덱싱 완료 ({}ms)", duration);
+        if (!productIndexingJob.start(mode)) {
+            return Map.of(
+                    "result", "RUNNING",
+                    "message", "이미 인덱싱이 진행 중입니다."
+            );
+        }
 
         return Map.of(
-                "result", "SUCCESS",
-                "message", "모든 상품이 벡터 DB에 저장되었습니다.",
-                "duration", duration + "ms"
+                "result", "STARTED",
+                "message", "상품 인덱싱을 시작했습니다. (" + mode + ")"
         );
     }
 
@@ -119,6 +134,16 @@ public class ProductRecommendationController {
         );
     }
 
+    /**
+     * 의미 캐시 히트율 통계
+     * GET /api/recommendations/cache/stats
+     */
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+    @GetMapping("/cache/stats")
+    public Map<String, Object> cacheStats() {
+        return semanticRecommendationCache.stats();
+    }
+
     /**
      * 챗봇 스타일 대화
      * POST /api/recommendations/chat
@@ -131,7 +156,7 @@ public class ProductRecommendationController {
         long startTime = System.currentTimeMillis();
         log.info("챗봇 요청: {}", message);
 
-        ProductRecommendationDTO result = recommendationService.recommendProducts(message);
+        ProductRecommendationDTO result = recommendationFacade.recommend(message);
 
         long duration = System.currentTimeMillis() - startTime;
         log.info("ㅗ 챗봇 응답 ({}ms)", duration);
@@ -143,4 +168,23 @@ public class ProductRecommendationController {
                 "responseTime", duration + "ms"
         );
     }
+
+    /**
+     * 챗봇 스트리밍 (SSE)
+     * GET /api/recommendations/chat/stream?message=20대 여성 선물 추천
+     *
+     * - event: products  벡터 검색 상품 카드 (즉시)
+     * - event: token     AI 답변 조각 (생성되는 대로)
+     * - event: done      완료
+     */
+    @GetMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> chatStream(@RequestParam String message) {
+
+        log.info("챗봇 스트리밍 요청: {}", message);
+
+        return recommendationService.streamRecommendation(message)
+                .map(event -> ServerSentEvent.builder(event.getData())
+                        .event(event.getEvent())
+                        .build());
+    }
 }
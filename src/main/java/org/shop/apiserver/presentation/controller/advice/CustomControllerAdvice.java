@@ -6,6 +6,7 @@ import java.util.NoSuchElementException;
 import lombok.extern.log4j.Log4j2;
 import org.shop.apiserver.common.exception.CouponException;
 import org.shop.apiserver.util.CustomJWTException;
+import org.shop.apiserver.util.InvalidFileException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -43,6 +44,13 @@ public class CustomControllerAdvice {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", msg));
     }
 
+    @ExceptionHandler(InvalidFileException.class)
+    protected ResponseEntity<?> handleInvalidFile(InvalidFileException e) {
+        String msg = e.getMessage();
+        log.warn("[Exception] InvalidFileException: {}", msg);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", msg));
+    }
+
     @ExceptionHandler(CouponException.class)
     protected ResponseEntity<?> handleCouponException(CouponException e) {
         String msg = e.getMessage();
@@ -0,0 +1,84 @@
+package org.shop.apiserver.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV 레코드 단위 읽기 (RFC 4180)
+ * 파일 전체를 메모리에 올리지 않고 한 레코드씩 읽는다. 따옴표 안의 쉼표/줄바꿈, "" 이스케이프, UTF-8 BOM 지원.
+ */
+public class CsvReader implements Closeable {
+
+  private final BufferedReader reader;
+
+  private boolean first = true;
+
+  public CsvReader(Reader reader) {
+    this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+  }
+
+  /**
+   * 다음 레코드 (파일 끝이면 null)
+   */
+  public List<String> next() throws IOException {
+
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    boolean read = false;
+
+    int c;
+    while ((c = reader.read()) != -1) {
+
+      if (first) {
+        first = false;
+        if (c == '\uFEFF') {
+          continue;
+        }
+      }
+      read = true;
+
+      if (quoted) {
+        if (c == '"') {
+          reader.mark(1);
+          int next = reader.read();
+          if (next == '"') {
+            field.append('"');
+          } else {
+            quoted = false;
+            if (next != -1) {
+              reader.reset();
+            }
+          }
+        } else {
+          field.append((char) c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c == '\n') {
+        break;
+      } else if (c != '\r') {
+        field.append((char) c);
+      }
+    }
+
+    if (!read) {
+      return null;
+    }
+
+    fields.add(field.toString());
+    return fields;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
@@ -0,0 +1,52 @@
+package org.shop.apiserver.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 페이징 커서 인코딩/디코딩
+ * 클라이언트에는 정렬 키 값을 Base64(URL-safe) 로 감싼 불투명 문자열로 전달한다.
+ */
+public class CursorUtil {
+
+  private static final String VERSION = "v1";
+  private static final String DELIMITER = "|";
+
+  private CursorUtil() {
+  }
+
+  public static String encode(Object... values) {
+
+    StringBuilder builder = new StringBuilder(VERSION);
+
+    for (Object value : values) {
+      builder.append(DELIMITER).append(value);
+    }
+
+    return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @param expectedParts 커서에 담긴 값 개수
+   * @throws IllegalStateException 잘못된 커서
+   */
+  public static String[] decode(String cursor, int expectedParts) {
+
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = decoded.split("\\|");
+
+      if (parts.length != expectedParts + 1 || !VERSION.equals(parts[0])) {
+        throw new IllegalStateException("잘못된 커서입니다.");
+      }
+
+      String[] values = new String[expectedParts];
+      System.arraycopy(parts, 1, values, 0, expectedParts);
+      return values;
+
+    } catch (IllegalArgumentException e) {
+      throw new IllegalStateException("잘못된 커서입니다.");
+    }
+  }
+}
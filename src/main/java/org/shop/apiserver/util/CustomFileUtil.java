@@ -1,43 +1,85 @@
 package org.shop.apiserver.util;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import net.coobird.thumbnailator.Thumbnails;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.UUID;
-
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 업로드 파일 저장소 (내용 주소 기반)
+ *
+ * - 업로드 스트림은 한 번만 읽음 (형식 판별 + 해시 + 저장 + 썸네일용 바이트를 같은 루프에서 처리)
+ * - 파일명은 내용의 SHA-256 (예: 3fa4...e1.jpg), 같은 이미지는 몇 번을 올려도 파일/썸네일 1벌만 저장
+ * - 해시 앞 4자리로 2단계 하위 폴더에 분산 저장 (upload/3f/a4/3fa4...e1.jpg) - 폴더당 파일 수 제한
+ * - 썸네일은 원본과 같은 폴더에 접두어만 붙여 저장 (s_3fa4...e1.jpg)
+ * - 파일 삭제는 바로 하지 않고 ProductImageCollector 가 참조가 없는 것을 확인한 뒤 삭제
+ * - 해시 형식이 아닌 예전 파일명(uuid_이름)은 upload 폴더 바로 아래에서 찾음
+ */
 @Component
 @Log4j2
 @RequiredArgsConstructor
 public class CustomFileUtil {
 
+  // 이미지 형식 판별에 필요한 앞부분 길이 (BMP: 파일 헤더 14바이트 + DIB 헤더 크기 4바이트)
+  private static final int MAGIC_LENGTH = 18;
+
+  // BMP DIB 헤더 크기 (BITMAPCOREHEADER ~ BITMAPV5HEADER)
+  private static final Set<Integer> BMP_HEADER_SIZES = Set.of(12, 40, 52, 56, 64, 108, 124);
+
+  // (썸네일 접두어) + SHA-256 hex + (확장자)
+  private static final Pattern CONTENT_NAME = Pattern.compile("^(?:[a-z]_)?([0-9a-f]{64})(?:\\.[a-z0-9]+)?$");
+
+  private final ThumbnailProcessor thumbnailProcessor;
+  private final FileResponseWriter fileResponseWriter;
+
   @Value("${org.zerock.upload.path}")
   private String uploadPath;
 
+  // 이 크기 이하의 이미지는 업로드 중에 바이트를 보관해 두고 썸네일 생성 시 파일을 다시 읽지 않음
+  @Value("${thumbnail.inline-max-bytes:2097152}")
+  private long inlineMaxBytes;
+
+  private Path root;
+  private Path tempFolder;
+
   @PostConstruct
-  public void init() {
-    File tempFolder = new File(uploadPath);
+  public void init() throws IOException {
 
-    if(tempFolder.exists() == false) {
-      tempFolder.mkdir();
-    }
+    root = Paths.get(uploadPath).toAbsolutePath().normalize();
+    tempFolder = root.resolve(".tmp");
 
-    uploadPath = tempFolder.getAbsolutePath();
+    Files.createDirectories(tempFolder);
+
+    uploadPath = root.toString();
 
     log.info("-------------------------------------");
     log.info(uploadPath);
@@ -56,27 +98,21 @@ public class CustomFileUtil {
       if(multipartFile.getOriginalFilename() == null || multipartFile.getOriginalFilename().equals("")){
         continue;
       }
-      // uuid로 고유한 파일명 생성
-      String savedName = UUID.randomUUID().toString() + "_" + multipartFile.getOriginalFilename();
-      
-      Path savePath = Paths.get(uploadPath, savedName);
 
       try {
-        Files.copy(multipartFile.getInputStream(), savePath);
-
-        String contentType = multipartFile.getContentType();
+        StoredFile stored = store(multipartFile);
 
-        // 이미지인 경우 400x400 썸네일 자동 생성
-        if(contentType != null && contentType.startsWith("image")){ //이미지여부 확인
+        // 이미지인 경우 썸네일(800/400/100) 생성은 작업 스레드에 맡기고 바로 반환 (이미 있으면 생략)
+        if(stored.image()){
 
-          Path thumbnailPath = Paths.get(uploadPath, "s_"+savedName);
+          Path savePath = resolve(stored.name());
 
-          Thumbnails.of(savePath.toFile())
-                  .size(400,400)
-                  .toFile(thumbnailPath.toFile());
+          if(!Files.exists(savePath.resolveSibling(ThumbnailProcessor.Size.SMALL.fileName(stored.name())))) {
+            thumbnailProcessor.submit(savePath, stored.content());
+          }
         }
 
-        uploadNames.add(savedName);
+        uploadNames.add(stored.name());
       } catch (IOException e) {
         throw new RuntimeException(e.getMessage());
       }
@@ -84,49 +120,203 @@ public class CustomFileUtil {
     return uploadNames;
   }
 
-  public ResponseEntity<Resource> getFile(String fileName) {
-    
-    Resource resource = new FileSystemResource(uploadPath+ File.separator + fileName);
+  /**
+   * 업로드 파일 전송 (ETag/304, Range, sendfile)
+   * 썸네일이 아직 생성 전이면 원본, 파일이 없으면 기본 이미지로 대신 응답 (대체 응답은 캐시하지 않음)
+   */
+  public void sendFile(String fileName, HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+    Path file = resolve(fileName);
+    String etag = contentHash(fileName) != null ? "\"" + fileName + "\"" : null;
+    boolean immutable = true;
 
-    if(!resource.exists()) {
+    if(file == null || !Files.isRegularFile(file)) {
 
-      resource = new FileSystemResource(uploadPath+ File.separator + "default.jpeg");
-    
+      String originalName = ThumbnailProcessor.Size.originalName(fileName);
+      Path original = originalName == null ? null : resolve(originalName);
+
+      file = original != null && Files.isRegularFile(original) ? original : root.resolve("default.jpeg");
+      etag = null;
+      immutable = false;
     }
 
-    HttpHeaders headers = new HttpHeaders();
+    fileResponseWriter.write(file, etag, immutable, request, response);
+  }
+
+  /**
+   * 파일(원본 + 썸네일) 삭제
+   * 마지막 저장/재업로드 후 grace 가 지나지 않았으면 삭제하지 않고 false (아직 커밋 전인 상품이 참조할 수 있음)
+   */
+  public boolean deleteFile(String fileName, Duration grace) throws IOException {
 
-    try{
-        headers.add("Content-Type", Files.probeContentType( resource.getFile().toPath() ));
-    } catch(Exception e){
-        return ResponseEntity.internalServerError().build();
+    Path file = resolve(fileName);
+    if(file == null || !Files.exists(file)) {
+      return true;
     }
-    return ResponseEntity.ok().headers(headers).body(resource);
+
+    Instant lastStored = Files.getLastModifiedTime(file).toInstant();
+    if(lastStored.plus(grace).isAfter(Instant.now())) {
+      return false;
+    }
+
+    Files.deleteIfExists(file);
+
+    //썸네일이 있는지 확인하고 삭제 (크기별)
+    for (ThumbnailProcessor.Size size : ThumbnailProcessor.Size.values()) {
+      Files.deleteIfExists(file.resolveSibling(size.fileName(fileName)));
+    }
+
+    log.debug("[CustomFileUtil] 파일 삭제 - file: {}", fileName);
+    return true;
   }
 
+  // ============================================
+  // Private Helper Methods
+  // ============================================
+
+  /**
+   * 업로드 스트림을 한 번만 읽어서 저장
+   *
+   * - 앞부분 매직 바이트로 실제 이미지 형식 판별 (이미지라고 보냈는데 아니면 거부, 확장자도 판별한 형식으로 통일)
+   * - 같은 루프에서 SHA-256 계산 + 저장 폴더의 임시 파일에 기록 (+ 썸네일용 원본 바이트 보관)
+   * - 같은 내용이 이미 있으면 임시 파일 삭제, 없으면 해시 이름으로 이동 (같은 파일시스템 안의 rename)
+   */
+  private StoredFile store(MultipartFile multipartFile) throws IOException {
+
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+
+    Path temp = Files.createTempFile(tempFolder, "upload-", ".tmp");
+
+    try {
+      String format;
+      ByteArrayOutputStream content = null;
+
+      try (InputStream in = multipartFile.getInputStream();
+           OutputStream out = Files.newOutputStream(temp)) {
+
+        byte[] buffer = new byte[64 * 1024];
+        int read = in.readNBytes(buffer, 0, MAGIC_LENGTH);
+
+        format = imageFormat(buffer, read);
+
+        String contentType = multipartFile.getContentType();
+        if(format == null && contentType != null && contentType.startsWith("image")) {
+          log.warn("[CustomFileUtil] 파일 형식 불일치 - contentType: {}, file: {}",
+                  contentType, multipartFile.getOriginalFilename());
+          throw new InvalidFileException("지원하지 않는 이미지 형식입니다.");
+        }
+
+        if(format != null && multipartFile.getSize() <= inlineMaxBytes) {
+          content = new ByteArrayOutputStream((int) multipartFile.getSize());
+        }
+
+        while (read > 0) {
+          digest.update(buffer, 0, read);
+          out.write(buffer, 0, read);
+          if(content != null) {
+            content.write(buffer, 0, read);
+          }
+          read = in.read(buffer);
+        }
+      }
 
-  public void deleteFiles(List<String> fileNames) {
+      String extension = format != null ? "." + format : extension(multipartFile.getOriginalFilename());
+      String savedName = HexFormat.of().formatHex(digest.digest()) + extension;
+      Path savePath = resolve(savedName);
+
+      Files.createDirectories(savePath.getParent());
+
+      if(Files.exists(savePath)) {
+        // 중복 업로드 - 수정 시각만 갱신해 삭제 대기 중이던 파일이 지워지지 않도록 함
+        Files.setLastModifiedTime(savePath, FileTime.from(Instant.now()));
+        log.debug("[CustomFileUtil] 중복 파일 재사용 - file: {}", savedName);
+      } else {
+        try {
+          Files.move(temp, savePath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+          // 같은 내용이 동시에 업로드된 경우
+          Files.setLastModifiedTime(savePath, FileTime.from(Instant.now()));
+        }
+      }
 
-    if(fileNames == null || fileNames.size() == 0){
-      return;
+      return new StoredFile(savedName, format != null, content == null ? null : content.toByteArray());
+
+    } finally {
+      Files.deleteIfExists(temp);
     }
+  }
 
-    fileNames.forEach(fileName -> {
+  /**
+   * 매직 바이트로 이미지 형식 판별 (이미지가 아니면 null)
+   * 썸네일을 만들 수 있는 형식(ImageIO 기본 리더가 있는 형식)만 허용 - WEBP 는 리더가 없어 받지 않음
+   */
+  private static String imageFormat(byte[] header, int length) {
 
-      //썸네일이 있는지 확인하고 삭제 
-      String thumbnailFileName = "s_" + fileName;
-      Path thumbnailPath = Paths.get(uploadPath, thumbnailFileName);
-      Path filePath = Paths.get(uploadPath, fileName);
+    if(startsWith(header, length, 0xFF, 0xD8, 0xFF)) {
+      return "jpg";
+    }
+    if(startsWith(header, length, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+      return "png";
+    }
+    if(startsWith(header, length, 'G', 'I', 'F', '8')) {
+      return "gif";
+    }
+    // 'BM' 두 글자만으로는 텍스트 파일도 통과하므로 DIB 헤더 크기(14~17번째 바이트, little-endian)까지 확인
+    if(startsWith(header, length, 'B', 'M') && length >= MAGIC_LENGTH
+            && BMP_HEADER_SIZES.contains(ByteBuffer.wrap(header, 14, 4).order(ByteOrder.LITTLE_ENDIAN).getInt())) {
+      return "bmp";
+    }
+    return null;
+  }
 
-      try {
-        Files.deleteIfExists(filePath);
-        Files.deleteIfExists(thumbnailPath);
-      } catch (IOException e) {
-        throw new RuntimeException(e.getMessage());
+  private static boolean startsWith(byte[] header, int length, int... magic) {
+
+    if(length < magic.length) {
+      return false;
+    }
+    for (int i = 0; i < magic.length; i++) {
+      if((header[i] & 0xFF) != magic[i]) {
+        return false;
       }
-    });
+    }
+    return true;
+  }
+
+  /**
+   * 파일명 -> 실제 경로 (해시 이름은 upload/ab/cd/, 예전 파일명은 upload/ 바로 아래)
+   * 업로드 폴더 밖을 가리키는 파일명(../ 등)은 null
+   */
+  private Path resolve(String fileName) {
+
+    String hash = contentHash(fileName);
+
+    Path file = hash == null
+            ? root.resolve(fileName).normalize()
+            : root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(fileName);
+
+    return file.startsWith(root) && !file.startsWith(tempFolder) ? file : null;
   }
 
+  private String contentHash(String fileName) {
 
+    Matcher matcher = CONTENT_NAME.matcher(fileName);
 
+    return matcher.matches() ? matcher.group(1) : null;
+  }
+
+  private String extension(String originalName) {
+
+    int dot = originalName.lastIndexOf('.');
+    String extension = dot < 0 ? "" : originalName.substring(dot + 1).toLowerCase(Locale.ROOT);
+
+    return extension.matches("[a-z0-9]{1,10}") ? "." + extension : "";
+  }
+
+  private record StoredFile(String name, boolean image, byte[] content) {
+  }
 }
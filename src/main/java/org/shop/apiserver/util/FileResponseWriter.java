@@ -0,0 +1,244 @@
+package org.shop.apiserver.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 파일 응답 전송 (이미지 조회용)
+ *
+ * - ETag(본문 SHA-256) 로 조건부 요청에 304 응답
+ *   (Last-Modified 는 보내지 않음 - 수정 시각은 중복 업로드 시 갱신되므로 내용 변경 여부와 무관)
+ * - Range 요청(단일 구간)은 206 + Content-Range 로 부분 전송, 범위가 잘못되면 416
+ * - 본문은 Tomcat sendfile(커널 zero-copy)로 넘기고, 지원하지 않으면 FileChannel.transferTo 로 전송
+ * - MIME 타입은 확장자별로 한 번만 판별
+ * - ETag 는 (경로, 크기, 수정 시각) 별로 한 번만 계산해 캐시 (내용 해시 파일명이면 파일명을 그대로 사용)
+ */
+@Component
+public class FileResponseWriter {
+
+  // Tomcat sendfile 요청 속성 (org.apache.tomcat.util.net.Constants)
+  private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+  private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+  // UUID 파일명은 내용이 바뀌지 않으므로 1년 + immutable
+  private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+  private static final String NO_STORE = "no-store";
+
+  private final Map<String, String> contentTypes = new ConcurrentHashMap<>();
+
+  private final Cache<String, String> etags = Caffeine.newBuilder()
+          .maximumSize(100_000)
+          .build();
+
+  /**
+   * 파일 전송
+   *
+   * @param etag      이미 알고 있는 ETag (내용 해시 파일명 등), null 이면 본문 해시로 계산
+   * @param immutable true: 장기 캐시 허용, false: 캐시 금지 (대체 이미지 등)
+   */
+  public void write(Path file, String etag, boolean immutable, HttpServletRequest request, HttpServletResponse response)
+          throws IOException {
+
+    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+    long length = attributes.size();
+    long lastModified = attributes.lastModifiedTime().toMillis();
+
+    if (etag == null) {
+      etag = etag(file, length, lastModified);
+    }
+
+    response.setHeader(HttpHeaders.ETAG, etag);
+    response.setHeader(HttpHeaders.CACHE_CONTROL, immutable ? IMMUTABLE_CACHE_CONTROL : NO_STORE);
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+    if (notModified(request, etag)) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+
+    response.setContentType(contentType(file));
+
+    long start = 0;
+    long end = length - 1;
+
+    String range = request.getHeader(HttpHeaders.RANGE);
+    if (range != null && rangeApplies(request, etag)) {
+      long[] parsed = parseRange(range, length);
+
+      if (parsed == null) {
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        return;
+      }
+
+      if (parsed.length == 2) {
+        start = parsed[0];
+        end = parsed[1];
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+      }
+    }
+
+    long count = end - start + 1;
+    response.setContentLengthLong(count);
+
+    if ("HEAD".equals(request.getMethod()) || count == 0) {
+      return;
+    }
+
+    if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+      request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+      request.setAttribute(SENDFILE_START, start);
+      request.setAttribute(SENDFILE_END, end + 1);
+      return;
+    }
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+      long position = start;
+      while (position <= end) {
+        position += channel.transferTo(position, end - position + 1, out);
+      }
+    }
+  }
+
+  // ============================================
+  // Private Helper Methods
+  // ============================================
+
+  private boolean notModified(HttpServletRequest request, String etag) {
+
+    String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+    return ifNoneMatch != null && matches(ifNoneMatch, etag);
+  }
+
+  /**
+   * If-Range 가 있으면 ETag 가 같을 때만 부분 전송 (날짜는 Last-Modified 를 보내지 않으므로 항상 전체 전송)
+   */
+  private boolean rangeApplies(HttpServletRequest request, String etag) {
+
+    String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    return ifRange == null || ifRange.trim().equals(etag);
+  }
+
+  private boolean matches(String header, String etag) {
+
+    for (String candidate : header.split(",")) {
+      String value = candidate.trim();
+      if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * "bytes=0-99", "bytes=100-", "bytes=-100" (단일 구간만 지원)
+   *
+   * @return {start, end}, 여러 구간/형식 오류면 빈 배열(전체 전송), 범위를 벗어나면 null(416)
+   */
+  private long[] parseRange(String header, long length) {
+
+    if (!header.startsWith("bytes=") || header.contains(",")) {
+      return new long[0];
+    }
+
+    String spec = header.substring(6).trim();
+    int dash = spec.indexOf('-');
+    if (dash < 0) {
+      return new long[0];
+    }
+
+    try {
+      String first = spec.substring(0, dash).trim();
+      String last = spec.substring(dash + 1).trim();
+
+      long start;
+      long end;
+
+      if (first.isEmpty()) {
+        long suffix = Long.parseLong(last);
+        if (suffix <= 0) {
+          return null;
+        }
+        start = Math.max(0, length - suffix);
+        end = length - 1;
+      } else {
+        start = Long.parseLong(first);
+        end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+      }
+
+      if (start >= length || start > end) {
+        return null;
+      }
+      return new long[]{start, end};
+
+    } catch (NumberFormatException e) {
+      return new long[0];
+    }
+  }
+
+  private String contentType(Path file) {
+
+    String fileName = file.getFileName().toString();
+    int dot = fileName.lastIndexOf('.');
+    String extension = dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+
+    return contentTypes.computeIfAbsent(extension, key -> MediaTypeFactory.getMediaType(fileName)
+            .orElse(MediaType.APPLICATION_OCTET_STREAM)
+            .toString());
+  }
+
+  private String etag(Path file, long length, long lastModified) throws IOException {
+
+    String key = file.toAbsolutePath() + "|" + length + "|" + lastModified;
+
+    String cached = etags.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+
+    byte[] buffer = new byte[64 * 1024];
+    try (InputStream in = Files.newInputStream(file)) {
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    }
+
+    String etag = "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest()) + "\"";
+    etags.put(key, etag);
+    return etag;
+  }
+}
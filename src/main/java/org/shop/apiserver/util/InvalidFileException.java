@@ -0,0 +1,12 @@
+package org.shop.apiserver.util;
+
+/**
+ * 업로드 파일이 허용되지 않는 형식일 때 (400)
+ * 메시지는 클라이언트에 그대로 전달되므로 파일명 등 사용자 입력을 넣지 않는다.
+ */
+public class InvalidFileException extends RuntimeException {
+
+  public InvalidFileException(String msg) {
+    super(msg);
+  }
+}
@@ -1,5 +1,8 @@
 package org.shop.apiserver.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.log4j.Log4j2;
@@ -7,32 +10,63 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.ZonedDateTime;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Map;
-
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 발급/검증
+ *
+ * - 서명 키와 파서는 설정 주입 시 한 번만 생성 (요청마다 키 파생/파서 생성 없음)
+ * - 검증에 성공한 토큰의 claims 는 토큰 해시를 키로 만료(exp) 시각까지 캐시 (원문 토큰은 보관하지 않음)
+ * - 검증 실패는 캐시하지 않으므로 만료/위조 토큰은 항상 파서에서 거부된다
+ */
 @Log4j2
 @Component
 public class JWTUtil {
 
-    private static String secretKey;
+    private static final int MAX_CACHED_TOKENS = 10_000;
+
+    private static volatile SecretKey key;
+    private static volatile JwtParser parser;
+
+    // 토큰 SHA-256 -> 검증된 claims (exp 시각에 자동 만료)
+    private static final Cache<String, Claims> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_TOKENS)
+            .expireAfter(new Expiry<String, Claims>() {
+                @Override
+                public long expireAfterCreate(String tokenHash, Claims claims, long currentTime) {
+                    Date expiration = claims.getExpiration();
+                    long remaining = expiration == null ? 0 : expiration.getTime() - System.currentTimeMillis();
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0));
+                }
+
+                @Override
+                public long expireAfterUpdate(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
 
     @Value("${jwt.secret-key}")
-    public void setSecretKey(String key) {
-        JWTUtil.secretKey = key;
+    public void setSecretKey(String secretKey) {
+        JWTUtil.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        JWTUtil.parser = Jwts.parser().verifyWith(JWTUtil.key).build();
+        verifiedTokens.invalidateAll();
     }
 
     public static String generateToken(Map<String, Object> valueMap, int min) {
 
-        SecretKey key = null;
-
-        try {
-            key = Keys.hmacShaKeyFor(JWTUtil.secretKey.getBytes("UTF-8"));
-
-        } catch (Exception e) {
-            throw new RuntimeException(e.getMessage());
-        }
-
         return Jwts.builder().header()
                 .add("typ", "JWT")
                 .add("alg", "HS256")
@@ -47,17 +81,19 @@ public class JWTUtil {
 
     public static Map<String, Object> validateToken(String token) {
 
-        SecretKey key = null;
-
         try {
-            key = Keys.hmacShaKeyFor(JWTUtil.secretKey.getBytes("UTF-8"));
+            String tokenHash = hash(token);
 
-            Claims claims = Jwts.parser().verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            Claims cached = verifiedTokens.getIfPresent(tokenHash);
+            if (cached != null) {
+                return cached;
+            }
 
-            log.info("claims: " + claims);
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+
+            verifiedTokens.put(tokenHash, claims);
+
+            log.debug("[JWTUtil] 토큰 검증 - email: {}", claims.get("email"));
 
             return claims;
         }catch(MalformedJwtException malformedJwtException){
@@ -73,4 +109,13 @@ public class JWTUtil {
         }
 
     }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
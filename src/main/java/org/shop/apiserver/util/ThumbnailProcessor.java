@@ -0,0 +1,215 @@
+package org.shop.apiserver.util;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import net.coobird.thumbnailator.Thumbnails;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 썸네일 비동기 생성
+ *
+ * - 업로드 요청은 원본 저장 후 바로 반환하고, 썸네일은 CPU 코어 수만큼의 작업 스레드에서 생성
+ * - 대기열이 가득 차면 요청 스레드가 직접 생성 (CallerRunsPolicy, 업로드 속도를 자연스럽게 늦춤)
+ * - 원본을 한 번만 디코딩하고 큰 크기부터 순서대로 축소 (800 -> 400 -> 100)
+ * - 업로드 중에 함께 받아 둔 원본 바이트가 있으면 파일을 다시 읽지 않고 메모리에서 디코딩
+ *   (대기 중인 바이트 합계가 inline-budget-bytes 를 넘으면 바이트는 버리고 파일에서 읽음 - 힙 사용량 상한)
+ * - 임시 파일에 쓴 뒤 이름을 바꾸므로 썸네일 파일이 보이면 완성된 것
+ */
+@Component
+@Log4j2
+public class ThumbnailProcessor {
+
+  /**
+   * 썸네일 크기 (s_ 는 기존 400x400 썸네일과 호환)
+   */
+  public enum Size {
+
+    LARGE("l_", 800),
+    MEDIUM("s_", 400),
+    SMALL("t_", 100);
+
+    private final String prefix;
+    private final int pixels;
+
+    Size(String prefix, int pixels) {
+      this.prefix = prefix;
+      this.pixels = pixels;
+    }
+
+    public String fileName(String originalName) {
+      return prefix + originalName;
+    }
+
+    /**
+     * 썸네일 파일명이면 원본 파일명, 아니면 null
+     */
+    public static String originalName(String fileName) {
+      for (Size size : values()) {
+        if (fileName.startsWith(size.prefix)) {
+          return fileName.substring(size.prefix.length());
+        }
+      }
+      return null;
+    }
+  }
+
+  @Value("${thumbnail.worker.threads:0}")
+  private int threads;
+
+  @Value("${thumbnail.queue-capacity:200}")
+  private int queueCapacity;
+
+  @Value("${thumbnail.inline-budget-bytes:67108864}")
+  private long inlineBudgetBytes;
+
+  // 대기/진행 중인 작업이 보관한 원본 바이트 합계
+  private final AtomicLong inlineBytes = new AtomicLong();
+
+  // 생성 대기/진행 중인 원본 경로 (중복 요청 방지)
+  private final Map<Path, Boolean> pending = new ConcurrentHashMap<>();
+
+  private ThreadPoolExecutor executor;
+
+  @PostConstruct
+  public void init() {
+
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    AtomicInteger sequence = new AtomicInteger();
+
+    executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+              Thread thread = new Thread(runnable, "thumbnail-" + sequence.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+    log.info("[ThumbnailProcessor] 썸네일 작업 스레드: {}, 대기열: {}, 원본 바이트 상한: {}",
+            poolSize, queueCapacity, inlineBudgetBytes);
+  }
+
+  /**
+   * 썸네일 생성 요청 (대기열이 가득 차면 호출 스레드에서 생성)
+   *
+   * @param content 업로드 시 함께 받아 둔 원본 바이트 (null 이면 파일에서 읽음)
+   */
+  public void submit(Path original, byte[] content) {
+
+    if (pending.putIfAbsent(original, Boolean.TRUE) != null) {
+      return;
+    }
+
+    byte[] inline = reserve(content);
+
+    executor.execute(() -> {
+      try {
+        generate(original, inline);
+      } catch (Exception e) {
+        log.error("[ThumbnailProcessor] 썸네일 생성 실패 - file: {}, error: {}", original.getFileName(), e.getMessage());
+      } finally {
+        if (inline != null) {
+          inlineBytes.addAndGet(-inline.length);
+        }
+        pending.remove(original);
+      }
+    });
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    executor.shutdown();
+    if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+      executor.shutdownNow();
+    }
+  }
+
+  // ============================================
+  // Private Helper Methods
+  // ============================================
+
+  /**
+   * 원본 바이트를 대기열에 보관할 수 있으면 그대로, 상한을 넘으면 null (파일에서 읽음)
+   */
+  private byte[] reserve(byte[] content) {
+
+    if (content == null) {
+      return null;
+    }
+    if (inlineBytes.addAndGet(content.length) > inlineBudgetBytes) {
+      inlineBytes.addAndGet(-content.length);
+      return null;
+    }
+    return content;
+  }
+
+  private void generate(Path original, byte[] content) throws IOException {
+
+    long startTime = System.currentTimeMillis();
+
+    BufferedImage image = content != null
+            ? ImageIO.read(new ByteArrayInputStream(content))
+            : ImageIO.read(original.toFile());
+    if (image == null) {
+      log.warn("[ThumbnailProcessor] 읽을 수 없는 이미지 - file: {}", original.getFileName());
+      return;
+    }
+
+    String format = formatName(original.getFileName().toString());
+
+    // 큰 크기부터 생성하고 다음 크기는 직전 결과에서 축소
+    BufferedImage source = image;
+    for (Size size : Size.values()) {
+      source = Thumbnails.of(source)
+              .size(size.pixels, size.pixels)
+              .asBufferedImage();
+      write(source, format, original.resolveSibling(size.fileName(original.getFileName().toString())));
+    }
+
+    log.debug("[ThumbnailProcessor] 썸네일 생성 완료 - file: {}, {}ms",
+            original.getFileName(), System.currentTimeMillis() - startTime);
+  }
+
+  private void write(BufferedImage image, String format, Path target) throws IOException {
+
+    Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+    try (OutputStream out = Files.newOutputStream(temp)) {
+      if (!ImageIO.write(image, format, out)) {
+        throw new IOException("지원하지 않는 이미지 형식: " + format);
+      }
+    } catch (IOException e) {
+      Files.deleteIfExists(temp);
+      throw e;
+    }
+
+    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private String formatName(String fileName) {
+
+    int dot = fileName.lastIndexOf('.');
+    String extension = dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+
+    return ImageIO.getImageWritersBySuffix(extension).hasNext() ? extension : "jpg";
+  }
+}
@@ -0,0 +1,76 @@
+package org.shop.apiserver.infrastructure.security.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 인증 제외 경로 매칭 테스트 (RoutePrefixTrie 가 package-private 이라 같은 패키지에 둠)
+ */
+public class RoutePrefixTrieTests {
+
+  private final RoutePrefixTrie trie = new RoutePrefixTrie()
+          .addPrefix("/api/products/search")
+          .addPrefix("/api/products/list")
+          .addPrefix("/api/products/#")
+          .addExact("/api/coupons/active");
+
+  @Test
+  @DisplayName("접두어 - 등록한 경로로 시작하면 일치")
+  public void testPrefix() {
+
+    assertTrue(trie.matches("/api/products/search"));
+    assertTrue(trie.matches("/api/products/search/autocomplete"));
+    assertTrue(trie.matches("/api/products/list/cursor"));
+  }
+
+  @Test
+  @DisplayName("숫자 자리표시 - '#' 은 숫자 한 글자와 일치")
+  public void testDigit() {
+
+    assertTrue(trie.matches("/api/products/123/x"));
+    assertTrue(trie.matches("/api/products/7"));
+    assertFalse(trie.matches("/api/products/x123"));
+    assertFalse(trie.matches("/api/products/"));
+  }
+
+  @Test
+  @DisplayName("정확히 일치 - 하위 경로/다른 경로는 불일치")
+  public void testExact() {
+
+    assertTrue(trie.matches("/api/coupons/active"));
+    assertFalse(trie.matches("/api/coupons/active/1"));
+    assertFalse(trie.matches("/api/coupons/activ"));
+    assertFalse(trie.matches("/api/coupons"));
+  }
+
+  @Test
+  @DisplayName("등록하지 않은 경로 / ASCII 가 아닌 경로는 불일치")
+  public void testNoMatch() {
+
+    assertFalse(trie.matches("/api/orders"));
+    assertFalse(trie.matches("/api/products"));
+    assertFalse(trie.matches(""));
+    assertFalse(trie.matches("/api/상품"));
+    assertThrows(IllegalStateException.class, () -> new RoutePrefixTrie().addPrefix("/api/상품"));
+  }
+
+  @Test
+  @DisplayName("JWTCheckFilter - 제외 경로와 Preflight 는 토큰 검사 생략")
+  public void testJwtCheckFilterExcludedPaths() throws Exception {
+
+    JWTCheckFilter filter = new JWTCheckFilter();
+
+    assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/products/123/x")));
+    assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/products/list/cursor")));
+    assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/products/search")));
+    assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/coupons/active")));
+    assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("OPTIONS", "/api/orders")));
+
+    assertFalse(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/products/")));
+    assertFalse(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/orders")));
+    assertFalse(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/coupons/active/1")));
+  }
+}
@@ -7,6 +7,7 @@ import org.shop.apiserver.application.dto.DeliveryDTO;
 import org.shop.apiserver.application.dto.OrderDTO;
 import org.shop.apiserver.application.dto.OrderItemDTO;
 import org.shop.apiserver.application.service.OrderService;
+import org.shop.apiserver.application.service.StockReservationService;
 import org.shop.apiserver.domain.model.product.Product;
 import org.shop.apiserver.infrastructure.persistence.jpa.ProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,14 +32,25 @@ public class LockPerformanceComparisonTests {
     @Qualifier("redisLockOrderService")
     private OrderService redisLockOrderService;
 
+    @Autowired
+    @Qualifier("reservationOrderService")
+    private OrderService reservationOrderService;
+
+    @Autowired
+    @Qualifier("optimisticOrderService")
+    private OrderService optimisticOrderService;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
     @Autowired
     private ProductRepository productRepository;
 
     /**
-     * 성능 비교: 비관적 락 vs Redis 분산락
+     * 성능 비교: 비관적 락 vs Redis 분산락 vs Redis 재고 원장 vs 낙관적 갱신
      */
     @Test
-    @DisplayName("성능 비교 - 비관적 락 vs Redis 분산락")
+    @DisplayName("성능 비교 - 비관적 락 vs Redis 분산락 vs Redis 재고 원장 vs 낙관적 갱신")
     public void testPerformanceComparison() throws InterruptedException {
 
         log.info("\n");
@@ -62,22 +74,53 @@ public class LockPerformanceComparisonTests {
         long redisDuration = runPerformanceTest(
                 redisLockOrderService,
                 "Redis 분산락",
-                2L,
+                1L,
+                50,
+                2
+        );
+
+        Thread.sleep(3000);
+
+        // 3. Redis 재고 원장 테스트 (동일 조건)
+        long reservationDuration = runPerformanceTest(
+                reservationOrderService,
+                "Redis 재고 원장",
+                1L,
                 50,
                 2
         );
 
-        // 3. 비교 결과
+        Thread.sleep(3000);
+
+        // 4. 낙관적 갱신 테스트 (동일 조건)
+        long optimisticDuration = runPerformanceTest(
+                optimisticOrderService,
+                "낙관적 갱신",
+                1L,
+                50,
+                2
+        );
+
+        // 5. 비교 결과
         log.info("\n");
         log.info("========================================");
         log.info("       최종 비교 결과");
         log.info("========================================");
-        log.info("비관적 락 실행 시간: {}ms", pessimisticDuration);
-        log.info("Redis 분산락 실행 시간: {}ms", redisDuration);
-        log.info("성능 개선: {:.2f}배 빠름", (double) pessimisticDuration / redisDuration);
+        logComparison("비관적 락", pessimisticDuration, pessimisticDuration);
+        logComparison("Redis 분산락", redisDuration, pessimisticDuration);
+        logComparison("Redis 재고 원장", reservationDuration, pessimisticDuration);
+        logComparison("낙관적 갱신", optimisticDuration, pessimisticDuration);
         log.info("========================================\n");
     }
 
+    /**
+     * 전략별 실행 시간 + 비관적 락 대비 배율 출력
+     */
+    private void logComparison(String lockType, long duration, long baseline) {
+        log.info("{} 실행 시간: {}ms (비관적 락 대비 {}배)",
+                lockType, duration, String.format("%.2f", (double) baseline / Math.max(duration, 1)));
+    }
+
     /**
      * 성능 테스트 실행
      */
@@ -88,7 +131,10 @@ public class LockPerformanceComparisonTests {
             int threadCount,
             int orderQty) throws InterruptedException {
 
-        // 재고 초기화
+        // 재고 초기화 (Redis 재고 원장은 DB 기준으로 다시 적재)
+        stockReservationService.flushPendingStock();
+        stockReservationService.evict(productId);
+
         Product product = productRepository.findById(productId).orElseThrow();
         product.changeStock(100);
         productRepository.save(product);
@@ -145,13 +191,16 @@ public class LockPerformanceComparisonTests {
         long endTime = System.currentTimeMillis();
         long duration = endTime - startTime;
 
+        // Redis 재고 원장 차감분 DB 반영
+        stockReservationService.flushPendingStock();
+
         // 결과 출력
         Product afterProduct = productRepository.findById(productId).orElseThrow();
 
         log.info("------------------------------------------");
         log.info("실행 시간: {}ms", duration);
         log.info("평균 응답시간: {}ms", duration / threadCount);
-        log.info("처리량: {:.2f} req/sec", (threadCount * 1000.0) / duration);
+        log.info("처리량: {} req/sec", String.format("%.2f", (threadCount * 1000.0) / duration));
         log.info("성공: {}", successCount.get());
         log.info("실패: {}", failCount.get());
         log.info("최종 재고: {}", afterProduct.getStock());
@@ -7,7 +7,9 @@ import org.junit.jupiter.api.Test;
 import org.shop.apiserver.application.dto.DeliveryDTO;
 import org.shop.apiserver.application.dto.OrderDTO;
 import org.shop.apiserver.application.dto.OrderItemDTO;
+import org.shop.apiserver.application.service.ContentionTracker;
 import org.shop.apiserver.application.service.OrderService;
+import org.shop.apiserver.application.service.StockReservationService;
 import org.shop.apiserver.domain.model.product.Product;
 import org.shop.apiserver.infrastructure.persistence.jpa.ProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,6 +38,22 @@ public class OrderConcurrencyTests {
     @Qualifier("redisLockOrderService")
     private OrderService redisLockOrderService;
 
+    // ✅ Redis 재고 원장 (Lua 예약) 서비스
+    @Autowired
+    @Qualifier("reservationOrderService")
+    private OrderService reservationOrderService;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    // ✅ 상품별 적응형 락 서비스
+    @Autowired
+    @Qualifier("adaptiveOrderService")
+    private OrderService adaptiveOrderService;
+
+    @Autowired
+    private ContentionTracker contentionTracker;
+
     @Autowired
     private ProductRepository productRepository;
 
@@ -394,6 +412,141 @@ public class OrderConcurrencyTests {
         log.info("========================================\n");
     }
 
+    /**
+     * 테스트 6: Redis 재고 원장 - 단일 인기 상품
+     */
+    @Test
+    @DisplayName("Redis 재고 원장 - 100명이 2개씩 주문 (재고 100개, 락 없음)")
+    public void testStockReservation() throws InterruptedException {
+
+        // Given - 이전 테스트의 원장 반영 후 DB 기준으로 다시 적재
+        stockReservationService.flushPendingStock();
+        stockReservationService.evict(1L);
+
+        Product product = productRepository.findById(1L).orElseThrow();
+        product.changeStock(100);
+        productRepository.save(product);
+
+        int initialStock = product.getStock();
+
+        log.info("\n========== Redis 재고 원장 테스트 시작 ==========");
+        log.info("초기 재고: {}", initialStock);
+        log.info("동시 사용자: 100명");
+        log.info("주문 수량: 2개");
+
+        int threadCount = 100;
+        int orderQty = 2;
+        ExecutorService executorService = Executors.newFixedThreadPool(50);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        AtomicInteger successCount = new AtomicInteger(0);
+        AtomicInteger failCount = new AtomicInteger(0);
+
+        long startTime = System.currentTimeMillis();
+
+        // When
+        for (int i = 0; i < threadCount; i++) {
+            final int index = i;
+            executorService.submit(() -> {
+                try {
+                    OrderDTO orderDTO = createOrderDTO(1L, orderQty, index);
+                    reservationOrderService.createOrder(orderDTO);
+                    successCount.incrementAndGet();
+
+                } catch (Exception e) {
+                    failCount.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        long duration = System.currentTimeMillis() - startTime;
+
+        // 원장 차감분을 DB 에 반영
+        stockReservationService.flushPendingStock();
+
+        // Then
+        Product afterProduct = productRepository.findById(1L).orElseThrow();
+
+        log.info("\n========== Redis 재고 원장 테스트 결과 ==========");
+        log.info("실행 시간: {}ms", duration);
+        log.info("평균 응답시간: {}ms", duration / threadCount);
+        log.info("성공: {}", successCount.get());
+        log.info("실패: {}", failCount.get());
+        log.info("초기 재고: {}", initialStock);
+        log.info("최종 재고: {}", afterProduct.getStock());
+        log.info("==============================================\n");
+
+        // 검증
+        assertEquals(initialStock - successCount.get() * orderQty, afterProduct.getStock());
+        assertTrue(afterProduct.getStock() >= 0);
+        assertEquals(50, successCount.get(), "50명만 성공해야 합니다");
+
+        stockReservationService.evict(1L);
+    }
+
+    /**
+     * 테스트 7: 적응형 락 - 경합 발생 시 hot 상품으로 전환
+     */
+    @Test
+    @DisplayName("적응형 락 - 100명이 2개씩 주문 시 경합 상품으로 전환 (재고 100개)")
+    public void testAdaptiveLock() throws InterruptedException {
+
+        // Given
+        Product product = productRepository.findById(1L).orElseThrow();
+        product.changeStock(100);
+        productRepository.save(product);
+
+        int initialStock = product.getStock();
+
+        int threadCount = 100;
+        int orderQty = 2;
+        ExecutorService executorService = Executors.newFixedThreadPool(50);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        AtomicInteger successCount = new AtomicInteger(0);
+        AtomicInteger failCount = new AtomicInteger(0);
+
+        // When
+        for (int i = 0; i < threadCount; i++) {
+            final int index = i;
+            executorService.submit(() -> {
+                try {
+                    OrderDTO orderDTO = createOrderDTO(1L, orderQty, index);
+                    adaptiveOrderService.createOrder(orderDTO);
+                    successCount.incrementAndGet();
+
+                } catch (Exception e) {
+                    failCount.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // Then
+        Product afterProduct = productRepository.findById(1L).orElseThrow();
+
+        log.info("\n========== 적응형 락 테스트 결과 ==========");
+        log.info("성공: {}", successCount.get());
+        log.info("실패: {}", failCount.get());
+        log.info("최종 재고: {}", afterProduct.getStock());
+        log.info("경합 상품 여부: {}", contentionTracker.isHot(1L));
+        log.info("=========================================\n");
+
+        // 검증
+        assertEquals(initialStock - successCount.get() * orderQty, afterProduct.getStock());
+        assertTrue(afterProduct.getStock() >= 0);
+        assertTrue(contentionTracker.isHot(1L), "경합 상품으로 전환되어야 합니다");
+    }
+
     // ============================================
     // Helper Methods
     // ============================================
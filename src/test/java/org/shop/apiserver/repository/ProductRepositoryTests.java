@@ -15,9 +15,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 @SpringBootTest
 @Log4j2
 public class ProductRepositoryTests {
@@ -76,6 +79,32 @@ public class ProductRepositoryTests {
     log.info("========================================");
   }
 
+  /**
+   * 이미지 참조 확인 - 삭제된 상품의 이미지는 참조로 보지 않음
+   */
+  @Test
+  @Transactional
+  public void testSelectReferencedFileNames() {
+
+    String shared = UUID.randomUUID() + ".jpg";
+    String deletedOnly = UUID.randomUUID() + ".jpg";
+
+    Product live = Product.builder().pname("참조 상품").price(1000).pdesc("이미지 참조 테스트").build();
+    live.addImageString(shared);
+
+    Product deleted = Product.builder().pname("삭제 상품").price(1000).pdesc("이미지 참조 테스트").delFlag(true).build();
+    deleted.addImageString(shared);
+    deleted.addImageString(deletedOnly);
+
+    productRepository.saveAll(List.of(live, deleted));
+
+    List<String> referenced = productRepository.selectReferencedFileNames(
+            List.of(shared, deletedOnly, "not-exists.jpg"));
+
+    log.info("referenced: {}", referenced);
+    assertEquals(List.of(shared), referenced);
+  }
+
 //
 //  @Test
 //  public void testInsert() {
@@ -0,0 +1,325 @@
+package org.shop.apiserver.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.shop.apiserver.infrastructure.vector.CachingEmbeddingModel;
+import org.shop.apiserver.infrastructure.vector.MappedHnswVectorStore;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.vectorstore.SearchRequest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 임베딩 캐시/마이크로 배치 테스트 (결정적 가짜 EmbeddingModel 사용, 외부 API 호출 없음)
+ */
+@Log4j2
+public class CachingEmbeddingModelTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("같은 본문은 한 번만 임베딩 - 재시작 후에도 캐시 유지")
+    public void testContentCache() {
+
+        FakeEmbeddingModel fake = new FakeEmbeddingModel();
+        Path cacheFile = tempDir.resolve("embeddings.dat");
+
+        CachingEmbeddingModel model = create(fake, cacheFile);
+        List<float[]> first = model.embed(List.of("상품 A", "상품 B", "상품 A"));
+        List<float[]> second = model.embed(List.of("상품 A", "상품 B"));
+        model.close();
+
+        assertEquals(2, fake.texts.size(), "중복 본문은 한 번만 전송되어야 합니다");
+        assertArrayEquals(first.get(0), second.get(0));
+        assertArrayEquals(first.get(0), first.get(2));
+
+        // 재시작 - 파일 캐시에서 로드
+        CachingEmbeddingModel restarted = create(fake, cacheFile);
+        List<float[]> third = restarted.embed(List.of("상품 A", "상품 B", "상품 C"));
+        restarted.close();
+
+        assertEquals(3, fake.texts.size(), "새 본문(상품 C)만 전송되어야 합니다");
+        assertArrayEquals(first.get(1), third.get(1));
+    }
+
+    @Test
+    @DisplayName("검색 질의는 공백/대소문자 정규화 후 캐시")
+    public void testQueryNormalization() {
+
+        FakeEmbeddingModel fake = new FakeEmbeddingModel();
+        CachingEmbeddingModel model = create(fake, tempDir.resolve("embeddings.dat"));
+
+        float[] a = model.embed("  Gaming   노트북 추천 ");
+        float[] b = model.embed("gaming 노트북\t추천");
+        model.close();
+
+        assertEquals(List.of("gaming 노트북 추천"), fake.texts);
+        assertArrayEquals(a, b);
+    }
+
+    @Test
+    @DisplayName("검색 질의 임베딩은 파일 캐시에 저장하지 않음")
+    public void testQueryNotPersisted() {
+
+        FakeEmbeddingModel fake = new FakeEmbeddingModel();
+        Path cacheFile = tempDir.resolve("embeddings.dat");
+
+        CachingEmbeddingModel model = create(fake, cacheFile);
+        model.embed("사용자 검색어");
+        model.embed(List.of("상품 A"));
+        assertEquals(1, model.cachedSize(), "상품 본문만 파일 캐시에 저장되어야 합니다");
+        model.close();
+
+        CachingEmbeddingModel restarted = create(fake, cacheFile);
+        assertEquals(1, restarted.cachedSize());
+        restarted.embed("사용자 검색어");
+        restarted.close();
+
+        assertEquals(List.of("사용자 검색어", "상품 A", "사용자 검색어"), fake.texts);
+    }
+
+    @Test
+    @DisplayName("종료 시 전송 대기 중인 배치는 예외로 완료")
+    public void testCloseFailsHeldBatch() throws Exception {
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        FakeEmbeddingModel blocking = new FakeEmbeddingModel() {
+            @Override
+            public EmbeddingResponse call(EmbeddingRequest request) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.call(request);
+            }
+        };
+
+        // 배치 1건, 동시 전송 1개 - 두 번째 요청은 dispatcher 가 들고 전송 슬롯을 기다린다
+        CachingEmbeddingModel model = new CachingEmbeddingModel(
+                blocking, "test", tempDir.resolve("embeddings.dat"), 100, 1, 1, 1);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        Future<float[]> first = executorService.submit(() -> model.embed("질의 1"));
+        started.await();
+        Future<float[]> second = executorService.submit(() -> model.embed("질의 2"));
+        Thread.sleep(200);
+
+        model.close();
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+
+        release.countDown();
+        assertNotNull(first.get(5, TimeUnit.SECONDS), "이미 전송 중인 배치는 정상 완료되어야 합니다");
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("종료 후 요청은 매번 예외 - 실패한 요청이 진행 중 목록에 남아 다음 요청을 멈추게 하지 않음")
+    public void testSubmitFailureNotLeftInFlight() {
+
+        FakeEmbeddingModel fake = new FakeEmbeddingModel();
+        CachingEmbeddingModel model = create(fake, tempDir.resolve("embeddings.dat"));
+        model.close();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThrows(IllegalStateException.class, () -> model.embed(List.of("상품 A")));
+            assertThrows(IllegalStateException.class, () -> model.embed(List.of("상품 A")));
+        });
+        assertTrue(fake.texts.isEmpty());
+    }
+
+    @Test
+    @DisplayName("결과 벡터가 없으면 예외로 완료하고 캐시에 저장하지 않음")
+    public void testNullVector() {
+
+        FakeEmbeddingModel fake = new FakeEmbeddingModel() {
+            @Override
+            public EmbeddingResponse call(EmbeddingRequest request) {
+                EmbeddingResponse response = super.call(request);
+                List<Embedding> embeddings = new ArrayList<>();
+                for (Embedding embedding : response.getResults()) {
+                    boolean empty = request.getInstructions().get(embedding.getIndex()).equals("빈 결과");
+                    embeddings.add(new Embedding(empty ? null : embedding.getOutput(), embedding.getIndex()));
+                }
+                return new EmbeddingResponse(embeddings);
+            }
+        };
+        CachingEmbeddingModel model = create(fake, tempDir.resolve("embeddings.dat"));
+
+        assertThrows(IllegalStateException.class, () -> model.embed(List.of("빈 결과")));
+        assertEquals(0, model.cachedSize());
+
+        assertNotNull(model.embed(List.of("상품 A")).get(0));
+        assertEquals(1, model.cachedSize());
+        model.close();
+    }
+
+    @Test
+    @DisplayName("파일 캐시 최대 항목 수 - 초과 시 최근 사용 항목만 남기고 재시작 후에도 같은 벡터")
+    public void testCacheFileBounded() {
+
+        FakeEmbeddingModel fake = new FakeEmbeddingModel();
+        Path cacheFile = tempDir.resolve("embeddings.dat");
+
+        CachingEmbeddingModel model = new CachingEmbeddingModel(fake, "test", cacheFile, 8, 100, 16, 20, 2);
+
+        float[] kept = model.embed(List.of("상품 0")).get(0);
+        for (int i = 1; i < 20; i++) {
+            model.embed(List.of("상품 " + i));
+            model.embed(List.of("상품 0"));     // 계속 사용되는 항목은 압축 후에도 유지
+        }
+
+        assertTrue(model.cachedSize() <= 8, "캐시 항목 수가 상한을 넘으면 안 됩니다: " + model.cachedSize());
+        int sent = fake.texts.size();
+        assertEquals(20, sent);
+
+        model.embed(List.of("상품 0", "상품 19"));
+        assertEquals(sent, fake.texts.size(), "최근 사용 항목은 다시 전송되지 않아야 합니다");
+
+        model.embed(List.of("상품 1"));
+        assertEquals(sent + 1, fake.texts.size(), "제거된 항목은 다시 전송되어야 합니다");
+        model.close();
+
+        CachingEmbeddingModel restarted = new CachingEmbeddingModel(fake, "test", cacheFile, 8, 100, 16, 20, 2);
+        assertTrue(restarted.cachedSize() <= 8);
+        assertArrayEquals(kept, restarted.embed(List.of("상품 0")).get(0));
+        assertEquals(sent + 1, fake.texts.size());
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("동시 요청은 마이크로 배치로 묶여 전송")
+    public void testMicroBatching() throws InterruptedException {
+
+        FakeEmbeddingModel fake = new FakeEmbeddingModel();
+        CachingEmbeddingModel model = create(fake, tempDir.resolve("embeddings.dat"));
+
+        int threadCount = 50;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch ready = new CountDownLatch(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            final String query = "질의 " + i;
+            executorService.submit(() -> {
+                try {
+                    ready.countDown();
+                    start.await();
+                    model.embed(query);
+                } catch (InterruptedException ignored) {
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        ready.await();
+        start.countDown();
+        done.await();
+        executorService.shutdown();
+        model.close();
+
+        log.info("요청: {}, 전송 횟수: {}", threadCount, fake.calls.get());
+
+        assertEquals(threadCount, fake.texts.size());
+        assertTrue(fake.calls.get() < threadCount, "동시 요청은 배치로 묶여야 합니다");
+    }
+
+    @Test
+    @DisplayName("재인덱싱 시 변경된 상품만 임베딩")
+    public void testReindexOnlyChanged() {
+
+        FakeEmbeddingModel fake = new FakeEmbeddingModel();
+        CachingEmbeddingModel model = create(fake, tempDir.resolve("embeddings.dat"));
+        MappedHnswVectorStore vectorStore = new MappedHnswVectorStore(model, tempDir.resolve("index"), 16, 100, 32);
+
+        List<Document> catalog = new ArrayList<>();
+        for (long pno = 1; pno <= 100; pno++) {
+            catalog.add(new Document("product_" + pno, "상품명: 상품" + pno, Map.of("pno", pno)));
+        }
+        vectorStore.add(catalog);
+        assertEquals(100, fake.texts.size());
+
+        // 상품 1개 변경 후 전체 재인덱싱
+        catalog.set(10, new Document("product_11", "상품명: 변경된 상품11", Map.of("pno", 11L)));
+        vectorStore.add(catalog);
+
+        assertEquals(101, fake.texts.size(), "변경된 상품 1개만 임베딩되어야 합니다");
+        assertEquals(100, vectorStore.size());
+
+        List<Document> result = vectorStore.similaritySearch(
+                SearchRequest.query("상품명: 변경된 상품11").withTopK(1));
+        assertEquals("product_11", result.get(0).getId());
+
+        vectorStore.close();
+        model.close();
+    }
+
+    private CachingEmbeddingModel create(EmbeddingModel delegate, Path cacheFile) {
+        return new CachingEmbeddingModel(delegate, "test", cacheFile, 100, 16, 20, 2);
+    }
+
+    /**
+     * 본문으로 시드한 난수 벡터를 반환하는 가짜 모델 (호출/본문 기록)
+     */
+    static class FakeEmbeddingModel implements EmbeddingModel {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final List<String> texts = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+
+            calls.incrementAndGet();
+            texts.addAll(request.getInstructions());
+
+            List<Embedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < request.getInstructions().size(); i++) {
+                embeddings.add(new Embedding(vector(request.getInstructions().get(i)), i));
+            }
+            return new EmbeddingResponse(embeddings);
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return vector(document.getContent());
+        }
+
+        private float[] vector(String text) {
+            Random random = new Random(text.hashCode());
+            float[] vector = new float[32];
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = random.nextFloat() - 0.5f;
+            }
+            return vector;
+        }
+    }
+}
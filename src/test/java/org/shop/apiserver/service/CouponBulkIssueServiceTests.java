@@ -0,0 +1,156 @@
+package org.shop.apiserver.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.shop.apiserver.application.dto.CouponBulkIssueResultDTO;
+import org.shop.apiserver.application.service.CouponBulkIssueService;
+import org.shop.apiserver.application.service.CouponIssueGate;
+import org.shop.apiserver.domain.model.coupon.Coupon;
+import org.shop.apiserver.domain.model.coupon.CouponType;
+import org.shop.apiserver.domain.model.coupon.MemberCoupon;
+import org.shop.apiserver.domain.model.member.Member;
+import org.shop.apiserver.infrastructure.persistence.jpa.CouponRepository;
+import org.shop.apiserver.infrastructure.persistence.jpa.MemberCouponRepository;
+import org.shop.apiserver.infrastructure.persistence.jpa.MemberRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 대량 쿠폰 발급 테스트 (테스트 회원/쿠폰을 만들고 끝나면 삭제)
+ */
+@SpringBootTest
+@Log4j2
+public class CouponBulkIssueServiceTests {
+
+    @Autowired
+    private CouponBulkIssueService couponBulkIssueService;
+
+    @Autowired
+    private CouponIssueGate couponIssueGate;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MemberCouponRepository memberCouponRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String prefix = "bulk-" + UUID.randomUUID().toString().substring(0, 8);
+    private final List<Member> members = new ArrayList<>();
+    private Coupon coupon;
+    private Object originalChunkSize;
+
+    @BeforeEach
+    public void setUp() {
+
+        // 청크 여러 개에 걸쳐 수량이 소진되도록 청크 크기를 줄임
+        originalChunkSize = ReflectionTestUtils.getField(couponBulkIssueService, "chunkSize");
+        ReflectionTestUtils.setField(couponBulkIssueService, "chunkSize", 2);
+
+        for (int i = 0; i < 8; i++) {
+            members.add(memberRepository.save(Member.builder()
+                    .email(prefix + "-" + i + "@aaa.com")
+                    .pw("1111")
+                    .nickname("BULK" + i)
+                    .build()));
+        }
+
+        // 최대 5장, 회원 0 은 이미 보유 (issuedCount 1)
+        coupon = couponRepository.save(Coupon.builder()
+                .couponCode(prefix)
+                .couponName("대량 발급 테스트")
+                .couponType(CouponType.FIXED)
+                .discountValue(1000)
+                .endDate(LocalDateTime.now().plusDays(1))
+                .issuedCount(1)
+                .maxIssueCount(5)
+                .build());
+
+        memberCouponRepository.save(MemberCoupon.builder()
+                .member(members.get(0))
+                .coupon(coupon)
+                .build());
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        ReflectionTestUtils.setField(couponBulkIssueService, "chunkSize", originalChunkSize);
+        couponIssueGate.evict(coupon.getCouponCode());
+        jdbcTemplate.update("DELETE FROM member_coupon WHERE coupon_id = ?", coupon.getCouponId());
+        couponRepository.delete(coupon);
+        memberRepository.deleteAll(members);
+    }
+
+    @Test
+    @DisplayName("최대 수량까지만 발급, 요청 내 중복/기보유/없는 회원 제외, 결과 건수 일치")
+    public void testIssueBulk() {
+
+        List<String> emails = new ArrayList<>();
+        emails.add(email(0));                   // 기보유
+        emails.add(email(1));
+        emails.add(email(1));                   // 요청 내 중복
+        for (int i = 2; i < 8; i++) {
+            emails.add(email(i));
+        }
+        emails.add(prefix + "-nobody@aaa.com"); // 없는 회원
+
+        CouponBulkIssueResultDTO result = couponBulkIssueService.issueBulk(coupon.getCouponCode(), emails);
+
+        log.info(result);
+
+        // 대상 8명 (회원 1~7 + 없는 회원) 중 남은 수량 4장만 발급
+        assertEquals(10, result.getRequestedCount());
+        assertEquals(1, result.getDuplicatedCount());
+        assertEquals(1, result.getAlreadyIssuedCount());
+        assertEquals(4, result.getIssuedCount());
+        assertEquals(4, result.getRejectedCount());
+        assertEquals(4, result.getTotalChunks());
+        assertEquals(0, result.getFailedChunks());
+
+        List<String> holders = memberCouponRepository.findMemberEmailsByCouponId(coupon.getCouponId());
+        assertEquals(5, holders.size());
+        assertEquals(5, new HashSet<>(holders).size(), "회원당 1장만 저장되어야 합니다");
+        assertFalse(holders.contains(prefix + "-nobody@aaa.com"));
+
+        // 저장되지 않은 선점 수량은 반환되어 issuedCount 가 실제 보유 건수와 같아야 함
+        assertEquals(5, couponRepository.findById(coupon.getCouponId()).orElseThrow().getIssuedCount());
+    }
+
+    @Test
+    @DisplayName("다시 요청하면 모두 기보유 또는 소진으로 제외")
+    public void testIssueBulkTwice() {
+
+        List<String> emails = members.stream().map(Member::getEmail).toList();
+
+        CouponBulkIssueResultDTO first = couponBulkIssueService.issueBulk(coupon.getCouponCode(), emails);
+        CouponBulkIssueResultDTO second = couponBulkIssueService.issueBulk(coupon.getCouponCode(), emails);
+
+        assertEquals(4, first.getIssuedCount());
+        assertEquals(0, second.getIssuedCount());
+        assertEquals(5, second.getAlreadyIssuedCount());
+        assertEquals(3, second.getRejectedCount());
+        assertEquals(5, couponRepository.findById(coupon.getCouponId()).orElseThrow().getIssuedCount());
+    }
+
+    private String email(int index) {
+        return members.get(index).getEmail();
+    }
+}
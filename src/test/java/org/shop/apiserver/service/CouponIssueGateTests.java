@@ -0,0 +1,103 @@
+package org.shop.apiserver.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.shop.apiserver.application.service.CouponIssueGate;
+import org.shop.apiserver.common.exception.CouponException;
+import org.shop.apiserver.common.exception.ErrorCode;
+import org.shop.apiserver.domain.model.coupon.Coupon;
+import org.shop.apiserver.domain.model.coupon.CouponType;
+import org.shop.apiserver.infrastructure.persistence.jpa.CouponRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 선착순 쿠폰 발급 게이트 테스트 (테스트 쿠폰을 만들고 끝나면 삭제)
+ */
+@SpringBootTest
+public class CouponIssueGateTests {
+
+    @Autowired
+    private CouponIssueGate couponIssueGate;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    private final List<Coupon> createdCoupons = new ArrayList<>();
+
+    @AfterEach
+    public void cleanUp() {
+        createdCoupons.forEach(coupon -> couponIssueGate.evict(coupon.getCouponCode()));
+        couponRepository.deleteAll(createdCoupons);
+        createdCoupons.clear();
+    }
+
+    @Test
+    @DisplayName("수량 2장 - 선착순 2명 통과, 중복/소진 거절, 반환된 자리는 다음 요청이 통과")
+    public void testAcceptAndReject() {
+
+        String couponCode = createCoupon(2, true, LocalDateTime.now().plusDays(1)).getCouponCode();
+
+        couponIssueGate.tryIssue("user0@aaa.com", couponCode);
+        couponIssueGate.tryIssue("user1@aaa.com", couponCode);
+
+        assertRejected(ErrorCode.COUPON_ALREADY_ISSUED, "user0@aaa.com", couponCode);
+        assertRejected(ErrorCode.COUPON_STOCK_EMPTY, "user2@aaa.com", couponCode);
+
+        assertEquals("2", stringRedisTemplate.opsForHash().get("coupon:meta:" + couponCode, "issued"));
+
+        // DB 저장 실패로 반환된 자리는 다른 회원이 차지할 수 있다
+        couponIssueGate.release("user1@aaa.com", couponCode);
+        couponIssueGate.tryIssue("user2@aaa.com", couponCode);
+
+        assertRejected(ErrorCode.COUPON_STOCK_EMPTY, "user1@aaa.com", couponCode);
+        assertEquals(Boolean.TRUE, stringRedisTemplate.opsForSet().isMember("coupon:issued:" + couponCode, "user2@aaa.com"));
+    }
+
+    @Test
+    @DisplayName("비활성/만료/없는 쿠폰은 DB 저장 전에 거절")
+    public void testUnavailable() {
+
+        String inactive = createCoupon(10, false, LocalDateTime.now().plusDays(1)).getCouponCode();
+        String expired = createCoupon(10, true, LocalDateTime.now().minusMinutes(1)).getCouponCode();
+
+        assertRejected(ErrorCode.COUPON_UNAVAILABLE, "user0@aaa.com", inactive);
+        assertRejected(ErrorCode.COUPON_UNAVAILABLE, "user0@aaa.com", expired);
+        assertRejected(ErrorCode.COUPON_NOT_FOUND, "user0@aaa.com", "NONE-" + UUID.randomUUID());
+
+        assertEquals(Boolean.FALSE, stringRedisTemplate.opsForSet().isMember("coupon:issued:" + inactive, "user0@aaa.com"));
+    }
+
+    private void assertRejected(ErrorCode expected, String email, String couponCode) {
+        CouponException e = assertThrows(CouponException.class, () -> couponIssueGate.tryIssue(email, couponCode));
+        assertEquals(expected, e.getErrorCode());
+    }
+
+    private Coupon createCoupon(int maxIssueCount, boolean active, LocalDateTime endDate) {
+
+        Coupon coupon = couponRepository.save(Coupon.builder()
+                .couponCode("GATE-" + UUID.randomUUID().toString().substring(0, 8))
+                .couponName("발급 게이트 테스트")
+                .couponType(CouponType.FIXED)
+                .discountValue(1000)
+                .endDate(endDate)
+                .active(active)
+                .maxIssueCount(maxIssueCount)
+                .build());
+
+        createdCoupons.add(coupon);
+        return coupon;
+    }
+}
@@ -0,0 +1,157 @@
+package org.shop.apiserver.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.shop.apiserver.application.dto.CouponDTO;
+import org.shop.apiserver.application.facade.CouponFacade;
+import org.shop.apiserver.application.service.AsyncCouponServiceImpl;
+import org.shop.apiserver.application.service.CouponService;
+import org.shop.apiserver.domain.model.coupon.Coupon;
+import org.shop.apiserver.domain.model.coupon.CouponType;
+import org.shop.apiserver.infrastructure.persistence.jpa.CouponRepository;
+import org.shop.apiserver.infrastructure.persistence.jpa.MemberCouponRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "coupon.issue.async=true",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}"
+})
+@EmbeddedKafka(partitions = 3, topics = {"coupon-issue-events", "coupon-issue-events-dlt"})
+@Log4j2
+public class CouponIssueKafkaTests {
+
+    @Autowired
+    private CouponFacade couponFacade;
+
+    @Autowired
+    private CouponService couponService;
+
+    @Autowired
+    private AsyncCouponServiceImpl asyncCouponService;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private MemberCouponRepository memberCouponRepository;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @Test
+    @DisplayName("비동기 발급 - 10명 요청, 선착순 5명만 저장 (중복 이벤트 무시)")
+    public void testAsyncIssue() throws InterruptedException {
+
+        // Given - 선착순 5장 쿠폰
+        String couponCode = "ASYNC-" + UUID.randomUUID().toString().substring(0, 8);
+
+        Long couponId = couponService.createCoupon(CouponDTO.builder()
+                .couponCode(couponCode)
+                .couponName("비동기 발급 테스트")
+                .couponType(CouponType.FIXED)
+                .discountValue(1000)
+                .endDate(LocalDateTime.now().plusDays(1))
+                .stock(5L)
+                .build());
+
+        int threadCount = 10;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        Set<String> acceptedEmails = ConcurrentHashMap.newKeySet();
+        AtomicInteger rejectedCount = new AtomicInteger(0);
+
+        // When - user0 ~ user9 동시 요청
+        for (int i = 0; i < threadCount; i++) {
+            final String email = "user" + i + "@aaa.com";
+            executorService.submit(() -> {
+                try {
+                    if (couponFacade.issueCouponAuto(email, couponCode)) {
+                        acceptedEmails.add(email);
+                    }
+                } catch (Exception e) {
+                    rejectedCount.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // 재전송된 중복 이벤트 (같은 회원 이벤트가 한 번 더 들어와도 1건만 저장)
+        acceptedEmails.forEach(email -> asyncCouponService.issueCoupon(email, couponCode));
+
+        // Then - 컨슈머 배치 저장 대기
+        int issued = 0;
+        for (int i = 0; i < 50 && issued < acceptedEmails.size(); i++) {
+            Thread.sleep(200);
+            issued = memberCouponRepository.findMemberEmailsByCouponId(couponId).size();
+        }
+        Thread.sleep(1000);
+        issued = memberCouponRepository.findMemberEmailsByCouponId(couponId).size();
+
+        Coupon coupon = couponRepository.findById(couponId).orElseThrow();
+
+        log.info("\n========== 비동기 발급 테스트 결과 ==========");
+        log.info("접수: {}", acceptedEmails.size());
+        log.info("거절: {}", rejectedCount.get());
+        log.info("저장: {}", issued);
+        log.info("issuedCount: {}", coupon.getIssuedCount());
+        log.info("==========================================\n");
+
+        assertEquals(5, acceptedEmails.size(), "5명만 접수되어야 합니다");
+        assertEquals(5, rejectedCount.get(), "5명은 거절되어야 합니다");
+        assertEquals(5, issued, "중복 이벤트가 있어도 회원당 1건만 저장되어야 합니다");
+        assertEquals(5, coupon.getIssuedCount());
+    }
+
+    @Test
+    @DisplayName("역직렬화 실패 이벤트 - 컨슈머를 멈추지 않고 원본 그대로 DLT 로 전송")
+    public void testPoisonEventGoesToDlt() {
+
+        // JSON 문자열이라 CouponIssueEvent 로 역직렬화 불가
+        kafkaTemplate.send("coupon-issue-events", "POISON", "not-a-coupon-event");
+
+        Map<String, Object> props = KafkaTestUtils.consumerProps("coupon-dlt-test", "false", embeddedKafka);
+        try (Consumer<String, byte[]> consumer = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new ByteArrayDeserializer()).createConsumer()) {
+
+            embeddedKafka.consumeFromAnEmbeddedTopic(consumer, "coupon-issue-events-dlt");
+            ConsumerRecord<String, byte[]> record =
+                    KafkaTestUtils.getSingleRecord(consumer, "coupon-issue-events-dlt", Duration.ofSeconds(30));
+
+            assertEquals("POISON", record.key());
+            assertEquals("\"not-a-coupon-event\"", new String(record.value(), StandardCharsets.UTF_8));
+        }
+    }
+}
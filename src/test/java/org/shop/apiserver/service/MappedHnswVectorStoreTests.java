@@ -0,0 +1,290 @@
+package org.shop.apiserver.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.shop.apiserver.infrastructure.vector.MappedHnswVectorStore;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HNSW 벡터 저장소 테스트 (결정적 가짜 EmbeddingModel 사용, 외부 API 호출 없음)
+ */
+@Log4j2
+public class MappedHnswVectorStoreTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("재현율 - 전수 비교 대비 top-10 재현율 0.9 이상")
+    public void testRecallAgainstBruteForce() {
+
+        VectorModel model = new VectorModel(false);
+        MappedHnswVectorStore vectorStore = new MappedHnswVectorStore(model, tempDir.resolve("index"), 16, 200, 64);
+
+        List<Document> catalog = catalog(2000);
+        vectorStore.add(catalog);
+
+        int topK = 10;
+        int queries = 50;
+        int hits = 0;
+
+        for (int q = 0; q < queries; q++) {
+            String query = "질의 " + q;
+
+            Set<String> expected = bruteForce(model, catalog, query, topK);
+            Set<String> actual = vectorStore.similaritySearch(SearchRequest.query(query).withTopK(topK)).stream()
+                    .map(Document::getId)
+                    .collect(Collectors.toSet());
+
+            actual.retainAll(expected);
+            hits += actual.size();
+        }
+
+        double recall = (double) hits / (queries * topK);
+        log.info("HNSW 재현율 (2000건, top-{}): {}", topK, recall);
+
+        assertTrue(recall >= 0.9, "재현율이 너무 낮습니다: " + recall);
+        vectorStore.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷 - 재시작 후 같은 문서/같은 검색 결과")
+    public void testSnapshotRoundTrip() {
+
+        VectorModel model = new VectorModel(false);
+        Path directory = tempDir.resolve("index");
+
+        MappedHnswVectorStore vectorStore = new MappedHnswVectorStore(model, directory, 16, 100, 32);
+        vectorStore.add(catalog(300));
+        vectorStore.delete(List.of("doc_1", "doc_2", "doc_3"));
+        vectorStore.add(List.of(new Document("doc_4", "변경된 문서 4", Map.of("category", "B"))));
+
+        Map<String, List<String>> before = new HashMap<>();
+        for (int q = 0; q < 10; q++) {
+            before.put("질의 " + q, search(vectorStore, "질의 " + q, 5));
+        }
+        int size = vectorStore.size();
+        vectorStore.close();
+
+        // 재시작
+        MappedHnswVectorStore restarted = new MappedHnswVectorStore(model, directory, 16, 100, 32);
+
+        assertEquals(size, restarted.size());
+        before.forEach((query, ids) -> assertEquals(ids, search(restarted, query, 5)));
+
+        List<Document> changed = restarted.similaritySearch(SearchRequest.query("변경된 문서 4").withTopK(1));
+        assertEquals("doc_4", changed.get(0).getId());
+        assertEquals("변경된 문서 4", changed.get(0).getContent());
+
+        List<String> all = search(restarted, "질의 0", size);
+        assertFalse(all.contains("doc_1"), "삭제한 문서는 재시작 후에도 검색되지 않아야 합니다");
+
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("삭제 표시 - 대부분 삭제되어도 남은 문서로 topK 를 채움")
+    public void testSearchSkipsTombstones() {
+
+        VectorModel model = new VectorModel(true);
+        MappedHnswVectorStore vectorStore = new MappedHnswVectorStore(model, tempDir.resolve("index"), 16, 100, 16);
+
+        vectorStore.add(catalog(500));
+
+        List<String> removed = new ArrayList<>();
+        for (int i = 10; i < 500; i++) {
+            removed.add("doc_" + i);
+        }
+        vectorStore.delete(removed);
+
+        List<String> result = search(vectorStore, "질의", 10);
+
+        assertEquals(10, result.size());
+        assertTrue(result.stream().noneMatch(removed::contains));
+        vectorStore.close();
+    }
+
+    @Test
+    @DisplayName("압축 - 삭제 비율이 기준 이상이면 유효 문서만으로 새 세대를 만들고 재시작 후에도 유지")
+    public void testCompaction() {
+
+        VectorModel model = new VectorModel(true);
+        Path directory = tempDir.resolve("index");
+
+        MappedHnswVectorStore vectorStore = new MappedHnswVectorStore(model, directory, 16, 100, 64, 0.5);
+
+        List<Document> catalog = catalog(500);
+        vectorStore.add(catalog);
+        vectorStore.flushAndWait();
+
+        // 삭제 비율 기준 미만이면 압축하지 않음
+        vectorStore.delete(List.of("doc_0", "doc_1"));
+        assertFalse(vectorStore.compact());
+
+        List<String> removed = new ArrayList<>();
+        for (int i = 0; i < 450; i++) {
+            removed.add("doc_" + i);
+        }
+        vectorStore.delete(removed);
+
+        assertTrue(vectorStore.compact());
+        assertEquals(50, vectorStore.size());
+        assertTrue(Files.exists(directory.resolve("g1").resolve("documents.dat")));
+        assertFalse(Files.exists(directory.resolve("documents.dat")), "이전 세대 파일은 삭제되어야 합니다");
+
+        List<Document> live = catalog.subList(450, 500);
+        Map<String, Set<String>> after = new HashMap<>();
+        for (int q = 0; q < 10; q++) {
+            String query = "질의 " + q;
+            Set<String> actual = new HashSet<>(search(vectorStore, query, 10));
+
+            assertEquals(bruteForce(model, live, query, 10), actual);
+            after.put(query, actual);
+        }
+        vectorStore.close();
+
+        // 재시작 - 압축된 세대에서 로드
+        MappedHnswVectorStore restarted = new MappedHnswVectorStore(model, directory, 16, 100, 64, 0.5);
+
+        assertEquals(50, restarted.size());
+        after.forEach((query, ids) -> assertEquals(ids, new HashSet<>(search(restarted, query, 10))));
+        assertFalse(restarted.compact());
+
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("메타데이터 필터 - 조건에 맞는 문서만 topK 개 반환")
+    public void testFilterExpression() {
+
+        VectorModel model = new VectorModel(true);
+        MappedHnswVectorStore vectorStore = new MappedHnswVectorStore(model, tempDir.resolve("index"), 16, 100, 16);
+
+        vectorStore.add(catalog(500));
+
+        FilterExpressionBuilder b = new FilterExpressionBuilder();
+
+        List<Document> categoryA = vectorStore.similaritySearch(SearchRequest.query("질의").withTopK(10)
+                .withFilterExpression(b.eq("category", "A").build()));
+
+        assertEquals(10, categoryA.size());
+        assertTrue(categoryA.stream().allMatch(document -> "A".equals(document.getMetadata().get("category"))));
+
+        List<Document> ranged = vectorStore.similaritySearch(SearchRequest.query("질의").withTopK(5)
+                .withFilterExpression(b.and(b.eq("category", "B"), b.lt("pno", 50)).build()));
+
+        assertEquals(5, ranged.size());
+        assertTrue(ranged.stream().allMatch(document ->
+                "B".equals(document.getMetadata().get("category"))
+                        && ((Number) document.getMetadata().get("pno")).longValue() < 50));
+
+        vectorStore.close();
+    }
+
+    // ============================================
+    // Helper
+    // ============================================
+
+    /**
+     * doc_0 ~ doc_{n-1}, 10건 중 1건만 category A
+     */
+    private List<Document> catalog(int count) {
+        List<Document> catalog = new ArrayList<>(count);
+        for (long i = 0; i < count; i++) {
+            catalog.add(new Document("doc_" + i, "문서 " + i, Map.of("pno", i, "category", i % 10 == 0 ? "A" : "B")));
+        }
+        return catalog;
+    }
+
+    private List<String> search(MappedHnswVectorStore vectorStore, String query, int topK) {
+        return vectorStore.similaritySearch(SearchRequest.query(query).withTopK(topK)).stream()
+                .map(Document::getId)
+                .toList();
+    }
+
+    private Set<String> bruteForce(VectorModel model, List<Document> catalog, String query, int topK) {
+
+        float[] q = normalize(model.vector(query));
+
+        return catalog.stream()
+                .sorted(Comparator.comparingDouble((Document document) ->
+                        dot(q, normalize(model.vector(document.getContent())))).reversed())
+                .limit(topK)
+                .map(Document::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        norm = Math.sqrt(norm);
+
+        float[] normalized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = (float) (vector[i] / norm);
+        }
+        return normalized;
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    /**
+     * 본문으로 시드한 난수 벡터를 반환하는 가짜 모델
+     * positive = true 이면 모든 성분이 양수 (모든 문서 쌍의 유사도가 양수 - 유사도 하한에 걸리지 않음)
+     */
+    static class VectorModel implements EmbeddingModel {
+
+        private final boolean positive;
+
+        VectorModel(boolean positive) {
+            this.positive = positive;
+        }
+
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+
+            List<Embedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < request.getInstructions().size(); i++) {
+                embeddings.add(new Embedding(vector(request.getInstructions().get(i)), i));
+            }
+            return new EmbeddingResponse(embeddings);
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return vector(document.getContent());
+        }
+
+        float[] vector(String text) {
+            Random random = new Random(text.hashCode());
+            float[] vector = new float[32];
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = positive ? random.nextFloat() : random.nextFloat() - 0.5f;
+            }
+            return vector;
+        }
+    }
+}
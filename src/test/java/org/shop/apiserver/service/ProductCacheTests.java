@@ -0,0 +1,119 @@
+package org.shop.apiserver.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.shop.apiserver.application.dto.PageRequestDTO;
+import org.shop.apiserver.application.dto.ProductDTO;
+import org.shop.apiserver.application.service.ProductIndexSyncService;
+import org.shop.apiserver.application.service.ProductService;
+import org.shop.apiserver.domain.model.product.Product;
+import org.shop.apiserver.infrastructure.persistence.jpa.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 상품 상세/목록 캐시 테스트 (검색 인덱스 동기화는 mock, 테스트 상품은 끝나면 삭제)
+ */
+@SpringBootTest
+@Log4j2
+public class ProductCacheTests {
+
+  @Autowired
+  private ProductService productService;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  @MockitoBean
+  private ProductIndexSyncService productIndexSyncService;
+
+  private final List<Long> createdPnos = new ArrayList<>();
+
+  @AfterEach
+  public void cleanUp() {
+    createdPnos.forEach(pno -> cacheManager.getCache("product-detail").evict(pno));
+    cacheManager.getCache("product-list").clear();
+    productRepository.deleteAllById(createdPnos);
+    createdPnos.clear();
+  }
+
+  @Test
+  @DisplayName("상세 - 캐시된 값은 DB 직접 변경에 영향받지 않고, modify 후에는 새 값으로 다시 적재")
+  public void testDetailCacheEvictedOnModify() {
+
+    Long pno = createProduct("캐시 테스트 상품");
+
+    assertEquals("캐시 테스트 상품", productService.get(pno).getPname());
+    assertNotNull(cacheManager.getCache("product-detail").get(pno));
+
+    // 서비스를 거치지 않은 변경은 캐시에 반영되지 않음 (캐시에서 응답)
+    Product product = productRepository.findById(pno).orElseThrow();
+    product.changeName("DB 직접 변경");
+    productRepository.save(product);
+
+    assertEquals("캐시 테스트 상품", productService.get(pno).getPname());
+
+    productService.modify(ProductDTO.builder()
+            .pno(pno)
+            .pname("수정된 상품")
+            .price(2000)
+            .pdesc("수정")
+            .build());
+
+    assertNull(cacheManager.getCache("product-detail").get(pno));
+    assertEquals("수정된 상품", productService.get(pno).getPname());
+  }
+
+  @Test
+  @DisplayName("목록 - 페이지별로 캐시되고 상품 등록/삭제 시 전체 무효화")
+  public void testListCacheEvictedOnRegisterAndRemove() {
+
+    PageRequestDTO pageRequestDTO = PageRequestDTO.builder().build();
+    String key = pageRequestDTO.getPage() + ":" + pageRequestDTO.getSize();
+
+    productService.getList(pageRequestDTO);
+    assertNotNull(cacheManager.getCache("product-list").get(key));
+
+    Long pno = productService.register(ProductDTO.builder()
+            .pname("등록 캐시 테스트 상품")
+            .price(1000)
+            .pdesc("등록")
+            .build());
+    createdPnos.add(pno);
+
+    assertNull(cacheManager.getCache("product-list").get(key));
+
+    productService.getList(pageRequestDTO);
+    assertNotNull(cacheManager.getCache("product-list").get(key));
+
+    productService.get(pno);
+    productService.remove(pno);
+
+    assertNull(cacheManager.getCache("product-list").get(key));
+    assertNull(cacheManager.getCache("product-detail").get(pno));
+  }
+
+  private Long createProduct(String pname) {
+
+    Product product = productRepository.save(Product.builder()
+            .pname(pname)
+            .price(1000)
+            .pdesc("캐시 테스트")
+            .build());
+
+    createdPnos.add(product.getPno());
+    return product.getPno();
+  }
+}
@@ -0,0 +1,111 @@
+package org.shop.apiserver.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.shop.apiserver.application.dto.ProductDTO;
+import org.shop.apiserver.application.service.ProductIndexingJob;
+import org.shop.apiserver.application.service.ProductService;
+import org.shop.apiserver.application.service.RecommendationCacheIndex;
+import org.shop.apiserver.domain.model.product.Product;
+import org.shop.apiserver.infrastructure.persistence.jpa.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 상품 변경 이벤트 발행 시점 테스트 (커밋된 변경만 Redis 채널로 발행, 벡터 인덱싱은 mock)
+ */
+@SpringBootTest
+public class ProductChangedEventTests {
+
+    private static final String CHANNEL = "product:changed";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoSpyBean
+    private StringRedisTemplate stringRedisTemplate;
+
+    @MockitoBean
+    private ProductIndexingJob productIndexingJob;
+
+    @MockitoBean
+    private RecommendationCacheIndex recommendationCacheIndex;
+
+    private final List<Long> createdPnos = new ArrayList<>();
+
+    @AfterEach
+    public void cleanUp() {
+        productRepository.deleteAllById(createdPnos);
+        createdPnos.clear();
+    }
+
+    @Test
+    @DisplayName("롤백된 수정은 변경 이벤트를 발행하지 않고, 커밋된 수정만 발행")
+    public void testRolledBackChangeNotPublished() {
+
+        Long pno = createProduct("이벤트 테스트 상품");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.modify(modified(pno));
+            status.setRollbackOnly();
+        });
+
+        verify(stringRedisTemplate, never()).convertAndSend(CHANNEL, String.valueOf(pno));
+        assertEquals("이벤트 테스트 상품", productRepository.findById(pno).orElseThrow().getPname());
+
+        productService.modify(modified(pno));
+
+        verify(stringRedisTemplate, times(1)).convertAndSend(CHANNEL, String.valueOf(pno));
+    }
+
+    @Test
+    @DisplayName("재고 변경은 벡터 인덱스 동기화 대상이 아님")
+    public void testStockChangeNotPublished() {
+
+        Long pno = createProduct("재고 이벤트 테스트 상품");
+
+        productService.changeStock(pno, 10);
+
+        verify(stringRedisTemplate, never()).convertAndSend(CHANNEL, String.valueOf(pno));
+    }
+
+    private ProductDTO modified(Long pno) {
+        return ProductDTO.builder()
+                .pno(pno)
+                .pname("수정된 상품")
+                .price(2000)
+                .pdesc("수정")
+                .build();
+    }
+
+    private Long createProduct(String pname) {
+
+        Product product = productRepository.save(Product.builder()
+                .pname(pname)
+                .price(1000)
+                .pdesc("이벤트 테스트")
+                .build());
+
+        createdPnos.add(product.getPno());
+        return product.getPno();
+    }
+}
@@ -0,0 +1,130 @@
+package org.shop.apiserver.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.shop.apiserver.application.dto.ProductImportResultDTO;
+import org.shop.apiserver.application.service.ProductImportService;
+import org.shop.apiserver.application.service.ProductIndexingJob;
+import org.shop.apiserver.util.CsvReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 상품 대량 등록 테스트 (테스트 상품이 실제로 저장됨)
+ * 인덱싱 작업은 mock - 임베딩 API 를 호출하는 전체 인덱싱이 백그라운드에서 실행되지 않도록
+ */
+@SpringBootTest
+@Log4j2
+public class ProductImportServiceTests {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @MockitoBean
+    private ProductIndexingJob productIndexingJob;
+
+    @Test
+    @DisplayName("CSV - 따옴표 안의 쉼표/줄바꿈/따옴표 처리")
+    public void testCsvReader() throws Exception {
+
+        String csv = "\uFEFFpname,price,pdesc\n" +
+                "\"무선, 마우스\",15000,\"2줄\n설명 \"\"특가\"\"\"\r\n" +
+                "키보드,30000,\n";
+
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            assertEquals(List.of("pname", "price", "pdesc"), reader.next());
+            assertEquals(List.of("무선, 마우스", "15000", "2줄\n설명 \"특가\""), reader.next());
+            assertEquals(List.of("키보드", "30000", ""), reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("CSV 대량 등록 - 형식 오류 행은 건너뛰고 나머지는 저장")
+    public void testImportCsv() throws Exception {
+
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+
+        String csv = "pname,price,pdesc,stock,images\n" +
+                "대량등록 " + tag + " 1,1000,설명1,10,a_" + tag + ".jpg|b_" + tag + ".jpg\n" +
+                "대량등록 " + tag + " 2,2000,설명2,,\n" +
+                ",3000,상품명 없음,1,\n" +
+                "대량등록 " + tag + " 4,가격,숫자 오류,1,\n";
+
+        ProductImportResultDTO result = productImportService.importProducts(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ProductImportService.CSV);
+
+        log.info(result);
+
+        assertEquals(4, result.getTotalRows());
+        assertEquals(2, result.getImportedCount());
+        assertEquals(2, result.getSkippedCount());
+        assertEquals(0, result.getFailedChunks());
+        assertEquals(2, result.getErrors().size());
+
+        verify(productIndexingJob).start(ProductIndexingJob.Mode.CHANGED);
+    }
+
+    @Test
+    @DisplayName("컬럼 길이 초과 행은 건너뛰고 같은 청크의 나머지 행은 저장")
+    public void testImportRejectsTooLongColumns() throws Exception {
+
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        String tooLong = "가".repeat(256);
+
+        String csv = "pname,price,pdesc,stock,images\n" +
+                "대량등록 " + tag + " 1,1000,설명1,1,\n" +
+                tooLong + ",1000,상품명 초과,1,\n" +
+                "대량등록 " + tag + " 3,1000," + tooLong + ",1,\n" +
+                "대량등록 " + tag + " 4,1000,이미지 초과,1,a_" + tag + ".jpg|" + tooLong + ".jpg\n";
+
+        ProductImportResultDTO result = productImportService.importProducts(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ProductImportService.CSV);
+
+        log.info(result);
+
+        assertEquals(4, result.getTotalRows());
+        assertEquals(1, result.getImportedCount());
+        assertEquals(3, result.getSkippedCount());
+        assertEquals(0, result.getFailedChunks());
+    }
+
+    @Test
+    @DisplayName("JSONL 대량 등록 - 잘못된 줄은 건너뜀")
+    public void testImportJsonl() throws Exception {
+
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+
+        String jsonl = "{\"pname\":\"대량등록 " + tag + "\",\"price\":5000,\"pdesc\":\"JSONL\",\"stock\":3," +
+                "\"images\":[\"first_" + tag + ".jpg\",\"second_" + tag + ".jpg\"]}\n" +
+                "{잘못된 JSON\n";
+
+        ProductImportResultDTO result = productImportService.importProducts(
+                new ByteArrayInputStream(jsonl.getBytes(StandardCharsets.UTF_8)), ProductImportService.JSONL);
+
+        log.info(result);
+
+        assertEquals(1, result.getImportedCount());
+        assertEquals(1, result.getSkippedCount());
+    }
+
+    @Test
+    @DisplayName("Content-Type 으로 형식 판별")
+    public void testResolveFormat() {
+
+        assertEquals(ProductImportService.CSV, ProductImportService.resolveFormat("text/csv; charset=UTF-8"));
+        assertEquals(ProductImportService.JSONL, ProductImportService.resolveFormat("application/x-ndjson"));
+        assertThrows(IllegalStateException.class, () -> ProductImportService.resolveFormat("application/json"));
+    }
+}
@@ -0,0 +1,170 @@
+package org.shop.apiserver.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.shop.apiserver.application.service.ProductIndexSyncService;
+import org.shop.apiserver.application.service.ProductIndexingJob;
+import org.shop.apiserver.application.service.RecommendationCacheIndex;
+import org.shop.apiserver.application.service.SemanticRecommendationCache;
+import org.shop.apiserver.domain.model.product.Product;
+import org.shop.apiserver.infrastructure.persistence.jpa.ProductRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 상품 변경 -> 벡터 인덱스 동기화 테스트 (Redis Set 은 메모리 Map, 캐시는 ConcurrentMapCache)
+ */
+public class ProductIndexSyncServiceTests {
+
+    private final Map<String, Set<String>> redisSets = new HashMap<>();
+
+    private ProductRepository productRepository;
+    private ProductIndexingJob productIndexingJob;
+    private ConcurrentMapCacheManager cacheManager;
+    private RecommendationCacheIndex recommendationCacheIndex;
+    private ProductIndexSyncService productIndexSyncService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+
+        SetOperations<String, String> setOperations = mock(SetOperations.class, invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "add" -> {
+                    Object[] members = (Object[]) invocation.getRawArguments()[1];
+                    Set<String> set = redisSets.computeIfAbsent(invocation.getArgument(0), k -> new HashSet<>());
+                    Arrays.stream(members).forEach(member -> set.add((String) member));
+                    return (long) members.length;
+                }
+                case "members" -> {
+                    Set<String> set = redisSets.get(invocation.<String>getArgument(0));
+                    return set != null ? new HashSet<>(set) : null;
+                }
+                default -> {
+                    return null;
+                }
+            }
+        });
+
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+        when(stringRedisTemplate.opsForSet()).thenReturn(setOperations);
+        when(stringRedisTemplate.delete(anyString())).thenAnswer(invocation ->
+                redisSets.remove(invocation.<String>getArgument(0)) != null);
+
+        cacheManager = new ConcurrentMapCacheManager("product-recommendations", "vector-search");
+        recommendationCacheIndex = new RecommendationCacheIndex(
+                stringRedisTemplate, cacheManager, mock(SemanticRecommendationCache.class));
+
+        productRepository = mock(ProductRepository.class);
+        productIndexingJob = mock(ProductIndexingJob.class);
+
+        productIndexSyncService = new ProductIndexSyncService(productRepository, productIndexingJob,
+                recommendationCacheIndex, stringRedisTemplate, mock(RedisMessageListenerContainer.class));
+    }
+
+    @Test
+    @DisplayName("상품 X 변경 - X 가 포함된 캐시 항목만 제거")
+    public void testEvictOnlyEntriesContainingProduct() {
+
+        Cache recommendations = cacheManager.getCache("product-recommendations");
+        Cache vectorSearch = cacheManager.getCache("vector-search");
+
+        cache(recommendations, "노트북", List.of(1L, 2L));
+        cache(recommendations, "키보드", List.of(3L));
+        cache(vectorSearch, "노트북-5", List.of(2L, 4L));
+        cache(vectorSearch, "마우스-5", List.of(4L));
+
+        when(productRepository.findAllById(any())).thenReturn(List.of(product(2L)));
+
+        productIndexSyncService.onMessage(message("2"), null);
+        productIndexSyncService.flush();
+
+        assertNull(recommendations.get("노트북"));
+        assertNull(vectorSearch.get("노트북-5"));
+        assertNotNull(recommendations.get("키보드"));
+        assertNotNull(vectorSearch.get("마우스-5"));
+
+        assertFalse(redisSets.containsKey("recommendation:pno:2"), "처리한 상품의 역색인은 제거되어야 합니다");
+        assertTrue(redisSets.containsKey("recommendation:pno:4"));
+    }
+
+    @Test
+    @DisplayName("같은 상품의 연속 변경은 한 번의 upsert 로 합쳐지고, 조회되지 않는 상품은 삭제")
+    @SuppressWarnings("unchecked")
+    public void testCoalesceChanges() {
+
+        when(productRepository.findAllById(any())).thenReturn(List.of(product(1L), product(2L)));
+
+        productIndexSyncService.onMessage(message("1"), null);
+        productIndexSyncService.onMessage(message("1"), null);
+        productIndexSyncService.onMessage(message("2"), null);
+        productIndexSyncService.onMessage(message("1"), null);
+        productIndexSyncService.onMessage(message("3"), null);
+        productIndexSyncService.onMessage(message("잘못된 메시지"), null);
+
+        productIndexSyncService.flush();
+
+        ArgumentCaptor<Iterable<Long>> requested = ArgumentCaptor.forClass(Iterable.class);
+        verify(productRepository, times(1)).findAllById(requested.capture());
+        assertEquals(Set.of(1L, 2L, 3L),
+                new HashSet<>(StreamSupport.stream(requested.getValue().spliterator(), false).toList()));
+
+        ArgumentCaptor<List<Product>> indexed = ArgumentCaptor.forClass(List.class);
+        verify(productIndexingJob, times(1)).index(indexed.capture());
+        assertEquals(2, indexed.getValue().size());
+        verify(productIndexingJob, times(1)).delete(List.of(3L));
+
+        // 반영된 변경분은 다시 처리하지 않음
+        productIndexSyncService.flush();
+        verifyNoMoreInteractions(productIndexingJob);
+    }
+
+    @Test
+    @DisplayName("반영 실패 시 다음 주기에 같은 상품을 다시 처리")
+    public void testRetryOnFailure() {
+
+        when(productRepository.findAllById(any()))
+                .thenThrow(new IllegalStateException("DB 연결 실패"))
+                .thenReturn(List.of(product(1L)));
+
+        productIndexSyncService.onMessage(message("1"), null);
+
+        productIndexSyncService.flush();
+        verifyNoInteractions(productIndexingJob);
+
+        productIndexSyncService.flush();
+        verify(productIndexingJob, times(1)).index(anyList());
+    }
+
+    private void cache(Cache cache, String key, List<Long> pnos) {
+        cache.put(key, "cached");
+        recommendationCacheIndex.register(cache.getName(), key, pnos);
+    }
+
+    private Product product(Long pno) {
+        return Product.builder()
+                .pno(pno)
+                .pname("상품" + pno)
+                .price(1000)
+                .build();
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage("product:changed".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,166 @@
+package org.shop.apiserver.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.shop.apiserver.application.service.ProductIndexingJob;
+import org.shop.apiserver.application.service.RecommendationCacheIndex;
+import org.shop.apiserver.application.service.SemanticRecommendationCache;
+import org.shop.apiserver.domain.model.product.Product;
+import org.shop.apiserver.infrastructure.persistence.jpa.ProductRepository;
+import org.shop.apiserver.infrastructure.search.ProductKeywordIndex;
+import org.shop.apiserver.infrastructure.vector.MappedHnswVectorStore;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 상품 인덱싱 작업 테스트 (DB 대신 ProductRepository mock, 실제 파일 기반 벡터 저장소 사용)
+ */
+public class ProductIndexingJobTests {
+
+    private static final int PAGE_SIZE = 10;
+
+    @TempDir
+    Path tempDir;
+
+    private final MappedHnswVectorStoreTests.VectorModel model = new MappedHnswVectorStoreTests.VectorModel(true);
+
+    private ProductRepository productRepository;
+    private RecommendationCacheIndex recommendationCacheIndex;
+    private final List<ProductIndexingJob> jobs = new ArrayList<>();
+    private final List<MappedHnswVectorStore> vectorStores = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        productRepository = mock(ProductRepository.class);
+        recommendationCacheIndex = mock(RecommendationCacheIndex.class);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jobs.forEach(ProductIndexingJob::shutdown);
+        vectorStores.forEach(MappedHnswVectorStore::close);
+    }
+
+    @Test
+    @DisplayName("재개 - 중단 후 재시작하면 체크포인트 이후부터 이어서 진행하고 누락 없음")
+    public void testResumeAfterCrash() {
+
+        List<Product> catalog = catalog(25);
+        AtomicBoolean crash = new AtomicBoolean(true);
+
+        when(productRepository.selectPageAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long cursor = invocation.<Long>getArgument(0);
+            if (cursor >= PAGE_SIZE && crash.get()) {
+                throw new IllegalStateException("테스트용 중단");
+            }
+            return page(catalog, cursor);
+        });
+
+        MappedHnswVectorStore firstStore = vectorStore();
+        ProductIndexingJob firstJob = job(firstStore);
+
+        assertThrows(IllegalStateException.class, () -> firstJob.run(ProductIndexingJob.Mode.FULL));
+
+        // 프로세스 중단 가정: firstStore 를 닫지(flush) 않고 같은 디렉토리로 재시작
+        crash.set(false);
+        MappedHnswVectorStore restartedStore = vectorStore();
+
+        assertEquals(PAGE_SIZE, restartedStore.size(), "체크포인트 이전 페이지는 스냅샷에 반영되어 있어야 합니다");
+
+        int indexed = job(restartedStore).run(ProductIndexingJob.Mode.FULL);
+
+        assertEquals(catalog.size() - PAGE_SIZE, indexed);
+        assertEquals(catalog.size(), restartedStore.size());
+        verify(productRepository, times(2)).selectPageAfter(eq((long) PAGE_SIZE), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("변경분 - 수정/삭제된 상품만 반영하고 해당 추천 캐시만 제거")
+    public void testChangedMode() {
+
+        List<Product> catalog = catalog(25);
+
+        when(productRepository.selectPageAfter(anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> page(catalog, invocation.<Long>getArgument(0)));
+
+        MappedHnswVectorStore vectorStore = vectorStore();
+        ProductIndexingJob job = job(vectorStore);
+
+        assertEquals(catalog.size(), job.run(ProductIndexingJob.Mode.FULL));
+
+        List<Product> modified = List.of(
+                Product.builder().pno(3L).pname("상품 3").price(3000).delFlag(true).build(),
+                Product.builder().pno(7L).pname("변경된 상품 7").price(7700).pdesc("가격 변경").build());
+
+        when(productRepository.selectModifiedAfter(any(LocalDateTime.class), anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> page(modified, invocation.<Long>getArgument(1)));
+
+        int indexed = job.run(ProductIndexingJob.Mode.CHANGED);
+
+        assertEquals(2, indexed);
+        assertEquals(catalog.size() - 1, vectorStore.size());
+        verify(productRepository, times(1)).selectModifiedAfter(any(LocalDateTime.class), eq(0L), any(Pageable.class));
+        verify(recommendationCacheIndex).evictByProducts(List.of(3L, 7L));
+
+        // 완료된 실행 이후에는 재시작해도 변경분이 그대로 유지
+        vectorStore.close();
+        vectorStores.remove(vectorStore);
+        MappedHnswVectorStore restarted = vectorStore();
+
+        assertEquals(catalog.size() - 1, restarted.size());
+    }
+
+    // ============================================
+    // Helper
+    // ============================================
+
+    private MappedHnswVectorStore vectorStore() {
+        MappedHnswVectorStore vectorStore = new MappedHnswVectorStore(model, tempDir.resolve("index"), 16, 100, 16);
+        vectorStores.add(vectorStore);
+        return vectorStore;
+    }
+
+    private ProductIndexingJob job(MappedHnswVectorStore vectorStore) {
+
+        ProductIndexingJob job = new ProductIndexingJob(productRepository, vectorStore, new ProductKeywordIndex(),
+                mock(CacheManager.class), recommendationCacheIndex, mock(SemanticRecommendationCache.class));
+
+        ReflectionTestUtils.setField(job, "indexPath", tempDir.resolve("index").toString());
+        ReflectionTestUtils.setField(job, "pageSize", PAGE_SIZE);
+        ReflectionTestUtils.setField(job, "chunkSize", 5);
+        ReflectionTestUtils.setField(job, "parallelism", 2);
+        ReflectionTestUtils.setField(job, "checkpointIntervalMs", 0L);
+
+        jobs.add(job);
+        return job;
+    }
+
+    private List<Product> catalog(int count) {
+        List<Product> catalog = new ArrayList<>();
+        for (long pno = 1; pno <= count; pno++) {
+            catalog.add(Product.builder().pno(pno).pname("상품 " + pno).price((int) pno * 1000).pdesc("설명 " + pno).build());
+        }
+        return catalog;
+    }
+
+    private List<Product> page(List<Product> products, long cursor) {
+        return products.stream()
+                .filter(product -> product.getPno() > cursor)
+                .limit(PAGE_SIZE)
+                .toList();
+    }
+}
@@ -0,0 +1,160 @@
+package org.shop.apiserver.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.shop.apiserver.application.dto.ProductDTO;
+import org.shop.apiserver.application.service.ProductSearchService;
+import org.shop.apiserver.infrastructure.persistence.jpa.ProductRepository;
+import org.shop.apiserver.infrastructure.search.ProductKeywordIndex;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * 상품 키워드(BM25) 인덱스 테스트
+ */
+public class ProductKeywordIndexTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("한글은 음절 bigram, 영문/숫자는 단어 단위로 토큰화")
+    public void testTokenize() {
+
+        assertEquals(List.of("노트", "트북", "15", "inch"), ProductKeywordIndex.tokenize("노트북 15-Inch"));
+        assertEquals(List.of("폰"), ProductKeywordIndex.tokenize("폰"));
+        assertTrue(ProductKeywordIndex.tokenize("  ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("질의 단어가 상품명에 있는 상품이 설명에만 있는 상품보다 위")
+    public void testBm25Ranking() {
+
+        ProductKeywordIndex index = new ProductKeywordIndex();
+        index.upsert(1L, "게이밍 노트북", "고사양 게임용", 1_500_000);
+        index.upsert(2L, "무선 마우스", "노트북과 함께 쓰기 좋은 마우스", 30_000);
+        index.upsert(3L, "겨울 패딩", "따뜻한 겨울 외투", 120_000);
+
+        List<ProductKeywordIndex.Hit> hits = index.search("노트북을 찾아요", 10);
+
+        assertEquals(List.of(1L, 2L), hits.stream().map(ProductKeywordIndex.Hit::getPno).toList());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    @Test
+    @DisplayName("한 글자 한글 질의는 음절 단위로 찾고, 수정 후에는 이전 음절이 남지 않음")
+    public void testSingleSyllableQuery() {
+
+        ProductKeywordIndex index = new ProductKeywordIndex();
+        index.upsert(1L, "그림책 세트", "아이용 동화", 30_000);
+        index.upsert(2L, "책", "한 권", 10_000);
+        index.upsert(3L, "스마트폰 케이스", "투명", 15_000);
+
+        assertEquals(List.of(1L, 2L), index.search("책", 10).stream()
+                .map(ProductKeywordIndex.Hit::getPno).sorted().toList());
+        assertEquals(List.of(3L), index.search("폰", 10).stream()
+                .map(ProductKeywordIndex.Hit::getPno).toList());
+
+        index.upsert(1L, "색연필 세트", "아이용", 30_000);
+
+        assertEquals(List.of(2L), index.search("책", 10).stream()
+                .map(ProductKeywordIndex.Hit::getPno).toList());
+    }
+
+    @Test
+    @DisplayName("키워드 검색 결과에 목록 API 와 같이 대표 이미지 포함")
+    public void testSearchHydratesMainImage() {
+
+        ProductKeywordIndex index = new ProductKeywordIndex();
+        index.upsert(1L, "게이밍 노트북", "고사양", 1_500_000);
+        index.upsert(2L, "사무용 노트북", "가벼운", 600_000);
+
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.selectMainImages(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, "uuid_gaming.jpg"}));
+
+        ProductSearchService productSearchService = new ProductSearchService(productRepository, index);
+        List<ProductDTO> result = productSearchService.search("노트북", null, null, 10);
+
+        assertEquals(2, result.size());
+        ProductDTO gaming = result.stream().filter(dto -> dto.getPno() == 1L).findFirst().orElseThrow();
+        ProductDTO office = result.stream().filter(dto -> dto.getPno() == 2L).findFirst().orElseThrow();
+        assertEquals(List.of("uuid_gaming.jpg"), gaming.getUploadFileNames());
+        assertTrue(office.getUploadFileNames().isEmpty());
+
+        // 결과가 없으면 DB 조회도 없음
+        assertTrue(productSearchService.search("패딩", null, null, 10).isEmpty());
+        verify(productRepository, times(1)).selectMainImages(anyCollection());
+    }
+
+    @Test
+    @DisplayName("수정/삭제 시 이전 색인이 남지 않음")
+    public void testUpsertAndRemove() {
+
+        ProductKeywordIndex index = new ProductKeywordIndex();
+        index.upsert(1L, "겨울 패딩", "따뜻한 외투", 120_000);
+        index.upsert(1L, "여름 반팔", "시원한 티셔츠", 20_000);
+
+        assertTrue(index.search("패딩", 10).isEmpty());
+        assertEquals(1L, index.search("반팔", 10).get(0).getPno());
+
+        index.remove(1L);
+
+        assertTrue(index.search("반팔", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("가격 범위 밖의 상품은 제외")
+    public void testPriceFilter() {
+
+        ProductKeywordIndex index = new ProductKeywordIndex();
+        index.upsert(1L, "게이밍 노트북", "고사양", 1_500_000);
+        index.upsert(2L, "사무용 노트북", "가벼운", 600_000);
+
+        List<ProductKeywordIndex.Hit> hits = index.search("노트북", null, 1_000_000, 10);
+
+        assertEquals(List.of(2L), hits.stream().map(ProductKeywordIndex.Hit::getPno).toList());
+        assertEquals("사무용 노트북", hits.get(0).getPname());
+    }
+
+    @Test
+    @DisplayName("상품명의 어느 단어로 시작해도 자동완성, 짧은 이름 우선")
+    public void testAutocomplete() {
+
+        ProductKeywordIndex index = new ProductKeywordIndex();
+        index.upsert(1L, "게이밍 노트북 15", "", 1_500_000);
+        index.upsert(2L, "노트북 거치대", "", 30_000);
+        index.upsert(3L, "노트", "", 1_000);
+
+        assertEquals(List.of("노트", "노트북 거치대", "게이밍 노트북 15"), index.autocomplete("노트", 10));
+        assertEquals(List.of("게이밍 노트북 15"), index.autocomplete("게이밍 노", 10));
+        assertEquals(List.of("노트"), index.autocomplete("노트", 1));
+    }
+
+    @Test
+    @DisplayName("스냅샷 저장 후 복원하면 같은 검색 결과")
+    public void testSnapshot() {
+
+        ProductKeywordIndex index = new ProductKeywordIndex();
+        index.upsert(1L, "게이밍 노트북", "고사양 게임용", 1_500_000);
+        index.upsert(2L, "무선 마우스", null, 30_000);
+
+        Path snapshot = tempDir.resolve("keyword.snapshot");
+        LocalDateTime syncedAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        index.save(snapshot, syncedAt);
+
+        ProductKeywordIndex restored = new ProductKeywordIndex();
+        assertEquals(syncedAt, restored.load(snapshot));
+        assertEquals(2, restored.size());
+        assertEquals(1L, restored.search("노트북", 10).get(0).getPno());
+        assertEquals(List.of("무선 마우스"), restored.autocomplete("마우", 10));
+    }
+}
@@ -0,0 +1,222 @@
+package org.shop.apiserver.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.shop.apiserver.application.dto.ProductRecommendationDTO;
+import org.shop.apiserver.application.facade.ProductRecommendationFacade;
+import org.shop.apiserver.application.service.ProductRecommendationService;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 추천 single-flight 테스트 (Redis 임대는 메모리 Map, 추천 서비스는 mock)
+ */
+public class ProductRecommendationFacadeTests {
+
+    private static final String QUERY = "겨울 패딩 추천";
+
+    // 임대 키 -> 토큰
+    private final Map<String, String> leases = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    private ProductRecommendationService recommendationService;
+    private ConcurrentMapCacheManager cacheManager;
+    private ProductRecommendationFacade facade;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class, invocation ->
+                "setIfAbsent".equals(invocation.getMethod().getName())
+                        ? leases.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null
+                        : null);
+
+        // opsForValue / hasKey / execute(해제 스크립트) 만 사용
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class, invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "opsForValue" -> {
+                    return valueOperations;
+                }
+                case "hasKey" -> {
+                    return leases.containsKey(invocation.<String>getArgument(0));
+                }
+                case "execute" -> {
+                    Object[] raw = invocation.getRawArguments();
+                    String leaseKey = ((List<String>) raw[1]).get(0);
+                    String token = (String) ((Object[]) raw[2])[0];
+                    return leases.remove(leaseKey, token) ? 1L : 0L;
+                }
+                default -> {
+                    return null;
+                }
+            }
+        });
+
+        recommendationService = mock(ProductRecommendationService.class);
+        cacheManager = new ConcurrentMapCacheManager("product-recommendations");
+
+        facade = new ProductRecommendationFacade(recommendationService, stringRedisTemplate, cacheManager);
+        ReflectionTestUtils.setField(facade, "leaseMillis", 30000L);
+        ReflectionTestUtils.setField(facade, "waitTimeoutMillis", 5000L);
+        ReflectionTestUtils.setField(facade, "pollIntervalMillis", 20L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("같은 질문 동시 요청 - 추천 파이프라인은 한 번만 실행하고 모두 같은 결과")
+    public void testConcurrentRequestsCoalesced() throws Exception {
+
+        ProductRecommendationDTO expected = result("리더 결과");
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(recommendationService.recommendProducts(anyString())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return expected;
+        });
+
+        List<Future<ProductRecommendationDTO>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            // 공백/대소문자만 다른 질문도 같은 요청으로 병합
+            String query = i % 2 == 0 ? QUERY : "  겨울   패딩 추천 ";
+            futures.add(executor.submit(() -> facade.recommend(query)));
+        }
+
+        Thread.sleep(200);
+        release.countDown();
+
+        for (Future<ProductRecommendationDTO> future : futures) {
+            assertSame(expected, future.get(5, TimeUnit.SECONDS));
+        }
+
+        verify(recommendationService, times(1)).recommendProducts(anyString());
+        assertTrue(leases.isEmpty(), "실행이 끝나면 임대가 해제되어야 합니다");
+    }
+
+    @Test
+    @DisplayName("리더 실패 - 대기 중인 요청은 멈추지 않고 같은 예외를 받으며 임대는 해제")
+    public void testLeaderFailure() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(recommendationService.recommendProducts(anyString())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("LLM 호출 실패");
+        });
+
+        List<Future<ProductRecommendationDTO>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(executor.submit(() -> facade.recommend(QUERY)));
+        }
+
+        Thread.sleep(200);
+        release.countDown();
+
+        for (Future<ProductRecommendationDTO> future : futures) {
+            ExecutionException error = assertThrows(ExecutionException.class, () -> future.get(2, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, error.getCause());
+        }
+
+        verify(recommendationService, times(1)).recommendProducts(anyString());
+        assertTrue(leases.isEmpty(), "리더가 실패해도 임대가 남으면 안 됩니다");
+    }
+
+    @Test
+    @DisplayName("다른 노드 실행 중 - 임대가 풀리면 그 노드가 채운 캐시 결과 사용")
+    public void testWaitForOtherNode() throws Exception {
+
+        ProductRecommendationDTO remote = result("다른 노드 결과");
+        leases.put(leaseKey(QUERY), "other-node");
+
+        Future<ProductRecommendationDTO> future = executor.submit(() -> facade.recommend(QUERY));
+
+        Thread.sleep(200);
+        cacheManager.getCache("product-recommendations").put(QUERY, remote);
+        leases.remove(leaseKey(QUERY));
+
+        assertSame(remote, future.get(2, TimeUnit.SECONDS));
+        verify(recommendationService, never()).recommendProducts(anyString());
+    }
+
+    @Test
+    @DisplayName("다른 노드 임대가 풀리지 않으면 최대 대기 시간 후 직접 실행")
+    public void testFallbackWhenLeaseNotReleased() {
+
+        ReflectionTestUtils.setField(facade, "waitTimeoutMillis", 300L);
+        ProductRecommendationDTO local = result("직접 실행 결과");
+        when(recommendationService.recommendProducts(QUERY)).thenReturn(local);
+
+        leases.put(leaseKey(QUERY), "other-node");
+
+        long startTime = System.currentTimeMillis();
+        ProductRecommendationDTO result = facade.recommend(QUERY);
+        long elapsed = System.currentTimeMillis() - startTime;
+
+        assertSame(local, result);
+        assertTrue(elapsed >= 300 && elapsed < 2000, "대기 시간이 상한을 지켜야 합니다: " + elapsed + "ms");
+        verify(recommendationService, times(1)).recommendProducts(QUERY);
+    }
+
+    @Test
+    @DisplayName("노드 내 리더가 오래 걸리면 대기 중인 요청은 최대 대기 시간 후 직접 실행")
+    public void testFallbackWhenLeaderSlow() throws Exception {
+
+        ReflectionTestUtils.setField(facade, "waitTimeoutMillis", 300L);
+        CountDownLatch release = new CountDownLatch(1);
+        ProductRecommendationDTO slow = result("느린 리더 결과");
+        ProductRecommendationDTO local = result("직접 실행 결과");
+
+        when(recommendationService.recommendProducts(QUERY))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return slow;
+                })
+                .thenReturn(local);
+
+        Future<ProductRecommendationDTO> leader = executor.submit(() -> facade.recommend(QUERY));
+        Thread.sleep(100);
+
+        long startTime = System.currentTimeMillis();
+        ProductRecommendationDTO follower = facade.recommend(QUERY);
+        long elapsed = System.currentTimeMillis() - startTime;
+
+        assertSame(local, follower);
+        assertTrue(elapsed < 2000, "대기 시간이 상한을 지켜야 합니다: " + elapsed + "ms");
+
+        release.countDown();
+        assertSame(slow, leader.get(5, TimeUnit.SECONDS));
+        verify(recommendationService, times(2)).recommendProducts(QUERY);
+    }
+
+    private ProductRecommendationDTO result(String explanation) {
+        return ProductRecommendationDTO.builder()
+                .userQuery(QUERY)
+                .recommendedProducts(List.of())
+                .explanation(explanation)
+                .confidence(0.9)
+                .build();
+    }
+
+    private String leaseKey(String normalizedQuery) {
+        return "recommendation:lease:" + DigestUtils.md5DigestAsHex(normalizedQuery.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -3,6 +3,8 @@ package org.shop.apiserver.service;
 import lombok.extern.log4j.Log4j2;
 import org.junit.jupiter.api.Test;
 import org.shop.apiserver.application.service.ProductService;
+import org.shop.apiserver.application.dto.CursorRequestDTO;
+import org.shop.apiserver.application.dto.CursorResponseDTO;
 import org.shop.apiserver.application.dto.PageRequestDTO;
 import org.shop.apiserver.application.dto.PageResponseDTO;
 import org.shop.apiserver.application.dto.ProductDTO;
@@ -10,8 +12,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 @SpringBootTest
 @Log4j2
 public class ProductServiceTests {
@@ -31,6 +37,36 @@ public class ProductServiceTests {
 
   }
 
+  @Test
+  public void testListByCursor() {
+
+    // 커서를 따라 끝까지 조회 - 중복 없이 pno 내림차순이어야 함
+    CursorRequestDTO cursorRequestDTO = CursorRequestDTO.builder().size(5).withTotal(true).build();
+
+    Set<Long> seen = new HashSet<>();
+    Long lastPno = Long.MAX_VALUE;
+    int pages = 0;
+
+    CursorResponseDTO<ProductDTO> result;
+
+    do {
+      result = productService.getListByCursor(cursorRequestDTO);
+
+      for (ProductDTO dto : result.getDtoList()) {
+        assertTrue(dto.getPno() < lastPno, "pno 내림차순이어야 합니다");
+        assertTrue(seen.add(dto.getPno()), "페이지 간 중복이 없어야 합니다");
+        lastPno = dto.getPno();
+      }
+
+      cursorRequestDTO.setCursor(result.getNextCursor());
+      cursorRequestDTO.setWithTotal(false);
+      pages++;
+
+    } while (result.isHasNext() && pages < 20);
+
+    log.info("cursor pages: {}, products: {}", pages, seen.size());
+  }
+
   @Test
   public void testRegister() {
 
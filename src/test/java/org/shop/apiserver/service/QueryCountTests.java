@@ -0,0 +1,201 @@
+package org.shop.apiserver.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.shop.apiserver.application.dto.CursorRequestDTO;
+import org.shop.apiserver.application.dto.CursorResponseDTO;
+import org.shop.apiserver.application.dto.OrderListDTO;
+import org.shop.apiserver.application.dto.PageRequestDTO;
+import org.shop.apiserver.application.dto.PageResponseDTO;
+import org.shop.apiserver.application.dto.ProductDTO;
+import org.shop.apiserver.application.dto.ProductRecommendationDTO;
+import org.shop.apiserver.application.service.HybridProductRetriever;
+import org.shop.apiserver.application.service.OrderService;
+import org.shop.apiserver.application.service.ProductRecommendationService;
+import org.shop.apiserver.domain.model.member.Member;
+import org.shop.apiserver.domain.model.order.OrderItem;
+import org.shop.apiserver.domain.model.order.OrderStatus;
+import org.shop.apiserver.domain.model.order.Orders;
+import org.shop.apiserver.domain.model.product.Product;
+import org.shop.apiserver.infrastructure.persistence.jpa.MemberRepository;
+import org.shop.apiserver.infrastructure.persistence.jpa.OrderRepository;
+import org.shop.apiserver.infrastructure.persistence.jpa.ProductRepository;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 목록 조회 SQL 실행 횟수 검증 (N+1 회귀 방지)
+ * - 추천 조회는 벡터 저장소/하이브리드 검색/임베딩/ChatClient 를 mock 으로 대체 (외부 API 호출 없음)
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Log4j2
+public class QueryCountTests {
+
+    private static final String EMAIL = "user1@aaa.com";
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductRecommendationService productRecommendationService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private VectorStore vectorStore;
+
+    @MockitoBean
+    private HybridProductRetriever hybridProductRetriever;
+
+    @MockitoBean(name = "embeddingModel")
+    private EmbeddingModel embeddingModel;
+
+    @MockitoBean
+    private ChatClient.Builder chatClientBuilder;
+
+    private Statistics statistics;
+
+    // 테스트마다 만든 주문 (끝나면 삭제)
+    private final List<Long> createdOrders = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // 상품 2개짜리 주문 5건 준비
+        Member member = memberRepository.findById(EMAIL).orElseThrow();
+        Product product1 = productRepository.findById(1L).orElseThrow();
+        Product product2 = productRepository.findById(2L).orElseThrow();
+
+        for (int i = 0; i < 5; i++) {
+            Orders order = Orders.builder()
+                    .orderNumber("QC" + UUID.randomUUID().toString().substring(0, 18))
+                    .member(member)
+                    .totalAmount(30000)
+                    .finalAmount(30000)
+                    .orderDate(LocalDateTime.now())
+                    .status(OrderStatus.PENDING)
+                    .build();
+
+            order.addOrderItem(OrderItem.builder().product(product1).qty(1).price(10000).build());
+            order.addOrderItem(OrderItem.builder().product(product2).qty(2).price(10000).build());
+
+            createdOrders.add(orderRepository.save(order).getOno());
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        // 주문 상품/배송/결제는 cascade 로 함께 삭제
+        orderRepository.deleteAllById(createdOrders);
+        createdOrders.clear();
+    }
+
+    @Test
+    @DisplayName("주문 목록 - 주문 건수와 무관하게 목록 1회 + count 1회")
+    public void testMyOrdersQueryCount() {
+
+        statistics.clear();
+
+        PageResponseDTO<OrderListDTO> result = orderService.getMyOrders(EMAIL,
+                PageRequestDTO.builder().page(1).size(10).build());
+
+        long statements = statistics.getPrepareStatementCount();
+        log.info("주문 목록 {}건 - SQL {}회", result.getDtoList().size(), statements);
+
+        assertTrue(result.getDtoList().size() >= 5);
+        assertTrue(result.getDtoList().get(0).getFirstProductName().endsWith(" 외 1개"));
+        assertEquals(2, statements);
+    }
+
+    @Test
+    @DisplayName("주문 목록 (커서) - 목록 1회")
+    public void testMyOrdersByCursorQueryCount() {
+
+        statistics.clear();
+
+        CursorResponseDTO<OrderListDTO> result = orderService.getMyOrdersByCursor(EMAIL,
+                CursorRequestDTO.builder().size(10).build());
+
+        long statements = statistics.getPrepareStatementCount();
+        log.info("주문 목록(커서) {}건 - SQL {}회", result.getDtoList().size(), statements);
+
+        assertTrue(result.getDtoList().size() >= 5);
+        assertEquals(1, statements);
+    }
+
+    @Test
+    @DisplayName("벡터 검색 - 검색 결과 상품/이미지를 IN 쿼리 1회로 조회")
+    public void testSearchSimilarProductsQueryCount() {
+
+        when(vectorStore.similaritySearch(any(SearchRequest.class))).thenReturn(List.of(
+                new Document("상품 1", Map.of("pno", 1L)),
+                new Document("상품 2", Map.of("pno", 2L)),
+                new Document("상품 3", Map.of("pno", 3L))));
+
+        statistics.clear();
+
+        // 캐시 히트를 피하기 위해 매번 다른 질의 사용
+        List<ProductDTO> products = productRecommendationService
+                .searchSimilarProducts("쿼리 횟수 " + UUID.randomUUID(), 3);
+
+        long statements = statistics.getPrepareStatementCount();
+        log.info("벡터 검색 상품 {}건 - SQL {}회", products.size(), statements);
+
+        assertEquals(List.of(1L, 2L, 3L), products.stream().map(ProductDTO::getPno).toList());
+        assertEquals(1, statements);
+    }
+
+    @Test
+    @DisplayName("추천 - 후보 상품/이미지를 IN 쿼리 1회로 조회 (AI 실패 시 검색 순위 대체 경로 포함)")
+    public void testRecommendProductsQueryCount() {
+
+        when(embeddingModel.embed(anyString())).thenReturn(new float[]{1f, 0f, 0f});
+        when(hybridProductRetriever.retrieve(anyString(), anyInt())).thenReturn(List.of(1L, 2L, 3L));
+        when(chatClientBuilder.build()).thenThrow(new IllegalStateException("테스트 - AI 호출 없음"));
+
+        statistics.clear();
+
+        ProductRecommendationDTO result = productRecommendationService
+                .recommendProducts("쿼리 횟수 " + UUID.randomUUID());
+
+        long statements = statistics.getPrepareStatementCount();
+        log.info("추천 상품 {}건 - SQL {}회", result.getRecommendedProducts().size(), statements);
+
+        assertFalse(result.getRecommendedProducts().isEmpty());
+        assertEquals(1, statements);
+    }
+}
@@ -0,0 +1,148 @@
+package org.shop.apiserver.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.shop.apiserver.application.dto.RecommendationStreamEventDTO;
+import org.shop.apiserver.application.service.HybridProductRetriever;
+import org.shop.apiserver.application.service.ProductRecommendationService;
+import org.shop.apiserver.application.service.SemanticRecommendationCache;
+import org.shop.apiserver.domain.model.product.Product;
+import org.shop.apiserver.infrastructure.persistence.jpa.ProductRepository;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 스트리밍 추천 테스트 (외부 API 호출 없음)
+ * - ChatModel: 고정 토큰을 흘려보내는 가짜 모델
+ * - EmbeddingModel / HybridProductRetriever: mock (테스트 상품 하나를 검색 결과로 반환)
+ */
+@SpringBootTest
+@Log4j2
+public class RecommendationStreamTests {
+
+    private static final List<String> STUB_TOKENS = List.of("추천 상품 번호: [1]\n", "추천 이유: ", "가성비가 좋습니다.");
+
+    @TestConfiguration
+    static class StubChatConfig {
+
+        @Bean
+        @Primary
+        public ChatClient.Builder stubChatClientBuilder() {
+            return ChatClient.builder(new StubStreamingChatModel());
+        }
+    }
+
+    @MockitoBean(name = "embeddingModel")
+    private EmbeddingModel embeddingModel;
+
+    @MockitoBean
+    private HybridProductRetriever hybridProductRetriever;
+
+    @Autowired
+    private ProductRecommendationService recommendationService;
+
+    @Autowired
+    private SemanticRecommendationCache semanticRecommendationCache;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Product product;
+
+    @BeforeEach
+    public void setUp() {
+        semanticRecommendationCache.clear();
+
+        product = productRepository.save(Product.builder()
+                .pname("스트리밍 테스트 상품")
+                .price(9900)
+                .pdesc("선물용 저렴한 상품")
+                .stock(10)
+                .build());
+
+        when(hybridProductRetriever.retrieve(anyString(), anyInt())).thenReturn(List.of(product.getPno()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.deleteById(product.getPno());
+    }
+
+    @Test
+    @DisplayName("상품 카드가 먼저 전송되고 AI 답변은 조각 단위로 이어서 전송")
+    public void testStreamRecommendation() {
+
+        // 질의 임베딩은 호출 스레드가 아닌 boundedElastic 에서 수행되어야 함
+        AtomicReference<String> embedThread = new AtomicReference<>();
+        when(embeddingModel.embed(anyString())).thenAnswer(invocation -> {
+            embedThread.set(Thread.currentThread().getName());
+            return new float[]{1f, 0f, 0f};
+        });
+
+        List<RecommendationStreamEventDTO> events = recommendationService
+                .streamRecommendation("선물용 저렴한 상품 추천해줘")
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        assertNotNull(events);
+        events.forEach(event -> log.info("{}: {}", event.getEvent(), event.getData()));
+
+        assertEquals(RecommendationStreamEventDTO.PRODUCTS, events.get(0).getEvent());
+        assertEquals(RecommendationStreamEventDTO.DONE, events.get(events.size() - 1).getEvent());
+        assertEquals("completed", events.get(events.size() - 1).getData());
+
+        // 가짜 모델의 토큰이 순서대로 전달
+        List<RecommendationStreamEventDTO> tokens = events.stream()
+                .filter(event -> RecommendationStreamEventDTO.TOKEN.equals(event.getEvent()))
+                .toList();
+        assertEquals(STUB_TOKENS.size(), tokens.size());
+        assertEquals(String.join("", STUB_TOKENS), tokens.stream()
+                .map(event -> (String) event.getData())
+                .collect(Collectors.joining()));
+
+        assertNotNull(embedThread.get());
+        assertTrue(embedThread.get().startsWith("boundedElastic"), "임베딩 호출 스레드: " + embedThread.get());
+    }
+
+    /**
+     * stream() 호출 시 고정 토큰을 하나씩 흘려보내는 가짜 모델
+     */
+    static class StubStreamingChatModel implements ChatModel {
+
+        @Override
+        public ChatResponse call(Prompt prompt) {
+            return new ChatResponse(List.of(new Generation(new AssistantMessage(String.join("", STUB_TOKENS)))));
+        }
+
+        @Override
+        public Flux<ChatResponse> stream(Prompt prompt) {
+            return Flux.fromIterable(STUB_TOKENS)
+                    .delayElements(Duration.ofMillis(10))
+                    .map(token -> new ChatResponse(List.of(new Generation(new AssistantMessage(token)))));
+        }
+    }
+}
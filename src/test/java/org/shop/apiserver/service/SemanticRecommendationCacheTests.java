@@ -0,0 +1,104 @@
+package org.shop.apiserver.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.shop.apiserver.application.dto.ProductDTO;
+import org.shop.apiserver.application.dto.ProductRecommendationDTO;
+import org.shop.apiserver.application.service.SemanticRecommendationCache;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 추천 의미 캐시 테스트 (임베딩 대신 고정 벡터 사용)
+ */
+public class SemanticRecommendationCacheTests {
+
+    private SemanticRecommendationCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new SemanticRecommendationCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "similarityThreshold", 0.9);
+        ReflectionTestUtils.setField(cache, "maximumSize", 2);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 60L);
+    }
+
+    @Test
+    @DisplayName("임계값 이상 유사한 질의는 히트, 다른 질의는 미스")
+    public void testSimilarQueryHit() {
+
+        cache.put("겨울 따뜻한 옷 추천", new float[]{1f, 0f, 0f}, recommendation("겨울 따뜻한 옷 추천", 1L), Set.of(1L));
+
+        // 길이만 다르고 방향이 거의 같은 벡터 -> 히트
+        ProductRecommendationDTO hit = cache.get("겨울에 입을 따뜻한 옷 추천해줘", new float[]{2f, 0.1f, 0f});
+        assertNotNull(hit);
+        assertEquals("겨울에 입을 따뜻한 옷 추천해줘", hit.getUserQuery());
+        assertEquals(1L, hit.getRecommendedProducts().get(0).getPno());
+
+        assertNull(cache.get("노트북 추천", new float[]{0f, 1f, 0f}));
+
+        Map<String, Object> stats = cache.stats();
+        assertEquals(1L, stats.get("hitCount"));
+        assertEquals(1L, stats.get("missCount"));
+        assertEquals(0.5, (double) stats.get("hitRate"), 1e-9);
+    }
+
+    @Test
+    @DisplayName("최대 건수 초과 시 가장 오래 사용되지 않은 항목 제거")
+    public void testLruEviction() {
+
+        cache.put("A", new float[]{1f, 0f, 0f}, recommendation("A", 1L), Set.of(1L));
+        cache.put("B", new float[]{0f, 1f, 0f}, recommendation("B", 2L), Set.of(2L));
+
+        // A 사용 -> B 가 가장 오래 사용되지 않은 항목
+        assertNotNull(cache.get("A", new float[]{1f, 0f, 0f}));
+
+        cache.put("C", new float[]{0f, 0f, 1f}, recommendation("C", 3L), Set.of(3L));
+
+        assertNotNull(cache.get("A", new float[]{1f, 0f, 0f}));
+        assertNull(cache.get("B", new float[]{0f, 1f, 0f}));
+        assertNotNull(cache.get("C", new float[]{0f, 0f, 1f}));
+        assertEquals(1L, cache.stats().get("evictionCount"));
+    }
+
+    @Test
+    @DisplayName("TTL 만료 항목은 조회되지 않음")
+    public void testTtlExpiration() {
+
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 0L);
+
+        cache.put("A", new float[]{1f, 0f, 0f}, recommendation("A", 1L), Set.of(1L));
+
+        assertNull(cache.get("A", new float[]{1f, 0f, 0f}));
+        assertEquals(0, cache.stats().get("size"));
+    }
+
+    @Test
+    @DisplayName("변경된 상품이 포함된 항목만 제거")
+    public void testEvictByProducts() {
+
+        cache.put("A", new float[]{1f, 0f, 0f}, recommendation("A", 1L), Set.of(1L, 10L));
+        cache.put("B", new float[]{0f, 1f, 0f}, recommendation("B", 2L), Set.of(2L));
+
+        assertEquals(1, cache.evictByProducts(List.of(10L)));
+
+        assertNull(cache.get("A", new float[]{1f, 0f, 0f}));
+        assertNotNull(cache.get("B", new float[]{0f, 1f, 0f}));
+    }
+
+    private ProductRecommendationDTO recommendation(String query, Long pno) {
+        return ProductRecommendationDTO.builder()
+                .userQuery(query)
+                .recommendedProducts(List.of(ProductDTO.builder().pno(pno).pname("상품" + pno).build()))
+                .explanation("추천 이유")
+                .confidence(0.85)
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package org.shop.apiserver.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.shop.apiserver.application.service.ProductService;
+import org.shop.apiserver.application.service.StockReservationService;
+import org.shop.apiserver.domain.model.product.Product;
+import org.shop.apiserver.infrastructure.persistence.jpa.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Redis 재고 원장 예약 테스트 (테스트 상품을 만들고 끝나면 삭제)
+ */
+@SpringBootTest
+@Log4j2
+public class StockReservationServiceTests {
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    private final List<Long> createdPnos = new ArrayList<>();
+
+    @AfterEach
+    public void cleanUp() {
+        stockReservationService.flushPendingStock();
+        createdPnos.forEach(stockReservationService::evict);
+        productRepository.deleteAllById(createdPnos);
+        createdPnos.clear();
+    }
+
+    @Test
+    @DisplayName("원장에 없는 상품이 여러 개여도 한 번에 적재 후 예약")
+    public void testReserveManyUnloadedProducts() {
+
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (int i = 0; i < 5; i++) {
+            quantities.put(createProduct(10), 1);
+        }
+
+        stockReservationService.reserve(quantities);
+
+        quantities.keySet().forEach(pno ->
+                assertEquals("9", stringRedisTemplate.opsForValue().get("product:stock:" + pno)));
+    }
+
+    @Test
+    @DisplayName("재고 수정 커밋 후 원장이 제거되어 다음 예약은 수정된 재고 기준")
+    public void testReserveAfterStockChange() {
+
+        Long pno = createProduct(5);
+
+        stockReservationService.reserve(Map.of(pno, 2));
+        stockReservationService.flushPendingStock();
+
+        assertEquals(3, productRepository.findStockByPno(pno).orElseThrow());
+
+        // 원장에는 3 이 남아 있지만 수정 커밋 후 제거되어 DB 재고 10 으로 다시 적재
+        productService.changeStock(pno, 10);
+
+        assertNull(stringRedisTemplate.opsForValue().get("product:stock:" + pno));
+
+        stockReservationService.reserve(Map.of(pno, 9));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> stockReservationService.reserve(Map.of(pno, 2)));
+        assertTrue(e.getMessage().contains("재고 부족"));
+    }
+
+    private Long createProduct(int stock) {
+
+        Product product = productRepository.save(Product.builder()
+                .pname("재고 예약 테스트 상품")
+                .price(1000)
+                .stock(stock)
+                .build());
+
+        createdPnos.add(product.getPno());
+        return product.getPno();
+    }
+}
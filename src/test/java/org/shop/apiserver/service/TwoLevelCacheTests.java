@@ -0,0 +1,134 @@
+package org.shop.apiserver.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.shop.apiserver.infrastructure.cache.CacheInvalidationPublisher;
+import org.shop.apiserver.infrastructure.cache.TwoLevelCacheManager;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * L1(Caffeine) + L2 2단계 캐시 테스트 (L2 는 Redis 대신 ConcurrentMapCache)
+ */
+public class TwoLevelCacheTests {
+
+    private static final String CACHE_NAME = "productDetail";
+
+    private ConcurrentMapCache l2;
+    private CacheInvalidationPublisher publisher;
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    public void setUp() {
+
+        l2 = new ConcurrentMapCache(CACHE_NAME);
+
+        RedisCacheManager redisCacheManager = mock(RedisCacheManager.class);
+        when(redisCacheManager.getCache(CACHE_NAME)).thenReturn(l2);
+
+        publisher = mock(CacheInvalidationPublisher.class);
+        when(publisher.getNodeId()).thenReturn("node-a");
+
+        cacheManager = new TwoLevelCacheManager(redisCacheManager, publisher, 100, Duration.ofMinutes(1), false);
+    }
+
+    @Test
+    @DisplayName("L2 에서 읽은 값은 L1 에 남고, 다른 노드의 무효화 메시지를 받으면 L2 에서 다시 읽음")
+    public void testRemoteEvict() {
+
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        l2.put(1L, "v1");
+
+        assertEquals("v1", cache.get(1L, String.class));
+
+        // 다른 노드가 L2 를 갱신 - 무효화 메시지 전에는 L1 값 유지
+        l2.put(1L, "v2");
+        assertEquals("v1", cache.get(1L, String.class));
+
+        // 자기 자신이 보낸 메시지는 무시
+        cacheManager.onMessage(message("E|node-a|" + CACHE_NAME + "|1"), null);
+        assertEquals("v1", cache.get(1L, String.class));
+
+        cacheManager.onMessage(message("E|node-b|" + CACHE_NAME + "|1"), null);
+        assertEquals("v2", cache.get(1L, String.class));
+    }
+
+    @Test
+    @DisplayName("evict/clear - L1, L2 모두 제거하고 다른 노드에 무효화 메시지 발행")
+    public void testEvictAndClear() {
+
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        cache.put(1L, "v1");
+        cache.put(2L, "v2");
+
+        cache.evict(1L);
+
+        assertNull(cache.get(1L));
+        assertNull(l2.get(1L));
+        verify(publisher).publishEvict(CACHE_NAME, "1");
+
+        cache.clear();
+
+        assertNull(cache.get(2L));
+        assertNull(l2.get(2L));
+        verify(publisher).publishClear(CACHE_NAME);
+
+        // 다른 노드의 clear 메시지는 L1 만 비운다
+        cache.put(3L, "v3");
+        l2.put(3L, "v3-remote");
+        cacheManager.onMessage(message("C|node-b|" + CACHE_NAME + "|"), null);
+        assertEquals("v3-remote", cache.get(3L, String.class));
+    }
+
+    @Test
+    @DisplayName("sync 조회 - 같은 키 동시 미스는 로더를 한 번만 실행하고 모두 같은 값을 받음")
+    public void testSingleFlightLoad() throws Exception {
+
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        Callable<String> loader = () -> {
+            loads.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return "loaded";
+        };
+
+        int threadCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        List<Future<String>> futures = new ArrayList<>();
+
+        for (int i = 0; i < threadCount; i++) {
+            futures.add(executor.submit(() -> cache.get(1L, loader)));
+        }
+
+        Thread.sleep(200);
+        release.countDown();
+
+        for (Future<String> future : futures) {
+            assertEquals("loaded", future.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(1, loads.get());
+        assertEquals("loaded", l2.get(1L, String.class));
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage("cache:invalidate".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,178 @@
+package org.shop.apiserver.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.shop.apiserver.application.service.ProductImageCollector;
+import org.shop.apiserver.application.service.ProductImportService;
+import org.shop.apiserver.application.service.ProductSearchService;
+import org.shop.apiserver.application.service.ProductService;
+import org.shop.apiserver.presentation.controller.ProductController;
+import org.shop.apiserver.presentation.controller.advice.CustomControllerAdvice;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 업로드 저장/조회 테스트 (썸네일 생성과 응답 전송은 mock, 저장 폴더는 임시 폴더)
+ */
+public class CustomFileUtilTests {
+
+  @TempDir
+  Path folder;
+
+  private ThumbnailProcessor thumbnailProcessor;
+  private FileResponseWriter fileResponseWriter;
+  private CustomFileUtil customFileUtil;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+
+    thumbnailProcessor = mock(ThumbnailProcessor.class);
+    fileResponseWriter = mock(FileResponseWriter.class);
+
+    customFileUtil = new CustomFileUtil(thumbnailProcessor, fileResponseWriter);
+    ReflectionTestUtils.setField(customFileUtil, "uploadPath", folder.toString());
+    ReflectionTestUtils.setField(customFileUtil, "inlineMaxBytes", 2L * 1024 * 1024);
+    customFileUtil.init();
+
+    Files.write(folder.resolve("default.jpeg"), new byte[]{1, 2, 3});
+  }
+
+  @Test
+  @DisplayName("썸네일 생성 전에는 원본으로, 원본도 없으면 기본 이미지로 응답 (대체 응답은 캐시 금지)")
+  public void testSendFileFallback() throws Exception {
+
+    String name = customFileUtil.saveFiles(List.of(image("a.png", ThumbnailProcessorTests.png(50, 50)))).get(0);
+    Path original = folder.resolve(name.substring(0, 2)).resolve(name.substring(2, 4)).resolve(name);
+
+    verify(thumbnailProcessor).submit(eq(original), any());
+
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/view/s_" + name);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // 썸네일 아직 없음 -> 원본
+    customFileUtil.sendFile(ThumbnailProcessor.Size.MEDIUM.fileName(name), request, response);
+    verify(fileResponseWriter).write(original, null, false, request, response);
+
+    // 썸네일 생성 후 -> 썸네일 (내용 해시 ETag, 장기 캐시)
+    Path thumbnail = Files.write(original.resolveSibling(ThumbnailProcessor.Size.MEDIUM.fileName(name)), new byte[]{4});
+    customFileUtil.sendFile(ThumbnailProcessor.Size.MEDIUM.fileName(name), request, response);
+    verify(fileResponseWriter).write(thumbnail, "\"s_" + name + "\"", true, request, response);
+
+    // 없는 파일 -> 기본 이미지
+    customFileUtil.sendFile("missing.jpg", request, response);
+    verify(fileResponseWriter).write(folder.resolve("default.jpeg"), null, false, request, response);
+  }
+
+  @Test
+  @DisplayName("WEBP 는 썸네일을 만들 수 없으므로 이미지로 업로드하면 거부")
+  public void testWebpRejected() {
+
+    byte[] webp = "RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.ISO_8859_1);
+
+    assertThrows(InvalidFileException.class,
+            () -> customFileUtil.saveFiles(List.of(new MockMultipartFile("files", "a.webp", "image/webp", webp))));
+    verifyNoInteractions(thumbnailProcessor);
+  }
+
+  @Test
+  @DisplayName("이미지라고 보냈지만 매직 바이트가 다르면 400, 상품은 등록되지 않고 임시 파일도 남지 않음")
+  public void testMagicByteMismatchRejected() throws Exception {
+
+    ProductService productService = mock(ProductService.class);
+    MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new ProductController(productService, customFileUtil, mock(ProductSearchService.class),
+                    mock(ProductImageCollector.class), mock(ProductImportService.class)))
+            .setControllerAdvice(new CustomControllerAdvice())
+            .build();
+
+    byte[] script = "<script>alert(1)</script>".getBytes(StandardCharsets.UTF_8);
+
+    mockMvc.perform(multipart("/api/products/")
+                    .file(new MockMultipartFile("files", "photo.jpg", "image/jpeg", script))
+                    .param("pname", "상품")
+                    .param("price", "1000"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.msg").value("지원하지 않는 이미지 형식입니다."));
+
+    verifyNoInteractions(productService, thumbnailProcessor);
+    assertTrue(tempFiles().isEmpty(), "거부된 업로드의 임시 파일이 남았습니다");
+  }
+
+  @Test
+  @DisplayName("BMP 는 'BM' 뒤 DIB 헤더 크기까지 확인 - 'BM' 으로 시작하는 텍스트는 이미지가 아님")
+  public void testBmpHeader() throws Exception {
+
+    BufferedImage image = new BufferedImage(20, 10, BufferedImage.TYPE_INT_RGB);
+    ByteArrayOutputStream bmp = new ByteArrayOutputStream();
+    ImageIO.write(image, "bmp", bmp);
+
+    String stored = customFileUtil.saveFiles(List.of(new MockMultipartFile("files", "a", "image/bmp", bmp.toByteArray()))).get(0);
+    assertTrue(stored.endsWith(".bmp"));
+
+    byte[] text = "BMW 520d 정비 기록".getBytes(StandardCharsets.UTF_8);
+
+    assertThrows(InvalidFileException.class,
+            () -> customFileUtil.saveFiles(List.of(new MockMultipartFile("files", "car.bmp", "image/bmp", text))));
+
+    // 이미지로 보내지 않았으면 원래 확장자를 유지한 일반 파일로 저장 (썸네일 생성 안 함)
+    String document = customFileUtil.saveFiles(List.of(new MockMultipartFile("files", "car.txt", "text/plain", text))).get(0);
+    assertTrue(document.endsWith(".txt"));
+    verify(thumbnailProcessor, times(1)).submit(any(), any());
+  }
+
+  @Test
+  @DisplayName("같은 내용을 다시 올리면 파일명은 같은 내용 해시, 저장은 1벌, 썸네일은 다시 요청하지 않음")
+  public void testDuplicateUploadSameName() throws Exception {
+
+    byte[] content = ThumbnailProcessorTests.png(30, 30);
+
+    String first = customFileUtil.saveFiles(List.of(image("first.png", content))).get(0);
+    Path original = folder.resolve(first.substring(0, 2)).resolve(first.substring(2, 4)).resolve(first);
+
+    // 썸네일이 만들어진 뒤 다른 이름으로 재업로드
+    Files.write(original.resolveSibling(ThumbnailProcessor.Size.SMALL.fileName(first)), new byte[]{1});
+    String second = customFileUtil.saveFiles(List.of(image("다른 이름.PNG", content))).get(0);
+
+    assertEquals(first, second);
+    assertTrue(first.matches("[0-9a-f]{64}\\.png"));
+    assertArrayEquals(content, Files.readAllBytes(original));
+    try (Stream<Path> files = Files.list(original.getParent())) {
+      assertEquals(2, files.count(), "원본 1벌 + 썸네일만 있어야 합니다");
+    }
+
+    verify(thumbnailProcessor, times(1)).submit(eq(original), any());
+    assertTrue(tempFiles().isEmpty(), "저장 후 임시 파일이 남았습니다");
+  }
+
+  private List<Path> tempFiles() throws Exception {
+    try (Stream<Path> files = Files.list(folder.resolve(".tmp"))) {
+      return files.toList();
+    }
+  }
+
+  private MockMultipartFile image(String fileName, byte[] content) {
+    return new MockMultipartFile("files", fileName, "image/png", content);
+  }
+}
@@ -0,0 +1,176 @@
+package org.shop.apiserver.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 파일 응답 전송 테스트 (ETag/304, Range, sendfile/transferTo)
+ */
+public class FileResponseWriterTests {
+
+  private static final String BODY = "0123456789abcdefghij";
+  private static final String ETAG = "\"hash.jpg\"";
+
+  @TempDir
+  Path folder;
+
+  private final FileResponseWriter fileResponseWriter = new FileResponseWriter();
+
+  private Path file;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    file = Files.writeString(folder.resolve("hash.jpg"), BODY, StandardCharsets.US_ASCII);
+  }
+
+  @Test
+  @DisplayName("전체 전송 - transferTo 로 본문 전송, ETag/캐시 헤더 설정, Last-Modified 는 보내지 않음")
+  public void testFullBody() throws Exception {
+
+    MockHttpServletResponse response = write(get(), ETAG, true);
+
+    assertEquals(200, response.getStatus());
+    assertEquals(BODY, response.getContentAsString());
+    assertEquals(BODY.length(), response.getContentLengthLong());
+    assertEquals("image/jpeg", response.getContentType());
+    assertEquals(ETAG, response.getHeader(HttpHeaders.ETAG));
+    assertEquals("public, max-age=31536000, immutable", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+    assertNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+  }
+
+  @Test
+  @DisplayName("If-None-Match 가 ETag 와 같으면 본문 없이 304, 수정 시각(If-Modified-Since)은 무시")
+  public void testNotModified() throws Exception {
+
+    MockHttpServletRequest request = get();
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", " + ETAG);
+
+    MockHttpServletResponse response = write(request, ETAG, true);
+
+    assertEquals(304, response.getStatus());
+    assertEquals(0, response.getContentAsByteArray().length);
+
+    MockHttpServletRequest dateOnly = get();
+    dateOnly.addHeader(HttpHeaders.IF_MODIFIED_SINCE, System.currentTimeMillis() + 60_000);
+
+    assertEquals(200, write(dateOnly, ETAG, true).getStatus());
+  }
+
+  @Test
+  @DisplayName("ETag 를 모르는 파일은 본문 해시로 계산하고 같은 파일이면 같은 값")
+  public void testComputedEtag() throws Exception {
+
+    String etag = write(get(), null, false).getHeader(HttpHeaders.ETAG);
+
+    assertNotNull(etag);
+    assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+    assertEquals(etag, write(get(), null, false).getHeader(HttpHeaders.ETAG));
+
+    MockHttpServletRequest request = get();
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+    MockHttpServletResponse response = write(request, null, false);
+
+    assertEquals(304, response.getStatus());
+    assertEquals("no-store", response.getHeader(HttpHeaders.CACHE_CONTROL));
+  }
+
+  @Test
+  @DisplayName("단일 Range - 206 + Content-Range 로 해당 구간만 전송 (끝 생략/접미 구간 포함)")
+  public void testSingleRange() throws Exception {
+
+    MockHttpServletResponse response = write(range("bytes=2-5"), ETAG, true);
+
+    assertEquals(206, response.getStatus());
+    assertEquals("bytes 2-5/20", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    assertEquals(4, response.getContentLengthLong());
+    assertEquals("2345", response.getContentAsString());
+
+    assertEquals("fghij", write(range("bytes=15-"), ETAG, true).getContentAsString());
+    assertEquals("ij", write(range("bytes=-2"), ETAG, true).getContentAsString());
+
+    // 끝이 파일 길이를 넘으면 마지막 바이트까지
+    MockHttpServletResponse clamped = write(range("bytes=18-100"), ETAG, true);
+    assertEquals("bytes 18-19/20", clamped.getHeader(HttpHeaders.CONTENT_RANGE));
+    assertEquals("ij", clamped.getContentAsString());
+  }
+
+  @Test
+  @DisplayName("범위를 벗어난 Range 는 416, 여러 구간/형식 오류나 If-Range 불일치는 전체 전송")
+  public void testUnsatisfiableAndIgnoredRange() throws Exception {
+
+    MockHttpServletResponse unsatisfiable = write(range("bytes=20-30"), ETAG, true);
+
+    assertEquals(416, unsatisfiable.getStatus());
+    assertEquals("bytes */20", unsatisfiable.getHeader(HttpHeaders.CONTENT_RANGE));
+    assertEquals(0, unsatisfiable.getContentAsByteArray().length);
+
+    assertEquals(416, write(range("bytes=5-2"), ETAG, true).getStatus());
+
+    MockHttpServletResponse multiple = write(range("bytes=0-1,4-5"), ETAG, true);
+    assertEquals(200, multiple.getStatus());
+    assertEquals(BODY, multiple.getContentAsString());
+
+    MockHttpServletRequest staleIfRange = range("bytes=0-1");
+    staleIfRange.addHeader(HttpHeaders.IF_RANGE, "\"old\"");
+    MockHttpServletResponse full = write(staleIfRange, ETAG, true);
+    assertEquals(200, full.getStatus());
+    assertEquals(BODY, full.getContentAsString());
+  }
+
+  @Test
+  @DisplayName("sendfile 지원 시 본문을 쓰지 않고 요청 속성으로 파일/구간을 넘김")
+  public void testSendfile() throws Exception {
+
+    MockHttpServletRequest request = range("bytes=2-5");
+    request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+
+    MockHttpServletResponse response = write(request, ETAG, true);
+
+    assertEquals(206, response.getStatus());
+    assertEquals(0, response.getContentAsByteArray().length);
+    assertEquals(file.toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+    assertEquals(2L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+    assertEquals(6L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+  }
+
+  @Test
+  @DisplayName("HEAD 요청은 헤더만 응답")
+  public void testHead() throws Exception {
+
+    MockHttpServletResponse response = write(new MockHttpServletRequest("HEAD", "/api/products/view/hash.jpg"), ETAG, true);
+
+    assertEquals(200, response.getStatus());
+    assertEquals(BODY.length(), response.getContentLengthLong());
+    assertEquals(0, response.getContentAsByteArray().length);
+  }
+
+  private MockHttpServletResponse write(MockHttpServletRequest request, String etag, boolean immutable) throws Exception {
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    fileResponseWriter.write(file, etag, immutable, request, response);
+    return response;
+  }
+
+  private MockHttpServletRequest get() {
+    return new MockHttpServletRequest("GET", "/api/products/view/hash.jpg");
+  }
+
+  private MockHttpServletRequest range(String header) {
+
+    MockHttpServletRequest request = get();
+    request.addHeader(HttpHeaders.RANGE, header);
+    return request;
+  }
+}
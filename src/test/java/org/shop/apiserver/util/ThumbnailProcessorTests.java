@@ -0,0 +1,132 @@
+package org.shop.apiserver.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 썸네일 비동기 생성 테스트 (임시 폴더에 원본 PNG 를 만들어 사용)
+ */
+public class ThumbnailProcessorTests {
+
+  @TempDir
+  Path folder;
+
+  private ThumbnailProcessor thumbnailProcessor;
+
+  @BeforeEach
+  public void setUp() {
+
+    thumbnailProcessor = new ThumbnailProcessor();
+    ReflectionTestUtils.setField(thumbnailProcessor, "threads", 1);
+    ReflectionTestUtils.setField(thumbnailProcessor, "queueCapacity", 1);
+    ReflectionTestUtils.setField(thumbnailProcessor, "inlineBudgetBytes", 64L * 1024 * 1024);
+    thumbnailProcessor.init();
+  }
+
+  @AfterEach
+  public void tearDown() throws InterruptedException {
+    thumbnailProcessor.shutdown();
+  }
+
+  @Test
+  @DisplayName("원본 한 장으로 800/400/100 크기 썸네일을 비율을 유지해 생성")
+  public void testGenerateAllSizes() throws Exception {
+
+    byte[] content = png(1200, 900);
+    Path original = Files.write(folder.resolve("original.png"), content);
+
+    thumbnailProcessor.submit(original, content);
+    awaitFile(original.resolveSibling(ThumbnailProcessor.Size.SMALL.fileName("original.png")));
+
+    assertSize(original, ThumbnailProcessor.Size.LARGE, 800, 600);
+    assertSize(original, ThumbnailProcessor.Size.MEDIUM, 400, 300);
+    assertSize(original, ThumbnailProcessor.Size.SMALL, 100, 75);
+
+    // 임시 파일은 남지 않음
+    try (var files = Files.list(folder)) {
+      assertTrue(files.noneMatch(file -> file.getFileName().toString().endsWith(".tmp")));
+    }
+  }
+
+  @Test
+  @DisplayName("작업 스레드와 대기열이 모두 차 있으면 요청 스레드에서 바로 생성")
+  public void testCallerRunsWhenQueueFull() throws Exception {
+
+    ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(thumbnailProcessor, "executor");
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    // 작업 스레드 1개를 붙잡고 대기열(1칸)도 채움
+    executor.execute(() -> {
+      started.countDown();
+      awaitQuietly(release);
+    });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    executor.execute(() -> awaitQuietly(release));
+
+    try {
+      byte[] content = png(600, 600);
+      Path original = Files.write(folder.resolve("busy.png"), content);
+
+      thumbnailProcessor.submit(original, null);
+
+      // submit 이 반환된 시점에 이미 생성되어 있어야 함
+      for (ThumbnailProcessor.Size size : ThumbnailProcessor.Size.values()) {
+        assertTrue(Files.exists(original.resolveSibling(size.fileName("busy.png"))), size + " 썸네일이 없습니다");
+      }
+      assertSize(original, ThumbnailProcessor.Size.SMALL, 100, 100);
+    } finally {
+      release.countDown();
+    }
+  }
+
+  private void assertSize(Path original, ThumbnailProcessor.Size size, int width, int height) throws IOException {
+
+    BufferedImage image = ImageIO.read(original.resolveSibling(size.fileName(original.getFileName().toString())).toFile());
+
+    assertNotNull(image, size + " 썸네일을 읽을 수 없습니다");
+    assertEquals(width, image.getWidth(), size + " 너비");
+    assertEquals(height, image.getHeight(), size + " 높이");
+  }
+
+  private void awaitFile(Path file) throws InterruptedException {
+
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!Files.exists(file) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+    }
+    assertTrue(Files.exists(file), "썸네일이 생성되지 않았습니다: " + file.getFileName());
+  }
+
+  private void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  static byte[] png(int width, int height) throws IOException {
+
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ImageIO.write(image, "png", out);
+    return out.toByteArray();
+  }
+}